@@ -1,23 +1,99 @@
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import com.arcade.ArcadeManager;
+import com.arcade.item.Achievement;
+import com.arcade.item.AchievementCatalog;
+import com.arcade.item.ExtraLife;
+import com.arcade.item.Functional;
+import com.arcade.item.Luck;
+import com.arcade.item.TicketMultiplier;
+import com.arcade.player.Player;
+
+/**
+ * Generates arcade player files for demos, load tests and benchmarks.
+ *
+ * Usage: java TestDataGenerator [count] [seed] [file] [format]
+ *
+ * count   synthetic players to add after the demo accounts, e.g. 0, 50000,
+ *         250k or 2m (default 0)
+ * seed    makes the output reproducible (default 42)
+ * file    where to write (default arcade.txt)
+ * format  text (the current arcade format, with achievements and items)
+ *         or legacy (the old 4-field format) (default text)
+ *
+ * The arcade file is also the only input the resident stores need: the
+ * compact and tiered stores (-Darcade.store) are filled from it at startup,
+ * and the tiered store's record file is scratch space that is rebuilt on
+ * every start, so there is no separate store format to generate.
+ *
+ * Synthetic player i has username firstname_lastname_i and password
+ * "pass" + i. Every player is generated from its own random stream derived
+ * from the seed and its index, so the output is identical however the work
+ * is split across threads. Players are built and hashed in chunks on every
+ * core and written in order, with only a few chunks in memory at once.
+ */
 public class TestDataGenerator {
+    private static final int CHUNK = 4096; // players generated per task
+
+    private static final String[] FIRST_NAMES = { "James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Daniel", "Karen", "Wei", "Mei", "Hiroshi", "Yuki", "Arjun", "Priya", "Mohammed",
+            "Fatima", "Carlos", "Sofia", "Lucas", "Emma", "Noah", "Olivia", "Liam", "Ava", "Ethan", "Chloe", "Kevin",
+            "Grace" };
+    private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Wang", "Chen", "Zhang", "Liu", "Kim", "Park", "Nguyen",
+            "Patel", "Singh", "Khan", "Tanaka", "Sato", "Silva", "Santos", "Rossi", "Muller", "Dubois", "Cohen",
+            "Murphy", "Kelly" };
+
+    // Chance that a player has earned each achievement, common ones first
+    private static final Achievement[] ACHIEVEMENTS = { AchievementCatalog.GAME_PLAYER,
+            AchievementCatalog.FIRST_VICTORY, AchievementCatalog.GAME_OVER, AchievementCatalog.SAVVY_SHOPPER,
+            AchievementCatalog.BIG_SPENDER, AchievementCatalog.DEALER_BUSTER, AchievementCatalog.BLACKJACK_NATURAL,
+            AchievementCatalog.CREATIVE_WRITER, AchievementCatalog.BOARD_MASTER, AchievementCatalog.BOSS_BUSTER,
+            AchievementCatalog.ESCAPE_ARTIST, AchievementCatalog.TRIVIA_MASTER, AchievementCatalog.SCHOLAR,
+            AchievementCatalog.COMEBACK_KID, AchievementCatalog.POKEMAN_CHAMPION, AchievementCatalog.SPEED_RUNNER,
+            AchievementCatalog.PERFECT_PERFORMANCE, AchievementCatalog.HARD_MODE_CHAMPION,
+            AchievementCatalog.FLAWLESS_VICTORY, AchievementCatalog.ARCADE_REGULAR,
+            AchievementCatalog.TICKET_COLLECTOR, AchievementCatalog.CARD_SHARK, AchievementCatalog.TICKET_TYCOON };
+    private static final double[] ACHIEVEMENT_RATES = { 0.85, 0.65, 0.5, 0.35, 0.3, 0.25, 0.2, 0.18, 0.15, 0.12,
+            0.1, 0.08, 0.07, 0.06, 0.05, 0.04, 0.03, 0.02, 0.015, 0.03, 0.02, 0.005, 0.002 };
+
+    // Store formats the generator can write
+    private enum Format {
+        TEXT, LEGACY
+    }
+
+    // One SHA-256 digest per worker thread
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found!", e);
+        }
+    });
 
     /**
      * Generates a SHA-256 hash for a given string.
      */
     public static String generateSHA256(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(encodedhash);
-        } catch (NoSuchAlgorithmException e) {
-            System.err.println("SHA-256 algorithm not found!");
-            e.printStackTrace();
-            return null;
-        }
+        MessageDigest digest = DIGEST.get();
+        byte[] encodedhash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+        return bytesToHex(encodedhash);
     }
 
     /**
@@ -36,90 +112,197 @@ public class TestDataGenerator {
     }
 
     public static void main(String[] args) {
-        // Create test data file with dummy users
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter("arcade.txt"))) {
-
-            // Admin user (password: admin123)
-            writer.write("admin\n");
-            writer.write(generateSHA256("admin123") + "\n");
-            writer.write("30\n");
-            writer.write("Administrator\n");
-            writer.write(":\n");
+        long count = args.length > 0 ? parseCount(args[0]) : 0;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        String file = args.length > 2 ? args[2] : "arcade.txt";
+        Format format = args.length > 3 ? Format.valueOf(args[3].toUpperCase(Locale.ROOT)) : Format.TEXT;
 
-            // Test user 1 (password: password123)
-            writer.write("john_doe\n");
-            writer.write(generateSHA256("password123") + "\n");
-            writer.write("25\n");
-            writer.write("John Doe\n");
-            writer.write(":\n");
+        long start = System.nanoTime();
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(Paths.get(file)), StandardCharsets.UTF_8), 1 << 16)) {
+            writeDemoAccounts(writer, format);
+            writeSyntheticPlayers(writer, format, count, seed);
+            writer.write("end\n"); // End marker
+        } catch (IOException e) {
+            System.err.println("Error creating test data file: " + e.getMessage());
+            return;
+        } catch (InterruptedException | ExecutionException e) {
+            System.err.println("Error generating players: " + e);
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
 
-            // Test user 2 (password: test456)
-            writer.write("alice_smith\n");
-            writer.write(generateSHA256("test456") + "\n");
-            writer.write("22\n");
-            writer.write("Alice Smith\n");
-            writer.write(":\n");
+        System.out.println("Test data file '" + file + "' created successfully!");
+        System.out.println(count + " synthetic players (seed " + seed + ", " + format.name().toLowerCase(Locale.ROOT)
+                + " format) written in " + millis + " ms");
+        System.out.println("\nDemo Users Created:");
+        System.out.println("==================");
+        System.out.println("Username: admin | Password: admin123 | Age: 30 | Name: Administrator");
+        System.out.println("Username: john_doe | Password: password123 | Age: 25 | Name: John Doe");
+        System.out.println("Username: alice_smith | Password: test456 | Age: 22 | Name: Alice Smith");
+        System.out.println("Username: bob_jones | Password: demo789 | Age: 28 | Name: Bob Jones");
+        System.out.println("Username: charlie_brown | Password: user123 | Age: 19 | Name: Charlie Brown");
+        System.out.println("Username: diana_prince | Password: test123 | Age: 24 | Name: Diana Prince");
+        System.out.println("Username: eve_wilson | Password: hello123 | Age: 31 | Name: Eve Wilson");
+        System.out.println("Username: frank_miller | Password: arcade123 | Age: 27 | Name: Frank Miller");
+        System.out.println("Username: grace_lee | Password: player123 | Age: 23 | Name: Grace Lee");
+        if (count > 0) {
+            System.out.println("Synthetic users: <first>_<last>_<i> | Password: pass<i>");
+        }
+    }
 
-            // Test user 3 (password: demo789)
-            writer.write("bob_jones\n");
-            writer.write(generateSHA256("demo789") + "\n");
-            writer.write("28\n");
-            writer.write("Bob Jones\n");
-            writer.write(":\n");
+    /**
+     * Writes the fixed demo accounts listed by main.
+     */
+    private static void writeDemoAccounts(Writer writer, Format format) throws IOException {
+        String[][] demo = { { "admin", "admin123", "30", "Administrator" },
+                { "john_doe", "password123", "25", "John Doe" }, { "alice_smith", "test456", "22", "Alice Smith" },
+                { "bob_jones", "demo789", "28", "Bob Jones" }, { "charlie_brown", "user123", "19", "Charlie Brown" },
+                { "diana_prince", "test123", "24", "Diana Prince" }, { "eve_wilson", "hello123", "31", "Eve Wilson" },
+                { "frank_miller", "arcade123", "27", "Frank Miller" }, { "grace_lee", "player123", "23", "Grace Lee" } };
+        for (String[] user : demo) {
+            write(writer, format, new Player(user[3], user[0], generateSHA256(user[1]), Integer.parseInt(user[2])));
+        }
+    }
 
-            // Test user 4 (password: user123)
-            writer.write("charlie_brown\n");
-            writer.write(generateSHA256("user123") + "\n");
-            writer.write("19\n");
-            writer.write("Charlie Brown\n");
-            writer.write(":\n");
+    /**
+     * Generates players in chunks on every core and writes the chunks in
+     * order, keeping at most two chunks per core in memory.
+     */
+    private static void writeSyntheticPlayers(Writer writer, Format format, long count, long seed)
+            throws IOException, InterruptedException, ExecutionException {
+        if (count <= 0) {
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "roster-generator");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            ArrayDeque<Future<String>> inFlight = new ArrayDeque<>();
+            for (long first = 0; first < count; first += CHUNK) {
+                if (inFlight.size() >= threads * 2) {
+                    writer.write(inFlight.poll().get());
+                }
+                long from = first;
+                long to = Math.min(count, first + CHUNK);
+                inFlight.add(pool.submit(() -> renderChunk(from, to, seed, format)));
+            }
+            while (!inFlight.isEmpty()) {
+                writer.write(inFlight.poll().get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-            // Test user 5 (password: test123)
-            writer.write("diana_prince\n");
-            writer.write(generateSHA256("test123") + "\n");
-            writer.write("24\n");
-            writer.write("Diana Prince\n");
-            writer.write(":\n");
+    /**
+     * Generates and formats players [from, to).
+     */
+    private static String renderChunk(long from, long to, long seed, Format format) throws IOException {
+        StringWriter out = new StringWriter((int) (to - from) * 160);
+        for (long i = from; i < to; i++) {
+            write(out, format, generatePlayer(i, seed));
+        }
+        return out.toString();
+    }
 
-            // Test user 6 (password: hello123)
-            writer.write("eve_wilson\n");
-            writer.write(generateSHA256("hello123") + "\n");
-            writer.write("31\n");
-            writer.write("Eve Wilson\n");
-            writer.write(":\n");
+    /**
+     * Generates synthetic player number i.
+     */
+    private static Player generatePlayer(long i, long seed) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(i)));
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String username = (first + "_" + last + "_" + i).toLowerCase(Locale.ROOT);
 
-            // Test user 7 (password: arcade123)
-            writer.write("frank_miller\n");
-            writer.write(generateSHA256("arcade123") + "\n");
-            writer.write("27\n");
-            writer.write("Frank Miller\n");
-            writer.write(":\n");
+        // Mostly teens and young adults, with a smaller group of older regulars
+        double age = random.nextDouble() < 0.7 ? 17 + random.nextGaussian() * 5 : 35 + random.nextGaussian() * 12;
+        Player player = new Player(first + " " + last, username, generateSHA256("pass" + i),
+                (int) Math.max(6, Math.min(90, Math.round(age))));
+
+        // Most wallets are small, a few are large
+        player.getWallet().setTokens((int) Math.min(5000, -Math.log(1 - random.nextDouble()) * 60));
+        player.getWallet().setTickets((int) Math.min(100_000, Math.exp(4 + random.nextGaussian() * 1.1)));
+
+        for (int a = 0; a < ACHIEVEMENTS.length; a++) {
+            if (random.nextDouble() < ACHIEVEMENT_RATES[a]) {
+                player.addAchievement(ACHIEVEMENTS[a]);
+            }
+        }
+
+        // Up to three items from the shop
+        int items = random.nextDouble() < 0.6 ? 0 : 1 + random.nextInt(3);
+        if (items > 0) {
+            List<Functional> powerups = new ArrayList<>(items);
+            for (int k = 0; k < items; k++) {
+                powerups.add(shopItem(random.nextInt(6)));
+            }
+            player.getWallet().setPowerups(powerups);
+        }
+        return player;
+    }
 
-            // Test user 8 (password: player123)
-            writer.write("grace_lee\n");
-            writer.write(generateSHA256("player123") + "\n");
-            writer.write("23\n");
-            writer.write("Grace Lee\n");
+    /**
+     * Creates one of the items sold in the arcade shop.
+     */
+    private static Functional shopItem(int which) {
+        switch (which) {
+            case 0:
+                return new Luck("Luck Charm", 3, 20, 2);
+            case 1:
+                return new ExtraLife("Extra Life", 1, 15);
+            case 2:
+                return new TicketMultiplier("Ticket Multiplier", 1, 25);
+            case 3:
+                return new Luck("Super Luck Charm", 2, 35, 3);
+            case 4:
+                return new ExtraLife("Life Bundle", 3, 40);
+            default:
+                return new TicketMultiplier("Mega Multiplier", 1, 50);
+        }
+    }
+
+    /**
+     * Writes one player in the chosen store format.
+     */
+    private static void write(Writer writer, Format format, Player player) throws IOException {
+        if (format == Format.TEXT) {
+            ArcadeManager.writePlayer(writer, player);
+        } else {
+            writer.write(player.getUsername() + "\n");
+            writer.write(player.getPassword() + "\n");
+            writer.write(player.getAge() + "\n");
+            writer.write(player.getName() + "\n");
             writer.write(":\n");
+        }
+    }
 
-            // End marker
-            writer.write("end\n");
-
-            System.out.println("Test data file 'arcade.txt' created successfully!");
-            System.out.println("\nTest Users Created:");
-            System.out.println("==================");
-            System.out.println("Username: admin | Password: admin123 | Age: 30 | Name: Administrator");
-            System.out.println("Username: john_doe | Password: password123 | Age: 25 | Name: John Doe");
-            System.out.println("Username: alice_smith | Password: test456 | Age: 22 | Name: Alice Smith");
-            System.out.println("Username: bob_jones | Password: demo789 | Age: 28 | Name: Bob Jones");
-            System.out.println("Username: charlie_brown | Password: user123 | Age: 19 | Name: Charlie Brown");
-            System.out.println("Username: diana_prince | Password: test123 | Age: 24 | Name: Diana Prince");
-            System.out.println("Username: eve_wilson | Password: hello123 | Age: 31 | Name: Eve Wilson");
-            System.out.println("Username: frank_miller | Password: arcade123 | Age: 27 | Name: Frank Miller");
-            System.out.println("Username: grace_lee | Password: player123 | Age: 23 | Name: Grace Lee");
+    /**
+     * Scrambles a number so nearby seeds and indices give unrelated streams.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
 
-        } catch (IOException e) {
-            System.err.println("Error creating test data file: " + e.getMessage());
+    /**
+     * Parses a player count such as 5000, 250k or 2m.
+     */
+    private static long parseCount(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT).replace("_", "");
+        long multiplier = 1;
+        if (value.endsWith("k")) {
+            multiplier = 1_000;
+        } else if (value.endsWith("m")) {
+            multiplier = 1_000_000;
+        }
+        if (multiplier > 1) {
+            value = value.substring(0, value.length() - 1);
         }
+        return Long.parseLong(value) * multiplier;
     }
-}
\ No newline at end of file
+}
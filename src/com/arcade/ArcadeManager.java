@@ -11,10 +11,21 @@
 package com.arcade;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import com.arcade.games.Game;
 import com.arcade.games.blackjack.BlackJack;
@@ -23,9 +34,30 @@ import com.arcade.games.diceopoly.Diceopoly;
 import com.arcade.games.escaperoom.EscapeRoom;
 import com.arcade.games.trivia.Trivia;
 import com.arcade.games.madlibs.MadLibs;
+import com.arcade.player.CompactRoster;
 import com.arcade.player.Player;
+import com.arcade.player.PlayerStore;
+import com.arcade.player.TieredPlayerStore;
+import com.arcade.player.PlayerProgress;
+import com.arcade.player.ProgressStore;
 import com.arcade.item.Achievement;
+import com.arcade.item.AchievementCatalog;
+import com.arcade.item.GameEndEvent;
+import com.arcade.item.ItemCodec;
+import com.arcade.jfr.AchievementEvent;
+import com.arcade.jfr.LoginEvent;
+import com.arcade.jfr.StoreLoadEvent;
+import com.arcade.jfr.StoreSaveEvent;
+import com.arcade.leaderboard.Leaderboards;
+import com.arcade.log.ArcadeLog;
+import com.arcade.metrics.Counter;
+import com.arcade.metrics.Histogram;
+import com.arcade.metrics.MetricsRegistry;
+import com.arcade.stats.ArcadeStatistics;
+import com.arcade.trace.Span;
+import com.arcade.trace.Tracer;
 import com.arcade.item.Functional;
+import com.arcade.util.ArcadeRandom;
 
 /**
  * manages all arcade operations including player authentication,
@@ -35,9 +67,45 @@ import com.arcade.item.Functional;
 public class ArcadeManager {
     // persistent storage file for player data
     private static String ARCADE_FILE = "arcade.txt";
+    private static final String ACHIEVEMENTS_PREFIX = "ach:"; // store line listing earned achievements
+    private static final String ITEM_PREFIX = "item:"; // store line holding one inventory item
+    private static final String FIELD_SEPARATOR = "|"; // between fields of a store line
+    private static ProgressStore progressStore; // progress counters shared by every session
+    // serializes arcade file writes; a lock rather than synchronized so waiting virtual threads unmount
+    private static final ReentrantLock FILE_LOCK = new ReentrantLock();
+
+    // metrics, looked up once so recording them never allocates
+    private static final ArcadeLog LOG = ArcadeLog.forClass(ArcadeManager.class);
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+    private static final Histogram LOGIN_TIME = METRICS.timer("arcade.login");
+    private static final Counter[] LOGIN_RESULTS = new Counter[LoginStatus.values().length]; // by status
+    private static final Histogram LOAD_TIME = METRICS.timer("arcade.file.load");
+    private static final Histogram SAVE_TIME = METRICS.timer("arcade.file.save");
+    private static final Counter FILE_ERRORS = METRICS.counter("arcade.file.errors");
+    private static final Histogram TRANSACTION_TIME = METRICS.timer("arcade.game.transaction");
+    private static final Counter TRANSACTION_FAILURES = METRICS.counter("arcade.game.transaction.failures");
+
+    // how players are kept between loads: "file" (the default) reads the arcade file for every
+    // operation, "compact" keeps the whole roster resident in a CompactRoster, and "tiered" keeps
+    // only the arcade.store.cacheSize most recently used players in memory (TieredPlayerStore)
+    public static final String STORE_PROPERTY = "arcade.store";
+    public static final String CACHE_SIZE_PROPERTY = "arcade.store.cacheSize";
+    private static final String STORE_KIND = storeKindFromProperty();
+    private static PlayerStore playerStore; // resident roster, null until loaded or with the file store
+    private static String playerStoreFile; // arcade file the resident roster was loaded from
+
+    static {
+        for (LoginStatus status : LoginStatus.values()) {
+            LOGIN_RESULTS[status.ordinal()] = METRICS.counter("arcade.login." + status.name().toLowerCase());
+        }
+        METRICS.gauge("arcade.players", () -> ArcadeStatistics.getDefault().getPlayerCount());
+        Leaderboards.getDefault().setSource(ArcadeManager::fillLeaderboards);
+    }
     private Player player; // currently logged in player
     private List<Player> players; // all registered players
+    private boolean rosterSet; // true once setPlayers has given the whole roster, which saveToFile then writes as is
     private List<Game> games; // available games in the arcade
+    private ArcadeRandom sessionRandom; // source of per-game seeds for this session
 
     /**
      * enumeration for different login attempt outcomes
@@ -54,6 +122,7 @@ public class ArcadeManager {
     public ArcadeManager() {
         // initialize games collection
         this.games = new ArrayList<>();
+        this.sessionRandom = new ArcadeRandom();
 
         // add all available game instances with variable rewards
         // each game has different difficulty levels and reward ranges
@@ -86,6 +155,11 @@ public class ArcadeManager {
         madLibs.setMinTicketReward(12);
         madLibs.setMaxTicketReward(25);
         games.add(madLibs);
+
+        // every game gets its own tickets leaderboard
+        for (Game game : games) {
+            Leaderboards.getDefault().registerGame(game.getId(), game.getTitle());
+        }
     }
 
     /**
@@ -97,6 +171,28 @@ public class ArcadeManager {
      * @return login status indicating success or failure reason
      */
     public LoginStatus tryLogin(String username, String password) {
+        long start = System.nanoTime();
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        LoginStatus status = checkLogin(username, password);
+        LOGIN_TIME.recordSince(start);
+        LOGIN_RESULTS[status.ordinal()].increment();
+        if (event.shouldCommit()) {
+            event.username = username;
+            event.outcome = status.name();
+            event.commit();
+        }
+        return status;
+    }
+
+    /**
+     * checks a username and password hash, logging the player in if they match
+     * 
+     * @param username the username to authenticate
+     * @param password the hashed password to verify
+     * @return login status indicating success or failure reason
+     */
+    private LoginStatus checkLogin(String username, String password) {
         // first check if player with username exists
         Player p = searchForPlayer(username);
         if (p != null) {
@@ -121,20 +217,30 @@ public class ArcadeManager {
      */
     public Player searchForPlayer(String username) {
         if (username == null || username.isEmpty()) {
-            System.err.println("Username cannot be null or empty.");
+            LOG.warn("Username cannot be null or empty.");
             return null;
         }
 
+        PlayerStore store = getPlayerStore();
+        if (store != null) {
+            Player p = store.find(username);
+            if (p == null) {
+                LOG.debug("Player with username {} not found.", username);
+                return null;
+            }
+            return withProgress(p);
+        }
+
         // ensure player data is loaded from file
         this.players = loadFromFile();
 
         // linear search through all players
         for (Player p : players) {
             if (p.getUsername().equals(username)) {
-                return p;
+                return withProgress(p);
             }
         }
-        System.err.println("Player with username " + username + " not found.");
+        LOG.debug("Player with username {} not found.", username);
         return null;
     }
 
@@ -147,7 +253,7 @@ public class ArcadeManager {
      */
     public List<Player> searchForPlayersByName(String name) {
         if (name == null || name.isEmpty()) {
-            System.err.println("Name cannot be null or empty.");
+            LOG.warn("Name cannot be null or empty.");
             return Collections.emptyList();
         }
 
@@ -162,7 +268,7 @@ public class ArcadeManager {
         }
 
         if (foundPlayers.isEmpty()) {
-            System.err.println("No players found with name " + name + ".");
+            LOG.debug("No players found with name {}.", name);
         }
         return foundPlayers;
     }
@@ -176,26 +282,46 @@ public class ArcadeManager {
      */
     public boolean addPlayer(Player player) {
         if (player == null) {
-            System.err.println("Player is null, cannot add to file.");
+            LOG.warn("Player is null, cannot add to file.");
             return false;
         }
         if (player.getUsername() == null || player.getPassword() == null || player.getName() == null) {
-            System.err.println("Player data is incomplete, cannot add to file.");
+            LOG.warn("Player data is incomplete, cannot add to file.");
             return false;
         }
 
-        this.players = loadFromFile();
+        PlayerStore store = getPlayerStore();
+        if (store != null) {
+            if (!store.add(player)) {
+                LOG.info("Player with username {} already exists.", player.getUsername());
+                return false;
+            }
+        } else {
+            this.players = loadFromFile();
 
-        // check for duplicate usernames
-        for (Player p : players) {
-            if (p.getUsername().equals(player.getUsername())) {
-                System.err.println("Player with username " + player.getUsername() + " already exists.");
+            // check for duplicate usernames
+            for (Player p : players) {
+                if (p.getUsername().equals(player.getUsername())) {
+                    LOG.info("Player with username {} already exists.", player.getUsername());
+                    return false;
+                }
+            }
+            // added to the file as it is now, so players other sessions saved meanwhile are kept
+            if (!updateArcadeFile(records -> {
+                if (records.putIfAbsent(key(player), player) != null) {
+                    LOG.info("Player with username {} already exists.", player.getUsername());
+                    return false; // registered by another session since the check above
+                }
+                this.players = new ArrayList<>(records.values());
+                return true;
+            })) {
                 return false;
             }
         }
 
-        players.add(player);
-        return saveToFile();
+        withProgress(player);
+        ArcadeStatistics.getDefault().addPlayer(player.getAge(), player.getAchievementCount());
+        return store != null ? saveToFile() : saveProgress();
     }
 
     /**
@@ -207,139 +333,625 @@ public class ArcadeManager {
      */
     public boolean removePlayer(String username) {
         if (username == null || username.isEmpty()) {
-            System.err.println("Username cannot be null or empty.");
+            LOG.warn("Username cannot be null or empty.");
             return false;
         }
 
-        this.players = loadFromFile();
-        Iterator<Player> iterator = players.iterator();
-
-        // iterate safely while potentially removing elements
-        while (iterator.hasNext()) {
-            Player p = iterator.next();
-            if (p.getUsername().equals(username)) {
-                iterator.remove();
-                return saveToFile();
+        PlayerStore store = getPlayerStore();
+        if (store != null) {
+            Player gone = store.find(username);
+            if (gone == null || !store.remove(username)) {
+                LOG.debug("Player with username {} not found.", username);
+                return false;
             }
+            forgetPlayer(gone);
+            return saveToFile();
         }
 
-        System.err.println("Player with username " + username + " not found.");
-        return false;
+        // removed from the file as it is now, so players other sessions saved meanwhile are kept
+        Player[] gone = new Player[1];
+        boolean removed = updateArcadeFile(records -> {
+            gone[0] = records.remove(username);
+            if (gone[0] != null) {
+                this.players = new ArrayList<>(records.values());
+            }
+            return gone[0] != null;
+        });
+        if (!removed) {
+            if (gone[0] == null) {
+                LOG.debug("Player with username {} not found.", username);
+            }
+            return false;
+        }
+        forgetPlayer(gone[0]);
+        return saveProgress();
     }
 
     /**
-     * saves all player data to the persistent storage file
-     * uses a specific format with separators for easy parsing
+     * saves the logged in player's data to the persistent storage file
+     * uses a specific format with separators for easy parsing. the file is
+     * read again under the file lock and only this session's player is
+     * replaced in it, so players saved by other sessions are never
+     * overwritten with this session's older copies of them. a roster given
+     * to setPlayers is written as is instead
      * 
      * @return true if save successful, false otherwise
      */
     public boolean saveToFile() {
-        if (players == null || players.isEmpty()) {
-            this.players = loadFromFile();
+        PlayerStore store = getPlayerStore();
+        if (store != null) {
+            if (player != null) {
+                store.update(player); // the session's player is a copy, so hand its changes back
+            }
+            return writeArcadeFile(store, store.size()) && saveProgress();
+        }
+        if (rosterSet) {
+            return writeArcadeFile(players, players.size()) && saveProgress();
         }
+        return updateArcadeFile(records -> {
+            if (player != null) {
+                records.replace(key(player), player); // unless removed since this session loaded it
+            }
+            this.players = new ArrayList<>(records.values());
+            return true;
+        }) && saveProgress();
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(ARCADE_FILE))) {
-            // write each player's data in a structured format
-            for (Player p : players) {
-                writer.write(p.getUsername().toLowerCase() + "\n");
-                writer.write(p.getPassword() + "\n");
-                writer.write(p.getAge() + "\n");
-                writer.write(p.getName() + "\n");
-                writer.write(p.getWallet().getTokens() + "\n");
-                writer.write(p.getWallet().getTickets() + "\n");
-                writer.write(":\n"); // separator between players
-            }
-            writer.write("end\n"); // end of file marker
+    /**
+     * a step run while the arcade file is locked
+     */
+    @FunctionalInterface
+    private interface LockedFileAction {
+        /**
+         * runs the step
+         * 
+         * @return true if it succeeded
+         * @throws IOException if the file cannot be read or written
+         */
+        boolean run() throws IOException;
+    }
+
+    /**
+     * runs a step while holding the arcade file's locks
+     * sessions in this jvm take turns, and the lock file keeps other processes out
+     * 
+     * @param action the step
+     * @return the step's result, or false if it failed with an i/o error
+     */
+    private static boolean withFileLock(LockedFileAction action) {
+        FILE_LOCK.lock();
+        try (FileChannel lockChannel = FileChannel.open(Paths.get(ARCADE_FILE + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                return action.run();
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            FILE_ERRORS.increment();
+            LOG.error("Error saving to file: {}", e.getMessage());
+            return false;
+        } finally {
+            FILE_LOCK.unlock();
+        }
+    }
+
+    /**
+     * writes players to the arcade file, replacing it
+     * 
+     * @param records the players to write
+     * @param count   the number of players, for tracing and events
+     * @return true if the file was written
+     */
+    private static boolean writeArcadeFile(Iterable<Player> records, int count) {
+        return withFileLock(() -> {
+            writeRecords(records, count);
+            return true;
+        });
+    }
+
+    /**
+     * applies a change to the players in the arcade file as it is now
+     * the file is read and rewritten under its locks, so no other save can
+     * land in between and be lost
+     * 
+     * @param change edits the players, keyed by lower-case username in file
+     *               order, and returns false to leave the file as it is
+     * @return true if the change was applied and the file written
+     */
+    private static boolean updateArcadeFile(Predicate<Map<String, Player>> change) {
+        return withFileLock(() -> {
+            Map<String, Player> records = new LinkedHashMap<>();
+            if (Files.exists(Paths.get(ARCADE_FILE))) {
+                try (BufferedReader reader = new BufferedReader(new FileReader(ARCADE_FILE))) {
+                    parseRecords(reader, p -> records.put(key(p), p));
+                }
+            }
+            if (!change.test(records)) {
+                return false;
+            }
+            writeRecords(records.values(), records.size());
+            return true;
+        });
+    }
+
+    /**
+     * writes the arcade file; the caller holds the file locks
+     * the file is written beside the old one and moved into place, so
+     * readers never see a half-written file
+     * 
+     * @param records the players to write
+     * @param count   the number of players, for tracing and events
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeRecords(Iterable<Player> records, int count) throws IOException {
+        Path file = Paths.get(ARCADE_FILE).toAbsolutePath();
+        long start = System.nanoTime();
+        StoreSaveEvent event = new StoreSaveEvent();
+        event.begin();
+        Span span = Tracer.getDefault().start("store.save").tag("records", count);
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, Charset.defaultCharset())) {
+                // write each player's data in a structured format
+                for (Player p : records) {
+                    writePlayer(writer, p);
+                }
+                writer.write("end\n"); // end of file marker
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            event.succeeded = true;
+        } finally {
+            Files.deleteIfExists(temp);
+            span.end();
+            SAVE_TIME.recordSince(start);
+            if (event.shouldCommit()) {
+                event.file = ARCADE_FILE;
+                event.records = count;
+                event.bytes = new File(ARCADE_FILE).length();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * gets the key a player is stored under in the arcade file
+     * 
+     * @param p the player
+     * @return the lower-case username
+     */
+    private static String key(Player p) {
+        return p.getUsername().toLowerCase();
+    }
+
+    /**
+     * writes one player's record in the arcade file format
+     * username, password hash, age, name, tokens and tickets on their own
+     * lines, then an optional achievements line and one line per item, then
+     * the ":" separator. shared by saveToFile and the test data generator
+     * 
+     * @param writer the destination
+     * @param p      the player to write
+     * @throws IOException if writing fails
+     */
+    public static void writePlayer(Writer writer, Player p) throws IOException {
+        writer.write(p.getUsername().toLowerCase() + "\n");
+        writer.write(p.getPassword() + "\n");
+        writer.write(p.getAge() + "\n");
+        writer.write(p.getName() + "\n");
+        writer.write(p.getWallet().getTokens() + "\n");
+        writer.write(p.getWallet().getTickets() + "\n");
+        if (p.getAchievementCount() > 0) {
+            StringBuilder line = new StringBuilder(ACHIEVEMENTS_PREFIX);
+            for (Achievement a : p.getAchievements()) {
+                if (line.length() > ACHIEVEMENTS_PREFIX.length()) {
+                    line.append(FIELD_SEPARATOR);
+                }
+                line.append(a.getName());
+            }
+            writer.write(line.append('\n').toString());
+        }
+        List<Functional> powerups = p.getWallet().getPowerups();
+        if (powerups != null) {
+            for (Functional item : powerups) {
+                String line = ItemCodec.format(item);
+                if (line != null) {
+                    writer.write(ITEM_PREFIX + line + "\n");
+                }
+            }
+        }
+        writer.write(":\n"); // separator between players
+    }
+
+    /**
+     * gets the progress store kept next to the arcade file
+     * opened on first use, and reopened if the arcade file is changed
+     * 
+     * @return the shared progress store
+     */
+    public static synchronized ProgressStore getProgressStore() {
+        Path file = Paths.get(ARCADE_FILE + ".progress");
+        if (progressStore == null || !progressStore.getFile().equals(file)) {
+            try {
+                progressStore = ProgressStore.open(file);
+            } catch (IOException e) {
+                LOG.error("Error loading progress: {}", e.getMessage());
+                progressStore = ProgressStore.empty(file); // start fresh rather than lose the session
+            }
+        }
+        return progressStore;
+    }
+
+    /**
+     * gets the resident roster for the current arcade file, reading the file
+     * into it on first use and whenever the file name changes
+     * 
+     * @return the shared player store, or null with the default file store,
+     *         where every operation reads the arcade file again
+     */
+    public static synchronized PlayerStore getPlayerStore() {
+        if (STORE_KIND.equals("file")) {
+            return null;
+        }
+        if (playerStore == null || !ARCADE_FILE.equals(playerStoreFile)) {
+            PlayerStore store = createPlayerStore();
+            boolean needsUpgrade = readRecords(store::add);
+            setPlayerStore(store);
+            if (needsUpgrade) {
+                writeArcadeFile(store, store.size()); // save in the new format
+            }
+        }
+        return playerStore;
+    }
+
+    /**
+     * reads the store kind from the arcade.store system property
+     * 
+     * @return "file", "compact" or "tiered"
+     */
+    private static String storeKindFromProperty() {
+        String kind = System.getProperty(STORE_PROPERTY, "file").trim().toLowerCase();
+        if (!kind.equals("file") && !kind.equals("compact") && !kind.equals("tiered")) {
+            LOG.warn("Unknown player store {}, using the file store", kind);
+            return "file";
+        }
+        return kind;
+    }
+
+    /**
+     * creates an empty store of the configured kind
+     * the tiered store spills players to a scratch record file beside the
+     * arcade file, deleted when the store is replaced or the arcade exits
+     * 
+     * @return the store
+     */
+    private static PlayerStore createPlayerStore() {
+        if (STORE_KIND.equals("tiered")) {
+            try {
+                Path arcade = Paths.get(ARCADE_FILE).toAbsolutePath();
+                Path records = Files.createTempFile(arcade.getParent(), arcade.getFileName().toString(), ".players");
+                records.toFile().deleteOnExit();
+                return new TieredPlayerStore(records, Integer.getInteger(CACHE_SIZE_PROPERTY, 10_000));
+            } catch (IOException e) {
+                LOG.error("Error creating player record file, keeping every player in memory: {}", e.getMessage());
+            }
+        }
+        return new CompactRoster();
+    }
+
+    /**
+     * makes a store the resident roster for the current arcade file,
+     * closing the one it replaces
+     * 
+     * @param store the new store, or null to read the file again on next use
+     */
+    private static void setPlayerStore(PlayerStore store) {
+        if (playerStore instanceof Closeable) {
+            try {
+                ((Closeable) playerStore).close();
+            } catch (IOException e) {
+                LOG.warn("Error closing player store: {}", e.getMessage());
+            }
+        }
+        playerStore = store;
+        playerStoreFile = ARCADE_FILE;
+        if (store != null) {
+            Leaderboards.getDefault().setSource(ArcadeManager::fillLeaderboards); // add the new roster on next read
+        }
+    }
+
+    /**
+     * saves every player's progress counters
+     * this rewrites the whole progress file, so it runs when the roster is
+     * saved, such as at logout, and never once per game
+     * 
+     * @return true if save successful, false otherwise
+     */
+    public boolean saveProgress() {
+        Span span = Tracer.getDefault().start("store.saveProgress");
+        try {
+            getProgressStore().save();
             return true;
         } catch (IOException e) {
-            System.err.println("Error saving to file: " + e.getMessage());
+            LOG.error("Error saving progress: {}", e.getMessage());
             return false;
+        } finally {
+            span.end();
         }
     }
 
     /**
      * loads all player data from the persistent storage file
      * parses the structured format and creates player objects
-     * supports both old format (4 fields) and new format (6 fields) for backward
-     * compatibility
+     * supports both old format (4 fields) and new format (6 fields, optionally
+     * followed by achievement and item lines) for backward compatibility
      * 
      * @return list of all players loaded from file
      */
     public List<Player> loadFromFile() {
+        PlayerStore store = getPlayerStore();
+        Span span = Tracer.getDefault().start("store.load");
+        try {
+            List<Player> loaded = store != null ? listPlayers(store) : readArcadeFile();
+            span.tag("records", loaded.size());
+            return loaded;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * reads the roster so the statistics count every player
+     * with a resident store this only loads the store, without building the
+     * players that loadFromFile returns
+     * 
+     * @return the number of registered players
+     */
+    public int preloadPlayers() {
+        PlayerStore store = getPlayerStore();
+        return store != null ? store.size() : loadFromFile().size();
+    }
+
+    /**
+     * reads and parses the arcade file for loadFromFile
+     * 
+     * @return list of all players loaded from file
+     */
+    private List<Player> readArcadeFile() {
         List<Player> players = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(ARCADE_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.equals("end"))
-                    break; // stop at end marker
+        boolean needsUpgrade = readRecords(players::add);
 
-                // skip separator lines
-                if (line.equals(":"))
-                    continue;
+        // if we loaded players and detected old format, automatically save in new
+        // format
+        if (!players.isEmpty()) {
+            this.players = players;
+            if (needsUpgrade) {
+                saveToFile(); // this will save in the new format with tokens and tickets
+            }
+        }
 
-                // read basic player data: username, password, age, name
-                String username = line;
-                String password = reader.readLine();
-                String ageLine = reader.readLine();
-                String name = reader.readLine();
+        return players;
+    }
 
-                // peek at the next line to determine format
-                String nextLine = reader.readLine();
+    /**
+     * parses every record in the arcade file and replaces the population
+     * statistics with totals tallied from it
+     * players are not attached to their progress here; that happens when
+     * one is fetched, so a large roster never builds progress for players
+     * nobody is looking at
+     * 
+     * @param sink receives each player as it is read
+     * @return true if any record was in an old format and should be rewritten
+     */
+    private static boolean readRecords(Consumer<Player> sink) {
+        long start = System.nanoTime();
+        StoreLoadEvent event = new StoreLoadEvent();
+        event.begin();
+        int[] records = new int[1];
+        boolean needsUpgrade = false; // true if any record is in an old format
+        ArcadeStatistics.Population population = new ArcadeStatistics.Population();
+        try (BufferedReader reader = new BufferedReader(new FileReader(ARCADE_FILE))) {
+            needsUpgrade = parseRecords(reader, p -> {
+                population.add(p.getAge(), p.getAchievementCount());
+                sink.accept(p);
+                records[0]++;
+            });
+            ArcadeStatistics.getDefault().replacePopulation(population);
+        } catch (IOException e) {
+            FILE_ERRORS.increment();
+            LOG.error("Error loading from file: {}", e.getMessage());
+        }
+        LOAD_TIME.recordSince(start);
+        if (event.shouldCommit()) {
+            event.file = ARCADE_FILE;
+            event.records = records[0];
+            event.bytes = new File(ARCADE_FILE).length();
+            event.commit();
+        }
+        return needsUpgrade;
+    }
 
-                int age;
-                int tokens = 50; // default starting tokens
-                int tickets = 0; // default starting tickets
+    /**
+     * parses the records of an arcade file
+     * 
+     * @param reader the open arcade file
+     * @param sink   receives each player as it is read
+     * @return true if any record was in an old format and should be rewritten
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean parseRecords(BufferedReader reader, Consumer<Player> sink) throws IOException {
+        boolean needsUpgrade = false; // true if any record is in an old format
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.equals("end"))
+                break; // stop at end marker
+
+            // skip separator lines
+            if (line.equals(":"))
+                continue;
+
+            // read basic player data: username, password, age, name
+            String username = line;
+            String password = reader.readLine();
+            String ageLine = reader.readLine();
+            String name = reader.readLine();
+
+            // peek at the next line to determine format
+            String nextLine = reader.readLine();
+
+            int age;
+            int tokens = 50; // default starting tokens
+            int tickets = 0; // default starting tickets
+            List<String> extras = new ArrayList<>(); // achievement and item lines
+            boolean upToDate = false; // true once the record is known to be in the new format
+
+            try {
+                age = Integer.parseInt(ageLine);
+            } catch (NumberFormatException e) {
+                LOG.warn("Invalid age for user {}: {}", username, ageLine);
+                continue;
+            }
 
+            // check if we have the new format (tokens and tickets) or old format
+            if (nextLine != null && !nextLine.equals(":")) {
+                // new format: nextLine should be tokens
                 try {
-                    age = Integer.parseInt(ageLine);
+                    tokens = Integer.parseInt(nextLine);
+                    String ticketsLine = reader.readLine();
+                    if (ticketsLine != null && !ticketsLine.equals(":")) {
+                        tickets = Integer.parseInt(ticketsLine);
+                        upToDate = true;
+                        // achievement and item lines, if any, run up to the ":" separator
+                        String extra;
+                        while ((extra = reader.readLine()) != null && !extra.equals(":")) {
+                            extras.add(extra);
+                        }
+                    }
                 } catch (NumberFormatException e) {
-                    System.err.println("Invalid age for user " + username + ": " + ageLine);
-                    continue;
+                    // if parsing fails, treat as old format and reset to defaults
+                    LOG.info("Using default wallet values for user {} (old format detected)", username);
+                    tokens = 50;
+                    tickets = 0;
+                    // nextLine was ":", so we don't need to read another separator
                 }
+            }
+            // if nextLine was ":", we already have the separator and use default values
 
-                // check if we have the new format (tokens and tickets) or old format
-                if (nextLine != null && !nextLine.equals(":")) {
-                    // new format: nextLine should be tokens
-                    try {
-                        tokens = Integer.parseInt(nextLine);
-                        String ticketsLine = reader.readLine();
-                        if (ticketsLine != null && !ticketsLine.equals(":")) {
-                            tickets = Integer.parseInt(ticketsLine);
-                            reader.readLine(); // consume the ":" separator
+            // create player object with loaded data
+            Player p = new Player(name, username.toLowerCase(), password, age);
+            if (!upToDate || !username.equals(p.getUsername())) {
+                needsUpgrade = true;
+            }
+            for (String extra : extras) {
+                if (extra.startsWith(ACHIEVEMENTS_PREFIX)) {
+                    for (String achievementName : extra.substring(ACHIEVEMENTS_PREFIX.length())
+                            .split("\\" + FIELD_SEPARATOR)) {
+                        Achievement a = AchievementCatalog.find(achievementName);
+                        if (a != null) {
+                            p.addAchievement(a);
                         }
-                    } catch (NumberFormatException e) {
-                        // if parsing fails, treat as old format and reset to defaults
-                        System.out.println("Note: Using default wallet values for user " + username +
-                                " (old format detected)");
-                        tokens = 50;
-                        tickets = 0;
-                        // nextLine was ":", so we don't need to read another separator
+                    }
+                } else if (extra.startsWith(ITEM_PREFIX)) {
+                    Functional item = ItemCodec.parse(extra.substring(ITEM_PREFIX.length()));
+                    if (item != null) {
+                        if (p.getWallet().getPowerups() == null) {
+                            p.getWallet().setPowerups(new ArrayList<>());
+                        }
+                        p.getWallet().getPowerups().add(item);
                     }
                 }
-                // if nextLine was ":", we already have the separator and use default values
-
-                // create player object with loaded data
-                Player p = new Player(name, username.toLowerCase(), password, age);
-                // set wallet balances
-                p.getWallet().setTokens(tokens);
-                p.getWallet().setTickets(tickets);
-                players.add(p);
-                // System.out.println(
-                // "Found player: " + p.getUsername() + ", Age: " + p.getAge() + ", Name: " +
-                // p.getName() + ", Tokens: " + tokens + ", Tickets: " + tickets);
             }
-        } catch (IOException e) {
-            System.err.println("Error loading from file: " + e.getMessage());
+            // set wallet balances
+            p.getWallet().setTokens(tokens);
+            p.getWallet().setTickets(tickets);
+            sink.accept(p);
+            // System.out.println(
+            // "Found player: " + p.getUsername() + ", Age: " + p.getAge() + ", Name: " +
+            // p.getName() + ", Tokens: " + tokens + ", Tickets: " + tickets);
         }
+        return needsUpgrade;
+    }
 
-        // if we loaded players and detected old format, automatically save in new
-        // format
-        if (!players.isEmpty()) {
-            this.players = players;
-            saveToFile(); // this will save in the new format with tokens and tickets
+    /**
+     * builds every player in a store
+     * the players are not attached to their progress; searchForPlayer
+     * does that for the one being fetched
+     * 
+     * @param store the store
+     * @return the players
+     */
+    private static List<Player> listPlayers(PlayerStore store) {
+        List<Player> list = new ArrayList<>(store.size());
+        for (Player p : store) {
+            list.add(p);
         }
+        return list;
+    }
 
-        return players;
+    /**
+     * attaches a fetched player to its shared progress counters
+     * 
+     * @param p the player
+     * @return the same player
+     */
+    private static Player withProgress(Player p) {
+        p.setProgress(getProgressStore().forPlayer(p.getUsername()));
+        return p;
+    }
+
+    /**
+     * puts every registered player on the leaderboards
+     * the leaderboards' source, run the first time a board is read: ticket
+     * boards get players with saved progress and the achievement board
+     * players with achievements, read from the resident store or, with the
+     * file store, from the arcade file
+     * 
+     * @param boards the leaderboards to fill
+     */
+    private static void fillLeaderboards(Leaderboards boards) {
+        ProgressStore progress = getProgressStore();
+        PlayerStore store = getPlayerStore();
+        if (store instanceof CompactRoster) {
+            ((CompactRoster) store).scan(view -> {
+                String username = view.getUsername();
+                PlayerProgress saved = progress.find(username);
+                if (saved != null) {
+                    boards.addTickets(username, saved);
+                }
+                boards.addAchievements(username, view.getAchievementCount());
+            });
+            return;
+        }
+        Consumer<Player> add = p -> {
+            PlayerProgress saved = progress.find(p.getUsername());
+            if (saved != null) {
+                boards.addTickets(p.getUsername(), saved);
+            }
+            boards.addAchievements(p.getUsername(), p.getAchievementCount());
+        };
+        if (store != null) {
+            store.forEach(add);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(ARCADE_FILE))) {
+            parseRecords(reader, add);
+        } catch (IOException e) {
+            FILE_ERRORS.increment();
+            LOG.error("Error loading from file: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * drops a removed player from the progress store, leaderboards and
+     * statistics
+     * 
+     * @param gone the removed player
+     */
+    private static void forgetPlayer(Player gone) {
+        getProgressStore().remove(gone.getUsername());
+        Leaderboards.getDefault().remove(gone.getUsername());
+        ArcadeStatistics.getDefault().removePlayer(gone.getAge(), gone.getAchievementCount());
     }
 
     /**
@@ -371,11 +983,41 @@ public class ArcadeManager {
 
     /**
      * sets the list of registered players
+     * with the file store, saveToFile then writes this list as the whole
+     * roster rather than merging the session's player into the file; with a
+     * resident store, the store's contents are replaced by the list,
+     * or with null the store is dropped and read from the file again on
+     * next use
      * 
      * @param players the list of players to set
      */
     public void setPlayers(List<Player> players) {
         this.players = players;
+        this.rosterSet = players != null;
+        if (!STORE_KIND.equals("file")) {
+            replacePlayerStore(players);
+        }
+    }
+
+    /**
+     * replaces the resident roster for the current arcade file
+     * 
+     * @param players the new contents, or null to read the file on next use
+     */
+    private static synchronized void replacePlayerStore(List<Player> players) {
+        if (players == null) {
+            setPlayerStore(null);
+            return;
+        }
+        PlayerStore store = createPlayerStore();
+        ArcadeStatistics.Population population = new ArcadeStatistics.Population();
+        for (Player p : players) {
+            if (store.add(p)) {
+                population.add(p.getAge(), p.getAchievementCount());
+            }
+        }
+        setPlayerStore(store);
+        ArcadeStatistics.getDefault().replacePopulation(population);
     }
 
     /**
@@ -588,7 +1230,7 @@ public class ArcadeManager {
                     p.getUsername(),
                     p.getName(),
                     p.getAge(),
-                    p.getAchievements().size());
+                    p.getAchievementCount());
         }
     }
 
@@ -692,7 +1334,7 @@ public class ArcadeManager {
      */
     public void adjustGameDifficultyForCurrentPlayer(Game game) {
         if (player == null) {
-            System.err.println("No current player set, cannot adjust difficulty");
+            LOG.warn("No current player set, cannot adjust difficulty");
             return;
         }
 
@@ -735,6 +1377,41 @@ public class ArcadeManager {
         return player != null && player.hasEnoughTokens(game.getRequiredTokens());
     }
 
+    /**
+     * seeds a game from this session's random stream before it is played
+     * the seed is recorded on the game so the run can be replayed later
+     * 
+     * @param game the game about to be played
+     * @return the seed assigned to this run
+     */
+    public long seedGame(Game game) {
+        long seed = sessionRandom.nextGameSeed();
+        game.setSeed(seed);
+        return seed;
+    }
+
+    /**
+     * awards an achievement to the logged in player
+     * keeps the achievements leaderboard and statistics in step with the award
+     * 
+     * @param achievement the achievement earned
+     * @return true if the achievement is new for the player
+     */
+    public boolean awardAchievement(Achievement achievement) {
+        if (player == null || !player.addAchievement(achievement)) {
+            return false;
+        }
+        Leaderboards.getDefault().updateAchievements(player);
+        ArcadeStatistics.getDefault().recordAchievement();
+        AchievementEvent event = new AchievementEvent();
+        if (event.shouldCommit()) {
+            event.username = player.getUsername();
+            event.achievement = achievement.getName();
+            event.commit();
+        }
+        return true;
+    }
+
     /**
      * processes a game transaction by deducting tokens and awarding tickets
      * handles the financial aspect of playing games
@@ -745,24 +1422,41 @@ public class ArcadeManager {
      */
     public boolean processGameTransaction(Game game, int ticketsWon) {
         if (player == null) {
-            System.err.println("No player logged in for transaction.");
+            TRANSACTION_FAILURES.increment();
+            LOG.warn("No player logged in for transaction.");
             return false;
         }
 
+        long start = System.nanoTime();
         // deduct tokens (this should have been checked before calling this method)
         if (!player.spendTokens(game.getRequiredTokens())) {
-            System.err.println("Player cannot afford this game.");
+            TRANSACTION_FAILURES.increment();
+            LOG.warn("Player cannot afford this game.");
             return false;
         }
 
         // award tickets based on game performance
         player.addTickets(ticketsWon);
 
+        // count the game towards the player's progress and award any milestones it reaches
+        GameEndEvent result = game.getLastGameEnd();
+        boolean won = result != null ? result.isGameWon() : ticketsWon > 0;
+        List<Achievement> milestones = player.getProgress().record(game.getId(), won, ticketsWon);
+        for (Achievement milestone : milestones) {
+            awardAchievement(milestone);
+            System.out.println("🏅 Milestone reached: " + milestone.getName() + " " + milestone.getDescription());
+        }
+        // progress is saved with the wallet by saveToFile, not rewritten for every player after each game
+        Leaderboards.getDefault().updateTickets(player);
+        ArcadeStatistics.getDefault().recordGame(game.getId(), game.getRequiredTokens(), ticketsWon);
+        TRANSACTION_TIME.recordSince(start);
+
         // provide transaction feedback to the player
         System.out.println(
                 "💰 Transaction complete: -" + game.getRequiredTokens() + " tokens, +" + ticketsWon + " tickets");
         System.out.println("💳 Current balance: " + player.getWallet().getTokens() + " tokens, " +
                 player.getWallet().getTickets() + " tickets");
+        System.out.println("🎲 Game seed: " + Long.toHexString(game.getSeed()));
 
         return true;
     }
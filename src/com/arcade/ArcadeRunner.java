@@ -20,10 +20,24 @@ import com.arcade.player.Player;
 import com.arcade.games.Game;
 import com.arcade.item.Functional;
 import com.arcade.item.Achievement;
+import com.arcade.item.AchievementChecker;
 import com.arcade.item.Luck;
 import com.arcade.item.ExtraLife;
 import com.arcade.item.TicketMultiplier;
+import com.arcade.leaderboard.Leaderboard;
+import com.arcade.leaderboard.Leaderboards;
+import com.arcade.log.ArcadeLog;
+import com.arcade.metrics.Counter;
+import com.arcade.metrics.Gauge;
+import com.arcade.metrics.Histogram;
+import com.arcade.metrics.MetricsRegistry;
+import com.arcade.stats.ArcadeStatistics;
+import com.arcade.trace.Span;
+import com.arcade.trace.Tracer;
+import com.arcade.payment.PaymentRequest;
+import com.arcade.payment.PaymentService;
 import com.arcade.util.Bcolors;
+import com.arcade.util.ScreenRenderer;
 
 /**
  * main class that runs the arcade gaming system
@@ -31,6 +45,16 @@ import com.arcade.util.Bcolors;
  * separate interfaces for admin and regular users
  */
 public class ArcadeRunner {
+    private static final ArcadeLog LOG = ArcadeLog.forClass(ArcadeRunner.class);
+    private static final long PAYMENT_LOGOUT_WAIT_MILLIS = 10000; // how often logout reports payments still processing
+    // trace span names for each menu option, indexed by the option number
+    private static final String[] ADMIN_ACTIONS = { null, "menu.displayAllPlayers",
+            "menu.displayPlayersSortedByUsername", "menu.displayPlayersSortedByAge",
+            "menu.binarySearchPlayerByUsername", "menu.searchPlayersByAgeRange", "menu.searchForPlayersByName",
+            "menu.removePlayer", "menu.displayPlayerStatistics", "menu.displayMetrics", "menu.logout" };
+    private static final String[] USER_ACTIONS = { null, "menu.viewProfile", "menu.playGame",
+            "menu.viewItemsAndAchievements", "menu.buyTokens", "menu.shopForItems", "menu.viewLeaderboards",
+            "menu.logout" };
 
     /**
      * main method that starts the arcade application
@@ -39,23 +63,26 @@ public class ArcadeRunner {
      * @param args command line arguments (not used)
      */
     public static void main(String[] args) {
+        MetricsRegistry.registerMBean(); // lets jmx clients read the metrics while the arcade runs
         ArcadeManager arcadeManager = new ArcadeManager();
         Scanner sc = new Scanner(System.in);
 
         // load existing player data from file
-        arcadeManager.loadFromFile();
+        arcadeManager.preloadPlayers();
 
         boolean loggedIn = false;
 
         // authentication loop - continues until user logs in or exits
         while (!loggedIn) {
-            System.out.println("\n\n" + Bcolors.BOLD + Bcolors.CYAN + "=== ARCADE LOGIN ===" + Bcolors.ENDC);
-            System.out.println(Bcolors.BRIGHT_YELLOW + "Welcome to Arcade!" + Bcolors.ENDC);
-            System.out.println("Would you like to:");
-            System.out.println(Bcolors.OKBLUE + "  1. Log in as a user" + Bcolors.ENDC);
-            System.out.println(Bcolors.OKBLUE + "  2. Create an account" + Bcolors.ENDC);
-            System.out.println(Bcolors.OKBLUE + "  3. Exit" + Bcolors.ENDC);
-            System.out.print(Bcolors.BOLD + Bcolors.BRIGHT_CYAN + "Enter an option: " + Bcolors.ENDC);
+            ScreenRenderer.current()
+                    .line("\n\n" + Bcolors.BOLD + Bcolors.CYAN + "=== ARCADE LOGIN ===" + Bcolors.ENDC)
+                    .line(Bcolors.BRIGHT_YELLOW + "Welcome to Arcade!" + Bcolors.ENDC)
+                    .line("Would you like to:")
+                    .line(Bcolors.OKBLUE + "  1. Log in as a user" + Bcolors.ENDC)
+                    .line(Bcolors.OKBLUE + "  2. Create an account" + Bcolors.ENDC)
+                    .line(Bcolors.OKBLUE + "  3. Exit" + Bcolors.ENDC)
+                    .text(Bcolors.BOLD + Bcolors.BRIGHT_CYAN + "Enter an option: " + Bcolors.ENDC)
+                    .flush();
 
             // parse input as integer for menu selection
             String input = sc.nextLine();
@@ -127,7 +154,14 @@ public class ArcadeRunner {
 
                 // hash password for comparison with stored hash
                 String hashedPassword = generateSHA256(passwordInput);
-                ArcadeManager.LoginStatus status = arcadeManager.tryLogin(usernameInput, hashedPassword);
+                Span span = Tracer.getDefault().start("menu.login");
+                ArcadeManager.LoginStatus status;
+                try {
+                    status = arcadeManager.tryLogin(usernameInput, hashedPassword);
+                    span.tag("status", status.name());
+                } finally {
+                    span.end();
+                }
 
                 // handle different login outcomes
                 switch (status) {
@@ -170,92 +204,106 @@ public class ArcadeRunner {
 
         boolean running = true;
         do {
-            System.out.println("\n\n" + Bcolors.BOLD + Bcolors.MAGENTA + "=== ARCADE > ADMIN MENU ===" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  1. View all players" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  2. View players sorted by username" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  3. View players sorted by age" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  4. Search player by username (Binary Search)" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  5. Search players by age range (Linear Search)" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  6. Search players by name" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  7. Remove player" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  8. View player statistics" + Bcolors.ENDC);
-            System.out.println(Bcolors.YELLOW + "  9. Log out" + Bcolors.ENDC);
-            System.out.print(Bcolors.BOLD + Bcolors.BRIGHT_CYAN + "Enter an option: " + Bcolors.ENDC);
+            ScreenRenderer.current()
+                    .line("\n\n" + Bcolors.BOLD + Bcolors.MAGENTA + "=== ARCADE > ADMIN MENU ===" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  1. View all players" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  2. View players sorted by username" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  3. View players sorted by age" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  4. Search player by username (Binary Search)" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  5. Search players by age range (Linear Search)" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  6. Search players by name" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  7. Remove player" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  8. View player statistics" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  9. View metrics" + Bcolors.ENDC)
+                    .line(Bcolors.YELLOW + "  10. Log out" + Bcolors.ENDC)
+                    .text(Bcolors.BOLD + Bcolors.BRIGHT_CYAN + "Enter an option: " + Bcolors.ENDC)
+                    .flush();
 
             try {
                 int choice = Integer.parseInt(sc.nextLine());
-                switch (choice) {
-                    case 1:
-                        arcadeManager.displayAllPlayers();
-                        break;
-                    case 2:
-                        // demonstrates selection sort algorithm
-                        arcadeManager.displayPlayersSortedByUsername();
-                        break;
-                    case 3:
-                        // demonstrates insertion sort algorithm
-                        arcadeManager.displayPlayersSortedByAge();
-                        break;
-                    case 4:
-                        System.out.print(Bcolors.OKCYAN + "Enter username to search: " + Bcolors.ENDC);
-                        String searchUsername = sc.nextLine();
-
-                        // demonstrates binary search algorithm (requires sorted data)
-                        Player foundPlayer = arcadeManager.binarySearchPlayerByUsername(searchUsername);
-                        if (foundPlayer != null) {
-                            System.out.println(
-                                    "\n" + Bcolors.BOLD + Bcolors.GREEN + "=== PLAYER FOUND ===" + Bcolors.ENDC);
-                            System.out
-                                    .println(Bcolors.OKBLUE + "Username: " + Bcolors.ENDC + foundPlayer.getUsername());
-                            System.out.println(Bcolors.OKBLUE + "Name: " + Bcolors.ENDC + foundPlayer.getName());
-                            System.out.println(Bcolors.OKBLUE + "Age: " + Bcolors.ENDC + foundPlayer.getAge());
-                            System.out.println(Bcolors.OKBLUE + "Achievements: " + Bcolors.ENDC
-                                    + foundPlayer.getAchievements().size());
-                        } else {
-                            System.out.println(Bcolors.WARNING + "Player not found." + Bcolors.ENDC);
-                        }
-                        break;
-                    case 5:
-                        System.out.print(Bcolors.OKCYAN + "Enter minimum age: " + Bcolors.ENDC);
-                        int minAge = Integer.parseInt(sc.nextLine());
-                        System.out.print(Bcolors.OKCYAN + "Enter maximum age: " + Bcolors.ENDC);
-                        int maxAge = Integer.parseInt(sc.nextLine());
-
-                        // demonstrates linear search algorithm
-                        arcadeManager.searchPlayersByAgeRange(minAge, maxAge);
-                        break;
-                    case 6:
-                        System.out.print(Bcolors.OKCYAN + "Enter player name to search: " + Bcolors.ENDC);
-                        String playerName = sc.nextLine();
-                        List<Player> playersFound = arcadeManager.searchForPlayersByName(playerName);
-                        if (!playersFound.isEmpty()) {
-                            System.out.println(
-                                    "\n" + Bcolors.BOLD + Bcolors.GREEN + "=== PLAYERS FOUND ===" + Bcolors.ENDC);
-                            for (Player p : playersFound) {
-                                System.out.println(Bcolors.OKBLUE + "Username: " + Bcolors.ENDC + p.getUsername() +
-                                        Bcolors.OKBLUE + ", Name: " + Bcolors.ENDC + p.getName() +
-                                        Bcolors.OKBLUE + ", Age: " + Bcolors.ENDC + p.getAge());
+                Span span = Tracer.getDefault().start(actionSpanName(ADMIN_ACTIONS, choice));
+                try {
+                    switch (choice) {
+                        case 1:
+                            arcadeManager.displayAllPlayers();
+                            break;
+                        case 2:
+                            // demonstrates selection sort algorithm
+                            arcadeManager.displayPlayersSortedByUsername();
+                            break;
+                        case 3:
+                            // demonstrates insertion sort algorithm
+                            arcadeManager.displayPlayersSortedByAge();
+                            break;
+                        case 4:
+                            System.out.print(Bcolors.OKCYAN + "Enter username to search: " + Bcolors.ENDC);
+                            String searchUsername = sc.nextLine();
+
+                            // demonstrates binary search algorithm (requires sorted data)
+                            Player foundPlayer = arcadeManager.binarySearchPlayerByUsername(searchUsername);
+                            if (foundPlayer != null) {
+                                System.out.println(
+                                        "\n" + Bcolors.BOLD + Bcolors.GREEN + "=== PLAYER FOUND ===" + Bcolors.ENDC);
+                                System.out.println(
+                                        Bcolors.OKBLUE + "Username: " + Bcolors.ENDC + foundPlayer.getUsername());
+                                System.out.println(Bcolors.OKBLUE + "Name: " + Bcolors.ENDC + foundPlayer.getName());
+                                System.out.println(Bcolors.OKBLUE + "Age: " + Bcolors.ENDC + foundPlayer.getAge());
+                                System.out.println(Bcolors.OKBLUE + "Achievements: " + Bcolors.ENDC
+                                        + foundPlayer.getAchievementCount());
+                            } else {
+                                System.out.println(Bcolors.WARNING + "Player not found." + Bcolors.ENDC);
                             }
-                        }
-                        break;
-                    case 7:
-                        System.out.print(Bcolors.OKCYAN + "Enter username to remove: " + Bcolors.ENDC);
-                        String removeUsername = sc.nextLine();
-                        if (arcadeManager.removePlayer(removeUsername)) {
-                            System.out.println(Bcolors.OKGREEN + "Player removed successfully." + Bcolors.ENDC);
-                        } else {
-                            System.out.println(Bcolors.FAIL + "Failed to remove player." + Bcolors.ENDC);
-                        }
-                        break;
-                    case 8:
-                        displayPlayerStatistics(arcadeManager);
-                        break;
-                    case 9:
-                        running = false;
-                        System.out.println(Bcolors.BRIGHT_YELLOW + "Logging out..." + Bcolors.ENDC);
-                        break;
-                    default:
-                        System.out.println(Bcolors.WARNING + "Invalid option, please try again." + Bcolors.ENDC);
+                            break;
+                        case 5:
+                            System.out.print(Bcolors.OKCYAN + "Enter minimum age: " + Bcolors.ENDC);
+                            int minAge = Integer.parseInt(sc.nextLine());
+                            System.out.print(Bcolors.OKCYAN + "Enter maximum age: " + Bcolors.ENDC);
+                            int maxAge = Integer.parseInt(sc.nextLine());
+
+                            // demonstrates linear search algorithm
+                            arcadeManager.searchPlayersByAgeRange(minAge, maxAge);
+                            break;
+                        case 6:
+                            System.out.print(Bcolors.OKCYAN + "Enter player name to search: " + Bcolors.ENDC);
+                            String playerName = sc.nextLine();
+                            List<Player> playersFound = arcadeManager.searchForPlayersByName(playerName);
+                            if (!playersFound.isEmpty()) {
+                                System.out.println(
+                                        "\n" + Bcolors.BOLD + Bcolors.GREEN + "=== PLAYERS FOUND ===" + Bcolors.ENDC);
+                                for (Player p : playersFound) {
+                                    System.out.println(Bcolors.OKBLUE + "Username: " + Bcolors.ENDC + p.getUsername() +
+                                            Bcolors.OKBLUE + ", Name: " + Bcolors.ENDC + p.getName() +
+                                            Bcolors.OKBLUE + ", Age: " + Bcolors.ENDC + p.getAge());
+                                }
+                            } else {
+                                System.out.println(Bcolors.FAIL + "No players found with name " + playerName + "."
+                                        + Bcolors.ENDC);
+                            }
+                            break;
+                        case 7:
+                            System.out.print(Bcolors.OKCYAN + "Enter username to remove: " + Bcolors.ENDC);
+                            String removeUsername = sc.nextLine();
+                            if (arcadeManager.removePlayer(removeUsername)) {
+                                System.out.println(Bcolors.OKGREEN + "Player removed successfully." + Bcolors.ENDC);
+                            } else {
+                                System.out.println(Bcolors.FAIL + "Failed to remove player." + Bcolors.ENDC);
+                            }
+                            break;
+                        case 8:
+                            displayPlayerStatistics(arcadeManager);
+                            break;
+                        case 9:
+                            displayMetrics();
+                            break;
+                        case 10:
+                            running = false;
+                            System.out.println(Bcolors.BRIGHT_YELLOW + "Logging out..." + Bcolors.ENDC);
+                            break;
+                        default:
+                            System.out.println(Bcolors.WARNING + "Invalid option, please try again." + Bcolors.ENDC);
+                    }
+                } finally {
+                    span.end();
                 }
             } catch (NumberFormatException e) {
                 System.out.println(Bcolors.FAIL + "Please enter a valid number." + Bcolors.ENDC);
@@ -263,6 +311,20 @@ public class ArcadeRunner {
         } while (running);
     }
 
+    /**
+     * gets the trace span name for a menu option
+     * 
+     * @param actions span names indexed by option number
+     * @param choice  the option entered
+     * @return the span name
+     */
+    private static String actionSpanName(String[] actions, int choice) {
+        if (choice < 1 || choice >= actions.length) {
+            return "menu.invalidOption";
+        }
+        return actions[choice];
+    }
+
     /**
      * runs the regular user menu interface with game and profile functions
      * provides access to games, profile viewing, and item management
@@ -276,41 +338,58 @@ public class ArcadeRunner {
                 + "!" + Bcolors.ENDC);
         boolean running = true;
         do {
-            System.out.println("\n\n" + Bcolors.BOLD + Bcolors.BLUE + "=== ARCADE > MAIN MENU ===" + Bcolors.ENDC);
-            System.out.println(Bcolors.BRIGHT_WHITE + "What would you like to do?" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  1. View your profile" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  2. Play a game" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  3. View items/achievements" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  4. Buy tokens" + Bcolors.ENDC);
-            System.out.println(Bcolors.CYAN + "  5. Shop for items/powerups" + Bcolors.ENDC);
-            System.out.println(Bcolors.YELLOW + "  6. Log out" + Bcolors.ENDC);
-            System.out.print(Bcolors.BOLD + Bcolors.BRIGHT_CYAN + "Enter an option: " + Bcolors.ENDC);
+            ScreenRenderer screen = ScreenRenderer.current();
+            renderPaymentUpdates(arcadeManager, screen);
+            screen
+                    .line("\n\n" + Bcolors.BOLD + Bcolors.BLUE + "=== ARCADE > MAIN MENU ===" + Bcolors.ENDC)
+                    .line(Bcolors.BRIGHT_WHITE + "What would you like to do?" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  1. View your profile" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  2. Play a game" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  3. View items/achievements" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  4. Buy tokens" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  5. Shop for items/powerups" + Bcolors.ENDC)
+                    .line(Bcolors.CYAN + "  6. View leaderboards" + Bcolors.ENDC)
+                    .line(Bcolors.YELLOW + "  7. Log out" + Bcolors.ENDC)
+                    .text(Bcolors.BOLD + Bcolors.BRIGHT_CYAN + "Enter an option: " + Bcolors.ENDC)
+                    .flush();
 
             try {
                 int choice = Integer.parseInt(sc.nextLine());
-                switch (choice) {
-                    case 1:
-                        viewProfile(arcadeManager);
-                        break;
-                    case 2:
-                        playGame(arcadeManager, sc);
-                        break;
-                    case 3:
-                        viewItemsAndAchievements(arcadeManager, sc);
-                        break;
-                    case 4:
-                        buyTokens(arcadeManager, sc);
-                        break;
-                    case 5:
-                        shopForItems(arcadeManager, sc);
-                        break;
-                    case 6:
-                        running = false;
-                        System.out.println(Bcolors.BRIGHT_YELLOW + "Thank you for playing! Goodbye, " +
-                                arcadeManager.getPlayer().getUsername() + "!" + Bcolors.ENDC);
-                        break;
-                    default:
-                        System.out.println(Bcolors.WARNING + "Invalid option, please try again." + Bcolors.ENDC);
+                Span span = Tracer.getDefault().start(actionSpanName(USER_ACTIONS, choice));
+                try {
+                    switch (choice) {
+                        case 1:
+                            viewProfile(arcadeManager);
+                            break;
+                        case 2:
+                            playGame(arcadeManager, sc);
+                            break;
+                        case 3:
+                            viewItemsAndAchievements(arcadeManager, sc);
+                            break;
+                        case 4:
+                            buyTokens(arcadeManager, sc);
+                            break;
+                        case 5:
+                            shopForItems(arcadeManager, sc);
+                            break;
+                        case 6:
+                            viewLeaderboards(arcadeManager);
+                            break;
+                        case 7:
+                            running = false;
+                            finishPendingPayments(arcadeManager);
+                            if (!arcadeManager.saveToFile()) {
+                                System.out.println(Bcolors.FAIL + "Your wallet could not be saved." + Bcolors.ENDC);
+                            }
+                            System.out.println(Bcolors.BRIGHT_YELLOW + "Thank you for playing! Goodbye, " +
+                                    arcadeManager.getPlayer().getUsername() + "!" + Bcolors.ENDC);
+                            break;
+                        default:
+                            System.out.println(Bcolors.WARNING + "Invalid option, please try again." + Bcolors.ENDC);
+                    }
+                } finally {
+                    span.end();
                 }
             } catch (NumberFormatException e) {
                 System.out.println(Bcolors.FAIL + "Please enter a valid number." + Bcolors.ENDC);
@@ -318,6 +397,130 @@ public class ArcadeRunner {
         } while (running);
     }
 
+    /**
+     * adds payment notices to the top of the next menu screen
+     * finished payments are announced once, and any still processing are
+     * listed with their pending tokens
+     * 
+     * @param arcadeManager the arcade manager instance
+     * @param screen        the renderer for the menu screen
+     */
+    private static void renderPaymentUpdates(ArcadeManager arcadeManager, ScreenRenderer screen) {
+        Player player = arcadeManager.getPlayer();
+        PaymentService payments = PaymentService.getDefault();
+
+        for (PaymentRequest payment : payments.takeFinished(player)) {
+            if (payment.getStatus() == PaymentRequest.Status.APPROVED) {
+                screen.line(Bcolors.OKGREEN + "✅ Payment #" + payment.getId() + " approved! " + payment.getTokens()
+                        + " tokens added to your wallet (" + payment.getPackageName() + ", "
+                        + payment.getPriceText() + ")." + Bcolors.ENDC);
+
+                // Award achievement for first purchase
+                arcadeManager.awardAchievement(Achievement.bigSpender());
+            } else {
+                screen.line(Bcolors.FAIL + "❌ Payment #" + payment.getId() + " was declined. No tokens were added."
+                        + Bcolors.ENDC);
+            }
+        }
+
+        List<PaymentRequest> pending = payments.getPending(player);
+        if (!pending.isEmpty()) {
+            int pendingTokens = 0;
+            for (PaymentRequest payment : pending) {
+                pendingTokens += payment.getTokens();
+            }
+            screen.line(Bcolors.YELLOW + "⏳ " + pending.size() + " payment(s) processing, " + pendingTokens
+                    + " tokens pending." + Bcolors.ENDC);
+        }
+    }
+
+    /**
+     * waits for the player's payments to clear before logging out
+     * approved payments are credited to the session's player, which is only
+     * saved by the logout that follows, so logout does not go ahead while
+     * any of this player's payments are still at the processor
+     * 
+     * @param arcadeManager the arcade manager instance
+     */
+    private static void finishPendingPayments(ArcadeManager arcadeManager) {
+        PaymentService payments = PaymentService.getDefault();
+        Player player = arcadeManager.getPlayer();
+        if (payments.getPending(player).isEmpty()) {
+            payments.flushSettlements();
+        } else {
+            System.out.println("💳 Finishing your pending payments...");
+            try {
+                while (!payments.awaitSettled(player, PAYMENT_LOGOUT_WAIT_MILLIS)) {
+                    System.out.println(Bcolors.WARNING + "Your payments are still processing, please wait..."
+                            + Bcolors.ENDC);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // announces payments finished since the last menu, which also lets the service drop this player
+        ScreenRenderer screen = ScreenRenderer.current();
+        renderPaymentUpdates(arcadeManager, screen);
+        screen.flush();
+    }
+
+    /**
+     * displays the arcade's leaderboards and the player's place on them
+     * reads immutable leaderboard snapshots, so it never waits on games
+     * being recorded in other sessions
+     * 
+     * @param arcadeManager the arcade manager instance
+     */
+    private static void viewLeaderboards(ArcadeManager arcadeManager) {
+        String username = arcadeManager.getPlayer().getUsername();
+        Leaderboards leaderboards = Leaderboards.getDefault();
+        ScreenRenderer screen = ScreenRenderer.current();
+
+        screen.line("\n\n" + Bcolors.BOLD + Bcolors.MAGENTA + "=== ARCADE > MAIN MENU > LEADERBOARDS ===" + Bcolors.ENDC);
+        renderLeaderboard(screen, leaderboards.getTickets(), username, "tickets", 10);
+        renderLeaderboard(screen, leaderboards.getAchievements(), username, "achievements", 5);
+        for (Game game : arcadeManager.getGames()) {
+            Leaderboard board = leaderboards.getGameTickets(game.getId());
+            if (board != null) {
+                renderLeaderboard(screen, board, username, "tickets", 3);
+            }
+        }
+        screen.flush();
+    }
+
+    /**
+     * adds one leaderboard to a screen: its top entries, then the player's
+     * own rank if they are not among them
+     * 
+     * @param screen   the renderer for the screen
+     * @param board    the leaderboard
+     * @param username the logged in player
+     * @param unit     what the scores count, such as tickets
+     * @param topCount how many top entries to show
+     */
+    private static void renderLeaderboard(ScreenRenderer screen, Leaderboard board, String username, String unit,
+            int topCount) {
+        Leaderboard.Snapshot snapshot = board.snapshot();
+        screen.line().line(Bcolors.BOLD + Bcolors.BRIGHT_YELLOW + "🏆 " + board.getTitle() + Bcolors.ENDC);
+        if (snapshot.size() == 0) {
+            screen.line(Bcolors.WARNING + "  No scores yet." + Bcolors.ENDC);
+            return;
+        }
+
+        boolean shownPlayer = false;
+        for (Leaderboard.Entry entry : snapshot.top(topCount)) {
+            boolean isPlayer = entry.getUsername().equals(username);
+            shownPlayer |= isPlayer;
+            screen.format("%s  %2d. %-15s %6d %s%s%n", isPlayer ? Bcolors.BRIGHT_GREEN : Bcolors.CYAN,
+                    entry.getRank(), entry.getUsername(), entry.getScore(), unit, Bcolors.ENDC);
+        }
+        Leaderboard.Entry own = snapshot.find(username);
+        if (!shownPlayer && own != null) {
+            screen.format("%s  You are #%d of %d with %d %s%s%n", Bcolors.BRIGHT_GREEN, own.getRank(),
+                    snapshot.size(), own.getScore(), unit, Bcolors.ENDC);
+        }
+    }
+
     /**
      * displays comprehensive user profile information
      * shows personal details, wallet balance, and achievements
@@ -325,7 +528,7 @@ public class ArcadeRunner {
      * 
      * @param arcadeManager the arcade manager instance
      */
-    private static void viewProfile(ArcadeManager arcadeManager) {
+    public static void viewProfile(ArcadeManager arcadeManager) {
         Player player = arcadeManager.getPlayer();
 
         System.out.println(
@@ -337,7 +540,7 @@ public class ArcadeRunner {
         System.out.println(
                 Bcolors.OKBLUE + "Age: " + Bcolors.ENDC + Bcolors.BRIGHT_WHITE + player.getAge() + Bcolors.ENDC);
         System.out.println(Bcolors.OKBLUE + "Achievements: " + Bcolors.ENDC + Bcolors.BRIGHT_WHITE
-                + player.getAchievements().size() + Bcolors.ENDC);
+                + player.getAchievementCount() + Bcolors.ENDC);
 
         // display wallet information with emoji indicators
         System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "💳 WALLET:" + Bcolors.ENDC);
@@ -348,11 +551,11 @@ public class ArcadeRunner {
 
         // calculate achievement score using factorial (demonstrates recursion)
         // limit to 5 to prevent overflow with large numbers
-        int achievementScore = arcadeManager.calculateFactorial(Math.min(player.getAchievements().size(), 5));
+        int achievementScore = arcadeManager.calculateFactorial(Math.min(player.getAchievementCount(), 5));
         System.out.println(Bcolors.BRIGHT_GREEN + "Achievement Score: " + achievementScore + " points" + Bcolors.ENDC);
 
         // display individual achievements if any exist
-        if (!player.getAchievements().isEmpty()) {
+        if (player.getAchievementCount() > 0) {
             System.out.println("\n" + Bcolors.BOLD + Bcolors.GREEN + "Your Achievements:" + Bcolors.ENDC);
             for (Achievement achievement : player.getAchievements()) {
                 System.out.println(Bcolors.GREEN + "- " + achievement.getName() + ": " + Bcolors.ENDC
@@ -442,50 +645,75 @@ public class ArcadeRunner {
                     return;
                 }
 
-                // apply age-based difficulty adjustment before starting the game
-                arcadeManager.adjustGameDifficultyForCurrentPlayer(selectedGame);
+                runSelectedGame(arcadeManager, selectedGame);
+            } else {
+                System.out.println(Bcolors.WARNING + "Invalid selection." + Bcolors.ENDC);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(Bcolors.FAIL + "Please enter a valid number." + Bcolors.ENDC);
+        }
+    }
 
-                System.out.println(
-                        "\n" + Bcolors.BRIGHT_GREEN + "Starting " + selectedGame.getTitle() + "..." + Bcolors.ENDC);
+    /**
+     * plays a game the player has already chosen and paid to start
+     * adjusts the difficulty, brings in the player's powerups, then settles
+     * tokens, tickets and achievements once the game ends. shared by the
+     * games menu and the load test's scripted sessions
+     * 
+     * @param arcadeManager the arcade manager instance
+     * @param selectedGame  the game to play
+     * @return the tickets won
+     */
+    public static int runSelectedGame(ArcadeManager arcadeManager, Game selectedGame) {
+        Player player = arcadeManager.getPlayer();
 
-                // gather available items from player's inventory
-                ArrayList<Functional> availableItems = new ArrayList<>();
-                if (player.getWallet().getPowerups() != null) {
-                    for (Functional item : player.getWallet().getPowerups()) {
-                        if (item.getNumUses() > 0) {
-                            availableItems.add(item);
-                        }
-                    }
-                }
+        // apply age-based difficulty adjustment before starting the game
+        arcadeManager.adjustGameDifficultyForCurrentPlayer(selectedGame);
 
-                // let player choose items to use (simplified for now - could add selection
-                // menu)
-                ArrayList<Functional> itemsToUse = new ArrayList<>();
-                if (!availableItems.isEmpty()) {
-                    System.out.println("\n" + Bcolors.BRIGHT_BLUE + "🎮 You have " + availableItems.size()
-                            + " powerups available!" + Bcolors.ENDC);
-                    System.out.println(Bcolors.OKBLUE + "Your powerups will be automatically used during the game."
-                            + Bcolors.ENDC);
-                    itemsToUse.addAll(availableItems);
+        System.out.println(
+                "\n" + Bcolors.BRIGHT_GREEN + "Starting " + selectedGame.getTitle() + "..." + Bcolors.ENDC);
+
+        // gather available items from player's inventory
+        ArrayList<Functional> availableItems = new ArrayList<>();
+        if (player.getWallet().getPowerups() != null) {
+            for (Functional item : player.getWallet().getPowerups()) {
+                if (item.getNumUses() > 0) {
+                    availableItems.add(item);
                 }
+            }
+        }
 
-                // polymorphism: calling runGame on different game types
-                int ticketsWon = selectedGame.runGame(itemsToUse);
+        // let player choose items to use (simplified for now - could add selection
+        // menu)
+        ArrayList<Functional> itemsToUse = new ArrayList<>();
+        if (!availableItems.isEmpty()) {
+            System.out.println("\n" + Bcolors.BRIGHT_BLUE + "🎮 You have " + availableItems.size()
+                    + " powerups available!" + Bcolors.ENDC);
+            System.out.println(Bcolors.OKBLUE + "Your powerups will be automatically used during the game."
+                    + Bcolors.ENDC);
+            itemsToUse.addAll(availableItems);
+        }
 
-                // process the transaction (deduct tokens, award tickets)
-                arcadeManager.processGameTransaction(selectedGame, ticketsWon);
+        // give this run its own recorded seed so the outcome can be replayed
+        arcadeManager.seedGame(selectedGame);
 
-                // award achievement for playing games
-                Achievement gameAchievement = new Achievement("Game Player",
-                        "Played " + selectedGame.getTitle());
-                arcadeManager.getPlayer().addAchievement(gameAchievement);
+        // polymorphism: play calls runGame on different game types
+        int ticketsWon = selectedGame.play(itemsToUse);
 
-            } else {
-                System.out.println(Bcolors.WARNING + "Invalid selection." + Bcolors.ENDC);
-            }
-        } catch (NumberFormatException e) {
-            System.out.println(Bcolors.FAIL + "Please enter a valid number." + Bcolors.ENDC);
+        // process the transaction (deduct tokens, award tickets)
+        arcadeManager.processGameTransaction(selectedGame, ticketsWon);
+
+        // show and award the achievements the engine found for this run
+        List<Achievement> earned = selectedGame.collectAchievements();
+        AchievementChecker.displayAchievements(earned);
+        for (Achievement achievement : earned) {
+            arcadeManager.awardAchievement(achievement);
         }
+
+        // award achievement for playing games
+        arcadeManager.awardAchievement(Achievement.gamePlayer());
+
+        return ticketsWon;
     }
 
     /**
@@ -592,45 +820,105 @@ public class ArcadeRunner {
 
     /**
      * displays comprehensive player statistics for admin use
-     * calculates and shows aggregate data about all players
+     * reads the running aggregates kept by ArcadeStatistics, so the screen
+     * costs the same no matter how many players are registered
      * 
      * @param arcadeManager the arcade manager instance
      */
     private static void displayPlayerStatistics(ArcadeManager arcadeManager) {
-        List<Player> allPlayers = arcadeManager.getPlayers();
-        if (allPlayers == null) {
-            allPlayers = arcadeManager.loadFromFile();
+        ArcadeStatistics stats = ArcadeStatistics.getDefault();
+        if (stats.getPlayerCount() == 0) {
+            arcadeManager.preloadPlayers(); // registers every player with the statistics
         }
 
-        if (allPlayers.isEmpty()) {
+        if (stats.getPlayerCount() == 0) {
             System.out.println("No players found.");
             return;
         }
 
         System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "=== PLAYER STATISTICS ===" + Bcolors.ENDC);
         System.out
-                .println(Bcolors.OKBLUE + "Total Players: " + Bcolors.BRIGHT_WHITE + allPlayers.size() + Bcolors.ENDC);
-
-        // calculate aggregate statistics
-        int totalAge = 0;
-        int totalAchievements = 0;
-
-        for (Player p : allPlayers) {
-            totalAge += p.getAge();
-            totalAchievements += p.getAchievements().size();
-        }
-
-        // calculate averages with proper decimal formatting
-        double averageAge = (double) totalAge / allPlayers.size();
-        double averageAchievements = (double) totalAchievements / allPlayers.size();
-
+                .println(Bcolors.OKBLUE + "Total Players: " + Bcolors.BRIGHT_WHITE + stats.getPlayerCount() + Bcolors.ENDC);
         System.out.printf(Bcolors.OKBLUE + "Average Age: " + Bcolors.BRIGHT_WHITE + "%.1f years\n" + Bcolors.ENDC,
-                averageAge);
+                stats.getAverageAge());
         System.out.printf(
                 Bcolors.OKBLUE + "Average Achievements: " + Bcolors.BRIGHT_WHITE + "%.1f per player\n" + Bcolors.ENDC,
-                averageAchievements);
+                stats.getAverageAchievements());
+        System.out.println(
+                Bcolors.OKBLUE + "Total Achievements: " + Bcolors.BRIGHT_WHITE + stats.getTotalAchievements()
+                        + Bcolors.ENDC);
+
+        // age histogram, one row per bucket that has players
+        System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "--- Ages ---" + Bcolors.ENDC);
+        for (int bucket = 0; bucket < ArcadeStatistics.AGE_BUCKETS; bucket++) {
+            long count = stats.getAgeBucket(bucket);
+            if (count == 0) {
+                continue;
+            }
+            int low = bucket * ArcadeStatistics.AGE_BUCKET_YEARS;
+            String label = bucket == ArcadeStatistics.AGE_BUCKETS - 1 ? low + "+"
+                    : low + "-" + (low + ArcadeStatistics.AGE_BUCKET_YEARS - 1);
+            System.out.printf(Bcolors.OKBLUE + "%-6s " + Bcolors.BRIGHT_WHITE + "%d\n" + Bcolors.ENDC, label, count);
+        }
+
+        // games, tokens and tickets since the arcade started
+        System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "--- Activity ---" + Bcolors.ENDC);
         System.out.println(
-                Bcolors.OKBLUE + "Total Achievements: " + Bcolors.BRIGHT_WHITE + totalAchievements + Bcolors.ENDC);
+                Bcolors.OKBLUE + "Games Played: " + Bcolors.BRIGHT_WHITE + stats.getGamesPlayed() + Bcolors.ENDC);
+        for (Map.Entry<Integer, Long> entry : stats.getGamePlays().entrySet()) {
+            Game game = arcadeManager.getGameById(entry.getKey());
+            String title = game != null ? game.getTitle() : "Game " + entry.getKey();
+            System.out.println("  " + title + ": " + entry.getValue());
+        }
+        System.out.println(Bcolors.OKBLUE + "Tokens Purchased: " + Bcolors.BRIGHT_WHITE + stats.getTokensPurchased()
+                + Bcolors.OKBLUE + "  Spent: " + Bcolors.BRIGHT_WHITE + stats.getTokensSpent() + Bcolors.ENDC);
+        System.out.println(Bcolors.OKBLUE + "Tickets Awarded: " + Bcolors.BRIGHT_WHITE + stats.getTicketsAwarded()
+                + Bcolors.OKBLUE + "  Spent: " + Bcolors.BRIGHT_WHITE + stats.getTicketsSpent() + Bcolors.ENDC);
+        if (stats.getGamesPlayed() > 0) {
+            System.out.printf(Bcolors.OKBLUE + "Ticket Payouts: " + Bcolors.BRIGHT_WHITE
+                    + "p50 %.0f, p90 %.0f, p99 %.0f\n" + Bcolors.ENDC,
+                    stats.getTicketPayoutQuantile(0.5), stats.getTicketPayoutQuantile(0.9),
+                    stats.getTicketPayoutQuantile(0.99));
+        }
+    }
+
+    /**
+     * displays every metric the arcade has recorded since it started
+     * counters and gauges show their value; histograms show their count,
+     * mean, percentiles and maximum, with durations in milliseconds
+     */
+    private static void displayMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+
+        System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "=== METRICS ===" + Bcolors.ENDC);
+        System.out.println(Bcolors.BOLD + Bcolors.CYAN + "--- Counters ---" + Bcolors.ENDC);
+        for (Counter counter : metrics.getCounters()) {
+            System.out.printf(Bcolors.OKBLUE + "%-36s " + Bcolors.BRIGHT_WHITE + "%d\n" + Bcolors.ENDC,
+                    counter.getName(), counter.get());
+        }
+        System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "--- Gauges ---" + Bcolors.ENDC);
+        for (Gauge gauge : metrics.getGauges()) {
+            System.out.printf(Bcolors.OKBLUE + "%-36s " + Bcolors.BRIGHT_WHITE + "%d\n" + Bcolors.ENDC,
+                    gauge.getName(), gauge.get());
+        }
+
+        System.out.println("\n" + Bcolors.BOLD + Bcolors.CYAN + "--- Histograms ---" + Bcolors.ENDC);
+        System.out.printf("%-36s %8s %10s %10s %10s %10s %10s %s\n", "name", "count", "mean", "p50", "p90", "p99",
+                "max", "unit");
+        for (Histogram histogram : metrics.getHistograms()) {
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            // durations are recorded in nanoseconds but read best in milliseconds
+            boolean nanos = histogram.getUnit().equals(Histogram.NANOSECONDS);
+            double scale = nanos ? 1e6 : 1;
+            System.out.printf(Bcolors.OKBLUE + "%-36s " + Bcolors.BRIGHT_WHITE
+                    + "%8d %10.2f %10.2f %10.2f %10.2f %10.2f %s\n" + Bcolors.ENDC,
+                    histogram.getName(), histogram.getCount(), histogram.getMean() / scale,
+                    histogram.getQuantile(0.5) / scale, histogram.getQuantile(0.9) / scale,
+                    histogram.getQuantile(0.99) / scale, histogram.getMax() / scale,
+                    nanos ? "ms" : histogram.getUnit());
+        }
     }
 
     /**
@@ -655,8 +943,7 @@ public class ArcadeRunner {
         } catch (NoSuchAlgorithmException e) {
             // this exception is thrown if the algorithm is not available
             // highly unlikely for standard algorithms like sha-256
-            System.err.println("SHA-256 algorithm not found!");
-            e.printStackTrace();
+            LOG.error("SHA-256 algorithm not found: {}", e.getMessage());
             return null;
         }
     }
@@ -687,6 +974,8 @@ public class ArcadeRunner {
      * handles token purchasing functionality
      * simulates buying tokens with real money
      * provides different token package options for players
+     * the purchase is queued with the payment service and the menu returns
+     * right away; the tokens arrive when the payment clears
      * 
      * @param arcadeManager the arcade manager instance
      * @param sc            scanner for user input
@@ -714,27 +1003,32 @@ public class ArcadeRunner {
             int tokensToAdd = 0;
             String packageName = "";
             String price = "";
+            int priceCents = 0;
 
             switch (choice) {
                 case 1:
                     tokensToAdd = 25;
                     packageName = "Small Pack";
                     price = "$5.00";
+                    priceCents = 500;
                     break;
                 case 2:
                     tokensToAdd = 60;
                     packageName = "Medium Pack";
                     price = "$10.00";
+                    priceCents = 1000;
                     break;
                 case 3:
                     tokensToAdd = 100;
                     packageName = "Large Pack";
                     price = "$15.00";
+                    priceCents = 1500;
                     break;
                 case 4:
                     tokensToAdd = 200;
                     packageName = "Mega Pack";
                     price = "$25.00";
+                    priceCents = 2500;
                     break;
                 case 5:
                     System.out.println("Purchase cancelled.");
@@ -750,25 +1044,17 @@ public class ArcadeRunner {
             String confirm = sc.nextLine().toLowerCase();
 
             if (confirm.startsWith("y")) {
-                // Simulate payment processing
-                System.out.println("💳 Processing payment...");
-                try {
-                    Thread.sleep(1000); // Simulate processing delay
-                } catch (InterruptedException e) {
-                    // Handle interruption
+                // Queue the payment; tokens are credited when it clears
+                PaymentRequest payment = PaymentService.getDefault().submit(player, packageName, tokensToAdd,
+                        priceCents);
+                if (payment == null) {
+                    System.out.println(Bcolors.WARNING
+                            + "⚠️ The payment system is busy right now. Please try again in a moment." + Bcolors.ENDC);
+                    return;
                 }
 
-                // Add tokens to player's wallet
-                player.addTokens(tokensToAdd);
-
-                System.out.println("✅ Payment successful! " + tokensToAdd + " tokens added to your wallet.");
-                System.out.println("💳 New balance: " + player.getWallet().getTokens() + " tokens, " +
-                        player.getWallet().getTickets() + " tickets");
-
-                // Award achievement for first purchase
-                Achievement purchaseAchievement = new Achievement("Big Spender",
-                        "Purchased token package: " + packageName);
-                arcadeManager.getPlayer().addAchievement(purchaseAchievement);
+                System.out.println("💳 Payment #" + payment.getId() + " is processing. " + tokensToAdd
+                        + " tokens will be added to your wallet once it clears.");
             } else {
                 System.out.println("Purchase cancelled.");
             }
@@ -816,22 +1102,22 @@ public class ArcadeRunner {
 
                 switch (choice) {
                     case 1:
-                        purchaseItem(player, new Luck("Luck Charm", 3, 20, 2), sc);
+                        purchaseItem(arcadeManager, new Luck("Luck Charm", 3, 20, 2), sc);
                         break;
                     case 2:
-                        purchaseItem(player, new ExtraLife("Extra Life", 1, 15), sc);
+                        purchaseItem(arcadeManager, new ExtraLife("Extra Life", 1, 15), sc);
                         break;
                     case 3:
-                        purchaseItem(player, new TicketMultiplier("Ticket Multiplier", 1, 25), sc);
+                        purchaseItem(arcadeManager, new TicketMultiplier("Ticket Multiplier", 1, 25), sc);
                         break;
                     case 4:
-                        purchaseItem(player, new Luck("Super Luck Charm", 2, 35, 3), sc);
+                        purchaseItem(arcadeManager, new Luck("Super Luck Charm", 2, 35, 3), sc);
                         break;
                     case 5:
-                        purchaseItem(player, new ExtraLife("Life Bundle", 3, 40), sc);
+                        purchaseItem(arcadeManager, new ExtraLife("Life Bundle", 3, 40), sc);
                         break;
                     case 6:
-                        purchaseItem(player, new TicketMultiplier("Mega Multiplier", 1, 50), sc);
+                        purchaseItem(arcadeManager, new TicketMultiplier("Mega Multiplier", 1, 50), sc);
                         break;
                     case 7:
                         viewCurrentItems(player);
@@ -852,11 +1138,12 @@ public class ArcadeRunner {
      * handles the purchase of a specific functional item
      * validates player has enough tickets and processes the transaction
      * 
-     * @param player the player making the purchase
-     * @param item   the functional item to purchase
-     * @param sc     scanner for user input
+     * @param arcadeManager the arcade manager instance
+     * @param item          the functional item to purchase
+     * @param sc            scanner for user input
      */
-    private static void purchaseItem(Player player, Functional item, Scanner sc) {
+    private static void purchaseItem(ArcadeManager arcadeManager, Functional item, Scanner sc) {
+        Player player = arcadeManager.getPlayer();
         System.out.println("\n💰 Item: " + item.getName());
         System.out.println("💰 Price: " + item.getPrice() + " tickets");
         System.out.println("💰 Uses: " + item.getNumUses());
@@ -874,6 +1161,7 @@ public class ArcadeRunner {
         if (confirm.startsWith("y")) {
             // Deduct tickets
             player.getWallet().setTickets(player.getWallet().getTickets() - item.getPrice());
+            ArcadeStatistics.getDefault().recordTicketsSpent(item.getPrice());
 
             // Add item to player's powerups (initialize list if needed)
             if (player.getWallet().getPowerups() == null) {
@@ -886,9 +1174,7 @@ public class ArcadeRunner {
                     player.getWallet().getTickets() + " tickets");
 
             // Award achievement for item purchase
-            Achievement shopAchievement = new Achievement("Savvy Shopper",
-                    "Purchased item: " + item.getName());
-            player.addAchievement(shopAchievement);
+            arcadeManager.awardAchievement(Achievement.savvyShopper());
         } else {
             System.out.println("Purchase cancelled.");
         }
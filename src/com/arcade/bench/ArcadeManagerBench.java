@@ -0,0 +1,174 @@
+/**
+ * ArcadeManagerBench.java
+ *
+ * benchmarks for ArcadeManager persistence and player lookup
+ * each benchmark runs against generated rosters of several sizes, written
+ * to a temporary arcade file, so storage changes can be compared before
+ * and after
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.bench;
+
+import com.arcade.ArcadeManager;
+import com.arcade.ArcadeRunner;
+import com.arcade.player.Player;
+import com.arcade.util.FileTrees;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * benchmarks loadFromFile, saveToFile, tryLogin, searchForPlayer,
+ * addPlayer, binarySearchPlayerByUsername, sortPlayersByAge and
+ * linearSearchPlayersByAgeRange over rosters of 1k, 100k and 1M players
+ *
+ * run with: java -Xmx4g -cp out com.arcade.bench.ArcadeManagerBench
+ * set -Dbench.sizes=1000,100000 to choose roster sizes, and see Bench for
+ * the iteration settings. the selection and insertion sorts behind
+ * binarySearchPlayerByUsername and sortPlayersByAge are quadratic, so they
+ * are skipped for rosters larger than -Dbench.quadraticLimit (default 10000).
+ * add -Darcade.store=compact or -Darcade.store=tiered to measure a resident
+ * player store instead of reading the file for every operation
+ */
+public class ArcadeManagerBench {
+    private static final int SAMPLE = 1024; // players looked up in rotation
+    private static final long SEED = 0x5EEDL; // rosters are the same in every run
+
+    /**
+     * runs every benchmark for every roster size
+     *
+     * @param args ignored
+     * @throws IOException if the temporary files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Bench bench = Bench.fromSystemProperties();
+        int[] sizes = Bench.intList("bench.sizes", 1_000, 100_000, 1_000_000);
+        int quadraticLimit = Integer.getInteger("bench.quadraticLimit", 10_000);
+        String originalFile = ArcadeManager.getArcadeFile();
+        Path dir = Files.createTempDirectory("arcade-bench");
+        try {
+            bench.printHeader();
+            for (int size : sizes) {
+                runSize(bench, dir, size, quadraticLimit);
+            }
+        } finally {
+            ArcadeManager.setArcadeFile(originalFile);
+            FileTrees.deleteTree(dir);
+        }
+    }
+
+    /**
+     * runs every benchmark against one roster size
+     *
+     * @param bench          the runner
+     * @param dir            the temporary directory
+     * @param size           the number of players
+     * @param quadraticLimit largest roster for the quadratic benchmarks
+     * @throws IOException if the roster cannot be written
+     */
+    private static void runSize(Bench bench, Path dir, int size, int quadraticLimit) throws IOException {
+        String param = String.valueOf(size);
+        Path pristine = dir.resolve("roster-" + size + ".txt");
+        Path working = dir.resolve("arcade-" + size + ".txt");
+        String[][] sample = writeRoster(pristine, size);
+        Files.copy(pristine, working, StandardCopyOption.REPLACE_EXISTING);
+        ArcadeManager.setArcadeFile(working.toString());
+        ArcadeManager manager = new ArcadeManager();
+        int[] next = new int[1]; // index into the sample, shared by the lookups
+
+        bench.run("ArcadeManager.loadFromFile", param, manager::loadFromFile);
+
+        manager.setPlayers(manager.loadFromFile());
+        bench.run("ArcadeManager.saveToFile", param, manager::saveToFile);
+
+        bench.run("ArcadeManager.tryLogin", param, () -> {
+            String[] user = sample[next[0]++ & (SAMPLE - 1)];
+            return manager.tryLogin(user[0], user[1]);
+        });
+
+        bench.run("ArcadeManager.searchForPlayer", param,
+                () -> manager.searchForPlayer(sample[next[0]++ & (SAMPLE - 1)][0]));
+
+        // every iteration starts again from the generated roster
+        int[] added = new int[1];
+        bench.run("ArcadeManager.addPlayer", param, () -> {
+            try {
+                Files.copy(pristine, working, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            manager.setPlayers(null);
+        }, () -> {
+            int id = added[0]++;
+            return manager.addPlayer(new Player("Bench Player", "bench" + id, sample[0][1], 30));
+        });
+        Files.copy(pristine, working, StandardCopyOption.REPLACE_EXISTING);
+
+        if (size <= quadraticLimit) {
+            bench.run("ArcadeManager.binarySearchPlayerByUsername", param,
+                    () -> manager.binarySearchPlayerByUsername(sample[next[0]++ & (SAMPLE - 1)][0]));
+            bench.run("ArcadeManager.sortPlayersByAge", param, () -> {
+                manager.sortPlayersByAge();
+                return manager.getPlayers();
+            });
+        } else {
+            String reason = "quadratic sort, roster above bench.quadraticLimit=" + quadraticLimit;
+            bench.skip("ArcadeManager.binarySearchPlayerByUsername", param, reason);
+            bench.skip("ArcadeManager.sortPlayersByAge", param, reason);
+        }
+
+        bench.run("ArcadeManager.linearSearchPlayersByAgeRange", param,
+                () -> manager.linearSearchPlayersByAgeRange(18, 30));
+    }
+
+    /**
+     * writes a roster of generated players through ArcadeManager.saveToFile
+     *
+     * @param file the arcade file to write
+     * @param size the number of players
+     * @return up to SAMPLE {username, password hash} pairs spread over the roster
+     */
+    private static String[][] writeRoster(Path file, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Player> players = new ArrayList<>(size);
+        String[][] sample = new String[SAMPLE][];
+        int stride = Math.max(1, size / SAMPLE);
+        for (int i = 0; i < size; i++) {
+            String username = "player" + i;
+            boolean sampled = i % stride == 0 && i / stride < SAMPLE;
+            // hashing a million passwords is slow, so only sampled players get their own
+            String password = sampled ? ArcadeRunner.generateSHA256("password" + i) : "x";
+            Player player = new Player("Player " + i, username, password, 5 + random.nextInt(76));
+            player.getWallet().setTokens(random.nextInt(200));
+            player.getWallet().setTickets(random.nextInt(1000));
+            players.add(player);
+            if (sampled) {
+                sample[i / stride] = new String[] { username, password };
+            }
+        }
+        // small rosters repeat the sample
+        for (int i = 0; i < SAMPLE; i++) {
+            if (sample[i] == null) {
+                sample[i] = sample[i % Math.max(1, Math.min(size, SAMPLE))];
+            }
+        }
+
+        String previous = ArcadeManager.getArcadeFile();
+        ArcadeManager.setArcadeFile(file.toString());
+        try {
+            ArcadeManager writer = new ArcadeManager();
+            writer.setPlayers(players);
+            writer.saveToFile();
+        } finally {
+            ArcadeManager.setArcadeFile(previous);
+        }
+        return sample;
+    }
+}
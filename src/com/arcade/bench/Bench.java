@@ -0,0 +1,227 @@
+/**
+ * Bench.java
+ *
+ * a small benchmark runner in the style of jmh
+ * runs warmup and measured iterations of an operation and reports
+ * throughput and bytes allocated per operation
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.bench;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * runs benchmarks and prints one result row per benchmark and parameter
+ * each iteration runs the operation back to back for the iteration time
+ * (always at least once) after an optional setup that is not measured.
+ * results are fed to a volatile sink so the jit cannot drop the work.
+ *
+ * settings are read from system properties:
+ * bench.warmup (iterations, default 3), bench.iterations (default 5),
+ * bench.time (milliseconds per iteration, default 1000), bench.filter (a
+ * regex matched against benchmark names, default all)
+ */
+public final class Bench {
+    private static volatile Object sink; // consumes results, like jmh's blackhole
+
+    private final int warmups; // unmeasured iterations
+    private final int iterations; // measured iterations
+    private final long iterationNanos; // target length of one iteration
+    private final Pattern filter; // benchmarks to run
+    private final com.sun.management.ThreadMXBean threads; // allocation counters, or null
+    private final PrintStream out = System.out; // results still print while a ConsoleHook discards output
+
+    /**
+     * an operation to measure
+     */
+    @FunctionalInterface
+    public interface Op {
+        /**
+         * runs the operation once
+         *
+         * @return a result to consume, or null
+         * @throws Exception if the operation fails, which stops the benchmark
+         */
+        Object run() throws Exception;
+    }
+
+    /**
+     * creates a runner
+     *
+     * @param warmups        unmeasured iterations
+     * @param iterations     measured iterations
+     * @param iterationMillis target length of one iteration
+     * @param filter         regex selecting benchmark names
+     */
+    public Bench(int warmups, int iterations, long iterationMillis, String filter) {
+        this.warmups = warmups;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = Pattern.compile(filter);
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.threads = (com.sun.management.ThreadMXBean) bean;
+            this.threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.threads = null;
+        }
+    }
+
+    /**
+     * creates a runner configured from system properties
+     *
+     * @return the runner
+     */
+    public static Bench fromSystemProperties() {
+        return new Bench(Integer.getInteger("bench.warmup", 3), Integer.getInteger("bench.iterations", 5),
+                Long.getLong("bench.time", 1000), System.getProperty("bench.filter", ".*"));
+    }
+
+    /**
+     * reads a comma-separated list of integers from a system property
+     *
+     * @param property the property name
+     * @param defaults the values to use when the property is not set
+     * @return the values
+     */
+    public static int[] intList(String property, int... defaults) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            return defaults;
+        }
+        String[] parts = value.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        }
+        return values;
+    }
+
+    /**
+     * checks whether a benchmark is selected by the filter
+     *
+     * @param name the benchmark name
+     * @return true if it should run
+     */
+    public boolean selected(String name) {
+        return filter.matcher(name).find();
+    }
+
+    /**
+     * prints the column headings
+     */
+    public void printHeader() {
+        out.printf(Locale.ROOT, "%-48s %10s %14s %12s %12s %14s%n", "Benchmark", "(param)", "ops/s", "stdev",
+                "us/op", "alloc B/op");
+    }
+
+    /**
+     * prints that a benchmark was skipped
+     *
+     * @param name   the benchmark name
+     * @param param  the parameter value
+     * @param reason why it was skipped
+     */
+    public void skip(String name, String param, String reason) {
+        if (selected(name)) {
+            out.printf(Locale.ROOT, "%-48s %10s   skipped: %s%n", name, param, reason);
+        }
+    }
+
+    /**
+     * runs a benchmark without per-iteration setup
+     *
+     * @param name  the benchmark name
+     * @param param the parameter value shown in the report
+     * @param op    the operation
+     */
+    public void run(String name, String param, Op op) {
+        run(name, param, null, op);
+    }
+
+    /**
+     * runs a benchmark and prints its result row
+     *
+     * @param name  the benchmark name
+     * @param param the parameter value shown in the report
+     * @param setup run before every iteration and not measured, or null
+     * @param op    the operation
+     */
+    public void run(String name, String param, Runnable setup, Op op) {
+        if (!selected(name)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < warmups; i++) {
+                iteration(setup, op);
+            }
+            List<double[]> samples = new ArrayList<>(iterations); // {ops/s, bytes/op}
+            for (int i = 0; i < iterations; i++) {
+                samples.add(iteration(setup, op));
+            }
+            report(name, param, samples);
+        } catch (Exception e) {
+            out.printf(Locale.ROOT, "%-48s %10s   failed: %s%n", name, param, e);
+        }
+    }
+
+    /**
+     * runs one iteration
+     *
+     * @param setup the setup, or null
+     * @param op    the operation
+     * @return the iteration's ops per second and bytes allocated per op
+     * @throws Exception if the operation fails
+     */
+    private double[] iteration(Runnable setup, Op op) throws Exception {
+        if (setup != null) {
+            setup.run();
+        }
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads != null ? threads.getThreadAllocatedBytes(thread) : 0;
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long ops = 0;
+        long now;
+        do {
+            sink = op.run();
+            ops++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        long allocated = threads != null ? threads.getThreadAllocatedBytes(thread) - allocatedBefore : -1;
+        return new double[] { ops * 1e9 / (now - start), allocated < 0 ? Double.NaN : (double) allocated / ops };
+    }
+
+    /**
+     * prints the mean of the measured iterations
+     *
+     * @param name    the benchmark name
+     * @param param   the parameter value
+     * @param samples one {ops/s, bytes/op} pair per iteration
+     */
+    private void report(String name, String param, List<double[]> samples) {
+        double mean = 0;
+        double bytes = 0;
+        for (double[] sample : samples) {
+            mean += sample[0];
+            bytes += sample[1];
+        }
+        mean /= samples.size();
+        bytes /= samples.size();
+        double variance = 0;
+        for (double[] sample : samples) {
+            variance += (sample[0] - mean) * (sample[0] - mean);
+        }
+        double stdev = samples.size() > 1 ? Math.sqrt(variance / (samples.size() - 1)) : 0;
+        out.printf(Locale.ROOT, "%-48s %10s %14.3f %12.3f %12.3f %14.1f%n", name, param, mean, stdev,
+                1e6 / mean, bytes);
+    }
+}
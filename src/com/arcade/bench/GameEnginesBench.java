@@ -0,0 +1,162 @@
+/**
+ * GameEnginesBench.java
+ *
+ * microbenchmarks for the per-turn hot spots of the game rule engines
+ * each benchmark reports throughput and bytes allocated per operation, so
+ * engine optimizations can be judged on both
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.bench;
+
+import com.arcade.games.blackjack.BlackJack;
+import com.arcade.games.diceopoly.Diceopoly;
+import com.arcade.games.madlibs.MadLibs;
+import com.arcade.games.madlibs.StoryTemplate;
+import com.arcade.games.pokeman.Move;
+import com.arcade.games.pokeman.Pokeman;
+import com.arcade.util.ConsoleHook;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * benchmarks BlackJack.calculateHandValue and deck handling,
+ * Move.calculateDamage(difficulty), Pokeman.getAvailableMoves,
+ * Diceopoly.generateBoard and moveSpace, the mad libs story rendering
+ * behind generateCompletedStory, and Game.calculateTicketReward
+ *
+ * run with: java -cp out com.arcade.bench.GameEnginesBench
+ * console output from the engines is discarded while the benchmarks run;
+ * see Bench for the iteration settings
+ */
+public class GameEnginesBench {
+    private static final int INPUTS = 1024; // pre-generated inputs used in rotation
+    private static final long SEED = 0x5EEDL; // inputs are the same in every run
+
+    /**
+     * runs every benchmark
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        Bench bench = Bench.fromSystemProperties();
+        bench.printHeader();
+        ConsoleHook hook = ConsoleHook.discardOutput();
+        try {
+            blackJack(bench);
+            pokeman(bench);
+            diceopoly(bench);
+            madLibs(bench);
+            ticketReward(bench);
+        } finally {
+            hook.close();
+        }
+    }
+
+    /**
+     * benchmarks hand evaluation and shuffling and dealing a deck
+     *
+     * @param bench the runner
+     */
+    private static void blackJack(Bench bench) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        BlackJack.Cards[] cards = BlackJack.Cards.values();
+        List<List<BlackJack.Cards>> hands = new ArrayList<>(INPUTS);
+        for (int i = 0; i < INPUTS; i++) {
+            int size = 2 + random.nextInt(4);
+            List<BlackJack.Cards> hand = new ArrayList<>(size);
+            for (int c = 0; c < size; c++) {
+                hand.add(cards[random.nextInt(cards.length)]);
+            }
+            hands.add(hand);
+        }
+        int[] next = new int[1];
+        bench.run("BlackJack.calculateHandValue", "-",
+                () -> BlackJack.calculateHandValue(hands.get(next[0]++ & (INPUTS - 1))));
+
+        // a fresh shuffled deck, then the opening deal of two cards each
+        bench.run("BlackJack.shuffleAndDeal", "-", () -> {
+            List<BlackJack.Cards> deck = BlackJack.newShuffledDeck(random);
+            List<BlackJack.Cards> player = new ArrayList<>();
+            List<BlackJack.Cards> dealer = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                player.add(deck.remove(0));
+                dealer.add(deck.remove(0));
+            }
+            return BlackJack.calculateHandValue(player) - BlackJack.calculateHandValue(dealer);
+        });
+    }
+
+    /**
+     * benchmarks damage rolls and move filtering
+     *
+     * @param bench the runner
+     */
+    private static void pokeman(Bench bench) {
+        Move fireball = Move.createFireball();
+        for (int difficulty : new int[] { 1, 5, 10 }) {
+            bench.run("Move.calculateDamage", "d=" + difficulty, () -> fireball.calculateDamage(difficulty));
+        }
+
+        Pokeman pokeman = Pokeman.createPlayerPokeman();
+        bench.run("Pokeman.getAvailableMoves", "-", pokeman::getAvailableMoves);
+    }
+
+    /**
+     * benchmarks board generation and movement tiles
+     *
+     * @param bench the runner
+     */
+    private static void diceopoly(Bench bench) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int length : new int[] { Diceopoly.BASE_BOARD_LENGTH, Diceopoly.BASE_BOARD_LENGTH + 10 }) {
+            bench.run("Diceopoly.generateBoard", "len=" + length, () -> Diceopoly.generateBoard(length, random));
+        }
+
+        // alternate forward and back so the position stays on the board
+        Diceopoly game = new Diceopoly();
+        int forward = Diceopoly.encodeTile(Diceopoly.TILE_MOVE_FORWARD, 3);
+        int back = Diceopoly.encodeTile(Diceopoly.TILE_MOVE_BACK, 3);
+        int[] turn = new int[1];
+        bench.run("Diceopoly.moveSpace", "-", () -> {
+            game.moveSpace((turn[0]++ & 1) == 0 ? forward : back);
+            return null;
+        });
+    }
+
+    /**
+     * benchmarks filling each story template, which is all
+     * MadLibs.generateCompletedStory does
+     *
+     * @param bench the runner
+     */
+    private static void madLibs(Bench bench) {
+        for (StoryTemplate story : MadLibs.getStoryTemplates()) {
+            Map<String, String> words = new HashMap<>();
+            for (String word : story.getRequiredWords()) {
+                words.put(word, word.toLowerCase() + "-word");
+            }
+            bench.run("StoryTemplate.render", "diff=" + story.getDifficulty(), () -> story.render(words));
+        }
+    }
+
+    /**
+     * benchmarks the reward calculation shared by every game
+     *
+     * @param bench the runner
+     */
+    private static void ticketReward(Bench bench) {
+        BlackJack game = new BlackJack(1, "Blackjack", 10, 10, 20);
+        game.setMinTicketReward(10);
+        game.setMaxTicketReward(30);
+        double[] scores = new SplittableRandom(SEED).doubles(INPUTS, -0.1, 1.1).toArray();
+        int[] next = new int[1];
+        bench.run("Game.calculateTicketReward", "-",
+                () -> game.calculateTicketReward(scores[next[0]++ & (INPUTS - 1)]));
+    }
+}
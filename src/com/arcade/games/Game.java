@@ -11,7 +11,17 @@
 package com.arcade.games;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import com.arcade.item.Achievement;
+import com.arcade.item.AchievementChecker;
 import com.arcade.item.Functional;
+import com.arcade.item.GameEndEvent;
+import com.arcade.jfr.GamePlayEvent;
+import com.arcade.metrics.Histogram;
+import com.arcade.metrics.MetricsRegistry;
+import com.arcade.trace.Span;
+import com.arcade.trace.Tracer;
+import com.arcade.util.ArcadeRandom;
 
 /**
  * abstract base class for all games in the arcade system
@@ -26,6 +36,12 @@ public abstract class Game {
     private int ticketReward; // base/average ticket reward
     private int minTicketReward; // minimum ticket reward possible
     private int maxTicketReward; // maximum ticket reward possible
+    private long seed; // seed of the current run, recorded for replays
+    private SplittableRandom random; // generator for the current run
+    private CompletableFuture<List<Achievement>> earnedAchievements; // result of the last reported run
+    private GameEndEvent lastGameEnd; // how the last reported run ended
+    private Histogram playTime; // duration of each play, created on first play
+    private Histogram payouts; // tickets won by each play, created on first play
 
     /**
      * constructor for creating a game with basic reward structure
@@ -78,6 +94,42 @@ public abstract class Game {
      */
     public abstract int runGame(ArrayList<Functional> useItems);
 
+    /**
+     * runs the game and records how long it took and what it paid out
+     * in the metrics registry, as game.<title>.duration and game.<title>.tickets,
+     * and as a GamePlayEvent when flight recording is on
+     * 
+     * @param useItems list of functional items the player can use during the game
+     * @return number of tickets won from playing the game
+     */
+    public int play(ArrayList<Functional> useItems) {
+        if (playTime == null) {
+            String name = "game." + title.toLowerCase().replaceAll("[^a-z0-9]+", "_");
+            playTime = MetricsRegistry.getDefault().timer(name + ".duration");
+            payouts = MetricsRegistry.getDefault().histogram(name + ".tickets", "tickets");
+        }
+        long start = System.nanoTime();
+        GamePlayEvent event = new GamePlayEvent();
+        event.begin();
+        Span span = Tracer.getDefault().start("game.play").tag("title", title);
+        try {
+            int ticketsWon = runGame(useItems);
+            payouts.record(ticketsWon);
+            event.ticketsWon = ticketsWon;
+            event.completed = true;
+            return ticketsWon;
+        } finally {
+            span.end();
+            playTime.recordSince(start);
+            if (event.shouldCommit()) {
+                event.gameId = id;
+                event.title = title;
+                event.difficulty = difficulty;
+                event.commit();
+            }
+        }
+    }
+
     /**
      * calculates ticket reward based on player performance
      * uses linear interpolation between min and max rewards
@@ -96,6 +148,74 @@ public abstract class Game {
         return minTicketReward + bonusTickets;
     }
 
+    /**
+     * seeds the game for its next run
+     * the same seed together with the same player input replays the run
+     * exactly, which is how disputed outcomes are checked
+     * 
+     * @param seed the seed to run the game with
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.random = ArcadeRandom.forGame(seed);
+    }
+
+    /**
+     * gets the seed of the current or most recent run
+     * 
+     * @return the recorded seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * gets the random generator for the current run
+     * games that were never seeded (for example when run from their own main
+     * method) get a fresh seed on first use so the run can still be replayed
+     * 
+     * @return the game's random generator
+     */
+    protected SplittableRandom getRandom() {
+        if (random == null) {
+            setSeed(new SplittableRandom().nextLong());
+        }
+        return random;
+    }
+
+    /**
+     * reports how the current run ended so its achievements can be worked out
+     * the event is evaluated by the shared achievement engine in the
+     * background; the game carries on without waiting
+     * 
+     * @param event the game-end event for this run
+     */
+    protected void reportGameEnd(GameEndEvent event) {
+        lastGameEnd = event;
+        earnedAchievements = AchievementChecker.getEngine().submit(event);
+    }
+
+    /**
+     * gets how the most recent run ended
+     * 
+     * @return the last reported game-end event, or null if none was reported
+     */
+    public GameEndEvent getLastGameEnd() {
+        return lastGameEnd;
+    }
+
+    /**
+     * gets the achievements earned by the most recent run, waiting for the
+     * engine if it has not finished, and clears them
+     * 
+     * @return the earned achievements, empty if no run was reported
+     */
+    public List<Achievement> collectAchievements() {
+        CompletableFuture<List<Achievement>> earned = earnedAchievements;
+        earnedAchievements = null;
+        return earned != null ? earned.join() : new ArrayList<>();
+    }
+
     /**
      * gets the game's unique identifier
      * 
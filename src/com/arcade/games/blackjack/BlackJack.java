@@ -11,10 +11,15 @@
 package com.arcade.games.blackjack;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 import com.arcade.item.Functional;
 import com.arcade.item.AchievementChecker;
-import com.arcade.item.Achievement;
+import com.arcade.item.GameEndEvent;
+import com.arcade.util.ArcadeRandom;
 import com.arcade.util.Bcolors;
+import com.arcade.util.ScreenRenderer;
+import com.arcade.trace.Span;
+import com.arcade.trace.Tracer;
 import com.arcade.games.Game;
 
 /**
@@ -38,7 +43,6 @@ public class BlackJack extends Game {
     private List<Cards> playerHand; // cards currently held by player
     private List<Cards> dealerHand; // cards currently held by dealer
     private List<Cards> deck; // remaining cards in deck
-    private Random random; // random number generator for shuffling and ai
 
     // styling constants for console output formatting
     private static final String STYLE_TITLE = Bcolors.BOLD + Bcolors.OKGREEN;
@@ -58,7 +62,6 @@ public class BlackJack extends Game {
      */
     public BlackJack() {
         super(1, "Blackjack", 10, 10, 20);
-        this.random = new Random();
     }
 
     /**
@@ -72,7 +75,6 @@ public class BlackJack extends Game {
      */
     public BlackJack(int id, String title, int difficulty, int requiredTokens, int ticketReward) {
         super(id, title, difficulty, requiredTokens, ticketReward);
-        this.random = new Random();
     }
 
     /**
@@ -85,6 +87,7 @@ public class BlackJack extends Game {
         BlackJack game = new BlackJack(10, "Blackjack", 10, 10, 20);
         ArrayList<Functional> useItems = new ArrayList<>(); // placeholder for items
         game.runGame(useItems);
+        AchievementChecker.displayAchievements(game.collectAchievements());
     }
 
     /**
@@ -98,7 +101,6 @@ public class BlackJack extends Game {
         // initialize game state
         playerHand = new ArrayList<>();
         dealerHand = new ArrayList<>();
-        deck = new ArrayList<>();
 
         // clear screen for better presentation (if supported)
         String lines = System.getProperty("LINES");
@@ -114,28 +116,48 @@ public class BlackJack extends Game {
         System.out.println(STYLE_WARNING + "Difficulty Level: " + this.getDifficulty() + STYLE_END);
         System.out.println(STYLE_TITLE + "Let's begin!" + STYLE_END + "\n");
 
-        // initialize deck with one of each card type
-        for (Cards card : Cards.values()) {
-            deck.add(card);
-        }
-
-        // shuffle the deck for randomness
-        Collections.shuffle(deck);
+        // one of each card type, shuffled with this run's seeded generator
+        deck = newShuffledDeck(getRandom());
 
         // main game loop - continues until player stands or busts
+        // each turn is traced, so a trace shows the time spent on every decision
         while (true) {
-            if (playerTurn()) {
+            Span turn = Tracer.getDefault().start("blackjack.playerTurn");
+            boolean done;
+            try {
+                done = playerTurn();
+            } finally {
+                turn.end();
+            }
+            if (done) {
                 break; // player stands or busts, end their turn
             }
         }
 
         // dealer plays according to ai rules
-        dealerTurn();
+        Span dealer = Tracer.getDefault().start("blackjack.dealerTurn");
+        try {
+            dealerTurn();
+        } finally {
+            dealer.end();
+        }
 
         // determine winner and calculate rewards
         return declareWinner();
     }
 
+    /**
+     * creates a deck holding one of each card type in shuffled order
+     * 
+     * @param random the generator to shuffle with
+     * @return the shuffled deck, drawn from the front
+     */
+    public static List<Cards> newShuffledDeck(RandomGenerator random) {
+        List<Cards> deck = new ArrayList<>(Arrays.asList(Cards.values()));
+        ArcadeRandom.shuffle(deck, random);
+        return deck;
+    }
+
     /**
      * calculates the total value of a hand of cards
      * handles ace value optimization (1 or 11) to prevent busting when possible
@@ -143,7 +165,7 @@ public class BlackJack extends Game {
      * @param hand the list of cards to evaluate
      * @return the optimal total value of the hand
      */
-    private int calculateHandValue(List<Cards> hand) {
+    public static int calculateHandValue(List<Cards> hand) {
         int value = 0;
         int aces = 0; // count aces separately for special handling
 
@@ -220,29 +242,31 @@ public class BlackJack extends Game {
         Scanner scanner = new Scanner(System.in);
         while (true) {
             // display game state header
-            System.out.println(STYLE_SUBHEADER + "\n==============================");
-            System.out.println("        BLACKJACK TURN        ");
-            System.out.println("==============================" + STYLE_END);
+            ScreenRenderer screen = ScreenRenderer.current();
+            screen.line(STYLE_SUBHEADER + "\n==============================")
+                    .line("        BLACKJACK TURN        ")
+                    .line("==============================" + STYLE_END);
 
             // show player's current hand
-            System.out.print(STYLE_INFO + "Your hand: " + STYLE_END);
+            screen.text(STYLE_INFO + "Your hand: " + STYLE_END);
             for (Cards card : playerHand) {
-                System.out.print(Bcolors.BOLD + card + " " + Bcolors.ENDC);
+                screen.text(Bcolors.BOLD + card + " " + Bcolors.ENDC);
             }
-            System.out.println();
+            screen.line();
 
             // calculate and display hand value with appropriate coloring
             int handValue = calculateHandValue(playerHand);
             if (handValue > 21) {
-                System.out.println(Bcolors.FAIL + "Hand value: " + handValue + Bcolors.ENDC);
+                screen.line(Bcolors.FAIL + "Hand value: " + handValue + Bcolors.ENDC);
             } else if (handValue == 21) {
-                System.out.println(Bcolors.OKGREEN + "Hand value: " + handValue + Bcolors.ENDC);
+                screen.line(Bcolors.OKGREEN + "Hand value: " + handValue + Bcolors.ENDC);
             } else {
-                System.out.println(Bcolors.OKBLUE + "Hand value: " + handValue + Bcolors.ENDC);
+                screen.line(Bcolors.OKBLUE + "Hand value: " + handValue + Bcolors.ENDC);
             }
 
-            System.out.println(STYLE_SUBHEADER + "------------------------------" + STYLE_END);
-            System.out.print(STYLE_WARNING + "Would you like to [H]it or [S]tand? > " + STYLE_END);
+            screen.line(STYLE_SUBHEADER + "------------------------------" + STYLE_END)
+                    .text(STYLE_WARNING + "Would you like to [H]it or [S]tand? > " + STYLE_END)
+                    .flush();
             String input = scanner.nextLine().trim().toLowerCase();
 
             if (input.equals("h") || input.equals("hit")) {
@@ -301,6 +325,7 @@ public class BlackJack extends Game {
         int variance = (int) Math.max(1, Math.round(Math.pow(maxVariance, exponent)));
 
         // create biased random adjustment
+        SplittableRandom random = getRandom();
         double u = random.nextDouble(); // flat distribution in [0,1)
         double bias = Math.pow(u, 0.5); // sqrt(u) biases toward 1
         int sign = random.nextBoolean() ? +1 : -1; // choose positive or negative
@@ -430,16 +455,12 @@ public class BlackJack extends Game {
                     "0" + Bcolors.ENDC + " tickets this round.");
         }
 
-        // Check and display achievements
+        // Report the outcome so its achievements are checked
         boolean gameWon = ticketsWon > 0;
         double performanceScore = gameWon ? (ticketsWon > getTicketReward() ? 1.0 : 0.8) : 0.0;
 
-        List<Achievement> achievements = new ArrayList<>();
-        achievements
-                .addAll(AchievementChecker.checkGeneralAchievements(gameWon, performanceScore, getDifficulty(), false));
-        achievements.addAll(AchievementChecker.checkBlackjackAchievements(gameWon, playerValue, dealerValue));
-
-        AchievementChecker.displayAchievements(achievements);
+        reportGameEnd(new GameEndEvent.Blackjack(getTitle(), gameWon, performanceScore, getDifficulty(),
+                playerValue, dealerValue));
 
         return ticketsWon;
     }
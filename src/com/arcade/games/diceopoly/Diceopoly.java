@@ -16,24 +16,49 @@ import com.arcade.item.Functional;
 import com.arcade.item.TicketMultiplier;
 import com.arcade.item.Luck;
 import com.arcade.item.AchievementChecker;
-import com.arcade.item.Achievement;
+import com.arcade.item.GameEndEvent;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
 public class Diceopoly extends Game {
     Scanner sc = new Scanner(System.in);
-    Random rand = new Random();
 
     private int pos = 0; // The users position on the board
-    private int diceCount = 7; // The number of dice the user can roll
-    private int boardLength = 20; // The length of the board array
-    private String[] board; // The board the user is on
+    public static final int STARTING_DICE = 7; // Dice the user starts every run with
+    public static final int BASE_BOARD_LENGTH = 20; // Board length before difficulty is added
+
+    private int diceCount = STARTING_DICE; // The number of dice the user can roll
+    private int boardLength = BASE_BOARD_LENGTH; // The length of the board array
+    private int[] board; // The board the user is on, one encoded tile per space
     private int dice; // Your dice roll
     private int ticketMultiplier = 1; // The multipler for extra tickets
-    private final int JACKPOT = 20; // Ticket reward for landing on final space
+    public static final int JACKPOT = 20; // Ticket reward for landing on final space
+
+    // Tile types, stored in the high bits of an encoded tile
+    public static final int TILE_EMPTY = 0;
+    public static final int TILE_DICE_GAIN = 1;
+    public static final int TILE_DICE_LOSS = 2;
+    public static final int TILE_MOVE_FORWARD = 3;
+    public static final int TILE_MOVE_BACK = 4;
+
+    // An encoded tile is (type << TILE_SHIFT) | magnitude
+    private static final int TILE_SHIFT = 4;
+    private static final int MAGNITUDE_MASK = (1 << TILE_SHIFT) - 1;
+
+    // Display strings for every encoded tile, built once so printBoard never formats
+    private static final String[] TILE_LABELS = new String[(TILE_MOVE_BACK + 1) << TILE_SHIFT];
+
+    static {
+        for (int magnitude = 0; magnitude <= MAGNITUDE_MASK; magnitude++) {
+            TILE_LABELS[encodeTile(TILE_EMPTY, magnitude)] = "|          |";
+            TILE_LABELS[encodeTile(TILE_DICE_GAIN, magnitude)] = "| +" + magnitude + " Dice  |";
+            TILE_LABELS[encodeTile(TILE_DICE_LOSS, magnitude)] = "| -" + magnitude + " Dice  |";
+            TILE_LABELS[encodeTile(TILE_MOVE_FORWARD, magnitude)] = "|Move -> " + magnitude + " |";
+            TILE_LABELS[encodeTile(TILE_MOVE_BACK, magnitude)] = "|Move <- " + magnitude + " |";
+        }
+    }
 
     public Diceopoly() {
         // id = 3, title = Diceopoly, difficulty = 3, requiredTokens = 15, ticketReward=
@@ -50,9 +75,16 @@ public class Diceopoly extends Game {
         ArrayList<Functional> items = new ArrayList<>();
         int earned = game.runGame(items);
         System.out.printf("Game Over! You finished at position %d and earned %d tickets!%n", game.pos, earned);
+        AchievementChecker.displayAchievements(game.collectAchievements());
     }
 
     public int runGame(ArrayList<Functional> items) {
+        // Resets the state left over from any previous run of this instance
+        pos = 0;
+        diceCount = STARTING_DICE;
+        boardLength = BASE_BOARD_LENGTH;
+        ticketMultiplier = 1;
+
         // Activates items
         for (Functional f : items) {
             // If user uses luck item, decreases difficulty.
@@ -77,9 +109,8 @@ public class Diceopoly extends Game {
         // Factoring in difficulty into the game
         // The more difficult it is, the longer the board is
         boardLength += 2 * getDifficulty();
-        // Initialize the board array now that boardLength is finalized
-        board = new String[boardLength];
 
+        // Generates the board now that boardLength is finalized
         generateBoard();
         printBoard();
         moving();
@@ -98,12 +129,9 @@ public class Diceopoly extends Game {
             System.out.println("You earned " + finalTickets + " tickets for reaching position " + pos + ".");
         }
 
-        // Check and display achievements
-        List<Achievement> achievements = new ArrayList<>();
-        achievements
-                .addAll(AchievementChecker.checkGeneralAchievements(gameWon, performanceScore, getDifficulty(), false));
-        achievements.addAll(AchievementChecker.checkDiceopolyAchievements(pos, boardLength));
-        AchievementChecker.displayAchievements(achievements);
+        // Report the outcome so its achievements are checked
+        reportGameEnd(new GameEndEvent.Diceopoly(getTitle(), gameWon, performanceScore, getDifficulty(), pos,
+                boardLength));
 
         return finalTickets;
     }
@@ -149,11 +177,12 @@ public class Diceopoly extends Game {
                     }
                 }
 
-                String tile = board[pos];
+                int tile = board[pos];
+                int type = tileType(tile);
 
-                if (tile.contains("Dice")) {
+                if (type == TILE_DICE_GAIN || type == TILE_DICE_LOSS) {
                     moveDice(tile);
-                } else if (tile.contains("Move")) {
+                } else if (type == TILE_MOVE_FORWARD || type == TILE_MOVE_BACK) {
                     moveSpace(tile);
                 } else {
                     emptySpace();
@@ -174,54 +203,79 @@ public class Diceopoly extends Game {
         // never go past boardLength
         int end = Math.min(boardLength, pos + 5);
         for (int i = pos + 1; i < end; i++) {
-            view.append(board[i]).append(" ");
+            view.append(renderTile(board[i])).append(" ");
         }
 
         System.out.println("Board View: " + view);
     }
 
     public int rollDice() {
-        return (rand.nextInt(1, 7));
+        return (getRandom().nextInt(1, 7));
     }
 
     public void generateBoard() {
+        board = generateBoard(boardLength, getRandom());
+    }
+
+    // Builds a board of the given length, drawing every tile from the given generator
+    public static int[] generateBoard(int boardLength, RandomGenerator random) {
+        int[] tiles = new int[boardLength];
         for (int i = 0; i < boardLength; i++) {
-            board[i] = generateTile();
+            tiles[i] = generateTile(random);
         }
         // Edits the final tile to be a normal tile, in case a soft lock is caused
-        board[boardLength - 1] = "|          |";
+        tiles[boardLength - 1] = encodeTile(TILE_EMPTY, 0);
+        return tiles;
     }
 
     // Used by generateBoard to generate a singular tile
-    public String generateTile() {
-        int randomNum;
-        String tile;
-        randomNum = rand.nextInt(1, 9);
+    public static int generateTile(RandomGenerator random) {
+        int randomNum = random.nextInt(1, 9);
         switch (randomNum) {
             case 5:
                 // extra dice tile
-                tile = "| +" + rand.nextInt(1, 3) + " Dice  |";
-                break;
+                return encodeTile(TILE_DICE_GAIN, random.nextInt(1, 3));
 
             case 6:
                 // minus dice tile
-                tile = "| -" + rand.nextInt(1, 3) + " Dice  |";
-                break;
+                return encodeTile(TILE_DICE_LOSS, random.nextInt(1, 3));
 
             case 7:
                 // move forward tile
-                tile = "|Move -> " + rand.nextInt(1, 4) + " |";
-                break;
+                return encodeTile(TILE_MOVE_FORWARD, random.nextInt(1, 4));
 
             case 8:
                 // move back tile
-                tile = "|Move <- " + rand.nextInt(1, 4) + " |";
-                break;
+                return encodeTile(TILE_MOVE_BACK, random.nextInt(1, 4));
             default:
                 // Empty tile
-                tile = "|          |";
+                return encodeTile(TILE_EMPTY, 0);
         }
-        return (tile);
+    }
+
+    // Packs a tile type and its magnitude into a single int
+    public static int encodeTile(int type, int magnitude) {
+        return (type << TILE_SHIFT) | magnitude;
+    }
+
+    // Gets the type of an encoded tile
+    public static int tileType(int tile) {
+        return tile >>> TILE_SHIFT;
+    }
+
+    // Gets how many dice or spaces an encoded tile is worth
+    public static int tileMagnitude(int tile) {
+        return tile & MAGNITUDE_MASK;
+    }
+
+    // Gets the display string for an encoded tile, only needed by printBoard
+    public static String renderTile(int tile) {
+        return TILE_LABELS[tile];
+    }
+
+    // Gets a copy of the current board so it can be analyzed
+    public int[] getBoard() {
+        return board == null ? new int[0] : board.clone();
     }
 
     public void emptySpace() {
@@ -229,24 +283,24 @@ public class Diceopoly extends Game {
     }
 
     // Triggers when player lands on move space. Moves the user forwards or back
-    public void moveSpace(String tile) {
-        int move = Integer.parseInt(tile.replaceAll("[^0-9]", ""));
+    public void moveSpace(int tile) {
+        int move = tileMagnitude(tile);
 
-        if (tile.contains("->")) {
+        if (tileType(tile) == TILE_MOVE_FORWARD) {
             System.out.println("Moving forward by " + move + " tiles!");
             pos = Math.min(pos + move, boardLength - 1);
-        } else if (tile.contains("<-")) {
+        } else if (tileType(tile) == TILE_MOVE_BACK) {
             System.out.println("Moving backward by " + move + " tiles!");
             pos = Math.max(pos - move, 0);
         }
     }
 
-    public void moveDice(String tile) {
-        int amount = Integer.parseInt(tile.replaceAll("[^0-9]", ""));
-        if (tile.contains("+")) {
+    public void moveDice(int tile) {
+        int amount = tileMagnitude(tile);
+        if (tileType(tile) == TILE_DICE_GAIN) {
             System.out.println("Gained " + amount + " extra dice!");
             diceCount += amount;
-        } else if (tile.contains("-")) {
+        } else if (tileType(tile) == TILE_DICE_LOSS) {
             System.out.println("Lost " + amount + " dice!");
             if (diceCount < amount) {
                 diceCount = 0;
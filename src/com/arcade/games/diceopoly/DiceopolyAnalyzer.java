@@ -0,0 +1,167 @@
+/**
+ * DiceopolyAnalyzer.java
+ *
+ * exact payout analysis for diceopoly boards
+ * models a run as a markov chain over (position, dice left) and solves it
+ * for the probability of reaching the final tile, so rewards can be priced
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.diceopoly;
+
+import java.util.SplittableRandom;
+
+/**
+ * computes the chance of reaching the final tile (the jackpot) of a board
+ * follows the exact rules of Diceopoly.moving:
+ * - a roll of 1-6 steps forward one tile at a time and wins on reaching the end
+ * - the landing tile then gains dice, loses dice (clamped at zero), or moves
+ * the player forward (capped at the end, which wins) or back (floored at 0)
+ * - one die is spent after every tile, and the run ends with no dice left
+ *
+ * dice gain tiles make the chain cyclic, so it is solved by gauss-seidel
+ * value iteration until no state changes by more than TOLERANCE
+ */
+public final class DiceopolyAnalyzer {
+    private static final double TOLERANCE = 1e-12; // convergence threshold per sweep
+    private static final int MAX_SWEEPS = 100_000; // safety bound on value iteration
+    private static final int DIE_FACES = 6; // faces on the die rolled each turn
+
+    private DiceopolyAnalyzer() {
+    }
+
+    /**
+     * main method for pricing the jackpot at every difficulty
+     * averages the exact per-board probability over many generated boards
+     *
+     * @param args optional board sample count and seed
+     */
+    public static void main(String[] args) {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+
+        System.out.println("Diceopoly jackpot pricing (" + samples + " boards per difficulty, seed " + seed + ")");
+        System.out.printf("%-10s %-8s %-12s %-14s%n", "difficulty", "length", "P(jackpot)", "E[jackpot]");
+        for (int difficulty = 1; difficulty <= 10; difficulty++) {
+            int boardLength = Diceopoly.BASE_BOARD_LENGTH + 2 * difficulty;
+            double probability = averageJackpotProbability(boardLength, Diceopoly.STARTING_DICE, samples, seed);
+            System.out.printf("%-10d %-8d %-12.6f %-14.4f%n", difficulty, boardLength, probability,
+                    probability * Diceopoly.JACKPOT);
+        }
+    }
+
+    /**
+     * computes the exact probability of reaching the final tile of a board
+     *
+     * @param board     encoded tiles, as produced by Diceopoly.generateBoard
+     * @param diceCount dice available at the start of the run
+     * @return probability of reaching the final tile before running out of dice
+     */
+    public static double jackpotProbability(int[] board, int diceCount) {
+        return jackpotProbability(board, diceCount, diceCount + 4 * board.length);
+    }
+
+    /**
+     * computes the probability of reaching the final tile of a board
+     * dice counts above diceCap are treated as diceCap, so the result is a
+     * lower bound that is exact once the cap is out of reach in practice
+     *
+     * @param board     encoded tiles, as produced by Diceopoly.generateBoard
+     * @param diceCount dice available at the start of the run
+     * @param diceCap   largest dice count tracked by the chain
+     * @return probability of reaching the final tile before running out of dice
+     */
+    public static double jackpotProbability(int[] board, int diceCount, int diceCap) {
+        int last = board.length - 1;
+        if (last <= 0) {
+            return 1.0; // already standing on the final tile
+        }
+        if (diceCount <= 0) {
+            return 0.0;
+        }
+        int cap = Math.max(diceCap, diceCount);
+
+        // Resolve every tile once: where it sends the player and the net dice change
+        // A loss tile clamps at zero before the spent die, so d - m - 1 <= 0 ends
+        // the run in both the clamped and unclamped case
+        int[] landing = new int[board.length];
+        int[] diceDelta = new int[board.length];
+        for (int i = 0; i <= last; i++) {
+            int tile = board[i];
+            int magnitude = Diceopoly.tileMagnitude(tile);
+            landing[i] = i;
+            diceDelta[i] = -1;
+            switch (Diceopoly.tileType(tile)) {
+                case Diceopoly.TILE_DICE_GAIN:
+                    diceDelta[i] = magnitude - 1;
+                    break;
+                case Diceopoly.TILE_DICE_LOSS:
+                    diceDelta[i] = -magnitude - 1;
+                    break;
+                case Diceopoly.TILE_MOVE_FORWARD:
+                    landing[i] = Math.min(i + magnitude, last);
+                    break;
+                case Diceopoly.TILE_MOVE_BACK:
+                    landing[i] = Math.max(i - magnitude, 0);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // value[d][pos]: probability of winning from pos with d dice left
+        double[][] value = new double[cap + 1][last];
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double maxChange = 0.0;
+            for (int dice = 1; dice <= cap; dice++) {
+                double[] row = value[dice];
+                for (int pos = 0; pos < last; pos++) {
+                    double total = 0.0;
+                    for (int roll = 1; roll <= DIE_FACES; roll++) {
+                        int step = pos + roll;
+                        if (step >= last) {
+                            total += 1.0; // reached the end while stepping
+                            continue;
+                        }
+                        int next = landing[step];
+                        if (next >= last) {
+                            total += 1.0; // a forward tile carried the player to the end
+                            continue;
+                        }
+                        int left = dice + diceDelta[step];
+                        if (left > 0) {
+                            total += value[Math.min(left, cap)][next];
+                        }
+                    }
+                    double updated = total / DIE_FACES;
+                    maxChange = Math.max(maxChange, Math.abs(updated - row[pos]));
+                    row[pos] = updated;
+                }
+            }
+            if (maxChange < TOLERANCE) {
+                break;
+            }
+        }
+        return value[Math.min(diceCount, cap)][0];
+    }
+
+    /**
+     * averages the exact jackpot probability over randomly generated boards
+     * boards are drawn the same way Diceopoly draws them, from a seeded stream
+     *
+     * @param boardLength length of every generated board
+     * @param diceCount   dice available at the start of each run
+     * @param samples     number of boards to average over
+     * @param seed        seed for the board stream
+     * @return mean probability of reaching the final tile
+     */
+    public static double averageJackpotProbability(int boardLength, int diceCount, int samples, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double sum = 0.0;
+        for (int i = 0; i < samples; i++) {
+            sum += jackpotProbability(Diceopoly.generateBoard(boardLength, random), diceCount);
+        }
+        return samples == 0 ? 0.0 : sum / samples;
+    }
+}
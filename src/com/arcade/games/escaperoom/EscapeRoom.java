@@ -13,6 +13,7 @@
  * - time-based scoring system
  * - multiple endings based on performance
  * - ticket rewards scaled by completion and efficiency
+ * - rooms loaded from definition files, with par times from a solver
  *
  * date: jun 15, 2025
  * author: kevin wang (eddie wrote a small part of the code)
@@ -20,8 +21,9 @@
 
 package com.arcade.games.escaperoom;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Scanner;
 import com.arcade.games.Game;
 import com.arcade.item.ExtraLife;
@@ -29,30 +31,73 @@ import com.arcade.item.Functional;
 import com.arcade.item.Luck;
 import com.arcade.item.TicketMultiplier;
 import com.arcade.item.AchievementChecker;
-import com.arcade.item.Achievement;
+import com.arcade.item.GameEndEvent;
 import com.arcade.util.Bcolors;
 
 /**
  * A text-based escape room game where the player has to solve a series of
  * puzzles to "escape".
- * This class contains the logic and narrative for a specific escape room
- * scenario.
+ * The narrative and puzzles come from a RoomDefinition; this class is the
+ * engine that runs any compiled room, with the Haunted Mansion built in.
  * It now correctly extends the Game class and implements item functionality.
  */
 public class EscapeRoom extends Game {
 
+    // The built-in Haunted Mansion room, in the RoomDefinition file format
+    private static final String HAUNTED_MANSION_ROOM = """
+            room|Haunted Mansion
+            intro|{purple}========================================
+            intro|   Welcome to the Haunted Mansion!
+            intro|========================================{end}
+            intro|You find yourself in a dusty, dimly lit study.
+            intro|The heavy oak door behind you clicks shut, and the lock turns.
+            intro|A chilling whisper echoes through the room... 'Solve the puzzle, or stay forever.'
+            intro|Your goal is to find the key and unlock the door to escape.\\n
+            attempts|3
+            flag|safeOpen
+            flag|hasKey
+            flag|escaped
+            goal|escaped
+            describe|*|{blue}----------------------------------------{end}
+            describe|*|You are in a study. You see an {yellow}Old Bookshelf{end}, a cold {yellow}Fireplace{end},
+            describe|*|a large {yellow}Painting{end} of a stern-looking man, and the {yellow}Locked Door{end}.
+            describe|hasKey|{green}You are holding a small, ornate brass key.{end}
+            describe|*|{blue}----------------------------------------{end}
+            action|bookshelf|Examine the {yellow}Old Bookshelf{end}|*
+            action|fireplace|Look at the {yellow}Fireplace{end}|*
+            action|door|Check the {yellow}Locked Door{end}|*
+            action|painting|Inspect the {yellow}Painting{end}|*
+            action|safe|Look inside the {green}Open Safe{end}|safeOpen
+            rule|bookshelf|*|riddle|+safeOpen|The bookshelf is filled with ancient, leather-bound books.\\nOne book, titled 'Riddles of the Dark', seems to call to you.|Do you want to read it? (yes/no)|The page opens to a single riddle:\\n{purple}I have a face but no eyes, hands but no arms.\\nI watch over the room's heart, where warmth departs.{end}\\nWhat am I?|painting|{green}Correct! As you speak the word, you hear a faint 'click' from the wall where the painting hangs.{end}|{red}The book snaps shut! The riddle's magic has faded.{end}|You decide to leave the books alone.
+            rule|fireplace|*|say|*|The fireplace is cold and filled with soot. There's nothing of interest here.\\nYou just get your hands dirty.
+            rule|door|hasKey|confirm|+escaped|You have the key! Do you want to try unlocking the door? (yes/no)|{green}You slide the brass key into the lock. It turns with a satisfying *CLICK*.{end}\\n{green}The door creaks open, revealing the hallway of the arcade. You've escaped!{end}|You decide not to use the key just yet.
+            rule|door|*|say|*|The door is locked tight. You need to find a key.
+            rule|painting|safeOpen|say|*|Behind the painting, a small safe is revealed, its door slightly ajar.
+            rule|painting|*|say|*|The painting is of a stern-faced man with piercing eyes. It feels like he's watching you.\\nThe frame is bolted to the wall. You can't move it.
+            rule|safe|!hasKey|say|+hasKey|You reach into the safe and your fingers close around a cold, metal object.\\n{green}You found a small, ornate brass key!{end}
+            rule|safe|*|say|*|The safe is now empty.
+            """;
+
+    // Compiled once and shared by every EscapeRoom that uses the built-in room
+    private static final RoomDefinition HAUNTED_MANSION = RoomDefinition.parse(HAUNTED_MANSION_ROOM);
+
     private Scanner scanner = new Scanner(System.in);
 
+    // Room being played and its solver-derived thresholds
+    private final RoomDefinition room;
+    private final int minActions; // fewest actions needed to escape
+    private final long parSeconds; // speed run threshold
+    private final int maxActions; // action count where efficiency scoring reaches zero
+
     // Game state variables
-    private boolean hasKey = false;
-    private boolean isDoorUnlocked = false;
-    private boolean isSafeOpened = false;
-    private int attemptsLeft = 3; // For the riddle
+    private int state; // bitmask of the room's flags
+    private int attemptsLeft; // For the riddles
     private int ticketMultiplier = 1;
 
     // Performance tracking variables
     private int totalActions = 0;
     private int riddleAttemptsUsed = 0;
+    private boolean riddleSolved = false;
     private boolean usedExtraLife = false;
     private long startTime;
     private long endTime;
@@ -62,7 +107,7 @@ public class EscapeRoom extends Game {
      */
     public EscapeRoom() {
         // id, title, difficulty, requiredTokens, ticketReward
-        super(5, "Haunted Mansion Escape", 5, 25, 250);
+        this(5, "Haunted Mansion Escape", 5, 25, 250);
     }
 
     /**
@@ -75,7 +120,51 @@ public class EscapeRoom extends Game {
      * @param ticketReward   The base ticket reward for winning.
      */
     public EscapeRoom(int id, String title, int difficulty, int requiredTokens, int ticketReward) {
+        this(id, title, difficulty, requiredTokens, ticketReward, HAUNTED_MANSION);
+    }
+
+    /**
+     * Constructor for the EscapeRoom game playing a specific room.
+     * Solves the room once to derive its par time and action budget.
+     *
+     * @param id             The game's ID.
+     * @param title          The game's title.
+     * @param difficulty     The game's difficulty level.
+     * @param requiredTokens The tokens required to play.
+     * @param ticketReward   The base ticket reward for winning.
+     * @param room           The compiled room to play.
+     */
+    public EscapeRoom(int id, String title, int difficulty, int requiredTokens, int ticketReward,
+            RoomDefinition room) {
         super(id, title, difficulty, requiredTokens, ticketReward);
+        this.room = room;
+        this.minActions = RoomSolver.minActions(room);
+        if (minActions == RoomSolver.UNSOLVABLE) {
+            throw new IllegalArgumentException("Room " + room.getTitle() + " cannot be escaped");
+        }
+        this.parSeconds = RoomSolver.parSeconds(minActions);
+        this.maxActions = RoomSolver.maxScoredActions(minActions);
+    }
+
+    /**
+     * Runs the escape room on its own, optionally loading a room file.
+     *
+     * @param args An optional path to a room definition file.
+     */
+    public static void main(String[] args) {
+        RoomDefinition room = HAUNTED_MANSION;
+        if (args.length > 0) {
+            try {
+                room = RoomDefinition.load(Paths.get(args[0]));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error loading room: " + e.getMessage());
+                return;
+            }
+        }
+        EscapeRoom game = new EscapeRoom(5, room.getTitle(), 5, 25, 250, room);
+        System.out.println("Minimum actions: " + game.getMinActions() + ", par time: " + game.getParSeconds() + "s");
+        game.runGame(new ArrayList<>());
+        AchievementChecker.displayAchievements(game.collectAchievements());
     }
 
     /**
@@ -88,6 +177,14 @@ public class EscapeRoom extends Game {
      */
     @Override
     public int runGame(ArrayList<Functional> useItems) {
+        // Reset the state left over from any previous run of this instance
+        state = 0;
+        attemptsLeft = room.getAttempts();
+        ticketMultiplier = 1;
+        totalActions = 0;
+        riddleAttemptsUsed = 0;
+        riddleSolved = false;
+        usedExtraLife = false;
         startTime = System.currentTimeMillis();
 
         // Process items at the start of the game
@@ -113,12 +210,15 @@ public class EscapeRoom extends Game {
         while (true) {
             printRoomDescription();
             System.out.println(Bcolors.CYAN + "What do you want to do?" + Bcolors.ENDC);
-            System.out.println("1. Examine the " + Bcolors.YELLOW + "Old Bookshelf" + Bcolors.ENDC);
-            System.out.println("2. Look at the " + Bcolors.YELLOW + "Fireplace" + Bcolors.ENDC);
-            System.out.println("3. Check the " + Bcolors.YELLOW + "Locked Door" + Bcolors.ENDC);
-            System.out.println("4. Inspect the " + Bcolors.YELLOW + "Painting" + Bcolors.ENDC);
-            if (isSafeOpened) {
-                System.out.println("5. Look inside the " + Bcolors.GREEN + "Open Safe" + Bcolors.ENDC);
+
+            // Number the actions visible in this state
+            int[] menu = new int[room.getActionCount()];
+            int options = 0;
+            for (int action = 0; action < room.getActionCount(); action++) {
+                if (room.isActionVisible(state, action)) {
+                    menu[options++] = action;
+                    System.out.println(options + ". " + room.getActionLabel(action));
+                }
             }
             System.out.println("0. " + Bcolors.RED + "Give Up and Leave" + Bcolors.ENDC);
             System.out.print(Bcolors.CYAN + "Enter your choice: " + Bcolors.ENDC);
@@ -128,36 +228,26 @@ public class EscapeRoom extends Game {
 
             totalActions++; // Track player actions for performance
 
-            switch (choice) {
-                case "1":
-                    examineBookshelf(useItems);
-                    break;
-                case "2":
-                    examineFireplace();
-                    break;
-                case "3":
-                    checkDoor();
-                    if (isDoorUnlocked) {
-                        return winGame(useItems);
-                    }
-                    break;
-                case "4":
-                    inspectPainting();
-                    break;
-                case "5":
-                    if (isSafeOpened) {
-                        lookInSafe();
-                    } else {
-                        System.out.println(Bcolors.RED + "Invalid choice." + Bcolors.ENDC);
-                    }
-                    break;
-                case "0":
-                    System.out.println(Bcolors.BLUE
-                            + "You decide that puzzles are not for you today. You leave the room." + Bcolors.ENDC);
-                    return 0; // No tickets for giving up
-                default:
-                    System.out.println(Bcolors.RED + "Invalid choice. Please try again." + Bcolors.ENDC);
-                    break;
+            if (choice.trim().equals("0")) {
+                System.out.println(Bcolors.BLUE
+                        + "You decide that puzzles are not for you today. You leave the room." + Bcolors.ENDC);
+                return 0; // No tickets for giving up
+            }
+
+            int selected;
+            try {
+                selected = Integer.parseInt(choice.trim());
+            } catch (NumberFormatException e) {
+                selected = -1;
+            }
+            if (selected < 1 || selected > options) {
+                System.out.println(Bcolors.RED + "Invalid choice. Please try again." + Bcolors.ENDC);
+                continue;
+            }
+
+            performAction(menu[selected - 1], useItems);
+            if (room.isGoal(state)) {
+                return winGame(useItems);
             }
         }
     }
@@ -166,58 +256,77 @@ public class EscapeRoom extends Game {
      * Prints the initial story and introduction for the escape room.
      */
     private void printIntroduction() {
-        System.out.println(Bcolors.PURPLE + "========================================");
-        System.out.println("   Welcome to the Haunted Mansion!");
-        System.out.println("========================================" + Bcolors.ENDC);
-        System.out.println("You find yourself in a dusty, dimly lit study.");
-        System.out.println("The heavy oak door behind you clicks shut, and the lock turns.");
-        System.out.println("A chilling whisper echoes through the room... 'Solve the puzzle, or stay forever.'");
-        System.out.println("Your goal is to find the key and unlock the door to escape.\n");
+        for (String line : room.getIntro()) {
+            System.out.println(line);
+        }
     }
 
     /**
      * Prints the current state of the room to the player.
      */
     private void printRoomDescription() {
-        System.out.println(Bcolors.BLUE + "----------------------------------------" + Bcolors.ENDC);
-        System.out.println("You are in a study. You see an " + Bcolors.YELLOW + "Old Bookshelf" + Bcolors.ENDC
-                + ", a cold " + Bcolors.YELLOW + "Fireplace" + Bcolors.ENDC + ",");
-        System.out.println("a large " + Bcolors.YELLOW + "Painting" + Bcolors.ENDC + " of a stern-looking man, and the "
-                + Bcolors.YELLOW + "Locked Door" + Bcolors.ENDC + ".");
-        if (hasKey) {
-            System.out.println(Bcolors.GREEN + "You are holding a small, ornate brass key." + Bcolors.ENDC);
+        for (String line : room.describe(state)) {
+            System.out.println(line);
         }
-        System.out.println(Bcolors.BLUE + "----------------------------------------" + Bcolors.ENDC);
     }
 
     /**
-     * Handles the logic for when the player examines the bookshelf.
-     * Contains a riddle that reveals the location of a hidden safe.
+     * Looks up and plays the rule for an action in the current state.
+     *
+     * @param action   The index of the chosen action.
+     * @param useItems List of items to check for Extra Life.
+     */
+    private void performAction(int action, ArrayList<Functional> useItems) {
+        RoomDefinition.Rule rule = room.ruleFor(state, action);
+        if (rule == null) {
+            System.out.println("Nothing happens.");
+            return;
+        }
+
+        switch (rule.getKind()) {
+            case SAY:
+                System.out.println(rule.getText(0));
+                state = rule.apply(state);
+                break;
+            case CONFIRM:
+                System.out.println(rule.getText(0));
+                if (scanner.nextLine().trim().toLowerCase().equals("yes")) {
+                    System.out.println(rule.getText(1));
+                    state = rule.apply(state);
+                } else {
+                    System.out.println(rule.getText(2));
+                }
+                break;
+            case RIDDLE:
+                askRiddle(rule, useItems);
+                break;
+        }
+    }
+
+    /**
+     * Handles a riddle rule. Correct answers apply the rule's effects; wrong
+     * answers use up the room's shared attempts.
      * 
+     * @param rule     The riddle rule being played.
      * @param useItems List of items to check for Extra Life.
      */
-    private void examineBookshelf(ArrayList<Functional> useItems) {
-        System.out.println("The bookshelf is filled with ancient, leather-bound books.");
-        System.out.println("One book, titled 'Riddles of the Dark', seems to call to you.");
-        System.out.println("Do you want to read it? (yes/no)");
+    private void askRiddle(RoomDefinition.Rule rule, ArrayList<Functional> useItems) {
+        System.out.println(rule.getText(0));
+        System.out.println(rule.getText(1));
         String read = scanner.nextLine().trim().toLowerCase();
 
         if (read.equals("yes")) {
-            System.out.println("The page opens to a single riddle:");
-            System.out.println(Bcolors.PURPLE + "I have a face but no eyes, hands but no arms.");
-            System.out.println("I watch over the room's heart, where warmth departs." + Bcolors.ENDC);
-            System.out.println("What am I?");
+            System.out.println(rule.getText(2));
 
             while (attemptsLeft > 0) {
                 System.out.print("Your answer: ");
                 String answer = scanner.nextLine().trim().toLowerCase();
                 riddleAttemptsUsed++;
 
-                if (answer.contains("painting")) {
-                    System.out.println(Bcolors.GREEN
-                            + "Correct! As you speak the word, you hear a faint 'click' from the wall where the painting hangs."
-                            + Bcolors.ENDC);
-                    isSafeOpened = true;
+                if (answer.contains(rule.getAnswer())) {
+                    System.out.println(rule.getText(4));
+                    state = rule.apply(state);
+                    riddleSolved = true;
                     return;
                 } else {
                     attemptsLeft--;
@@ -231,7 +340,7 @@ public class EscapeRoom extends Game {
                         for (Functional item : useItems) {
                             if (item instanceof ExtraLife && item.getNumUses() > 0) {
                                 item.setNumUses(item.getNumUses() - 1);
-                                this.attemptsLeft = 3; // Reset attempts
+                                this.attemptsLeft = room.getAttempts(); // Reset attempts
                                 this.usedExtraLife = true;
                                 System.out.println(Bcolors.YELLOW
                                         + "Just as you're about to give up, a surge of determination fills you. An Extra Life is consumed!"
@@ -243,72 +352,13 @@ public class EscapeRoom extends Game {
                             }
                         }
                         if (!extraLifeUsed) {
-                            System.out.println(
-                                    Bcolors.RED + "The book snaps shut! The riddle's magic has faded." + Bcolors.ENDC);
+                            System.out.println(rule.getText(5));
                         }
                     }
                 }
             }
         } else {
-            System.out.println("You decide to leave the books alone.");
-        }
-    }
-
-    /**
-     * Handles the logic for when the player examines the fireplace.
-     */
-    private void examineFireplace() {
-        System.out.println("The fireplace is cold and filled with soot. There's nothing of interest here.");
-        System.out.println("You just get your hands dirty.");
-    }
-
-    /**
-     * Handles the logic for when the player inspects the painting.
-     * If the riddle has been solved, this reveals the safe.
-     */
-    private void inspectPainting() {
-        if (isSafeOpened) {
-            System.out.println("Behind the painting, a small safe is revealed, its door slightly ajar.");
-        } else {
-            System.out.println(
-                    "The painting is of a stern-faced man with piercing eyes. It feels like he's watching you.");
-            System.out.println("The frame is bolted to the wall. You can't move it.");
-        }
-    }
-
-    /**
-     * Handles the logic for looking inside the safe. This is where the key is
-     * found.
-     */
-    private void lookInSafe() {
-        if (!hasKey) {
-            System.out.println("You reach into the safe and your fingers close around a cold, metal object.");
-            System.out.println(Bcolors.GREEN + "You found a small, ornate brass key!" + Bcolors.ENDC);
-            hasKey = true;
-        } else {
-            System.out.println("The safe is now empty.");
-        }
-    }
-
-    /**
-     * Handles the logic for checking the locked door.
-     * If the player has the key, they can unlock it.
-     */
-    private void checkDoor() {
-        if (hasKey) {
-            System.out.println("You have the key! Do you want to try unlocking the door? (yes/no)");
-            String unlock = scanner.nextLine().trim().toLowerCase();
-            if (unlock.equals("yes")) {
-                System.out.println(Bcolors.GREEN
-                        + "You slide the brass key into the lock. It turns with a satisfying *CLICK*." + Bcolors.ENDC);
-                System.out.println(Bcolors.GREEN
-                        + "The door creaks open, revealing the hallway of the arcade. You've escaped!" + Bcolors.ENDC);
-                isDoorUnlocked = true;
-            } else {
-                System.out.println("You decide not to use the key just yet.");
-            }
-        } else {
-            System.out.println("The door is locked tight. You need to find a key.");
+            System.out.println(rule.getText(6));
         }
     }
 
@@ -324,15 +374,14 @@ public class EscapeRoom extends Game {
         score += 0.4;
 
         // Efficiency score based on total actions (0.0 to 0.3)
-        // Fewer actions = better performance
-        int maxActions = 15; // Reasonable number of actions to complete
+        // Fewer actions = better performance, measured against the solver's budget
         double efficiencyScore = Math.max(0.0, 1.0 - (double) totalActions / maxActions) * 0.3;
         score += efficiencyScore;
 
         // Riddle solving efficiency (0.0 to 0.2)
-        if (isSafeOpened) {
+        if (riddleSolved) {
             // Better score for solving riddle with fewer attempts
-            double riddleEfficiency = Math.max(0.0, 1.0 - (double) riddleAttemptsUsed / 3.0) * 0.2;
+            double riddleEfficiency = Math.max(0.0, 1.0 - (double) riddleAttemptsUsed / room.getAttempts()) * 0.2;
             score += riddleEfficiency;
         }
 
@@ -362,7 +411,8 @@ public class EscapeRoom extends Game {
         endTime = System.currentTimeMillis();
 
         System.out.println(Bcolors.YELLOW
-                + "\nCongratulations! You've solved the puzzle and escaped the Haunted Mansion!" + Bcolors.ENDC);
+                + "\nCongratulations! You've solved the puzzle and escaped the " + room.getTitle() + "!"
+                + Bcolors.ENDC);
 
         // Calculate performance-based ticket reward
         double performanceScore = calculatePerformanceScore();
@@ -383,9 +433,9 @@ public class EscapeRoom extends Game {
 
         // Display performance stats
         System.out.println(Bcolors.CYAN + "\n=== PERFORMANCE SUMMARY ===" + Bcolors.ENDC);
-        System.out.println("Actions taken: " + totalActions);
+        System.out.println("Actions taken: " + totalActions + " (best possible: " + minActions + ")");
         System.out.println("Riddle attempts: " + riddleAttemptsUsed + "/" + (riddleAttemptsUsed + attemptsLeft));
-        System.out.println("Time taken: " + ((endTime - startTime) / 1000) + " seconds");
+        System.out.println("Time taken: " + ((endTime - startTime) / 1000) + " seconds (par: " + parSeconds + ")");
         if (usedExtraLife) {
             System.out.println(Bcolors.YELLOW + "Extra Life used" + Bcolors.ENDC);
         }
@@ -393,14 +443,29 @@ public class EscapeRoom extends Game {
 
         System.out.println("You've been awarded " + Bcolors.GREEN + finalTickets + " tickets!" + Bcolors.ENDC);
 
-        // Check and display achievements
+        // Report the outcome so its achievements are checked
         long completionTimeSeconds = (endTime - startTime) / 1000;
-        List<Achievement> achievements = new ArrayList<>();
-        achievements.addAll(
-                AchievementChecker.checkGeneralAchievements(true, performanceScore, getDifficulty(), usedExtraLife));
-        achievements.addAll(AchievementChecker.checkEscapeRoomAchievements(true, completionTimeSeconds));
-        AchievementChecker.displayAchievements(achievements);
+        reportGameEnd(new GameEndEvent.EscapeRoom(getTitle(), true, performanceScore, getDifficulty(), usedExtraLife,
+                completionTimeSeconds, parSeconds));
 
         return finalTickets;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the fewest actions needed to escape this room.
+     *
+     * @return The solver's minimum action count.
+     */
+    public int getMinActions() {
+        return minActions;
+    }
+
+    /**
+     * Gets the time under which an escape counts as a speed run.
+     *
+     * @return The par time in seconds.
+     */
+    public long getParSeconds() {
+        return parSeconds;
+    }
+}
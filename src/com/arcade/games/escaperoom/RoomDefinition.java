@@ -0,0 +1,441 @@
+/**
+ * RoomDefinition.java
+ *
+ * data-driven description of an escape room
+ * parses a plain-text room file into flags, actions, and rules, then
+ * compiles them into a transition table the EscapeRoom engine runs on
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.escaperoom;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.arcade.util.Bcolors;
+
+/**
+ * compiled escape room
+ * a room file has one directive per line, fields separated by |, with \n in
+ * text fields for line breaks and {color} tags such as {green} and {end}.
+ * blank lines and lines starting with # are ignored
+ *
+ * room|title
+ * intro|text                          (printed once at the start)
+ * attempts|n                          (shared riddle attempts, default 3)
+ * flag|name                           (declares a state flag)
+ * goal|flag                           (the room is escaped once this flag is set)
+ * describe|condition|text             (room description line)
+ * action|id|menu label|condition      (menu entry, shown while condition holds)
+ * rule|action|condition|say|effects|message
+ * rule|action|condition|confirm|effects|prompt|yes message|no message
+ * rule|action|condition|riddle|effects|intro|prompt|riddle|answer|success|
+ * out of attempts message|declined message
+ *
+ * a condition is * or flags joined by &, each optionally negated with !.
+ * effects are * or flags joined by commas, each prefixed with + (set) or -
+ * (clear). the game state is the bitmask of set flags; for every state and
+ * action the first matching rule is looked up once, at compile time, into
+ * a table indexed by state * actionCount + action
+ */
+public class RoomDefinition {
+    public static final int MAX_FLAGS = 16; // state table has 2^flags rows
+    public static final int NO_RULE = -1; // table entry for an action with no matching rule
+
+    /**
+     * what happens when a rule fires
+     */
+    public enum RuleKind {
+        SAY, // print a message and apply the effects
+        CONFIRM, // ask yes/no, applying the effects on yes
+        RIDDLE // ask a riddle, applying the effects on a correct answer
+    }
+
+    /**
+     * a single compiled rule
+     * texts holds the kind-specific text fields in file order
+     */
+    public static final class Rule {
+        final int action; // index of the action this rule answers
+        final int required; // flags that must be set
+        final int forbidden; // flags that must be clear
+        final RuleKind kind; // how the rule interacts with the player
+        final int setMask; // flags set when the rule succeeds
+        final int clearMask; // flags cleared when the rule succeeds
+        final String[] texts; // messages and prompts, colors already applied
+        final String answer; // riddle answer keyword, lowercase, or null
+
+        Rule(int action, int required, int forbidden, RuleKind kind, int setMask, int clearMask, String[] texts,
+                String answer) {
+            this.action = action;
+            this.required = required;
+            this.forbidden = forbidden;
+            this.kind = kind;
+            this.setMask = setMask;
+            this.clearMask = clearMask;
+            this.texts = texts;
+            this.answer = answer;
+        }
+
+        /**
+         * gets the state reached when this rule succeeds
+         *
+         * @param state the current state
+         * @return the next state
+         */
+        public int apply(int state) {
+            return (state | setMask) & ~clearMask;
+        }
+
+        public RuleKind getKind() {
+            return kind;
+        }
+
+        public String getText(int index) {
+            return texts[index];
+        }
+
+        public String getAnswer() {
+            return answer;
+        }
+    }
+
+    // color tags usable in any text field
+    private static final Map<String, String> COLOR_TAGS = new HashMap<>();
+
+    static {
+        COLOR_TAGS.put("end", Bcolors.ENDC);
+        COLOR_TAGS.put("bold", Bcolors.BOLD);
+        COLOR_TAGS.put("red", Bcolors.RED);
+        COLOR_TAGS.put("green", Bcolors.GREEN);
+        COLOR_TAGS.put("yellow", Bcolors.YELLOW);
+        COLOR_TAGS.put("blue", Bcolors.BLUE);
+        COLOR_TAGS.put("cyan", Bcolors.CYAN);
+        COLOR_TAGS.put("purple", Bcolors.PURPLE);
+        COLOR_TAGS.put("white", Bcolors.WHITE);
+    }
+
+    private String title = "Escape Room";
+    private int attempts = 3;
+    private int goalMask;
+    private final List<String> intro = new ArrayList<>();
+    private final List<String> flags = new ArrayList<>();
+    private final List<int[]> descriptionConditions = new ArrayList<>(); // {required, forbidden}
+    private final List<String> descriptions = new ArrayList<>();
+    private final List<String> actionIds = new ArrayList<>();
+    private final List<String> actionLabels = new ArrayList<>();
+    private final List<int[]> actionConditions = new ArrayList<>(); // {required, forbidden}
+    private final List<Rule> rules = new ArrayList<>();
+    private int[] transitions; // state * actionCount + action -> rule index
+
+    private RoomDefinition() {
+    }
+
+    /**
+     * loads and compiles a room file
+     *
+     * @param file path of the room file
+     * @return the compiled room
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid room
+     */
+    public static RoomDefinition load(Path file) throws IOException {
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * parses and compiles a room from its text
+     *
+     * @param text the room definition
+     * @return the compiled room
+     * @throws IllegalArgumentException if the text is not a valid room
+     */
+    public static RoomDefinition parse(String text) {
+        RoomDefinition room = new RoomDefinition();
+        String[] lines = text.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                room.parseLine(line.split("\\|", -1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Room line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        room.compile();
+        return room;
+    }
+
+    /**
+     * handles one directive
+     *
+     * @param fields the fields of the line
+     */
+    private void parseLine(String[] fields) {
+        switch (fields[0]) {
+            case "room":
+                title = field(fields, 1);
+                break;
+            case "intro":
+                intro.add(text(field(fields, 1)));
+                break;
+            case "attempts":
+                attempts = Integer.parseInt(field(fields, 1).trim());
+                break;
+            case "flag":
+                if (flags.size() == MAX_FLAGS) {
+                    throw new IllegalArgumentException("too many flags (max " + MAX_FLAGS + ")");
+                }
+                flags.add(field(fields, 1).trim());
+                break;
+            case "goal":
+                goalMask |= flagBit(field(fields, 1).trim());
+                break;
+            case "describe":
+                descriptionConditions.add(condition(field(fields, 1)));
+                descriptions.add(text(field(fields, 2)));
+                break;
+            case "action":
+                actionIds.add(field(fields, 1).trim());
+                actionLabels.add(text(field(fields, 2)));
+                actionConditions.add(condition(fields.length > 3 ? fields[3] : "*"));
+                break;
+            case "rule":
+                rules.add(parseRule(fields));
+                break;
+            default:
+                throw new IllegalArgumentException("unknown directive " + fields[0]);
+        }
+    }
+
+    /**
+     * parses a rule directive
+     *
+     * @param fields the fields of the line
+     * @return the rule
+     */
+    private Rule parseRule(String[] fields) {
+        int action = actionIds.indexOf(field(fields, 1).trim());
+        if (action < 0) {
+            throw new IllegalArgumentException("rule for undeclared action " + fields[1]);
+        }
+        int[] cond = condition(field(fields, 2));
+        RuleKind kind = RuleKind.valueOf(field(fields, 3).trim().toUpperCase());
+
+        int setMask = 0;
+        int clearMask = 0;
+        String effects = field(fields, 4).trim();
+        if (!effects.equals("*") && !effects.isEmpty()) {
+            for (String effect : effects.split(",")) {
+                effect = effect.trim();
+                if (effect.startsWith("+")) {
+                    setMask |= flagBit(effect.substring(1));
+                } else if (effect.startsWith("-")) {
+                    clearMask |= flagBit(effect.substring(1));
+                } else {
+                    throw new IllegalArgumentException("effect must start with + or -: " + effect);
+                }
+            }
+        }
+
+        int textCount;
+        String answer = null;
+        switch (kind) {
+            case SAY:
+                textCount = 1; // message
+                break;
+            case CONFIRM:
+                textCount = 3; // prompt, yes message, no message
+                break;
+            default:
+                textCount = 7; // intro, prompt, riddle, answer, success, out of attempts, declined
+                answer = field(fields, 8).trim().toLowerCase();
+                break;
+        }
+        String[] texts = new String[textCount];
+        for (int i = 0; i < textCount; i++) {
+            texts[i] = text(field(fields, 5 + i));
+        }
+        return new Rule(action, cond[0], cond[1], kind, setMask, clearMask, texts, answer);
+    }
+
+    /**
+     * builds the transition table from every state and action to its rule
+     */
+    private void compile() {
+        if (goalMask == 0) {
+            throw new IllegalArgumentException("room " + title + " has no goal flag");
+        }
+        int states = 1 << flags.size();
+        int actions = actionIds.size();
+        transitions = new int[states * actions];
+        Arrays.fill(transitions, NO_RULE);
+        for (int state = 0; state < states; state++) {
+            for (int action = 0; action < actions; action++) {
+                for (int r = 0; r < rules.size(); r++) {
+                    Rule rule = rules.get(r);
+                    if (rule.action == action && matches(state, rule.required, rule.forbidden)) {
+                        transitions[state * actions + action] = r;
+                        break; // first matching rule wins
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * gets the field at an index, failing clearly when it is missing
+     */
+    private static String field(String[] fields, int index) {
+        if (index >= fields.length) {
+            throw new IllegalArgumentException(fields[0] + " needs at least " + (index + 1) + " fields");
+        }
+        return fields[index];
+    }
+
+    /**
+     * parses a condition into {required, forbidden} masks
+     */
+    private int[] condition(String spec) {
+        int required = 0;
+        int forbidden = 0;
+        spec = spec.trim();
+        if (!spec.equals("*") && !spec.isEmpty()) {
+            for (String term : spec.split("&")) {
+                term = term.trim();
+                if (term.startsWith("!")) {
+                    forbidden |= flagBit(term.substring(1));
+                } else {
+                    required |= flagBit(term);
+                }
+            }
+        }
+        return new int[] { required, forbidden };
+    }
+
+    /**
+     * gets the bit of a declared flag
+     */
+    private int flagBit(String name) {
+        int index = flags.indexOf(name.trim());
+        if (index < 0) {
+            throw new IllegalArgumentException("undeclared flag " + name);
+        }
+        return 1 << index;
+    }
+
+    /**
+     * expands line breaks and color tags in a text field
+     */
+    private static String text(String raw) {
+        StringBuilder out = new StringBuilder(raw.length() + 16);
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '\\' && i + 1 < raw.length() && raw.charAt(i + 1) == 'n') {
+                out.append('\n');
+                i++;
+            } else if (c == '{') {
+                int close = raw.indexOf('}', i);
+                String code = close > 0 ? COLOR_TAGS.get(raw.substring(i + 1, close)) : null;
+                if (code != null) {
+                    out.append(code);
+                    i = close;
+                } else {
+                    out.append(c);
+                }
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean matches(int state, int required, int forbidden) {
+        return (state & required) == required && (state & forbidden) == 0;
+    }
+
+    /**
+     * gets the rule an action triggers in a state
+     *
+     * @param state  the current state
+     * @param action the action index
+     * @return the rule, or null if nothing happens
+     */
+    public Rule ruleFor(int state, int action) {
+        int index = transitions[state * actionIds.size() + action];
+        return index == NO_RULE ? null : rules.get(index);
+    }
+
+    /**
+     * checks whether an action is offered in a state
+     *
+     * @param state  the current state
+     * @param action the action index
+     * @return true if the action appears on the menu
+     */
+    public boolean isActionVisible(int state, int action) {
+        int[] cond = actionConditions.get(action);
+        return matches(state, cond[0], cond[1]);
+    }
+
+    /**
+     * gets the description lines that apply in a state
+     *
+     * @param state the current state
+     * @return the lines to print, in file order
+     */
+    public List<String> describe(int state) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < descriptions.size(); i++) {
+            int[] cond = descriptionConditions.get(i);
+            if (matches(state, cond[0], cond[1])) {
+                lines.add(descriptions.get(i));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * checks whether a state has escaped the room
+     *
+     * @param state the state to check
+     * @return true if every goal flag is set
+     */
+    public boolean isGoal(int state) {
+        return (state & goalMask) == goalMask;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getIntro() {
+        return intro;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getActionCount() {
+        return actionIds.size();
+    }
+
+    public String getActionLabel(int action) {
+        return actionLabels.get(action);
+    }
+
+    public int getStateCount() {
+        return 1 << flags.size();
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * RoomSolver.java
+ *
+ * breadth-first solver for compiled escape rooms
+ * finds the fewest menu actions needed to escape, which is used to derive
+ * each room's par time and performance thresholds
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.escaperoom;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * computes the minimum number of actions to escape a room
+ * searches the flag states breadth-first from the empty state, taking the
+ * successful branch of every confirm and riddle rule, so the result is the
+ * action count of a player who makes no mistakes
+ */
+public final class RoomSolver {
+    public static final int UNSOLVABLE = -1; // result for rooms with no way out
+    public static final int SECONDS_PER_ACTION = 60; // par time allowed per optimal action
+    public static final int ACTION_SLACK = 5; // how many times the optimal actions still earns points
+
+    private RoomSolver() {
+    }
+
+    /**
+     * finds the minimum number of actions needed to escape
+     *
+     * @param room the compiled room
+     * @return the action count, or UNSOLVABLE
+     */
+    public static int minActions(RoomDefinition room) {
+        int[] distance = new int[room.getStateCount()];
+        Arrays.fill(distance, UNSOLVABLE);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distance[0] = 0;
+        queue.add(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (room.isGoal(state)) {
+                return distance[state];
+            }
+            for (int action = 0; action < room.getActionCount(); action++) {
+                if (!room.isActionVisible(state, action)) {
+                    continue;
+                }
+                RoomDefinition.Rule rule = room.ruleFor(state, action);
+                if (rule == null) {
+                    continue;
+                }
+                int next = rule.apply(state);
+                if (distance[next] == UNSOLVABLE) {
+                    distance[next] = distance[state] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return UNSOLVABLE;
+    }
+
+    /**
+     * derives the time under which an escape counts as a speed run
+     *
+     * @param minActions the room's minimum action count
+     * @return par time in seconds
+     */
+    public static long parSeconds(int minActions) {
+        return (long) Math.max(1, minActions) * SECONDS_PER_ACTION;
+    }
+
+    /**
+     * derives the action count at which the efficiency score reaches zero
+     *
+     * @param minActions the room's minimum action count
+     * @return the action budget for scoring
+     */
+    public static int maxScoredActions(int minActions) {
+        return Math.max(1, minActions) * ACTION_SLACK;
+    }
+}
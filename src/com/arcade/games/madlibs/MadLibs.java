@@ -10,13 +10,17 @@
  */
 package com.arcade.games.madlibs;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import com.arcade.games.Game;
 import com.arcade.item.Functional;
 import com.arcade.item.TicketMultiplier;
 import com.arcade.item.AchievementChecker;
-import com.arcade.item.Achievement;
+import com.arcade.item.GameEndEvent;
 import com.arcade.util.Bcolors;
+import com.arcade.util.Pacing;
 
 /**
  * mad libs game implementation extending the base Game class
@@ -25,9 +29,7 @@ import com.arcade.util.Bcolors;
  */
 public class MadLibs extends Game {
     private Scanner scanner;
-    private Random random;
     private int ticketMultiplier = 1;
-    private List<StoryTemplate> storyTemplates;
 
     // styling constants for console output formatting
     private static final String STYLE_TITLE = Bcolors.BOLD + Bcolors.OKGREEN;
@@ -37,6 +39,100 @@ public class MadLibs extends Game {
     private static final String STYLE_WIN_HEADER = Bcolors.BOLD_GREEN;
     private static final String STYLE_END = Bcolors.ENDC;
 
+    /**
+     * process-wide registry of story templates with varying difficulty levels
+     * stories are categorized by complexity and number of required words
+     * each template is compiled once here and shared by every game instance
+     */
+    private static final List<StoryTemplate> STORY_TEMPLATES = List.of(
+            // Easy stories (difficulty 1-3)
+            new StoryTemplate(
+                    "The Amazing Pet",
+                    1,
+                    Arrays.asList("adjective", "animal", "verb", "noun", "color"),
+                    "Once upon a time, there was a {adjective} {animal} named Fluffy. " +
+                            "Every morning, Fluffy would {verb} around the {noun}. " +
+                            "Fluffy's favorite color was {color}, and everyone loved this amazing pet!"),
+
+            new StoryTemplate(
+                    "School Day Adventure",
+                    2,
+                    Arrays.asList("adjective", "noun", "verb", "name", "food", "number"),
+                    "At school today, my {adjective} teacher gave us a {noun} to study. " +
+                            "When we tried to {verb} it, my friend {name} accidentally spilled {food} everywhere! " +
+                            "It took {number} minutes to clean up the mess, but we all laughed about it."),
+
+            new StoryTemplate(
+                    "The Magic Recipe",
+                    3,
+                    Arrays.asList("adjective", "ingredient", "verb", "time", "emotion", "place", "number"),
+                    "The {adjective} chef decided to make a special dish using {ingredient}. " +
+                            "First, you must {verb} it for {time} while feeling {emotion}. " +
+                            "Then, take it to the {place} and add {number} secret spices for the perfect meal!"),
+
+            // Medium stories (difficulty 4-6)
+            new StoryTemplate(
+                    "The Superhero's Day Off",
+                    4,
+                    Arrays.asList("superhero name", "adjective", "power", "villain", "place", "adjective2", "object",
+                            "verb", "emotion"),
+                    "Even superheroes need a break! {superhero name} was having a {adjective} day when suddenly their {power} started acting up. "
+                            +
+                            "The evil {villain} was causing trouble at the {place}, making everything {adjective2}. " +
+                            "Our hero grabbed their trusty {object} and decided to {verb} into action, feeling {emotion} about saving the day once again!"),
+
+            new StoryTemplate(
+                    "The Time Machine Mishap",
+                    5,
+                    Arrays.asList("year", "adjective", "historical figure", "invention", "verb", "place", "object",
+                            "adjective2", "number", "emotion"),
+                    "In the year {year}, a {adjective} scientist met {historical figure} who was working on a new {invention}. "
+                            +
+                            "They decided to {verb} together to the {place} using a mysterious {object}. " +
+                            "The journey was {adjective2} and took {number} hours, leaving everyone feeling {emotion} about their adventure through time!"),
+
+            // Hard stories (difficulty 7-10)
+            new StoryTemplate(
+                    "The Galactic Space Mission",
+                    7,
+                    Arrays.asList("planet name", "alien species", "adjective", "spaceship part", "verb",
+                            "cosmic phenomenon",
+                            "adjective2", "number", "time period", "emotion", "discovery", "verb2"),
+                    "Captain Space Explorer landed on planet {planet name} where the {alien species} lived in {adjective} harmony. "
+                            +
+                            "Their spaceship's {spaceship part} began to {verb} when they encountered a {cosmic phenomenon}. "
+                            +
+                            "The {adjective2} experience lasted {number} {time period}, making the crew feel {emotion}. " +
+                            "They discovered {discovery} and decided to {verb2} back to Earth with their amazing findings!"),
+
+            new StoryTemplate(
+                    "The Mysterious Laboratory",
+                    8,
+                    Arrays.asList("scientist name", "adjective", "chemical", "reaction", "color", "verb", "measurement",
+                            "time", "side effect", "adjective2", "location", "discovery", "emotion", "verb2"),
+                    "Dr. {scientist name} was conducting a {adjective} experiment with {chemical} when an unexpected {reaction} occurred. "
+                            +
+                            "The mixture turned {color} and began to {verb} for exactly {measurement} {time}. " +
+                            "The strange {side effect} made everything in the lab become {adjective2}. " +
+                            "This happened in the {location} where they made a groundbreaking {discovery}, leaving everyone feeling {emotion} and ready to {verb2}!"),
+
+            new StoryTemplate(
+                    "The Ultimate Quest",
+                    10,
+                    Arrays.asList("hero name", "magical creature", "adjective", "quest object", "dangerous place",
+                            "obstacle",
+                            "verb", "ally name", "special ability", "villain name", "weapon", "adjective2", "number",
+                            "celebration", "emotion", "reward"),
+                    "The legendary hero {hero name} embarked on an epic journey with their companion, a {magical creature}. "
+                            +
+                            "Their {adjective} quest was to find the {quest object} hidden deep within the {dangerous place}. "
+                            +
+                            "They faced a terrible {obstacle} and had to {verb} with help from {ally name}, who possessed the power to {special ability}. "
+                            +
+                            "The evil {villain name} attacked them with a {weapon}, creating a {adjective2} battle that lasted {number} days. "
+                            +
+                            "After their victory, the kingdom held a grand {celebration}, everyone felt {emotion}, and our heroes were given the ultimate {reward}!"));
+
     /**
      * default constructor for mad libs game
      * creates a mad libs game with default settings
@@ -44,8 +140,6 @@ public class MadLibs extends Game {
     public MadLibs() {
         super(6, "Mad Libs", 5, 12, 18);
         this.scanner = new Scanner(System.in);
-        this.random = new Random();
-        initializeStoryTemplates();
     }
 
     /**
@@ -60,8 +154,6 @@ public class MadLibs extends Game {
     public MadLibs(int id, String title, int difficulty, int requiredTokens, int ticketReward) {
         super(id, title, difficulty, requiredTokens, ticketReward);
         this.scanner = new Scanner(System.in);
-        this.random = new Random();
-        initializeStoryTemplates();
     }
 
     /**
@@ -74,6 +166,7 @@ public class MadLibs extends Game {
         MadLibs game = new MadLibs();
         ArrayList<Functional> useItems = new ArrayList<>();
         game.runGame(useItems);
+        AchievementChecker.displayAchievements(game.collectAchievements());
     }
 
     /**
@@ -103,122 +196,21 @@ public class MadLibs extends Game {
 
         // generate and display the completed story
         String completedStory = generateCompletedStory(selectedStory, userWords);
-        displayCompletedStory(completedStory);
+        // wait for the paced story to finish before tallying the reward
+        displayCompletedStory(completedStory).join();
 
         // calculate and return ticket reward
         int finalTickets = calculateFinalReward();
 
-        // Check and display achievements (MadLibs always completes successfully)
+        // Report the outcome so its achievements are checked (MadLibs always completes successfully)
         boolean gameWon = true;
         double performanceScore = getDifficulty() >= 7 ? 0.9 : 0.7; // Higher score for harder stories
 
-        List<Achievement> achievements = new ArrayList<>();
-        achievements
-                .addAll(AchievementChecker.checkGeneralAchievements(gameWon, performanceScore, getDifficulty(), false));
-        achievements.addAll(AchievementChecker.checkMadLibsAchievements(gameWon));
-        AchievementChecker.displayAchievements(achievements);
+        reportGameEnd(new GameEndEvent.MadLibs(getTitle(), gameWon, performanceScore, getDifficulty()));
 
         return finalTickets;
     }
 
-    /**
-     * initializes all available story templates with varying difficulty levels
-     * stories are categorized by complexity and number of required words
-     * includes bonus stories from StoryGenerator for more variety
-     */
-    private void initializeStoryTemplates() {
-        storyTemplates = new ArrayList<>();
-
-        // Easy stories (difficulty 1-3)
-        storyTemplates.add(new StoryTemplate(
-                "The Amazing Pet",
-                1,
-                Arrays.asList("adjective", "animal", "verb", "noun", "color"),
-                "Once upon a time, there was a {adjective} {animal} named Fluffy. " +
-                        "Every morning, Fluffy would {verb} around the {noun}. " +
-                        "Fluffy's favorite color was {color}, and everyone loved this amazing pet!"));
-
-        storyTemplates.add(new StoryTemplate(
-                "School Day Adventure",
-                2,
-                Arrays.asList("adjective", "noun", "verb", "name", "food", "number"),
-                "At school today, my {adjective} teacher gave us a {noun} to study. " +
-                        "When we tried to {verb} it, my friend {name} accidentally spilled {food} everywhere! " +
-                        "It took {number} minutes to clean up the mess, but we all laughed about it."));
-
-        storyTemplates.add(new StoryTemplate(
-                "The Magic Recipe",
-                3,
-                Arrays.asList("adjective", "ingredient", "verb", "time", "emotion", "place", "number"),
-                "The {adjective} chef decided to make a special dish using {ingredient}. " +
-                        "First, you must {verb} it for {time} while feeling {emotion}. " +
-                        "Then, take it to the {place} and add {number} secret spices for the perfect meal!"));
-
-        // Medium stories (difficulty 4-6)
-        storyTemplates.add(new StoryTemplate(
-                "The Superhero's Day Off",
-                4,
-                Arrays.asList("superhero name", "adjective", "power", "villain", "place", "adjective2", "object",
-                        "verb", "emotion"),
-                "Even superheroes need a break! {superhero name} was having a {adjective} day when suddenly their {power} started acting up. "
-                        +
-                        "The evil {villain} was causing trouble at the {place}, making everything {adjective2}. " +
-                        "Our hero grabbed their trusty {object} and decided to {verb} into action, feeling {emotion} about saving the day once again!"));
-
-        storyTemplates.add(new StoryTemplate(
-                "The Time Machine Mishap",
-                5,
-                Arrays.asList("year", "adjective", "historical figure", "invention", "verb", "place", "object",
-                        "adjective2", "number", "emotion"),
-                "In the year {year}, a {adjective} scientist met {historical figure} who was working on a new {invention}. "
-                        +
-                        "They decided to {verb} together to the {place} using a mysterious {object}. " +
-                        "The journey was {adjective2} and took {number} hours, leaving everyone feeling {emotion} about their adventure through time!"));
-
-        // Hard stories (difficulty 7-10)
-        storyTemplates.add(new StoryTemplate(
-                "The Galactic Space Mission",
-                7,
-                Arrays.asList("planet name", "alien species", "adjective", "spaceship part", "verb",
-                        "cosmic phenomenon",
-                        "adjective2", "number", "time period", "emotion", "discovery", "verb2"),
-                "Captain Space Explorer landed on planet {planet name} where the {alien species} lived in {adjective} harmony. "
-                        +
-                        "Their spaceship's {spaceship part} began to {verb} when they encountered a {cosmic phenomenon}. "
-                        +
-                        "The {adjective2} experience lasted {number} {time period}, making the crew feel {emotion}. " +
-                        "They discovered {discovery} and decided to {verb2} back to Earth with their amazing findings!"));
-
-        storyTemplates.add(new StoryTemplate(
-                "The Mysterious Laboratory",
-                8,
-                Arrays.asList("scientist name", "adjective", "chemical", "reaction", "color", "verb", "measurement",
-                        "time", "side effect", "adjective2", "location", "discovery", "emotion", "verb2"),
-                "Dr. {scientist name} was conducting a {adjective} experiment with {chemical} when an unexpected {reaction} occurred. "
-                        +
-                        "The mixture turned {color} and began to {verb} for exactly {measurement} {time}. " +
-                        "The strange {side effect} made everything in the lab become {adjective2}. " +
-                        "This happened in the {location} where they made a groundbreaking {discovery}, leaving everyone feeling {emotion} and ready to {verb2}!"));
-
-        storyTemplates.add(new StoryTemplate(
-                "The Ultimate Quest",
-                10,
-                Arrays.asList("hero name", "magical creature", "adjective", "quest object", "dangerous place",
-                        "obstacle",
-                        "verb", "ally name", "special ability", "villain name", "weapon", "adjective2", "number",
-                        "celebration", "emotion", "reward"),
-                "The legendary hero {hero name} embarked on an epic journey with their companion, a {magical creature}. "
-                        +
-                        "Their {adjective} quest was to find the {quest object} hidden deep within the {dangerous place}. "
-                        +
-                        "They faced a terrible {obstacle} and had to {verb} with help from {ally name}, who possessed the power to {special ability}. "
-                        +
-                        "The evil {villain name} attacked them with a {weapon}, creating a {adjective2} battle that lasted {number} days. "
-                        +
-                        "After their victory, the kingdom held a grand {celebration}, everyone felt {emotion}, and our heroes were given the ultimate {reward}!"));
-
-    }
-
     /**
      * processes functional items that affect gameplay
      * currently supports ticket multiplier items
@@ -270,7 +262,7 @@ public class MadLibs extends Game {
         int difficulty = getDifficulty();
 
         // find stories that match the difficulty level
-        for (StoryTemplate story : storyTemplates) {
+        for (StoryTemplate story : STORY_TEMPLATES) {
             if (story.getDifficulty() <= difficulty) {
                 suitableStories.add(story);
             }
@@ -278,11 +270,11 @@ public class MadLibs extends Game {
 
         // if no suitable stories found, use the easiest one
         if (suitableStories.isEmpty()) {
-            suitableStories.add(storyTemplates.get(0));
+            suitableStories.add(STORY_TEMPLATES.get(0));
         }
 
         // randomly select from suitable stories
-        StoryTemplate selected = suitableStories.get(random.nextInt(suitableStories.size()));
+        StoryTemplate selected = suitableStories.get(getRandom().nextInt(suitableStories.size()));
 
         System.out.println(STYLE_HEADER + "🎭 Story Selected: \"" + selected.getTitle() + "\"" + STYLE_END);
         System.out
@@ -464,56 +456,91 @@ public class MadLibs extends Game {
     }
 
     /**
-     * generates the completed story by replacing placeholders with user words
+     * generates the completed story by filling the compiled template in one pass
      * 
      * @param story     the story template
      * @param userWords map of user-provided words
      * @return completed story string
      */
     private String generateCompletedStory(StoryTemplate story, Map<String, String> userWords) {
-        String completedStory = story.getTemplate();
+        return story.render(userWords);
+    }
+
+    /**
+     * gets every registered story template
+     * 
+     * @return immutable list of all story templates
+     */
+    public static List<StoryTemplate> getStoryTemplates() {
+        return STORY_TEMPLATES;
+    }
 
-        // replace each placeholder with the corresponding user word
-        for (Map.Entry<String, String> entry : userWords.entrySet()) {
-            String placeholder = "{" + entry.getKey() + "}";
-            completedStory = completedStory.replace(placeholder, entry.getValue());
+    /**
+     * finds a registered story template by its title, ignoring case
+     * 
+     * @param title the title of the story
+     * @return the matching template, or null if there is none
+     */
+    public static StoryTemplate findStoryTemplate(String title) {
+        for (StoryTemplate story : STORY_TEMPLATES) {
+            if (story.getTitle().equalsIgnoreCase(title)) {
+                return story;
+            }
         }
+        return null;
+    }
 
-        return completedStory;
+    /**
+     * generates stories for many word maps without prompting or pausing
+     * rows are rendered in parallel and written in order, for pre-printing
+     * stories at kiosk events. rows without a template column get the first
+     * registered story
+     * 
+     * @param rows word maps, each naming its story in a template column
+     * @param out  destination for the completed stories
+     * @return number of stories written
+     * @throws IOException if writing fails
+     */
+    public static long generateStories(Iterator<Map<String, String>> rows, Writer out) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return new MadLibsBatch(threads, threads * 64, STORY_TEMPLATES.get(0)).generate(rows, out);
     }
 
     /**
      * displays the completed story with dramatic presentation
+     * each sentence is printed as a paced continuation, so the pauses between
+     * sentences follow the pacing profile instead of parking the thread
      * 
      * @param completedStory the final story to display
+     * @return a future completing once the whole story has been shown
      */
-    private void displayCompletedStory(String completedStory) {
+    private CompletableFuture<Void> displayCompletedStory(String completedStory) {
         System.out.println(STYLE_TITLE + "🎉 YOUR MAD LIBS STORY IS READY! 🎉" + STYLE_END);
         System.out.println();
         System.out.println("═".repeat(60));
         System.out.println();
 
         // display story with word wrapping for better readability
+        CompletableFuture<Void> shown = CompletableFuture.completedFuture(null);
         String[] sentences = completedStory.split("\\. ");
         for (String sentence : sentences) {
             if (!sentence.trim().isEmpty()) {
-                System.out.println(STYLE_WIN_HEADER + sentence.trim() +
-                        (sentence.endsWith(".") ? "" : ".") + STYLE_END);
-                System.out.println();
-
-                // add dramatic pause
-                try {
-                    Thread.sleep(800);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                String line = STYLE_WIN_HEADER + sentence.trim() + (sentence.endsWith(".") ? "" : ".") + STYLE_END;
+                shown = shown.thenRun(() -> {
+                    System.out.println(line);
+                    System.out.println();
+                })
+                        // add dramatic pause
+                        .thenCompose(v -> Pacing.delay(Pacing.Delay.STORY_SENTENCE));
             }
         }
 
-        System.out.println("═".repeat(60));
-        System.out.println();
-        System.out.println(STYLE_WIN_HEADER + "Hope you enjoyed your story! 📚✨" + STYLE_END);
-        System.out.println();
+        return shown.thenRun(() -> {
+            System.out.println("═".repeat(60));
+            System.out.println();
+            System.out.println(STYLE_WIN_HEADER + "Hope you enjoyed your story! 📚✨" + STYLE_END);
+            System.out.println();
+        });
     }
 
     /**
@@ -540,46 +567,4 @@ public class MadLibs extends Game {
         String lines = System.getProperty("LINES");
         System.out.println("\n".repeat(lines != null ? Integer.parseInt(lines) : 25));
     }
-
-    /**
-     * inner class representing a story template
-     * contains the story structure and required word types
-     */
-    private static class StoryTemplate {
-        private String title;
-        private int difficulty;
-        private List<String> requiredWords;
-        private String template;
-
-        /**
-         * constructor for story template
-         * 
-         * @param title         display title of the story
-         * @param difficulty    difficulty level (1-10)
-         * @param requiredWords list of word types needed
-         * @param template      story template with placeholders
-         */
-        public StoryTemplate(String title, int difficulty, List<String> requiredWords, String template) {
-            this.title = title;
-            this.difficulty = difficulty;
-            this.requiredWords = requiredWords;
-            this.template = template;
-        }
-
-        public String getTitle() {
-            return title;
-        }
-
-        public int getDifficulty() {
-            return difficulty;
-        }
-
-        public List<String> getRequiredWords() {
-            return requiredWords;
-        }
-
-        public String getTemplate() {
-            return template;
-        }
-    }
-}
\ No newline at end of file
+}
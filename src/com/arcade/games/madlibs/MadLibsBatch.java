@@ -0,0 +1,297 @@
+/**
+ * MadLibsBatch.java
+ *
+ * non-interactive mad libs story generation for kiosk printing
+ * reads word maps from a csv file, fills in compiled story templates in
+ * parallel, and streams the finished stories to a file in input order
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.madlibs;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * generates completed stories without prompting or pausing
+ * each input row is a map of word types to words; the template column picks
+ * the story by title, falling back to a default template. at most `window`
+ * stories are in flight at once, and they are written in the order they were
+ * read, so memory stays bounded however many rows the input has
+ */
+public class MadLibsBatch {
+    public static final String TEMPLATE_COLUMN = "template"; // column naming the story to fill in
+
+    private final int parallelism; // worker threads rendering stories
+    private final int window; // maximum stories rendered but not yet written
+    private final StoryTemplate defaultTemplate; // story used when a row names none
+
+    /**
+     * creates a batch generator
+     *
+     * @param parallelism     number of worker threads
+     * @param window          maximum number of stories held in memory at once
+     * @param defaultTemplate story used for rows without a template column, or null
+     */
+    public MadLibsBatch(int parallelism, int window, StoryTemplate defaultTemplate) {
+        this.parallelism = Math.max(1, parallelism);
+        this.window = Math.max(this.parallelism, window);
+        this.defaultTemplate = defaultTemplate;
+    }
+
+    /**
+     * main method for generating stories from a csv file
+     *
+     * @param args input csv, output file, and optionally the default story title
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: MadLibsBatch <words.csv> <stories.txt> [default story title]");
+            return;
+        }
+
+        StoryTemplate defaultTemplate = null;
+        if (args.length > 2) {
+            defaultTemplate = MadLibs.findStoryTemplate(args[2]);
+            if (defaultTemplate == null) {
+                System.err.println("Unknown story: " + args[2]);
+                return;
+            }
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        MadLibsBatch batch = new MadLibsBatch(threads, threads * 64, defaultTemplate);
+        try {
+            long start = System.nanoTime();
+            long written = batch.generate(Paths.get(args[0]), Paths.get(args[1]));
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Generated " + written + " stories in " + millis + " ms");
+        } catch (IOException e) {
+            System.err.println("Error generating stories: " + e.getMessage());
+        }
+    }
+
+    /**
+     * generates a story for every row of a csv file
+     *
+     * @param csvFile    input file with a header row of word types
+     * @param outputFile file the completed stories are written to
+     * @return number of stories written
+     * @throws IOException if either file cannot be read or written
+     */
+    public long generate(Path csvFile, Path outputFile) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8);
+                BufferedWriter out = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            return generate(readCsv(in), out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // a read failure surfaced while iterating rows
+        }
+    }
+
+    /**
+     * generates a story for every word map, writing them in input order
+     *
+     * @param rows word maps, read lazily one at a time
+     * @param out  destination for the completed stories
+     * @return number of stories written
+     * @throws IOException if writing fails
+     */
+    public long generate(Iterator<Map<String, String>> rows, Writer out) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        ArrayDeque<Future<String>> pending = new ArrayDeque<>(window);
+        long written = 0;
+        long row = 0;
+        try {
+            while (rows.hasNext()) {
+                Map<String, String> words = rows.next();
+                row++;
+                StoryTemplate template = templateFor(words);
+                if (template == null) {
+                    String title = words.get(TEMPLATE_COLUMN);
+                    if (title == null || title.isEmpty()) {
+                        System.err.println("Skipping row " + row + ": no story named and no default story");
+                    } else {
+                        System.err.println("Skipping row " + row + ": unknown story \"" + title + "\"");
+                    }
+                    continue;
+                }
+
+                // wait for the oldest story before reading further, bounding memory
+                if (pending.size() == window) {
+                    written += writeNext(pending, out);
+                }
+                pending.add(workers.submit(() -> formatStory(template, words)));
+            }
+            while (!pending.isEmpty()) {
+                written += writeNext(pending, out);
+            }
+            out.flush();
+        } finally {
+            workers.shutdownNow();
+        }
+        return written;
+    }
+
+    /**
+     * picks the template for a row
+     *
+     * @param words the row's word map
+     * @return the named template, the default template, or null
+     */
+    private StoryTemplate templateFor(Map<String, String> words) {
+        String title = words.get(TEMPLATE_COLUMN);
+        if (title == null || title.isEmpty()) {
+            return defaultTemplate;
+        }
+        return MadLibs.findStoryTemplate(title);
+    }
+
+    /**
+     * renders one story along with its heading
+     *
+     * @param template the compiled template
+     * @param words    the words filling it
+     * @return the formatted story, ready to write
+     */
+    private static String formatStory(StoryTemplate template, Map<String, String> words) {
+        StringBuilder story = new StringBuilder(256);
+        story.append("=== ").append(template.getTitle()).append(" ===\n");
+        template.render(words, story);
+        return story.append("\n\n").toString();
+    }
+
+    /**
+     * waits for the oldest pending story and writes it
+     *
+     * @param pending stories in input order
+     * @param out     destination for the story
+     * @return 1 once the story is written
+     * @throws IOException if writing fails or the story could not be rendered
+     */
+    private static int writeNext(ArrayDeque<Future<String>> pending, Writer out) throws IOException {
+        try {
+            out.write(pending.poll().get());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating stories", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render story", e.getCause());
+        }
+    }
+
+    /**
+     * reads a csv file lazily as word maps keyed by the header row
+     * supports quoted fields containing commas, newlines, and "" escapes
+     *
+     * @param in reader positioned at the header row
+     * @return iterator over the data rows
+     */
+    public static Iterator<Map<String, String>> readCsv(BufferedReader in) {
+        List<String> header = readRecord(in);
+        if (header == null) {
+            return new ArrayList<Map<String, String>>().iterator();
+        }
+        for (int i = 0; i < header.size(); i++) {
+            header.set(i, header.get(i).trim().toLowerCase());
+        }
+
+        return new Iterator<Map<String, String>>() {
+            private List<String> next = readRecord(in);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> words = new HashMap<>(header.size() * 2);
+                for (int i = 0; i < header.size() && i < next.size(); i++) {
+                    words.put(header.get(i), next.get(i));
+                }
+                next = readRecord(in);
+                return words;
+            }
+        };
+    }
+
+    /**
+     * reads one csv record, which may span lines inside quoted fields
+     *
+     * @param in the reader
+     * @return the fields of the record, or null at end of input
+     */
+    private static List<String> readRecord(BufferedReader in) {
+        try {
+            String line = in.readLine();
+            while (line != null && line.isBlank()) {
+                line = in.readLine(); // skip blank lines between records
+            }
+            if (line == null) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else if (c == '"') {
+                            quoted = false;
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                // quoted field continues on the next line
+                line = in.readLine();
+                if (line == null) {
+                    break;
+                }
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
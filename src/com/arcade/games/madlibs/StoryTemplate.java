@@ -0,0 +1,124 @@
+/**
+ * StoryTemplate.java
+ *
+ * represents a mad libs story with placeholders for the player's words
+ * the template text is compiled once into literal and slot segments so
+ * filling in a story is a single pass with no intermediate copies
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.madlibs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * immutable mad libs story template
+ * a template like "the {adjective} {animal}" compiles to the literals
+ * ["the ", " ", ""] and the slots ["adjective", "animal"]; rendering appends
+ * literal, word, literal, word, ... into one pre-sized StringBuilder.
+ * instances are safe to share between threads
+ */
+public final class StoryTemplate {
+    private static final int WORD_LENGTH_ESTIMATE = 12; // expected characters per filled-in word
+
+    private final String title; // display title of the story
+    private final int difficulty; // difficulty level (1-10)
+    private final List<String> requiredWords; // word types the player is asked for
+    private final String template; // story text with {placeholders}
+    private final String[] literals; // text around the slots, always one more than slots
+    private final String[] slots; // placeholder keys in the order they appear
+    private final int literalLength; // total characters in all literals
+
+    /**
+     * constructor for story template
+     * compiles the template text into its segments
+     *
+     * @param title         display title of the story
+     * @param difficulty    difficulty level (1-10)
+     * @param requiredWords list of word types needed
+     * @param template      story template with placeholders
+     */
+    public StoryTemplate(String title, int difficulty, List<String> requiredWords, String template) {
+        this.title = title;
+        this.difficulty = difficulty;
+        this.requiredWords = List.copyOf(requiredWords);
+        this.template = template;
+
+        List<String> literalList = new ArrayList<>();
+        List<String> slotList = new ArrayList<>();
+        int start = 0; // start of the literal being collected
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                break; // unmatched brace, the rest is literal text
+            }
+            literalList.add(template.substring(start, open));
+            slotList.add(template.substring(open + 1, close));
+            start = close + 1;
+            open = template.indexOf('{', start);
+        }
+        literalList.add(template.substring(start));
+
+        this.literals = literalList.toArray(new String[0]);
+        this.slots = slotList.toArray(new String[0]);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * fills in the template with the given words in a single pass
+     * placeholders without a word are left as {key}, the same as before
+     *
+     * @param words map of word types to the words filling them
+     * @return the completed story
+     */
+    public String render(Map<String, String> words) {
+        StringBuilder story = new StringBuilder(literalLength + slots.length * WORD_LENGTH_ESTIMATE);
+        render(words, story);
+        return story.toString();
+    }
+
+    /**
+     * fills in the template, appending the story to an existing builder
+     * lets batch callers reuse one builder for many stories
+     *
+     * @param words map of word types to the words filling them
+     * @param out   builder the completed story is appended to
+     */
+    public void render(Map<String, String> words, StringBuilder out) {
+        out.ensureCapacity(out.length() + literalLength + slots.length * WORD_LENGTH_ESTIMATE);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String word = words.get(slots[i]);
+            if (word != null) {
+                out.append(word);
+            } else {
+                out.append('{').append(slots[i]).append('}');
+            }
+        }
+        out.append(literals[slots.length]);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public List<String> getRequiredWords() {
+        return requiredWords;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+}
@@ -11,8 +11,11 @@
 package com.arcade.games.pokeman;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 import com.arcade.util.Bcolors;
+import com.arcade.trace.Span;
+import com.arcade.trace.Tracer;
 
 /**
  * manages turn-based battle mechanics between player and enemy pokemans
@@ -24,8 +27,9 @@ public class Battle {
     private Pokeman enemy; // the enemy pokeman
     private int turnNumber; // current turn counter for tracking battle progress
     private int difficulty; // difficulty level affecting enemy ai behavior
-    private Random random; // random number generator for ai decisions
+    private RandomGenerator random; // seeded generator for ai decisions and damage
     private Scanner scanner; // handles user input during battle
+    private final BattleView view = new BattleView(); // redraws only what changes each turn
 
     // styling constants for consistent console output formatting
     private static final String STYLE_HEADER = Bcolors.BOLD + Bcolors.BRIGHT_CYAN;
@@ -43,11 +47,24 @@ public class Battle {
      * @param difficulty the difficulty level (affects enemy ai behavior)
      */
     public Battle(Pokeman player, Pokeman enemy, int difficulty) {
+        this(player, enemy, difficulty, new SplittableRandom());
+    }
+
+    /**
+     * constructor for creating a battle that draws from a given generator
+     * used by PokemanGame so every battle follows the game's recorded seed
+     * 
+     * @param player     the player's pokeman
+     * @param enemy      the enemy pokeman
+     * @param difficulty the difficulty level (affects enemy ai behavior)
+     * @param random     the generator for ai decisions and damage rolls
+     */
+    public Battle(Pokeman player, Pokeman enemy, int difficulty, RandomGenerator random) {
         this.player = player;
         this.enemy = enemy;
         this.difficulty = difficulty;
         this.turnNumber = 1; // battles start at turn 1
-        this.random = new Random();
+        this.random = random;
         this.scanner = new Scanner(System.in);
     }
 
@@ -71,12 +88,25 @@ public class Battle {
         scanner.nextLine();
 
         // main battle loop - continues until one pokeman is defeated
+        try {
+            runTurns();
+        } finally {
+            view.close(); // hand the whole screen back once the battle is over
+        }
+
+        return displayBattleResult();
+    }
+
+    /**
+     * plays turns until one pokeman is defeated
+     */
+    private void runTurns() {
         while (!player.isDefeated() && !enemy.isDefeated()) {
             displayBattleScreen();
 
             // player's turn
             System.out.println(STYLE_SUCCESS + "\n--- YOUR TURN ---" + STYLE_END);
-            if (playerTurn()) {
+            if (tracedTurn("battle.playerTurn", true)) {
                 break; // battle ended
             }
 
@@ -86,7 +116,7 @@ public class Battle {
 
             // enemy's turn
             System.out.println(STYLE_ERROR + "\n--- ENEMY TURN ---" + STYLE_END);
-            if (enemyTurn()) {
+            if (tracedTurn("battle.enemyTurn", false)) {
                 break; // battle ended
             }
 
@@ -94,8 +124,22 @@ public class Battle {
             System.out.println("\nPress Enter to continue...");
             scanner.nextLine();
         }
+    }
 
-        return displayBattleResult();
+    /**
+     * plays one side's turn inside a trace span
+     * 
+     * @param spanName   the span name
+     * @param playerSide true for the player's turn, false for the enemy's
+     * @return true if battle should end, false to continue
+     */
+    private boolean tracedTurn(String spanName, boolean playerSide) {
+        Span span = Tracer.getDefault().start(spanName).tag("turn", turnNumber);
+        try {
+            return playerSide ? playerTurn() : enemyTurn();
+        } finally {
+            span.end();
+        }
     }
 
     /**
@@ -119,7 +163,7 @@ public class Battle {
         Move selectedMove = getUserMoveChoice();
 
         if (selectedMove != null) {
-            player.useMove(selectedMove, enemy);
+            player.useMove(selectedMove, enemy, random);
         }
 
         return false; // battle continues
@@ -172,7 +216,7 @@ public class Battle {
             selectedMove = availableMoves.get(random.nextInt(availableMoves.size()));
         }
 
-        enemy.useMove(selectedMove, player, difficulty);
+        enemy.useMove(selectedMove, player, difficulty, random);
 
         return false; // battle continues
     }
@@ -182,55 +226,57 @@ public class Battle {
      * shows both pokemans side by side with health and energy bars
      */
     private void displayBattleScreen() {
-        // clear screen effect for better presentation
-        System.out.println("\n".repeat(3));
-
-        System.out.println(STYLE_HEADER + "===========================================");
-        System.out.printf("           POKEMAN BATTLE - TURN %d\n", turnNumber);
-        System.out.println("===========================================" + STYLE_END);
-        System.out.println();
+        view.draw(buildBattleFrame());
+    }
 
-        // display pokemans side by side with ascii art
-        String[] playerArt = player.getAsciiArt().split("\n");
-        String[] enemyArt = enemy.getAsciiArt().split("\n");
+    /**
+     * builds the lines of the battle screen for the current turn
+     * only the turn number and the stat bars change between turns, which is
+     * what lets the battle view skip re-sending the rest
+     * 
+     * @return the screen lines, top to bottom
+     */
+    private String[] buildBattleFrame() {
+        List<String> playerArt = player.getAsciiArtLines();
+        List<String> enemyArt = enemy.getAsciiArtLines();
+        int maxLines = Math.max(playerArt.size(), enemyArt.size());
+
+        List<String> frame = new ArrayList<>(maxLines + 10);
+        // each line opens and closes its own style, since a later frame may redraw only one of them
+        frame.add(STYLE_HEADER + "===========================================" + STYLE_END);
+        frame.add(STYLE_HEADER + String.format("           POKEMAN BATTLE - TURN %d", turnNumber) + STYLE_END);
+        frame.add(STYLE_HEADER + "===========================================" + STYLE_END);
+        frame.add("");
 
         // pokeman names at the top
-        System.out.printf("    %-20s          VS          %s\n",
-                player.getName().toUpperCase(), enemy.getName().toUpperCase());
+        frame.add(String.format("    %-20s          VS          %s",
+                player.getName().toUpperCase(), enemy.getName().toUpperCase()));
 
         // ascii art side by side (handles different art heights)
-        int maxLines = Math.max(playerArt.length, enemyArt.length);
         for (int i = 0; i < maxLines; i++) {
-            String leftSide = i < playerArt.length ? playerArt[i] : "                ";
-            String rightSide = i < enemyArt.length ? enemyArt[i] : "";
-            System.out.printf("%-20s                      %s\n", leftSide, rightSide);
+            String leftSide = i < playerArt.size() ? playerArt.get(i) : "                ";
+            String rightSide = i < enemyArt.size() ? enemyArt.get(i) : "";
+            frame.add(String.format("%-20s                      %s", leftSide, rightSide));
         }
 
-        System.out.println();
+        frame.add("");
 
         // stats display with visual bars
-        System.out.print("HP: ");
-        displayHpBar(player);
-        System.out.printf("        HP: ");
-        displayHpBar(enemy);
-        System.out.println();
-
-        System.out.print("EN: ");
-        displayEnergyBar(player);
-        System.out.printf("                  EN: ");
-        displayEnergyBar(enemy);
-        System.out.println();
-
-        System.out.println(STYLE_HEADER + "===========================================" + STYLE_END);
+        frame.add("HP: " + hpBar(player) + "        HP: " + hpBar(enemy));
+        frame.add("EN: " + energyBar(player) + "                  EN: " + energyBar(enemy));
+
+        frame.add(STYLE_HEADER + "===========================================" + STYLE_END);
+        return frame.toArray(new String[0]);
     }
 
     /**
-     * displays a visual health bar for a pokeman
+     * builds a visual health bar for a pokeman
      * uses colored block characters to show current vs maximum health
      * 
-     * @param pokeman the pokeman whose health bar to display
+     * @param pokeman the pokeman whose health bar to build
+     * @return the colored bar followed by current/max health
      */
-    private void displayHpBar(Pokeman pokeman) {
+    private String hpBar(Pokeman pokeman) {
         int maxBarLength = 12; // length of the health bar in characters
         int currentHp = pokeman.getCurrentHp();
         int maxHp = pokeman.getMaxHp();
@@ -243,18 +289,19 @@ public class Battle {
         String colorCode = currentHp > maxHp * 0.6 ? Bcolors.BRIGHT_GREEN
                 : currentHp > maxHp * 0.3 ? Bcolors.BRIGHT_YELLOW : Bcolors.BRIGHT_RED;
 
-        System.out.print(colorCode + "█".repeat(filledLength) +
+        return colorCode + "█".repeat(filledLength) +
                 Bcolors.BRIGHT_BLACK + "░".repeat(emptyLength) + Bcolors.ENDC +
-                String.format(" %d/%d", currentHp, maxHp));
+                String.format(" %d/%d", currentHp, maxHp);
     }
 
     /**
-     * displays a visual energy bar for a pokeman
+     * builds a visual energy bar for a pokeman
      * uses colored block characters to show current vs maximum energy
      * 
-     * @param pokeman the pokeman whose energy bar to display
+     * @param pokeman the pokeman whose energy bar to build
+     * @return the colored bar followed by current/max energy
      */
-    private void displayEnergyBar(Pokeman pokeman) {
+    private String energyBar(Pokeman pokeman) {
         int maxBarLength = 6; // length of the energy bar in characters
         int currentEnergy = pokeman.getCurrentEnergy();
         int maxEnergy = pokeman.getMaxEnergy();
@@ -264,9 +311,9 @@ public class Battle {
         int emptyLength = maxBarLength - filledLength;
 
         // create visual bar with blue color scheme
-        System.out.print(Bcolors.BRIGHT_BLUE + "█".repeat(filledLength) +
+        return Bcolors.BRIGHT_BLUE + "█".repeat(filledLength) +
                 Bcolors.BRIGHT_BLACK + "░".repeat(emptyLength) + Bcolors.ENDC +
-                String.format(" %d/%d", currentEnergy, maxEnergy));
+                String.format(" %d/%d", currentEnergy, maxEnergy);
     }
 
     /**
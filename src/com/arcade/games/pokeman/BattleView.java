@@ -0,0 +1,136 @@
+/**
+ * BattleView.java
+ *
+ * differential renderer for the pokeman battle screen
+ * keeps the battle frame pinned to the top of the terminal and re-sends
+ * only the lines that changed since the previous turn
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.pokeman;
+
+import com.arcade.util.ScreenRenderer;
+
+/**
+ * draws successive battle frames with as few bytes as possible
+ * on a terminal the first frame is drawn at the top of a cleared screen and
+ * a scroll region (DECSTBM) below it keeps move menus and battle messages
+ * from pushing it away. later frames save the cursor, jump to each changed
+ * row, rewrite just that row, and restore the cursor, so a normal turn only
+ * re-sends the turn number and the hp/energy bars.
+ *
+ * when output is not a terminal, or colors are turned off, every frame is
+ * written in full, the same as the original battle screen. every frame line
+ * must carry its own styling, since it may be rewritten on its own
+ *
+ * the terminal height comes from the arcade.rows system property, or from
+ * LINES when the shell exports it. most shells keep LINES as an unexported
+ * shell variable, so without arcade.rows the height is usually taken to be
+ * 24 rows: a taller terminal then only scrolls within its first 24 rows
+ * during a battle, and a frame that does not fit is drawn in full
+ */
+public class BattleView {
+    private static final String CSI = "\033["; // control sequence introducer
+    private static final String SAVE_CURSOR = "\0337"; // DECSC
+    private static final String RESTORE_CURSOR = "\0338"; // DECRC
+    private static final String CLEAR_SCREEN = CSI + "2J" + CSI + "H";
+    private static final String CLEAR_LINE = CSI + "2K";
+    private static final int DEFAULT_ROWS = 24; // assumed terminal height when unknown
+    private static final int MIN_SCROLL_ROWS = 8; // rows needed below the frame for menus
+
+    private final boolean differential; // whether cursor positioning is available
+    private final int terminalRows; // height of the terminal
+    private String[] shown; // frame currently on screen, null before the first draw
+
+    /**
+     * creates a view for the current output
+     * differential updates are used only on a real terminal that keeps ansi
+     * codes, since cursor movement is meaningless in redirected output
+     */
+    public BattleView() {
+        this(ScreenRenderer.isTerminal() && ScreenRenderer.isColorEnabled(), detectRows());
+    }
+
+    /**
+     * creates a view with explicit terminal settings
+     *
+     * @param differential true to update changed lines in place
+     * @param terminalRows height of the terminal in rows
+     */
+    public BattleView(boolean differential, int terminalRows) {
+        this.differential = differential;
+        this.terminalRows = terminalRows;
+    }
+
+    /**
+     * reads the terminal height from the arcade.rows system property or, if
+     * the shell exports it, the LINES environment variable
+     *
+     * @return the number of rows, or DEFAULT_ROWS if unknown
+     */
+    private static int detectRows() {
+        String rows = System.getProperty("arcade.rows");
+        if (rows == null) {
+            rows = System.getenv("LINES");
+        }
+        try {
+            return rows != null ? Integer.parseInt(rows.trim()) : DEFAULT_ROWS;
+        } catch (NumberFormatException e) {
+            return DEFAULT_ROWS;
+        }
+    }
+
+    /**
+     * draws a battle frame, re-sending only what changed when possible
+     *
+     * @param frame the lines of the battle screen, top to bottom
+     */
+    public void draw(String[] frame) {
+        ScreenRenderer screen = ScreenRenderer.current();
+        boolean fits = frame.length + MIN_SCROLL_ROWS <= terminalRows;
+
+        if (!differential || !fits) {
+            // full redraw with the original spacing
+            screen.line("\n".repeat(3));
+            for (String line : frame) {
+                screen.line(line);
+            }
+        } else if (shown == null || shown.length != frame.length) {
+            // first frame: draw it at the top and confine scrolling below it
+            screen.text(CLEAR_SCREEN);
+            for (String line : frame) {
+                screen.text(CLEAR_LINE).line(line);
+            }
+            int firstScrollRow = frame.length + 1;
+            screen.text(CSI + firstScrollRow + ";" + terminalRows + "r") // DECSTBM homes the cursor
+                    .text(CSI + firstScrollRow + ";1H");
+        } else {
+            // later frames: rewrite only the rows that differ
+            screen.text(SAVE_CURSOR);
+            for (int i = 0; i < frame.length; i++) {
+                if (!frame[i].equals(shown[i])) {
+                    screen.text(CSI + (i + 1) + ";1H").text(CLEAR_LINE).text(frame[i]);
+                }
+            }
+            screen.text(RESTORE_CURSOR);
+        }
+        screen.flush();
+        shown = frame;
+    }
+
+    /**
+     * releases the scroll region so the rest of the game scrolls normally
+     * called when the battle ends
+     */
+    public void close() {
+        if (differential && shown != null) {
+            ScreenRenderer.current()
+                    .text(CSI + "r") // reset scroll region to the whole screen
+                    .text(CSI + terminalRows + ";1H")
+                    .line()
+                    .flush();
+        }
+        shown = null;
+    }
+}
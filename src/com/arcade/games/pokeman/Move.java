@@ -10,7 +10,8 @@
  */
 package com.arcade.games.pokeman;
 
-import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * represents a move that can be used by pokemans in battle
@@ -23,7 +24,6 @@ public class Move {
     private int baseDamage; // minimum damage this move can deal
     private int damageVariance; // additional random damage possible
     private String description; // description of the move's effects
-    private static Random random = new Random(); // shared random generator for damage calculation
 
     /**
      * constructor for creating a move with specified parameters
@@ -49,6 +49,17 @@ public class Move {
      * @return damage amount between baseDamage and baseDamage + damageVariance
      */
     public int calculateDamage() {
+        return calculateDamage(ThreadLocalRandom.current());
+    }
+
+    /**
+     * calculates damage using base damage plus random variance
+     * draws from the given generator so seeded battles can be replayed
+     * 
+     * @param random the generator of the battle using this move
+     * @return damage amount between baseDamage and baseDamage + damageVariance
+     */
+    public int calculateDamage(RandomGenerator random) {
         return baseDamage + random.nextInt(damageVariance + 1);
     }
 
@@ -61,6 +72,18 @@ public class Move {
      * @return damage amount scaled based on difficulty
      */
     public int calculateDamage(int difficulty) {
+        return calculateDamage(difficulty, ThreadLocalRandom.current());
+    }
+
+    /**
+     * calculates damage with difficulty scaling applied
+     * draws from the given generator so seeded battles can be replayed
+     * 
+     * @param difficulty the current difficulty level (1-10)
+     * @param random     the generator of the battle using this move
+     * @return damage amount scaled based on difficulty
+     */
+    public int calculateDamage(int difficulty, RandomGenerator random) {
         // difficulty affects damage variance for enemies:
         // higher difficulty = more consistent (higher minimum) damage
         if (difficulty >= 7) {
@@ -75,7 +98,7 @@ public class Move {
             return minDamage + random.nextInt(maxDamage - minDamage + 1);
         } else {
             // low difficulty: normal variance (0-100%) for maximum unpredictability
-            return calculateDamage();
+            return calculateDamage(random);
         }
     }
 
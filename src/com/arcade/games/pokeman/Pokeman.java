@@ -11,6 +11,8 @@
 package com.arcade.games.pokeman;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import com.arcade.util.Bcolors;
 
 /**
@@ -27,6 +29,20 @@ public class Pokeman {
     private ArrayList<Move> moves; // available moves/attacks
     private boolean isBoss; // whether this is a boss enemy
 
+    // ascii art for each style, split into lines once for every battle screen
+    private static final String BOSS_ART = "    ▲ ▲ ▲ ▲ ▲\n" +
+            "   ( ◉ ◉ ◉ ◉ )\n" +
+            "    \\   ∩   /\n" +
+            "     -------\n" +
+            "    /|  |  |\\\n" +
+            "   ( |  |  | )";
+    private static final String REGULAR_ART = "    ▲ ▲ ▲ ▲\n" +
+            "   ( ◉   ◉ )\n" +
+            "    \\  ∩  /\n" +
+            "     ----";
+    private static final List<String> BOSS_ART_LINES = List.of(BOSS_ART.split("\n"));
+    private static final List<String> REGULAR_ART_LINES = List.of(REGULAR_ART.split("\n"));
+
     /**
      * constructor for creating a pokeman with specified stats and moves
      * 
@@ -65,6 +81,19 @@ public class Pokeman {
      * @return true if move was used successfully, false if insufficient energy
      */
     public boolean useMove(Move move, Pokeman target) {
+        return useMove(move, target, ThreadLocalRandom.current());
+    }
+
+    /**
+     * attempts to use a move against a target pokeman
+     * draws damage from the battle's generator so the battle can be replayed
+     * 
+     * @param move   the move to use
+     * @param target the pokeman to attack
+     * @param random the generator of the battle
+     * @return true if move was used successfully, false if insufficient energy
+     */
+    public boolean useMove(Move move, Pokeman target, RandomGenerator random) {
         if (!move.canAfford(currentEnergy)) {
             System.out.println(Bcolors.FAIL + name + " doesn't have enough energy!" + Bcolors.ENDC);
             return false;
@@ -74,16 +103,9 @@ public class Pokeman {
         consumeEnergy(move.getEnergyCost());
 
         // calculate damage using base damage calculation
-        int damage = move.calculateDamage();
-
-        // apply damage to target
-        target.takeDamage(damage);
-
-        // display battle result with colorful formatting
-        System.out.println(Bcolors.BOLD + name + Bcolors.ENDC + " used " +
-                Bcolors.BRIGHT_YELLOW + move.getName() + Bcolors.ENDC + "!");
-        System.out.println(Bcolors.FAIL + target.getName() + " takes " + damage + " damage!" + Bcolors.ENDC);
+        int damage = move.calculateDamage(random);
 
+        applyMove(move, target, damage);
         return true;
     }
 
@@ -97,6 +119,20 @@ public class Pokeman {
      * @return true if move was used successfully, false if insufficient energy
      */
     public boolean useMove(Move move, Pokeman target, int difficulty) {
+        return useMove(move, target, difficulty, ThreadLocalRandom.current());
+    }
+
+    /**
+     * attempts to use a move against a target with difficulty scaling
+     * draws damage from the battle's generator so the battle can be replayed
+     * 
+     * @param move       the move to use
+     * @param target     the pokeman to attack
+     * @param difficulty the current difficulty level for damage scaling
+     * @param random     the generator of the battle
+     * @return true if move was used successfully, false if insufficient energy
+     */
+    public boolean useMove(Move move, Pokeman target, int difficulty, RandomGenerator random) {
         if (!move.canAfford(currentEnergy)) {
             System.out.println(Bcolors.FAIL + name + " doesn't have enough energy!" + Bcolors.ENDC);
             return false;
@@ -106,8 +142,20 @@ public class Pokeman {
         consumeEnergy(move.getEnergyCost());
 
         // calculate damage with difficulty scaling applied
-        int damage = move.calculateDamage(difficulty);
+        int damage = move.calculateDamage(difficulty, random);
 
+        applyMove(move, target, damage);
+        return true;
+    }
+
+    /**
+     * applies a move's damage to the target and reports it
+     * 
+     * @param move   the move that was used
+     * @param target the pokeman being attacked
+     * @param damage the damage rolled for the move
+     */
+    private void applyMove(Move move, Pokeman target, int damage) {
         // apply damage to target
         target.takeDamage(damage);
 
@@ -115,8 +163,6 @@ public class Pokeman {
         System.out.println(Bcolors.BOLD + name + Bcolors.ENDC + " used " +
                 Bcolors.BRIGHT_YELLOW + move.getName() + Bcolors.ENDC + "!");
         System.out.println(Bcolors.FAIL + target.getName() + " takes " + damage + " damage!" + Bcolors.ENDC);
-
-        return true;
     }
 
     /**
@@ -192,19 +238,17 @@ public class Pokeman {
      * @return string containing ascii art for this pokeman
      */
     public String getAsciiArt() {
-        if (isBoss) {
-            return "    ▲ ▲ ▲ ▲ ▲\n" +
-                    "   ( ◉ ◉ ◉ ◉ )\n" +
-                    "    \\   ∩   /\n" +
-                    "     -------\n" +
-                    "    /|  |  |\\\n" +
-                    "   ( |  |  | )";
-        } else {
-            return "    ▲ ▲ ▲ ▲\n" +
-                    "   ( ◉   ◉ )\n" +
-                    "    \\  ∩  /\n" +
-                    "     ----";
-        }
+        return isBoss ? BOSS_ART : REGULAR_ART;
+    }
+
+    /**
+     * returns the ascii art already split into lines
+     * the lines are built once and shared, so battle screens never re-split
+     * 
+     * @return unmodifiable list of art lines for this pokeman
+     */
+    public List<String> getAsciiArtLines() {
+        return isBoss ? BOSS_ART_LINES : REGULAR_ART_LINES;
     }
 
     /**
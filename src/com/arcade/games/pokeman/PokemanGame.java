@@ -15,7 +15,7 @@ import com.arcade.games.Game;
 import com.arcade.util.Bcolors;
 import com.arcade.item.*;
 import com.arcade.item.AchievementChecker;
-import com.arcade.item.Achievement;
+import com.arcade.item.GameEndEvent;
 
 /**
  * pokemon-style battle game extending the base Game class
@@ -72,6 +72,7 @@ public class PokemanGame extends Game {
         useItems.add(new Luck("luck", 1, 10, 2));
         useItems.add(new ExtraLife("extra life", 2, 10));
         game.runGame(useItems);
+        AchievementChecker.displayAchievements(game.collectAchievements());
     }
 
     /**
@@ -129,11 +130,9 @@ public class PokemanGame extends Game {
                 }
                 displayDefeatScreen();
 
-                // Check and display achievements for game over
-                List<Achievement> achievements = new ArrayList<>();
-                achievements.addAll(AchievementChecker.checkGeneralAchievements(false, 0.0, difficulty, usedExtraLife));
-                achievements.addAll(AchievementChecker.checkPokemanAchievements(false, battlesWon, totalBattles, 0.0));
-                AchievementChecker.displayAchievements(achievements);
+                // Report the loss so its achievements are checked
+                reportGameEnd(new GameEndEvent.Pokeman(getTitle(), false, 0.0, difficulty, usedExtraLife,
+                        battlesWon, totalBattles, 0.0));
 
                 return 0; // No tickets for losing
             }
@@ -162,17 +161,13 @@ public class PokemanGame extends Game {
 
         displayVictoryScreen(finalTickets);
 
-        // Check and display achievements for victory
+        // Report the victory so its achievements are checked
         double finalHealthPercentage = playerPokeman != null
                 ? (double) playerPokeman.getCurrentHp() / playerPokeman.getMaxHp()
                 : 0.0;
 
-        List<Achievement> achievements = new ArrayList<>();
-        achievements
-                .addAll(AchievementChecker.checkGeneralAchievements(true, performanceScore, difficulty, usedExtraLife));
-        achievements.addAll(
-                AchievementChecker.checkPokemanAchievements(true, battlesWon, totalBattles, finalHealthPercentage));
-        AchievementChecker.displayAchievements(achievements);
+        reportGameEnd(new GameEndEvent.Pokeman(getTitle(), true, performanceScore, difficulty, usedExtraLife,
+                battlesWon, totalBattles, finalHealthPercentage));
 
         return finalTickets;
     }
@@ -272,7 +267,7 @@ public class PokemanGame extends Game {
      * @return true if player wins, false if player loses
      */
     private boolean startBattle(Pokeman enemy, int difficulty) {
-        Battle battle = new Battle(playerPokeman, enemy, difficulty);
+        Battle battle = new Battle(playerPokeman, enemy, difficulty, getRandom());
         return battle.startBattle();
     }
 
@@ -316,8 +311,7 @@ public class PokemanGame extends Game {
             healingVariance = 5;
         }
 
-        java.util.Random random = new java.util.Random();
-        int healAmount = baseHealing + random.nextInt(healingVariance + 1);
+        int healAmount = baseHealing + getRandom().nextInt(healingVariance + 1);
 
         int oldHp = playerPokeman.getCurrentHp();
         int newHp = Math.min(playerPokeman.getMaxHp(), oldHp + healAmount);
@@ -0,0 +1,304 @@
+/**
+ * QuestionBank.java
+ *
+ * indexed catalog of trivia questions backed by a memory-mapped file
+ * questions are indexed by difficulty when the bank is opened and only
+ * decoded into Question objects when a game actually asks them
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.games.trivia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import com.arcade.util.ArcadeRandom;
+
+/**
+ * read-only question catalog indexed by difficulty level
+ * each record is one line of the form difficulty|answer|question text, with
+ * newlines in the text written as \n and backslashes as \\. blank lines and
+ * lines starting with # are skipped
+ *
+ * opening a bank makes one pass over the bytes to record where each
+ * difficulty's records start; the text itself stays in the mapped file until
+ * a question is drawn, so a catalog of 100k+ questions costs only an int per
+ * question on the heap. reads use absolute buffer offsets, so one bank can be
+ * shared by every Trivia instance
+ */
+public class QuestionBank {
+   public static final int MIN_DIFFICULTY = 1; // easiest difficulty level indexed
+   public static final int MAX_DIFFICULTY = 10; // hardest difficulty level indexed
+
+   private static final byte SEPARATOR = '|'; // splits the fields of a record
+   private static final byte ESCAPE = '\\'; // starts an escape in the question text
+
+   private final ByteBuffer data; // raw records, mapped from disk or built in memory
+   private final int[][] offsets; // record start offsets for each difficulty level
+   private final int[] counts; // number of records for each difficulty level
+
+   /**
+    * builds the difficulty index over a buffer of encoded records
+    *
+    * @param data the encoded records
+    */
+   private QuestionBank(ByteBuffer data) {
+      this.data = data;
+      this.offsets = new int[MAX_DIFFICULTY + 1][];
+      this.counts = new int[MAX_DIFFICULTY + 1];
+      for (int level = MIN_DIFFICULTY; level <= MAX_DIFFICULTY; level++) {
+         offsets[level] = new int[16];
+      }
+      buildIndex();
+   }
+
+   /**
+    * opens a question file by memory-mapping it
+    *
+    * @param file path of the question file
+    * @return a bank indexing every record in the file
+    * @throws IOException if the file cannot be opened or mapped
+    */
+   public static QuestionBank open(Path file) throws IOException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         // the mapping stays valid after the channel is closed
+         return new QuestionBank(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+   }
+
+   /**
+    * creates a bank from records already held in memory
+    * used for the built-in questions when no question file is present
+    *
+    * @param records the encoded records, one per line
+    * @return a bank indexing every record
+    */
+   public static QuestionBank fromRecords(String records) {
+      return new QuestionBank(ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8)));
+   }
+
+   /**
+    * encodes a single question as a record line, including the trailing newline
+    *
+    * @param difficulty the difficulty level of the question
+    * @param answer     the correct answer
+    * @param text       the question text, which may contain newlines
+    * @return the encoded record
+    */
+   public static String encode(int difficulty, char answer, String text) {
+      StringBuilder record = new StringBuilder(text.length() + 16);
+      record.append(difficulty).append('|').append(answer).append('|');
+      for (int i = 0; i < text.length(); i++) {
+         char c = text.charAt(i);
+         if (c == '\n') {
+            record.append("\\n");
+         } else if (c == '\\') {
+            record.append("\\\\");
+         } else if (c != '\r') {
+            record.append(c);
+         }
+      }
+      return record.append('\n').toString();
+   }
+
+   /**
+    * gets the number of questions available at a difficulty level
+    *
+    * @param difficulty the difficulty level
+    * @return the number of questions, or 0 if the level is out of range
+    */
+   public int count(int difficulty) {
+      if (difficulty < MIN_DIFFICULTY || difficulty > MAX_DIFFICULTY) {
+         return 0;
+      }
+      return counts[difficulty];
+   }
+
+   /**
+    * gets the total number of questions in the bank
+    *
+    * @return the number of indexed questions
+    */
+   public int size() {
+      int total = 0;
+      for (int level = MIN_DIFFICULTY; level <= MAX_DIFFICULTY; level++) {
+         total += counts[level];
+      }
+      return total;
+   }
+
+   /**
+    * decodes one question at a difficulty level
+    *
+    * @param difficulty the difficulty level
+    * @param index      position of the question within that level
+    * @return the decoded question
+    * @throws IndexOutOfBoundsException if the level has no such question
+    */
+   public Question get(int difficulty, int index) {
+      if (index < 0 || index >= count(difficulty)) {
+         throw new IndexOutOfBoundsException("No question " + index + " at difficulty " + difficulty);
+      }
+      return decode(offsets[difficulty][index]);
+   }
+
+   /**
+    * draws distinct questions at a difficulty level without replacement
+    * uses floyd's algorithm, so only the chosen indices are generated and
+    * only the chosen records are decoded, whatever the size of the level
+    *
+    * @param difficulty the difficulty level
+    * @param amount     the number of questions wanted
+    * @param random     the generator of the game drawing the questions
+    * @return up to amount questions in random order
+    */
+   public List<Question> sample(int difficulty, int amount, RandomGenerator random) {
+      int available = count(difficulty);
+      int wanted = Math.min(amount, available);
+      List<Integer> chosen = new ArrayList<>(wanted);
+      Set<Integer> seen = new HashSet<>();
+
+      // floyd's algorithm: each of the last `wanted` indices either adds a fresh
+      // random index or, on a collision, itself
+      for (int j = available - wanted; j < available; j++) {
+         int candidate = random.nextInt(j + 1);
+         if (!seen.add(candidate)) {
+            candidate = j;
+            seen.add(j);
+         }
+         chosen.add(candidate);
+      }
+      // floyd picks a uniform set but not a uniform order, so shuffle the picks
+      ArcadeRandom.shuffle(chosen, random);
+
+      List<Question> questions = new ArrayList<>(wanted);
+      for (int index : chosen) {
+         questions.add(decode(offsets[difficulty][index]));
+      }
+      return questions;
+   }
+
+   /**
+    * scans the buffer once, recording the start of every record under its
+    * difficulty level without decoding any text
+    */
+   private void buildIndex() {
+      int limit = data.limit();
+      int pos = 0;
+      while (pos < limit) {
+         int lineStart = pos;
+
+         // parse the leading difficulty digits
+         int difficulty = 0;
+         boolean hasDigits = false;
+         while (pos < limit) {
+            byte b = data.get(pos);
+            if (b < '0' || b > '9') {
+               break;
+            }
+            difficulty = Math.min(difficulty * 10 + (b - '0'), MAX_DIFFICULTY + 1);
+            hasDigits = true;
+            pos++;
+         }
+
+         // only lines shaped like difficulty|answer|... are indexed; comments,
+         // blank lines, and out-of-range levels are skipped
+         boolean valid = hasDigits && pos + 2 < limit && data.get(pos) == SEPARATOR
+               && data.get(pos + 2) == SEPARATOR;
+         if (valid && difficulty >= MIN_DIFFICULTY && difficulty <= MAX_DIFFICULTY) {
+            addOffset(difficulty, lineStart);
+         }
+
+         // move to the next line
+         while (pos < limit && data.get(pos) != '\n') {
+            pos++;
+         }
+         pos++;
+      }
+   }
+
+   /**
+    * appends a record offset to a difficulty level, growing its array as needed
+    *
+    * @param difficulty the difficulty level of the record
+    * @param offset     where the record starts in the buffer
+    */
+   private void addOffset(int difficulty, int offset) {
+      int[] level = offsets[difficulty];
+      if (counts[difficulty] == level.length) {
+         level = Arrays.copyOf(level, level.length * 2);
+         offsets[difficulty] = level;
+      }
+      level[counts[difficulty]++] = offset;
+   }
+
+   /**
+    * decodes the record starting at an offset into a Question
+    *
+    * @param offset where the record starts in the buffer
+    * @return the decoded question
+    */
+   private Question decode(int offset) {
+      int limit = data.limit();
+      int pos = offset;
+
+      int difficulty = 0;
+      while (data.get(pos) != SEPARATOR) {
+         difficulty = difficulty * 10 + (data.get(pos) - '0');
+         pos++;
+      }
+      char answer = (char) Character.toLowerCase(data.get(pos + 1));
+      int textStart = pos + 3;
+
+      int textEnd = textStart;
+      while (textEnd < limit && data.get(textEnd) != '\n') {
+         textEnd++;
+      }
+      if (textEnd > textStart && data.get(textEnd - 1) == '\r') {
+         textEnd--; // tolerate files saved with windows line endings
+      }
+
+      byte[] raw = new byte[textEnd - textStart];
+      data.get(textStart, raw);
+
+      Question question = new Question();
+      question.setDifficultyLevel(difficulty);
+      question.setAnswer(answer);
+      question.setQuestion(unescape(new String(raw, StandardCharsets.UTF_8)));
+      return question;
+   }
+
+   /**
+    * reverses the escaping applied by encode
+    *
+    * @param text the stored question text
+    * @return the text with \n and \\ restored
+    */
+   private static String unescape(String text) {
+      if (text.indexOf(ESCAPE) < 0) {
+         return text; // nothing escaped, no copy needed
+      }
+      StringBuilder result = new StringBuilder(text.length());
+      for (int i = 0; i < text.length(); i++) {
+         char c = text.charAt(i);
+         if (c == ESCAPE && i + 1 < text.length()) {
+            char next = text.charAt(++i);
+            result.append(next == 'n' ? '\n' : next);
+         } else {
+            result.append(c);
+         }
+      }
+      return result.toString();
+   }
+}
@@ -15,8 +15,13 @@ import com.arcade.item.Functional;
 import com.arcade.item.Luck;
 import com.arcade.item.TicketMultiplier;
 import com.arcade.item.AchievementChecker;
-import com.arcade.item.Achievement;
+import com.arcade.item.GameEndEvent;
+import com.arcade.log.ArcadeLog;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -25,12 +30,17 @@ import java.util.*;
  * supports functional items like luck and ticket multipliers
  */
 public class Trivia extends Game {
-   private Question[] questionList = new Question[30]; // array holding all available questions
+   public static final int QUESTIONS_PER_GAME = 3; // questions drawn for each game
+   private static final ArcadeLog LOG = ArcadeLog.forClass(Trivia.class);
+
+   // external question catalog, shared by every trivia game once loaded
+   private static String QUESTION_FILE = "trivia.txt";
+   private static QuestionBank questionBank;
+
    private int ticketMultiplier = 1; // multiplier for final ticket rewards
 
-   // centralized question data: [question text, difficulty level, correct answer]
-   // this design makes it easier to add/modify questions without changing code
-   // structure
+   // built-in question data: [question text, difficulty level, correct answer]
+   // used when no question file is present
    private static final Object[][] QUESTION_DATA = new Object[][] {
          { "What color is grass? \nA) Blue \nB) Green \nC) Red \nD) Yellow\n", 1, 'b' },
          { "What vehicle can fly? \nA) Car \nB) Train \nC) Plane \nD) Submarine\n", 1, 'c' },
@@ -82,7 +92,7 @@ public class Trivia extends Game {
 
    /**
     * constructor for creating a trivia game with custom parameters
-    * initializes all questions from the centralized data array
+    * questions come from the shared question bank, loaded on first use
     * 
     * @param id             unique identifier for this game instance
     * @param title          display name for the game
@@ -93,15 +103,6 @@ public class Trivia extends Game {
     */
    public Trivia(int id, String title, int difficulty, int requiredTokens, int ticketReward) {
       super(id, title, difficulty, requiredTokens, ticketReward);
-      // initialize questions using data from the static array
-      // this loop converts the generic object array into proper Question objects
-      for (int i = 0; i < questionList.length; i++) {
-         questionList[i] = new Question();
-         Object[] d = QUESTION_DATA[i]; // get data for this question
-         questionList[i].setQuestion((String) d[0]); // question text
-         questionList[i].setDifficultyLevel((Integer) d[1]); // difficulty level
-         questionList[i].setAnswer((Character) d[2]); // correct answer
-      }
    }
 
    /**
@@ -113,12 +114,52 @@ public class Trivia extends Game {
    }
 
    /**
-    * gets the array of all available questions
+    * sets the question file used by every trivia game
+    * the bank is reloaded from the new file the next time it is needed
     * 
-    * @return array of Question objects
+    * @param questionFile path of the question file
     */
-   public Question[] getQuestionList() {
-      return questionList;
+   public static synchronized void setQuestionFile(String questionFile) {
+      QUESTION_FILE = questionFile;
+      questionBank = null;
+   }
+
+   /**
+    * gets the shared question bank, loading it on first use
+    * maps the question file if it exists, otherwise falls back to the
+    * built-in questions
+    * 
+    * @return the question bank used by every trivia game
+    */
+   public static synchronized QuestionBank getQuestionBank() {
+      if (questionBank == null) {
+         Path file = Paths.get(QUESTION_FILE);
+         if (Files.isRegularFile(file)) {
+            try {
+               questionBank = QuestionBank.open(file);
+            } catch (IOException e) {
+               LOG.error("Error loading questions from {}: {}", QUESTION_FILE, e.getMessage());
+            }
+         }
+         if (questionBank == null) {
+            questionBank = QuestionBank.fromRecords(builtInRecords());
+         }
+      }
+      return questionBank;
+   }
+
+   /**
+    * encodes the built-in question data in the question file format
+    * 
+    * @return the built-in questions as records, one per line
+    */
+   private static String builtInRecords() {
+      StringBuilder records = new StringBuilder();
+      for (Object[] d : QUESTION_DATA) {
+         // d holds question text, difficulty level, and correct answer
+         records.append(QuestionBank.encode((Integer) d[1], (Character) d[2], (String) d[0]));
+      }
+      return records.toString();
    }
 
    /**
@@ -164,14 +205,10 @@ public class Trivia extends Game {
             result.correctAnswers, result.totalQuestions, result.score);
       System.out.printf("You've earned %d tickets!\n", finalTickets);
 
-      // Check and display achievements
+      // Report the outcome so its achievements are checked
       boolean gameWon = finalTickets > 0;
-      List<Achievement> achievements = new ArrayList<>();
-      achievements
-            .addAll(AchievementChecker.checkGeneralAchievements(gameWon, performanceScore, getDifficulty(), false));
-      achievements.addAll(AchievementChecker.checkTriviaAchievements(result.correctAnswers, result.totalQuestions,
-            getDifficulty(), result.score));
-      AchievementChecker.displayAchievements(achievements);
+      reportGameEnd(new GameEndEvent.Trivia(getTitle(), gameWon, performanceScore, getDifficulty(),
+            result.correctAnswers, result.totalQuestions, result.score));
 
       return finalTickets;
    }
@@ -200,7 +237,7 @@ public class Trivia extends Game {
    }
 
    /**
-    * runs through all questions matching the current difficulty level
+    * asks a random sample of questions at the current difficulty level
     * handles user input, scoring, and provides feedback for each answer
     * 
     * @return TriviaResult object containing game statistics
@@ -212,36 +249,35 @@ public class Trivia extends Game {
       int totalQuestions = 0;
       Scanner sc = new Scanner(System.in);
 
-      // iterate through all questions to find ones matching current difficulty
-      for (int i = 0; i < questionList.length; i++) {
-         if (questionList[i].getDifficultyLevel() == getDifficulty()) {
-            totalQuestions++;
-            System.out.print(questionList[i].getQuestion());
-            chosenAnswer = sc.nextLine().charAt(0);
-            chosenAnswer = Character.toLowerCase(chosenAnswer); // normalize to lowercase
+      // draw this game's questions straight from the difficulty index
+      List<Question> questions = getQuestionBank().sample(getDifficulty(), QUESTIONS_PER_GAME, getRandom());
+      for (Question question : questions) {
+         totalQuestions++;
+         System.out.print(question.getQuestion());
+         chosenAnswer = sc.nextLine().charAt(0);
+         chosenAnswer = Character.toLowerCase(chosenAnswer); // normalize to lowercase
 
-            if (chosenAnswer == questionList[i].getAnswer()) {
-               correctAnswers++;
-               System.out.println("✅ Correct!");
-               // scoring system: easier questions worth fewer points
-               if (questionList[i].getDifficultyLevel() <= 3) {
-                  score += 1; // easy questions worth 1 point
-               } else if (questionList[i].getDifficultyLevel() <= 6) {
-                  score += 3; // medium questions worth 3 points
-               } else {
-                  score += 5; // hard questions worth 5 points
-               }
+         if (chosenAnswer == question.getAnswer()) {
+            correctAnswers++;
+            System.out.println("✅ Correct!");
+            // scoring system: easier questions worth fewer points
+            if (question.getDifficultyLevel() <= 3) {
+               score += 1; // easy questions worth 1 point
+            } else if (question.getDifficultyLevel() <= 6) {
+               score += 3; // medium questions worth 3 points
+            } else {
+               score += 5; // hard questions worth 5 points
+            }
+         } else {
+            System.out.println("❌ Wrong! The correct answer was " +
+                  question.getAnswer());
+            // wrong answers subtract points (creates risk/reward)
+            if (question.getDifficultyLevel() <= 3) {
+               score -= 1;
+            } else if (question.getDifficultyLevel() <= 6) {
+               score -= 3;
             } else {
-               System.out.println("❌ Wrong! The correct answer was " +
-                     questionList[i].getAnswer());
-               // wrong answers subtract points (creates risk/reward)
-               if (questionList[i].getDifficultyLevel() <= 3) {
-                  score -= 1;
-               } else if (questionList[i].getDifficultyLevel() <= 6) {
-                  score -= 3;
-               } else {
-                  score -= 5;
-               }
+               score -= 5;
             }
          }
       }
@@ -288,5 +324,6 @@ public class Trivia extends Game {
    public static void main(String[] args) {
       Trivia t = new Trivia();
       t.runGame(new ArrayList<>());
+      AchievementChecker.displayAchievements(t.collectAchievements());
    }
 }
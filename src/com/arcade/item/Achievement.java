@@ -15,22 +15,48 @@ import com.arcade.item.Item;
 /**
  * represents an achievement that can be earned by players
  * achievements have names (inherited from Item) and descriptions
- * provides factory methods for creating predefined achievements
+ * provides factory methods for the predefined achievements, which return
+ * the shared instances interned in AchievementCatalog
  */
 public class Achievement extends Item {
+    private final int id; // catalog id, shared by every achievement with this name
     private String description; // detailed description of the achievement
 
     /**
      * constructor for creating an achievement with name and description
+     * the name is interned in the catalog, so this achievement gets the same
+     * id as every other achievement with that name
      * 
      * @param name        the name of the achievement
      * @param description detailed description of what the achievement represents
      */
     public Achievement(String name, String description) {
+        this(AchievementCatalog.intern(name, description).getId(), name, description);
+    }
+
+    /**
+     * constructor used by the catalog when it interns a new name
+     * 
+     * @param id          the catalog id
+     * @param name        the name of the achievement
+     * @param description detailed description of what the achievement represents
+     */
+    Achievement(int id, String name, String description) {
         super(name);
+        this.id = id;
         this.description = description;
     }
 
+    /**
+     * gets the catalog id of the achievement
+     * players record earned achievements by this id
+     * 
+     * @return the achievement id
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * gets the description of the achievement
      * 
@@ -52,190 +78,206 @@ public class Achievement extends Item {
     // ======== GENERAL ACHIEVEMENTS ========
 
     /**
-     * factory method for creating a first victory achievement
+     * factory method for getting the first victory achievement
      * awarded for winning any game for the first time
      * 
-     * @return a first victory achievement instance
+     * @return the shared first victory achievement instance
      */
     public static Achievement firstVictory() {
-        return new Achievement("First Victory!",
-                "Congratulations! You've won your first game in the arcade!");
+        return AchievementCatalog.FIRST_VICTORY;
     }
 
     /**
-     * factory method for creating a perfect performance achievement
+     * factory method for getting the perfect performance achievement
      * awarded for achieving a perfect performance score (1.0) in any game
      * 
-     * @return a perfect performance achievement instance
+     * @return the shared perfect performance achievement instance
      */
     public static Achievement perfectPerformance() {
-        return new Achievement("Perfection Achieved!",
-                "Outstanding! You achieved a perfect performance score in a game!");
+        return AchievementCatalog.PERFECT_PERFORMANCE;
     }
 
     /**
-     * factory method for creating a hard mode champion achievement
+     * factory method for getting the hard mode champion achievement
      * awarded for completing any game on maximum difficulty (10)
      * 
-     * @return a hard mode champion achievement instance
+     * @return the shared hard mode champion achievement instance
      */
     public static Achievement hardModeChampion() {
-        return new Achievement("Hard Mode Champion!",
-                "Incredible! You conquered a game on maximum difficulty level!");
+        return AchievementCatalog.HARD_MODE_CHAMPION;
     }
 
     /**
-     * factory method for creating a comeback kid achievement
+     * factory method for getting the comeback kid achievement
      * awarded for winning a game after using an Extra Life item
      * 
-     * @return a comeback kid achievement instance
+     * @return the shared comeback kid achievement instance
      */
     public static Achievement comebackKid() {
-        return new Achievement("Comeback Kid!",
-                "Amazing! You turned defeat into victory using an Extra Life!");
+        return AchievementCatalog.COMEBACK_KID;
     }
 
     /**
-     * factory method for creating a game over achievement
+     * factory method for getting the game over achievement
      * awarded for experiencing a game over (consolation achievement)
      * 
-     * @return a game over achievement instance
+     * @return the shared game over achievement instance
      */
     public static Achievement gameOver() {
-        return new Achievement("Game Over... or is it?",
-                "Don't give up! Every failure is a step towards success!");
+        return AchievementCatalog.GAME_OVER;
     }
 
     // ======== BLACKJACK ACHIEVEMENTS ========
 
     /**
-     * factory method for creating a blackjack natural achievement
+     * factory method for getting the blackjack natural achievement
      * awarded for getting exactly 21 in blackjack
      * 
-     * @return a blackjack natural achievement instance
+     * @return the shared blackjack natural achievement instance
      */
     public static Achievement blackjackNatural() {
-        return new Achievement("Blackjack Natural!",
-                "Perfect! You hit exactly 21 in Blackjack!");
+        return AchievementCatalog.BLACKJACK_NATURAL;
     }
 
     /**
-     * factory method for creating a dealer buster achievement
+     * factory method for getting the dealer buster achievement
      * awarded for winning blackjack when dealer goes over 21
      * 
-     * @return a dealer buster achievement instance
+     * @return the shared dealer buster achievement instance
      */
     public static Achievement dealerBuster() {
-        return new Achievement("Dealer Buster!",
-                "Lucky! The dealer went bust and you won!");
+        return AchievementCatalog.DEALER_BUSTER;
     }
 
     // ======== POKEMAN ACHIEVEMENTS ========
 
     /**
-     * factory method for creating a pokeman champion achievement
+     * factory method for getting the pokeman champion achievement
      * awarded for defeating all 4 enemies in Pokeman Adventure
      * 
-     * @return a pokeman champion achievement instance
+     * @return the shared pokeman champion achievement instance
      */
     public static Achievement pokemanChampion() {
-        return new Achievement("Pokeman Champion!",
-                "Legendary! You defeated all enemies and became the Pokeman Champion!");
+        return AchievementCatalog.POKEMAN_CHAMPION;
     }
 
     /**
-     * factory method for creating a flawless victory achievement
+     * factory method for getting the flawless victory achievement
      * awarded for completing Pokeman Adventure with full health
      * 
-     * @return a flawless victory achievement instance
+     * @return the shared flawless victory achievement instance
      */
     public static Achievement flawlessVictory() {
-        return new Achievement("Flawless Victory!",
-                "Masterful! You completed Pokeman Adventure without taking damage!");
+        return AchievementCatalog.FLAWLESS_VICTORY;
     }
 
     /**
-     * factory method for creating a boss buster achievement
+     * factory method for getting the boss buster achievement
      * awarded for defeating the final boss in Pokeman Adventure
      * 
-     * @return a boss buster achievement instance
+     * @return the shared boss buster achievement instance
      */
     public static Achievement bossBuster() {
-        return new Achievement("Boss Buster!",
-                "Epic! You defeated the final boss in Pokeman Adventure!");
+        return AchievementCatalog.BOSS_BUSTER;
     }
 
     // ======== TRIVIA ACHIEVEMENTS ========
 
     /**
-     * factory method for creating a trivia master achievement
+     * factory method for getting the trivia master achievement
      * awarded for getting all trivia questions correct
      * 
-     * @return a trivia master achievement instance
+     * @return the shared trivia master achievement instance
      */
     public static Achievement triviaMaster() {
-        return new Achievement("Trivia Master!",
-                "Brilliant! You answered all trivia questions correctly!");
+        return AchievementCatalog.TRIVIA_MASTER;
     }
 
     /**
-     * factory method for creating a scholar achievement
+     * factory method for getting the scholar achievement
      * awarded for completing trivia on difficulty 8+ with high accuracy
      * 
-     * @return a scholar achievement instance
+     * @return the shared scholar achievement instance
      */
     public static Achievement scholar() {
-        return new Achievement("Scholar!",
-                "Impressive! You excelled at high-difficulty trivia questions!");
+        return AchievementCatalog.SCHOLAR;
     }
 
     // ======== ESCAPE ROOM ACHIEVEMENTS ========
 
     /**
-     * factory method for creating an escape artist achievement
+     * factory method for getting the escape artist achievement
      * awarded for completing the escape room
      * 
-     * @return an escape artist achievement instance
+     * @return the shared escape artist achievement instance
      */
     public static Achievement escapeArtist() {
-        return new Achievement("Escape Artist!",
-                "Clever! You solved all the puzzles and escaped the haunted mansion!");
+        return AchievementCatalog.ESCAPE_ARTIST;
     }
 
     /**
-     * factory method for creating a speed runner achievement
+     * factory method for getting the speed runner achievement
      * awarded for completing escape room in under 3 minutes
      * 
-     * @return a speed runner achievement instance
+     * @return the shared speed runner achievement instance
      */
     public static Achievement speedRunner() {
-        return new Achievement("Speed Runner!",
-                "Lightning fast! You escaped the mansion in record time!");
+        return AchievementCatalog.SPEED_RUNNER;
     }
 
     // ======== DICEOPOLY ACHIEVEMENTS ========
 
     /**
-     * factory method for creating a board master achievement
+     * factory method for getting the board master achievement
      * awarded for reaching the end of the Diceopoly board
      * 
-     * @return a board master achievement instance
+     * @return the shared board master achievement instance
      */
     public static Achievement boardMaster() {
-        return new Achievement("Board Master!",
-                "Excellent! You reached the end of the Diceopoly board!");
+        return AchievementCatalog.BOARD_MASTER;
     }
 
     // ======== MADLIBS ACHIEVEMENTS ========
 
     /**
-     * factory method for creating a creative writer achievement
+     * factory method for getting the creative writer achievement
      * awarded for completing any Mad Libs story
      * 
-     * @return a creative writer achievement instance
+     * @return the shared creative writer achievement instance
      */
     public static Achievement creativeWriter() {
-        return new Achievement("Creative Writer!",
-                "Wonderful! You created an amazing story with your imagination!");
+        return AchievementCatalog.CREATIVE_WRITER;
+    }
+
+    // ======== ARCADE ACHIEVEMENTS ========
+
+    /**
+     * factory method for getting the game player achievement
+     * awarded for playing any game in the arcade
+     * 
+     * @return the shared game player achievement instance
+     */
+    public static Achievement gamePlayer() {
+        return AchievementCatalog.GAME_PLAYER;
+    }
+
+    /**
+     * factory method for getting the big spender achievement
+     * awarded for buying a token package
+     * 
+     * @return the shared big spender achievement instance
+     */
+    public static Achievement bigSpender() {
+        return AchievementCatalog.BIG_SPENDER;
+    }
+
+    /**
+     * factory method for getting the savvy shopper achievement
+     * awarded for buying an item from the shop
+     * 
+     * @return the shared savvy shopper achievement instance
+     */
+    public static Achievement savvyShopper() {
+        return AchievementCatalog.SAVVY_SHOPPER;
     }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+/**
+ * AchievementCatalog.java
+ *
+ * interned catalog of every achievement in the arcade
+ * gives each achievement a small int id so players can store what they have
+ * earned as bits instead of lists of objects
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.item;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * registry of interned achievements
+ * each distinct name (compared case-insensitively) is interned once and gets
+ * the next id, starting at 0. the built-in achievements are interned first,
+ * in the order below, so their ids are the same in every run; achievements
+ * created by name elsewhere are appended after them. lookups by id or name
+ * never lock or allocate
+ */
+public final class AchievementCatalog {
+    private static final Map<String, Achievement> BY_NAME = new ConcurrentHashMap<>(); // lower-case name to entry
+    private static volatile Achievement[] byId = new Achievement[0]; // copy-on-write, indexed by id
+
+    // ======== GENERAL ACHIEVEMENTS ========
+    public static final Achievement FIRST_VICTORY = intern("First Victory!",
+            "Congratulations! You've won your first game in the arcade!");
+    public static final Achievement PERFECT_PERFORMANCE = intern("Perfection Achieved!",
+            "Outstanding! You achieved a perfect performance score in a game!");
+    public static final Achievement HARD_MODE_CHAMPION = intern("Hard Mode Champion!",
+            "Incredible! You conquered a game on maximum difficulty level!");
+    public static final Achievement COMEBACK_KID = intern("Comeback Kid!",
+            "Amazing! You turned defeat into victory using an Extra Life!");
+    public static final Achievement GAME_OVER = intern("Game Over... or is it?",
+            "Don't give up! Every failure is a step towards success!");
+
+    // ======== BLACKJACK ACHIEVEMENTS ========
+    public static final Achievement BLACKJACK_NATURAL = intern("Blackjack Natural!",
+            "Perfect! You hit exactly 21 in Blackjack!");
+    public static final Achievement DEALER_BUSTER = intern("Dealer Buster!",
+            "Lucky! The dealer went bust and you won!");
+
+    // ======== POKEMAN ACHIEVEMENTS ========
+    public static final Achievement POKEMAN_CHAMPION = intern("Pokeman Champion!",
+            "Legendary! You defeated all enemies and became the Pokeman Champion!");
+    public static final Achievement FLAWLESS_VICTORY = intern("Flawless Victory!",
+            "Masterful! You completed Pokeman Adventure without taking damage!");
+    public static final Achievement BOSS_BUSTER = intern("Boss Buster!",
+            "Epic! You defeated the final boss in Pokeman Adventure!");
+
+    // ======== TRIVIA ACHIEVEMENTS ========
+    public static final Achievement TRIVIA_MASTER = intern("Trivia Master!",
+            "Brilliant! You answered all trivia questions correctly!");
+    public static final Achievement SCHOLAR = intern("Scholar!",
+            "Impressive! You excelled at high-difficulty trivia questions!");
+
+    // ======== ESCAPE ROOM ACHIEVEMENTS ========
+    public static final Achievement ESCAPE_ARTIST = intern("Escape Artist!",
+            "Clever! You solved all the puzzles and escaped the haunted mansion!");
+    public static final Achievement SPEED_RUNNER = intern("Speed Runner!",
+            "Lightning fast! You escaped the mansion in record time!");
+
+    // ======== DICEOPOLY ACHIEVEMENTS ========
+    public static final Achievement BOARD_MASTER = intern("Board Master!",
+            "Excellent! You reached the end of the Diceopoly board!");
+
+    // ======== MADLIBS ACHIEVEMENTS ========
+    public static final Achievement CREATIVE_WRITER = intern("Creative Writer!",
+            "Wonderful! You created an amazing story with your imagination!");
+
+    // ======== ARCADE ACHIEVEMENTS ========
+    public static final Achievement GAME_PLAYER = intern("Game Player",
+            "Played a game in the arcade");
+    public static final Achievement BIG_SPENDER = intern("Big Spender",
+            "Purchased a token package");
+    public static final Achievement SAVVY_SHOPPER = intern("Savvy Shopper",
+            "Purchased an item from the shop");
+
+    // ======== MILESTONE ACHIEVEMENTS ========
+    public static final Achievement ARCADE_REGULAR = intern("Arcade Regular",
+            "Dedicated! You've played 100 games in the arcade!");
+    public static final Achievement TICKET_COLLECTOR = intern("Ticket Collector",
+            "Nice haul! You've earned 1,000 tickets across the arcade!");
+    public static final Achievement TICKET_TYCOON = intern("Ticket Tycoon",
+            "Unstoppable! You've earned 10,000 tickets across the arcade!");
+    public static final Achievement CARD_SHARK = intern("Card Shark",
+            "Ruthless! You've won 100 hands of Blackjack!");
+
+    private AchievementCatalog() {
+    }
+
+    /**
+     * gets the interned achievement with a name, creating it if needed
+     * the description is only used the first time a name is interned
+     *
+     * @param name        the achievement name
+     * @param description what the achievement is awarded for
+     * @return the single shared achievement for that name
+     */
+    public static Achievement intern(String name, String description) {
+        Achievement existing = BY_NAME.get(key(name));
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (AchievementCatalog.class) {
+            existing = BY_NAME.get(key(name));
+            if (existing != null) {
+                return existing;
+            }
+            Achievement[] current = byId;
+            Achievement created = new Achievement(current.length, name, description);
+            Achievement[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[created.getId()] = created;
+            byId = grown; // publish the id before the name
+            BY_NAME.put(key(name), created);
+            return created;
+        }
+    }
+
+    /**
+     * finds an interned achievement by name, ignoring case
+     *
+     * @param name the achievement name
+     * @return the achievement, or null if no achievement has that name
+     */
+    public static Achievement find(String name) {
+        return BY_NAME.get(key(name));
+    }
+
+    /**
+     * gets an interned achievement by id
+     *
+     * @param id the achievement id
+     * @return the achievement with that id
+     * @throws IndexOutOfBoundsException if no achievement has that id
+     */
+    public static Achievement get(int id) {
+        return byId[id];
+    }
+
+    /**
+     * gets the number of interned achievements, which is one more than the
+     * highest id in use
+     *
+     * @return the catalog size
+     */
+    public static int size() {
+        return byId.length;
+    }
+
+    /**
+     * normalizes a name for case-insensitive lookup
+     *
+     * @param name the achievement name
+     * @return the lookup key
+     */
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
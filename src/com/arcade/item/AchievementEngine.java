@@ -0,0 +1,135 @@
+/**
+ * AchievementEngine.java
+ *
+ * rule engine that turns game-end events into achievements
+ * compiles declared rules into a per-event-type plan and evaluates events
+ * in batches on a background thread
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * evaluates achievement rules against game-end events
+ * the rules are compiled once into an evaluation plan: for each concrete
+ * event class, the rules whose event type it is assignable to, in the order
+ * they were declared. the plan for a class is built the first time an event
+ * of that class is seen and cached in a ClassValue, so evaluating an event
+ * only runs the rules that can apply to it, however many rules there are.
+ *
+ * submit() hands an event to a single worker thread, which drains whatever
+ * events have queued up and evaluates them as one batch, so games never wait
+ * on rule evaluation while they finish up
+ */
+public final class AchievementEngine {
+    private static final int MAX_BATCH = 64; // events evaluated per worker pass
+
+    private final List<AchievementRule<?>> rules; // every rule, in declaration order
+    private final ClassValue<AchievementRule<?>[]> plan = new ClassValue<>() {
+        @Override
+        protected AchievementRule<?>[] computeValue(Class<?> eventClass) {
+            return compile(eventClass);
+        }
+    };
+    private final BlockingQueue<Evaluation> queue = new LinkedBlockingQueue<>(); // submitted events
+
+    /**
+     * an event waiting for the worker, with the future for its result
+     */
+    private static final class Evaluation {
+        private final GameEndEvent event;
+        private final CompletableFuture<List<Achievement>> result = new CompletableFuture<>();
+
+        private Evaluation(GameEndEvent event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * creates an engine for a set of rules and starts its worker thread
+     *
+     * @param rules the achievement rules, in the order results should be listed
+     */
+    public AchievementEngine(List<AchievementRule<?>> rules) {
+        this.rules = List.copyOf(rules);
+
+        Thread worker = new Thread(this::work, "arcade-achievements");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * selects the rules that apply to one concrete event class
+     *
+     * @param eventClass the event class
+     * @return the applicable rules, in declaration order
+     */
+    private AchievementRule<?>[] compile(Class<?> eventClass) {
+        List<AchievementRule<?>> applicable = new ArrayList<>();
+        for (AchievementRule<?> rule : rules) {
+            if (rule.getEventType().isAssignableFrom(eventClass)) {
+                applicable.add(rule);
+            }
+        }
+        return applicable.toArray(new AchievementRule<?>[0]);
+    }
+
+    /**
+     * evaluates an event on the calling thread
+     *
+     * @param event the game-end event
+     * @return the achievements the event earns, in rule order
+     */
+    public List<Achievement> evaluate(GameEndEvent event) {
+        List<Achievement> earned = new ArrayList<>();
+        for (AchievementRule<?> rule : plan.get(event.getClass())) {
+            if (rule.matches(event)) {
+                earned.add(rule.getAchievement());
+            }
+        }
+        return earned;
+    }
+
+    /**
+     * queues an event for evaluation on the worker thread
+     *
+     * @param event the game-end event
+     * @return a future completing with the achievements the event earns
+     */
+    public CompletableFuture<List<Achievement>> submit(GameEndEvent event) {
+        Evaluation evaluation = new Evaluation(event);
+        queue.add(evaluation);
+        return evaluation.result;
+    }
+
+    /**
+     * worker loop: waits for an event, then evaluates it together with
+     * every other event already queued
+     */
+    private void work() {
+        List<Evaluation> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            for (Evaluation evaluation : batch) {
+                try {
+                    evaluation.result.complete(evaluate(evaluation.event));
+                } catch (RuntimeException e) {
+                    evaluation.result.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * AchievementRule.java
+ *
+ * a declarative achievement rule
+ * pairs an achievement with the event type it listens to and the condition
+ * under which that event earns it
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.item;
+
+import java.util.function.Predicate;
+
+/**
+ * awards an achievement when an event of a given type matches a condition
+ * a rule declared on GameEndEvent applies to every game; a rule declared on
+ * a nested event type only to that game
+ *
+ * @param <E> the event type the rule listens to
+ */
+public final class AchievementRule<E extends GameEndEvent> {
+    private final Class<E> eventType; // events this rule is evaluated for
+    private final Achievement achievement; // awarded when the condition holds
+    private final Predicate<? super E> condition; // test on the event
+
+    private AchievementRule(Class<E> eventType, Achievement achievement, Predicate<? super E> condition) {
+        this.eventType = eventType;
+        this.achievement = achievement;
+        this.condition = condition;
+    }
+
+    /**
+     * declares a rule
+     *
+     * @param <E>         the event type
+     * @param eventType   class of the events the rule listens to
+     * @param achievement the achievement to award
+     * @param condition   when the achievement is earned
+     * @return the rule
+     */
+    public static <E extends GameEndEvent> AchievementRule<E> on(Class<E> eventType, Achievement achievement,
+            Predicate<? super E> condition) {
+        return new AchievementRule<>(eventType, achievement, condition);
+    }
+
+    /**
+     * gets the event type the rule listens to
+     *
+     * @return the event class
+     */
+    public Class<E> getEventType() {
+        return eventType;
+    }
+
+    /**
+     * gets the achievement the rule awards
+     *
+     * @return the achievement
+     */
+    public Achievement getAchievement() {
+        return achievement;
+    }
+
+    /**
+     * tests an event against the rule
+     * the engine only passes events of the rule's type
+     *
+     * @param event the event to test
+     * @return true if the event earns the achievement
+     */
+    boolean matches(GameEndEvent event) {
+        return condition.test(eventType.cast(event));
+    }
+}
@@ -0,0 +1,356 @@
+/**
+ * GameEndEvent.java
+ *
+ * typed events describing how a game ended
+ * each game reports one event when it finishes, and achievement rules are
+ * written as conditions on these events
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.item;
+
+/**
+ * base event shared by every game
+ * holds the outcome every game has (win, performance, difficulty, extra
+ * life); the nested subclasses add what is specific to one game. rules
+ * declared on GameEndEvent itself apply to every game
+ */
+public abstract class GameEndEvent {
+    private final String gameTitle; // title of the game that ended
+    private final boolean gameWon; // true if the player won
+    private final double performanceScore; // performance from 0.0 to 1.0
+    private final int difficulty; // difficulty level the game was played on
+    private final boolean usedExtraLife; // true if an extra life item was used
+
+    /**
+     * creates the common part of a game-end event
+     *
+     * @param gameTitle        title of the game that ended
+     * @param gameWon          true if the player won
+     * @param performanceScore the performance score (0.0 to 1.0)
+     * @param difficulty       the difficulty level the game was played on
+     * @param usedExtraLife    true if the player used an extra life item
+     */
+    protected GameEndEvent(String gameTitle, boolean gameWon, double performanceScore, int difficulty,
+            boolean usedExtraLife) {
+        this.gameTitle = gameTitle;
+        this.gameWon = gameWon;
+        this.performanceScore = performanceScore;
+        this.difficulty = difficulty;
+        this.usedExtraLife = usedExtraLife;
+    }
+
+    /**
+     * gets the title of the game that ended
+     *
+     * @return the game title
+     */
+    public String getGameTitle() {
+        return gameTitle;
+    }
+
+    /**
+     * checks whether the player won
+     *
+     * @return true if the game was won
+     */
+    public boolean isGameWon() {
+        return gameWon;
+    }
+
+    /**
+     * gets the performance score
+     *
+     * @return the score from 0.0 to 1.0
+     */
+    public double getPerformanceScore() {
+        return performanceScore;
+    }
+
+    /**
+     * gets the difficulty the game was played on
+     *
+     * @return the difficulty (1-10 scale)
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * checks whether an extra life item was used
+     *
+     * @return true if an extra life was used
+     */
+    public boolean isUsedExtraLife() {
+        return usedExtraLife;
+    }
+
+    /**
+     * end of a blackjack hand
+     */
+    public static final class Blackjack extends GameEndEvent {
+        private final int playerHandValue; // final value of the player's hand
+        private final int dealerHandValue; // final value of the dealer's hand
+
+        /**
+         * creates a blackjack end event
+         *
+         * @param gameTitle        title of the game
+         * @param gameWon          true if the player won
+         * @param performanceScore the performance score (0.0 to 1.0)
+         * @param difficulty       the difficulty level played
+         * @param playerHandValue  final value of the player's hand
+         * @param dealerHandValue  final value of the dealer's hand
+         */
+        public Blackjack(String gameTitle, boolean gameWon, double performanceScore, int difficulty,
+                int playerHandValue, int dealerHandValue) {
+            super(gameTitle, gameWon, performanceScore, difficulty, false);
+            this.playerHandValue = playerHandValue;
+            this.dealerHandValue = dealerHandValue;
+        }
+
+        /**
+         * gets the final value of the player's hand
+         *
+         * @return the hand value
+         */
+        public int getPlayerHandValue() {
+            return playerHandValue;
+        }
+
+        /**
+         * gets the final value of the dealer's hand
+         *
+         * @return the hand value
+         */
+        public int getDealerHandValue() {
+            return dealerHandValue;
+        }
+    }
+
+    /**
+     * end of a pokeman adventure, won or lost
+     */
+    public static final class Pokeman extends GameEndEvent {
+        private final int battlesWon; // battles won before the game ended
+        private final int totalBattles; // battles in a full adventure
+        private final double finalHealthPercentage; // remaining health from 0.0 to 1.0
+
+        /**
+         * creates a pokeman end event
+         *
+         * @param gameTitle             title of the game
+         * @param gameWon               true if the player won
+         * @param performanceScore      the performance score (0.0 to 1.0)
+         * @param difficulty            the difficulty level played
+         * @param usedExtraLife         true if an extra life was used
+         * @param battlesWon            battles won before the game ended
+         * @param totalBattles          battles in a full adventure
+         * @param finalHealthPercentage remaining health from 0.0 to 1.0
+         */
+        public Pokeman(String gameTitle, boolean gameWon, double performanceScore, int difficulty,
+                boolean usedExtraLife, int battlesWon, int totalBattles, double finalHealthPercentage) {
+            super(gameTitle, gameWon, performanceScore, difficulty, usedExtraLife);
+            this.battlesWon = battlesWon;
+            this.totalBattles = totalBattles;
+            this.finalHealthPercentage = finalHealthPercentage;
+        }
+
+        /**
+         * gets the number of battles won
+         *
+         * @return the battles won
+         */
+        public int getBattlesWon() {
+            return battlesWon;
+        }
+
+        /**
+         * gets the number of battles in a full adventure
+         *
+         * @return the total battles
+         */
+        public int getTotalBattles() {
+            return totalBattles;
+        }
+
+        /**
+         * gets the player's remaining health
+         *
+         * @return the health from 0.0 to 1.0
+         */
+        public double getFinalHealthPercentage() {
+            return finalHealthPercentage;
+        }
+    }
+
+    /**
+     * end of a trivia round
+     */
+    public static final class Trivia extends GameEndEvent {
+        private final int correctAnswers; // questions answered correctly
+        private final int totalQuestions; // questions asked
+        private final int score; // final trivia score
+
+        /**
+         * creates a trivia end event
+         *
+         * @param gameTitle        title of the game
+         * @param gameWon          true if the player won
+         * @param performanceScore the performance score (0.0 to 1.0)
+         * @param difficulty       the difficulty level played
+         * @param correctAnswers   questions answered correctly
+         * @param totalQuestions   questions asked
+         * @param score            final trivia score
+         */
+        public Trivia(String gameTitle, boolean gameWon, double performanceScore, int difficulty,
+                int correctAnswers, int totalQuestions, int score) {
+            super(gameTitle, gameWon, performanceScore, difficulty, false);
+            this.correctAnswers = correctAnswers;
+            this.totalQuestions = totalQuestions;
+            this.score = score;
+        }
+
+        /**
+         * gets the number of correct answers
+         *
+         * @return the correct answers
+         */
+        public int getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        /**
+         * gets the number of questions asked
+         *
+         * @return the questions asked
+         */
+        public int getTotalQuestions() {
+            return totalQuestions;
+        }
+
+        /**
+         * gets the final trivia score
+         *
+         * @return the score
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * gets the fraction of questions answered correctly
+         *
+         * @return the accuracy from 0.0 to 1.0, or 0.0 if no questions were asked
+         */
+        public double getAccuracy() {
+            return totalQuestions > 0 ? (double) correctAnswers / totalQuestions : 0.0;
+        }
+    }
+
+    /**
+     * end of an escape room run
+     */
+    public static final class EscapeRoom extends GameEndEvent {
+        private final long completionTimeSeconds; // time taken to finish
+        private final long parSeconds; // the room's par time
+
+        /**
+         * creates an escape room end event
+         *
+         * @param gameTitle             title of the game
+         * @param gameWon               true if the player won
+         * @param performanceScore      the performance score (0.0 to 1.0)
+         * @param difficulty            the difficulty level played
+         * @param usedExtraLife         true if an extra life was used
+         * @param completionTimeSeconds time taken to escape, in seconds
+         * @param parSeconds            the room's par time, in seconds
+         */
+        public EscapeRoom(String gameTitle, boolean gameWon, double performanceScore, int difficulty,
+                boolean usedExtraLife, long completionTimeSeconds, long parSeconds) {
+            super(gameTitle, gameWon, performanceScore, difficulty, usedExtraLife);
+            this.completionTimeSeconds = completionTimeSeconds;
+            this.parSeconds = parSeconds;
+        }
+
+        /**
+         * gets the time taken to escape
+         *
+         * @return the time in seconds
+         */
+        public long getCompletionTimeSeconds() {
+            return completionTimeSeconds;
+        }
+
+        /**
+         * gets the room's par time
+         *
+         * @return the par time in seconds
+         */
+        public long getParSeconds() {
+            return parSeconds;
+        }
+    }
+
+    /**
+     * end of a diceopoly game
+     */
+    public static final class Diceopoly extends GameEndEvent {
+        private final int finalPosition; // where the player finished
+        private final int boardLength; // number of tiles on the board
+
+        /**
+         * creates a diceopoly end event
+         *
+         * @param gameTitle        title of the game
+         * @param gameWon          true if the player won
+         * @param performanceScore the performance score (0.0 to 1.0)
+         * @param difficulty       the difficulty level played
+         * @param finalPosition    where the player finished
+         * @param boardLength      number of tiles on the board
+         */
+        public Diceopoly(String gameTitle, boolean gameWon, double performanceScore, int difficulty,
+                int finalPosition, int boardLength) {
+            super(gameTitle, gameWon, performanceScore, difficulty, false);
+            this.finalPosition = finalPosition;
+            this.boardLength = boardLength;
+        }
+
+        /**
+         * gets where the player finished on the board
+         *
+         * @return the final position
+         */
+        public int getFinalPosition() {
+            return finalPosition;
+        }
+
+        /**
+         * gets the number of tiles on the board
+         *
+         * @return the board length
+         */
+        public int getBoardLength() {
+            return boardLength;
+        }
+    }
+
+    /**
+     * end of a mad libs story
+     */
+    public static final class MadLibs extends GameEndEvent {
+
+        /**
+         * creates a mad libs end event
+         *
+         * @param gameTitle        title of the game
+         * @param storyCompleted   true if the story was completed
+         * @param performanceScore the performance score (0.0 to 1.0)
+         * @param difficulty       the difficulty level played
+         */
+        public MadLibs(String gameTitle, boolean storyCompleted, double performanceScore, int difficulty) {
+            super(gameTitle, storyCompleted, performanceScore, difficulty, false);
+        }
+    }
+}
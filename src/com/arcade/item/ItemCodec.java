@@ -0,0 +1,71 @@
+/**
+ * ItemCodec.java
+ *
+ * text form of inventory items, shared by every player store
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.item;
+
+/**
+ * converts functional items to and from one line of text
+ * the line is the item type, name, uses and price separated by "|", plus
+ * the difficulty factor for luck items, e.g. "luck|Lucky Charm|3|40|2"
+ */
+public final class ItemCodec {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * not instantiable
+     */
+    private ItemCodec() {
+    }
+
+    /**
+     * formats an item as a line
+     *
+     * @param item the item
+     * @return the line, or null for item types the codec does not know
+     */
+    public static String format(Functional item) {
+        String common = SEPARATOR + item.getName() + SEPARATOR + item.getNumUses() + SEPARATOR + item.getPrice();
+        if (item instanceof Luck) {
+            return "luck" + common + SEPARATOR + ((Luck) item).getDifficultyDecreaseFactor();
+        } else if (item instanceof ExtraLife) {
+            return "extralife" + common;
+        } else if (item instanceof TicketMultiplier) {
+            return "multiplier" + common;
+        }
+        return null;
+    }
+
+    /**
+     * parses an item from a line written by format
+     *
+     * @param line the line
+     * @return the item, or null if the line is not understood
+     */
+    public static Functional parse(String line) {
+        String[] fields = line.split("\\" + SEPARATOR);
+        if (fields.length < 4) {
+            return null;
+        }
+        try {
+            int uses = Integer.parseInt(fields[2]);
+            int price = Integer.parseInt(fields[3]);
+            switch (fields[0]) {
+                case "luck":
+                    return new Luck(fields[1], uses, price, fields.length > 4 ? Integer.parseInt(fields[4]) : 2);
+                case "extralife":
+                    return new ExtraLife(fields[1], uses, price);
+                case "multiplier":
+                    return new TicketMultiplier(fields[1], uses, price);
+                default:
+                    return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * AchievementEvent.java
+ *
+ * flight recorder event for achievement awards
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * an achievement awarded to a player for the first time
+ */
+@Name("com.arcade.Achievement")
+@Label("Achievement Awarded")
+@Category({ "Arcade", "Session" })
+@Description("A player earning a new achievement")
+@StackTrace(false)
+public final class AchievementEvent extends Event {
+    @Label("Username")
+    public String username;
+
+    @Label("Achievement")
+    public String achievement;
+}
@@ -0,0 +1,44 @@
+/**
+ * GamePlayEvent.java
+ *
+ * flight recorder event for games
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one Game.play call; the event's start time and duration are when the
+ * game started and how long it ran
+ */
+@Name("com.arcade.GamePlay")
+@Label("Game Played")
+@Category({ "Arcade", "Games" })
+@Description("A game from start to end")
+@StackTrace(false)
+public final class GamePlayEvent extends Event {
+    @Label("Game Id")
+    public int gameId;
+
+    @Label("Title")
+    public String title;
+
+    @Label("Difficulty")
+    @Description("Difficulty after the age adjustment")
+    public int difficulty;
+
+    @Label("Tickets Won")
+    public int ticketsWon;
+
+    @Label("Completed")
+    @Description("False if the game ended with an exception")
+    public boolean completed;
+}
@@ -0,0 +1,33 @@
+/**
+ * LoginEvent.java
+ *
+ * flight recorder event for login attempts
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one ArcadeManager.tryLogin call and its outcome
+ */
+@Name("com.arcade.Login")
+@Label("Login Attempt")
+@Category({ "Arcade", "Session" })
+@Description("A player trying to log in")
+@StackTrace(false)
+public final class LoginEvent extends Event {
+    @Label("Username")
+    public String username;
+
+    @Label("Outcome")
+    @Description("The LoginStatus returned")
+    public String outcome;
+}
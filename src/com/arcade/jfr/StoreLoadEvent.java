@@ -0,0 +1,39 @@
+/**
+ * StoreLoadEvent.java
+ *
+ * flight recorder event for reading the arcade file
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one ArcadeManager.loadFromFile call, timed from opening the file to the
+ * last record parsed
+ */
+@Name("com.arcade.StoreLoad")
+@Label("Player Store Load")
+@Category({ "Arcade", "Player Store" })
+@Description("Players read from the arcade file")
+@StackTrace(false)
+public final class StoreLoadEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Records")
+    @Description("Players loaded")
+    public int records;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
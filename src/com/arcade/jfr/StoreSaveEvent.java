@@ -0,0 +1,42 @@
+/**
+ * StoreSaveEvent.java
+ *
+ * flight recorder event for writing the arcade file
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one write of the arcade file by ArcadeManager, timed from when the file
+ * locks are held to the new file being moved into place
+ */
+@Name("com.arcade.StoreSave")
+@Label("Player Store Save")
+@Category({ "Arcade", "Player Store" })
+@Description("Players written to the arcade file")
+@StackTrace(false)
+public final class StoreSaveEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Records")
+    @Description("Players saved")
+    public int records;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,417 @@
+/**
+ * Leaderboard.java
+ *
+ * ranked scores for one leaderboard, such as tickets earned
+ * kept in persistent (immutable) treaps so every update publishes a new
+ * snapshot in O(log n) and readers never block writers
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.leaderboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * a leaderboard of players ranked by score, highest first, ties broken by
+ * username
+ * two persistent treaps share one node type: one ordered by rank, one by
+ * username, each node knowing its subtree size. an update copies only the
+ * O(log n) nodes on the paths it changes, so the previous snapshot stays
+ * valid and readers holding it are never disturbed. writers are serialized
+ * by the leaderboard's lock; readers only read the volatile snapshot
+ */
+public final class Leaderboard {
+    private final String title; // name shown above the board
+    private volatile Snapshot snapshot = new Snapshot(null, null); // latest published state
+
+    /**
+     * one player's position on a leaderboard
+     */
+    public static final class Entry {
+        private final int rank; // 1 for the top player
+        private final String username; // the player
+        private final long score; // the player's score
+
+        private Entry(int rank, String username, long score) {
+            this.rank = rank;
+            this.username = username;
+            this.score = score;
+        }
+
+        /**
+         * gets the position on the board
+         *
+         * @return the rank, 1 for the top player
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        /**
+         * gets the player's username
+         *
+         * @return the username
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * gets the player's score
+         *
+         * @return the score
+         */
+        public long getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * immutable treap node, shared between snapshots
+     */
+    private static final class Node {
+        private final String username;
+        private final long score;
+        private final int priority; // heap order, derived from the username
+        private final Node left;
+        private final Node right;
+        private final int size; // nodes in this subtree
+
+        private Node(String username, long score, int priority, Node left, Node right) {
+            this.username = username;
+            this.score = score;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        /**
+         * copies this node with new children
+         */
+        private Node with(Node newLeft, Node newRight) {
+            return new Node(username, score, priority, newLeft, newRight);
+        }
+    }
+
+    /**
+     * an immutable view of the board at one moment
+     */
+    public static final class Snapshot {
+        private final Node byRank; // ordered by score descending, then username
+        private final Node byName; // ordered by username
+
+        private Snapshot(Node byRank, Node byName) {
+            this.byRank = byRank;
+            this.byName = byName;
+        }
+
+        /**
+         * gets the number of players on the board
+         *
+         * @return the player count
+         */
+        public int size() {
+            return Leaderboard.size(byRank);
+        }
+
+        /**
+         * gets the top entries
+         *
+         * @param k how many entries to return
+         * @return up to k entries, best first
+         */
+        public List<Entry> top(int k) {
+            return range(0, k);
+        }
+
+        /**
+         * gets the entries between two ranks
+         *
+         * @param from  index of the first entry (0 for the top player)
+         * @param count how many entries to return
+         * @return the entries, best first
+         */
+        public List<Entry> range(int from, int count) {
+            List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+            collect(byRank, Math.max(0, from), Math.max(0, from) + count, 0, entries);
+            return entries;
+        }
+
+        /**
+         * adds the in-order nodes with indices in [from, to) to a list
+         *
+         * @param node    subtree root
+         * @param from    first index wanted
+         * @param to      index after the last wanted
+         * @param offset  index of the subtree's first node
+         * @param entries the list to fill
+         */
+        private static void collect(Node node, int from, int to, int offset, List<Entry> entries) {
+            if (node == null || offset >= to || offset + node.size <= from) {
+                return;
+            }
+            collect(node.left, from, to, offset, entries);
+            int index = offset + Leaderboard.size(node.left);
+            if (index >= from && index < to) {
+                entries.add(new Entry(index + 1, node.username, node.score));
+            }
+            collect(node.right, from, to, index + 1, entries);
+        }
+
+        /**
+         * finds a player's entry
+         *
+         * @param username the player
+         * @return the entry, or null if the player is not on the board
+         */
+        public Entry find(String username) {
+            Node named = byName;
+            while (named != null) {
+                int c = username.compareTo(named.username);
+                if (c == 0) {
+                    break;
+                }
+                named = c < 0 ? named.left : named.right;
+            }
+            if (named == null) {
+                return null;
+            }
+
+            // count the players ranked above this one
+            int above = 0;
+            Node node = byRank;
+            while (node != null) {
+                int c = compareRank(named.score, named.username, node);
+                if (c == 0) {
+                    above += Leaderboard.size(node.left);
+                    break;
+                } else if (c < 0) {
+                    node = node.left;
+                } else {
+                    above += Leaderboard.size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return new Entry(above + 1, named.username, named.score);
+        }
+    }
+
+    /**
+     * creates an empty leaderboard
+     *
+     * @param title name shown above the board
+     */
+    public Leaderboard(String title) {
+        this.title = title;
+    }
+
+    /**
+     * gets the board's title
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * gets the latest snapshot without locking
+     *
+     * @return the current snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * sets a player's score, adding the player if needed
+     * does nothing if the score is unchanged
+     *
+     * @param username the player
+     * @param score    the new score
+     */
+    public synchronized void update(String username, long score) {
+        Snapshot current = snapshot;
+        Node byRank = current.byRank;
+        Node byName = current.byName;
+
+        Node existing = findByName(byName, username);
+        if (existing != null) {
+            if (existing.score == score) {
+                return;
+            }
+            byRank = removeRanked(byRank, existing.score, username);
+            byName = removeNamed(byName, username);
+        }
+        int priority = priority(username);
+        byRank = insertRanked(byRank, new Node(username, score, priority, null, null));
+        byName = insertNamed(byName, new Node(username, score, priority, null, null));
+        snapshot = new Snapshot(byRank, byName);
+    }
+
+    /**
+     * adds a player with a score unless the player is already on the board
+     * used to fill a board without overwriting newer scores recorded by
+     * update
+     *
+     * @param username the player
+     * @param score    the score
+     */
+    public synchronized void add(String username, long score) {
+        if (findByName(snapshot.byName, username) == null) {
+            update(username, score);
+        }
+    }
+
+    /**
+     * removes a player from the board
+     *
+     * @param username the player
+     */
+    public synchronized void remove(String username) {
+        Snapshot current = snapshot;
+        Node existing = findByName(current.byName, username);
+        if (existing != null) {
+            snapshot = new Snapshot(removeRanked(current.byRank, existing.score, username),
+                    removeNamed(current.byName, username));
+        }
+    }
+
+    // ======== treap operations ========
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * derives a well-mixed heap priority from a username
+     */
+    private static int priority(String username) {
+        int h = username.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * compares a (score, username) key with a node in rank order
+     *
+     * @return negative if the key ranks above the node
+     */
+    private static int compareRank(long score, String username, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return username.compareTo(node.username);
+    }
+
+    private static Node findByName(Node node, String username) {
+        while (node != null) {
+            int c = username.compareTo(node.username);
+            if (c == 0) {
+                return node;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static Node insertRanked(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = splitRanked(node, added.score, added.username);
+            return added.with(parts[0], parts[1]);
+        }
+        if (compareRank(added.score, added.username, node) < 0) {
+            return node.with(insertRanked(node.left, added), node.right);
+        }
+        return node.with(node.left, insertRanked(node.right, added));
+    }
+
+    /**
+     * splits a rank-ordered treap into keys ranked above and below a key
+     */
+    private static Node[] splitRanked(Node node, long score, String username) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compareRank(score, username, node) < 0) {
+            Node[] parts = splitRanked(node.left, score, username);
+            return new Node[] { parts[0], node.with(parts[1], node.right) };
+        }
+        Node[] parts = splitRanked(node.right, score, username);
+        return new Node[] { node.with(node.left, parts[0]), parts[1] };
+    }
+
+    private static Node removeRanked(Node node, long score, String username) {
+        if (node == null) {
+            return null;
+        }
+        int c = compareRank(score, username, node);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        return c < 0 ? node.with(removeRanked(node.left, score, username), node.right)
+                : node.with(node.left, removeRanked(node.right, score, username));
+    }
+
+    private static Node insertNamed(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = splitNamed(node, added.username);
+            return added.with(parts[0], parts[1]);
+        }
+        if (added.username.compareTo(node.username) < 0) {
+            return node.with(insertNamed(node.left, added), node.right);
+        }
+        return node.with(node.left, insertNamed(node.right, added));
+    }
+
+    /**
+     * splits a name-ordered treap into names before and after a username
+     */
+    private static Node[] splitNamed(Node node, String username) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (username.compareTo(node.username) < 0) {
+            Node[] parts = splitNamed(node.left, username);
+            return new Node[] { parts[0], node.with(parts[1], node.right) };
+        }
+        Node[] parts = splitNamed(node.right, username);
+        return new Node[] { node.with(node.left, parts[0]), parts[1] };
+    }
+
+    private static Node removeNamed(Node node, String username) {
+        if (node == null) {
+            return null;
+        }
+        int c = username.compareTo(node.username);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        return c < 0 ? node.with(removeNamed(node.left, username), node.right)
+                : node.with(node.left, removeNamed(node.right, username));
+    }
+
+    /**
+     * joins two treaps where every key in the first comes before the second
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            return first.with(first.left, merge(first.right, second));
+        }
+        return second.with(merge(first, second.left), second.right);
+    }
+}
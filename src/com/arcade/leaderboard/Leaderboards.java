@@ -0,0 +1,196 @@
+/**
+ * Leaderboards.java
+ *
+ * the arcade's leaderboards: tickets earned overall, tickets earned in each
+ * game, and achievements earned
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.leaderboard;
+
+import com.arcade.player.Player;
+import com.arcade.player.PlayerProgress;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * keeps every leaderboard up to date as scores change
+ * ticket boards are fed from each player's progress counters and the
+ * achievement board from their achievement count; each update is one
+ * O(log n) leaderboard update per board whose score actually changed.
+ *
+ * loading the roster does not touch the boards. the players who are only
+ * registered are added by the source, which runs once, the first time a
+ * board is read, so an arcade whose boards are never viewed never holds a
+ * node for every registered player. updates made before then are kept, and
+ * the source only adds players who are not on a board yet
+ */
+public final class Leaderboards {
+    private static final Leaderboards DEFAULT = new Leaderboards();
+
+    private final Leaderboard tickets = new Leaderboard("Top Ticket Earners"); // all games
+    private final Leaderboard achievements = new Leaderboard("Most Achievements");
+    private final Map<Integer, Leaderboard> gameTickets = new ConcurrentHashMap<>(); // game id to board
+    private volatile Consumer<Leaderboards> source; // adds every registered player, run on first read
+    private final AtomicInteger sourceVersion = new AtomicInteger(); // bumped by setSource
+    private volatile int filledVersion = -1; // source version the boards were last filled from
+    private final Object fillLock = new Object(); // one fill at a time; setSource never waits on it
+
+    /**
+     * gets the arcade's shared leaderboards
+     *
+     * @return the shared instance
+     */
+    public static Leaderboards getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * sets what fills the boards with every registered player
+     * it runs the first time a board is read, and again after the next
+     * setSource call
+     *
+     * @param source adds players with addTickets and addAchievements
+     */
+    public void setSource(Consumer<Leaderboards> source) {
+        this.source = source;
+        sourceVersion.incrementAndGet();
+    }
+
+    /**
+     * gets the overall tickets-earned board
+     *
+     * @return the board
+     */
+    public Leaderboard getTickets() {
+        fill();
+        return tickets;
+    }
+
+    /**
+     * gets the achievements board
+     *
+     * @return the board
+     */
+    public Leaderboard getAchievements() {
+        fill();
+        return achievements;
+    }
+
+    /**
+     * creates the tickets-earned board for a game
+     *
+     * @param gameId    the arcade game id
+     * @param gameTitle the game's title, shown above the board
+     */
+    public void registerGame(int gameId, String gameTitle) {
+        gameTickets.computeIfAbsent(gameId, id -> new Leaderboard(gameTitle));
+    }
+
+    /**
+     * gets the tickets-earned board for one game
+     *
+     * @param gameId the arcade game id
+     * @return the board, or null if the game was never registered or played
+     */
+    public Leaderboard getGameTickets(int gameId) {
+        fill();
+        return gameTickets.get(gameId);
+    }
+
+    /**
+     * runs the source if the boards have not been filled yet
+     */
+    private void fill() {
+        int version = sourceVersion.get();
+        if (filledVersion == version) {
+            return;
+        }
+        synchronized (fillLock) {
+            if (filledVersion != version) {
+                Consumer<Leaderboards> current = source;
+                if (current != null) {
+                    current.accept(this);
+                }
+                filledVersion = version;
+            }
+        }
+    }
+
+    /**
+     * puts a player on the ticket boards unless already there
+     * called by the source
+     *
+     * @param username the player
+     * @param progress the player's progress counters
+     */
+    public void addTickets(String username, PlayerProgress progress) {
+        for (int gameId : progress.getGameIds()) {
+            long earned = progress.getGame(gameId).getTicketsEarned();
+            if (gameId == PlayerProgress.ALL_GAMES) {
+                tickets.add(username, earned);
+            } else {
+                gameTickets.computeIfAbsent(gameId, id -> new Leaderboard("Game " + id)).add(username, earned);
+            }
+        }
+    }
+
+    /**
+     * puts a player on the achievement board unless already there
+     * called by the source
+     *
+     * @param username     the player
+     * @param achievements the player's achievement count
+     */
+    public void addAchievements(String username, int achievements) {
+        if (achievements > 0) {
+            this.achievements.add(username, achievements);
+        }
+    }
+
+    /**
+     * brings the ticket boards up to date for one player
+     * called after each game
+     *
+     * @param player the player
+     */
+    public void updateTickets(Player player) {
+        String username = player.getUsername();
+        PlayerProgress progress = player.getProgress();
+        for (int gameId : progress.getGameIds()) {
+            long earned = progress.getGame(gameId).getTicketsEarned();
+            if (gameId == PlayerProgress.ALL_GAMES) {
+                tickets.update(username, earned);
+            } else {
+                gameTickets.computeIfAbsent(gameId, id -> new Leaderboard("Game " + id)).update(username, earned);
+            }
+        }
+    }
+
+    /**
+     * updates the achievement board for one player
+     * called whenever the player earns an achievement
+     *
+     * @param player the player
+     */
+    public void updateAchievements(Player player) {
+        achievements.update(player.getUsername(), player.getAchievementCount());
+    }
+
+    /**
+     * removes a player from every board
+     *
+     * @param username the player
+     */
+    public void remove(String username) {
+        tickets.remove(username);
+        achievements.remove(username);
+        for (Leaderboard board : gameTickets.values()) {
+            board.remove(username);
+        }
+    }
+}
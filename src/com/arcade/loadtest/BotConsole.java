@@ -0,0 +1,240 @@
+/**
+ * BotConsole.java
+ *
+ * a scripted player at the console for load testing
+ * reads what the arcade prints and types back an answer whenever the
+ * arcade waits for input, the way a person at the keyboard would
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * one bot's console: an input stream the session reads and an output stream
+ * it prints to (bind both with SessionConsole). the answer to each read is
+ * chosen from the text printed since the last answer:
+ * blackjack hits below 17, pokeman picks a random move, the escape room
+ * tries random actions and riddle guesses and gives up after
+ * ESCAPE_ROOM_ACTIONS, trivia guesses a letter, mad libs gets a random
+ * word, and anything else (press enter, yes/no) is answered "yes".
+ *
+ * reads return at most one line, like a terminal, so each scanner only sees
+ * the answers it asked for. a runaway action is cut off after
+ * MAX_LINES_PER_ACTION answers by ending the input, which the game sees as
+ * the console closing. a bot belongs to one session thread and is not
+ * thread-safe
+ */
+final class BotConsole {
+    static final int MAX_LINES_PER_ACTION = 300; // answers before the input is ended
+    static final int ESCAPE_ROOM_ACTIONS = 60; // escape room choices before giving up
+
+    private static final int TAIL_LIMIT = 8192; // output kept before trimming
+    private static final int TAIL_KEEP = 4096; // output kept after trimming
+    private static final Pattern ANSI = Pattern.compile("\u001B\\[[;\\d]*m");
+    private static final Pattern HAND_VALUE = Pattern.compile("Hand value: (\\d+)");
+    private static final Pattern MOVE_PROMPT = Pattern.compile("Enter move number \\(1-(\\d+)\\)");
+    private static final Pattern MENU_OPTION = Pattern.compile("(?m)^(\\d+)\\. ");
+    private static final Pattern WORD_PROMPT = Pattern.compile("\\(\\d+/\\d+\\) [^\\n]*: $");
+    private static final String[] RIDDLE_GUESSES = { "painting", "clock", "mirror", "shadow" };
+    private static final String[] WORDS = { "banana", "rocket", "purple", "giggle", "castle", "wobbly",
+            "seven", "dragon", "quickly", "teacher" };
+
+    private final SplittableRandom random;
+    private final long thinkMillis; // pause before each answer
+    private final ByteArrayOutputStream tail = new ByteArrayOutputStream(TAIL_LIMIT); // output since the last answer
+    private final InputStream in = new BotInput();
+    private final OutputStream out = new BotOutput();
+
+    private byte[] answer = new byte[0]; // the line being read
+    private int answerPos; // next byte of the line
+    private int lines; // answers given in this action
+    private int escapeRoomActions; // escape room choices made in this action
+
+    /**
+     * creates a bot
+     *
+     * @param seed        seeds the bot's choices
+     * @param thinkMillis pause before each answer, or 0
+     */
+    BotConsole(long seed, long thinkMillis) {
+        this.random = new SplittableRandom(seed);
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * gets the stream the session reads as System.in
+     *
+     * @return the bot's input
+     */
+    InputStream getInput() {
+        return in;
+    }
+
+    /**
+     * gets the stream the session prints to as System.out
+     *
+     * @return the bot's output
+     */
+    OutputStream getOutput() {
+        return out;
+    }
+
+    /**
+     * starts a new action, resetting the per-action limits and forgetting
+     * earlier output
+     */
+    void startAction() {
+        lines = 0;
+        escapeRoomActions = 0;
+        answer = new byte[0];
+        answerPos = 0;
+        tail.reset();
+    }
+
+    /**
+     * checks whether the last action was cut off for running too long
+     *
+     * @return true if the input was ended
+     */
+    boolean isExhausted() {
+        return lines >= MAX_LINES_PER_ACTION;
+    }
+
+    /**
+     * makes sure a line is ready to be read
+     *
+     * @return false if the action has used up its answers
+     * @throws InterruptedIOException if interrupted while thinking
+     */
+    private boolean fill() throws InterruptedIOException {
+        if (answerPos < answer.length) {
+            return true;
+        }
+        if (lines >= MAX_LINES_PER_ACTION) {
+            return false;
+        }
+        if (thinkMillis > 0) {
+            try {
+                Thread.sleep(thinkMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("bot interrupted");
+            }
+        }
+        String screen = ANSI.matcher(tail.toString(StandardCharsets.UTF_8)).replaceAll("");
+        tail.reset();
+        answer = (respond(screen) + "\n").getBytes(StandardCharsets.UTF_8);
+        answerPos = 0;
+        lines++;
+        return true;
+    }
+
+    /**
+     * chooses an answer to the prompt at the end of the screen
+     *
+     * @param screen the output since the last answer, without colors
+     * @return the line to type
+     */
+    private String respond(String screen) {
+        if (screen.contains("[H]it or [S]tand")) {
+            int value = 0;
+            Matcher hand = HAND_VALUE.matcher(screen);
+            while (hand.find()) {
+                value = Integer.parseInt(hand.group(1));
+            }
+            return value < 17 ? "h" : "s";
+        }
+        Matcher move = MOVE_PROMPT.matcher(screen);
+        if (move.find()) {
+            return String.valueOf(1 + random.nextInt(Integer.parseInt(move.group(1))));
+        }
+        if (screen.contains("Enter your choice:")) {
+            if (++escapeRoomActions > ESCAPE_ROOM_ACTIONS) {
+                return "0";
+            }
+            int options = 0;
+            Matcher option = MENU_OPTION.matcher(screen);
+            while (option.find()) {
+                options = Math.max(options, Integer.parseInt(option.group(1)));
+            }
+            return options == 0 ? "0" : String.valueOf(1 + random.nextInt(options));
+        }
+        if (screen.contains("Your answer:")) {
+            return RIDDLE_GUESSES[random.nextInt(RIDDLE_GUESSES.length)];
+        }
+        if (screen.contains("D) ")) {
+            return String.valueOf((char) ('a' + random.nextInt(4)));
+        }
+        if (WORD_PROMPT.matcher(screen).find() || screen.contains("Please enter a word")) {
+            return WORDS[random.nextInt(WORDS.length)];
+        }
+        return "yes";
+    }
+
+    /**
+     * the session's keyboard
+     */
+    private final class BotInput extends InputStream {
+        @Override
+        public int read() throws InterruptedIOException {
+            return fill() ? answer[answerPos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws InterruptedIOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, answer.length - answerPos);
+            System.arraycopy(answer, answerPos, b, off, n);
+            answerPos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return answer.length - answerPos;
+        }
+    }
+
+    /**
+     * the session's screen
+     */
+    private final class BotOutput extends OutputStream {
+        @Override
+        public void write(int b) {
+            tail.write(b);
+            trim();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            tail.write(b, off, len);
+            trim();
+        }
+
+        /**
+         * keeps only the most recent output once the tail grows too long
+         */
+        private void trim() {
+            if (tail.size() > TAIL_LIMIT) {
+                byte[] recent = tail.toByteArray();
+                tail.reset();
+                tail.write(recent, recent.length - TAIL_KEEP, TAIL_KEEP);
+            }
+        }
+    }
+}
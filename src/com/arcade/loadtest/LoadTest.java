@@ -0,0 +1,410 @@
+/**
+ * LoadTest.java
+ *
+ * end-to-end load test of concurrent arcade sessions
+ * many scripted players log in, buy tokens, play every game, check their
+ * profile and log out at the same time, each on its own virtual thread,
+ * against the real ArcadeManager and game code
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.loadtest;
+
+import com.arcade.ArcadeManager;
+import com.arcade.ArcadeRunner;
+import com.arcade.games.Game;
+import com.arcade.item.Achievement;
+import com.arcade.payment.PaymentRequest;
+import com.arcade.payment.PaymentService;
+import com.arcade.player.Player;
+import com.arcade.stats.ArcadeStatistics;
+import com.arcade.stats.TDigest;
+import com.arcade.trace.Span;
+import com.arcade.trace.Tracer;
+import com.arcade.util.ConsoleHook;
+import com.arcade.util.FileTrees;
+import com.arcade.util.Pacing;
+import com.arcade.util.SessionConsole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * runs the load test and prints throughput, latency percentiles for each
+ * menu action and each game, and error counts
+ *
+ * run with: java -cp out com.arcade.loadtest.LoadTest
+ * settings are read from system properties:
+ * loadtest.players (concurrent players, default 50), loadtest.rounds
+ * (sessions per player, default 1), loadtest.seed (default 42),
+ * loadtest.pacing (pacing profile, default test) and loadtest.thinkMillis
+ * (bot pause before each answer, default 0).
+ *
+ * the roster, progress and settlement files live in a temporary directory
+ * that is deleted afterwards. session output is routed to each bot through
+ * SessionConsole; anything printed outside a session is discarded. an
+ * action counts as an error if it throws, fails, or runs out of scripted
+ * answers (see BotConsole).
+ *
+ * each session saves its player at logout. afterwards the arcade file is
+ * read back and its token and ticket totals checked against the starting
+ * balances plus every purchase, game and shop spend the statistics
+ * recorded, so a save that overwrote another session's wallet shows up as
+ * a mismatch
+ */
+public class LoadTest {
+    private static final String PASSWORD_PREFIX = "pass"; // player i's password is PASSWORD_PREFIX + i
+    private static final String TOKEN_PACKAGE = "Medium Pack"; // bought once per session
+    private static final int PACKAGE_TOKENS = 60;
+    private static final int PACKAGE_PRICE_CENTS = 1000;
+    private static final int STARTING_TOKENS_PER_ROUND = 100; // enough for one of every game
+    private static final long PAYMENT_TIMEOUT_MILLIS = 30_000; // longest a session waits for its payment
+    private static final String[] MENU_ACTIONS = { "login", "buyTokens", "paymentClear", "profile", "logout" };
+
+    private final int players;
+    private final int rounds;
+    private final long seed;
+    private final long thinkMillis;
+    private final Map<String, ActionStats> actions = new ConcurrentHashMap<>(); // action name to results
+    private final LongAdder sessions = new LongAdder(); // sessions that logged in
+    private final LongAdder skippedGames = new LongAdder(); // games the player could not afford
+    private long expectedTokens; // wallet totals the recorded transactions add up to
+    private long expectedTickets;
+    private long savedTokens; // wallet totals read back from the arcade file
+    private long savedTickets;
+
+    /**
+     * one step of a session
+     */
+    @FunctionalInterface
+    private interface Action {
+        /**
+         * runs the step
+         *
+         * @return true if it succeeded
+         * @throws Exception if it failed
+         */
+        boolean run() throws Exception;
+    }
+
+    /**
+     * latency and outcomes of one kind of action
+     */
+    private static final class ActionStats {
+        private final TDigest latencyMillis = new TDigest();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    /**
+     * creates a load test
+     *
+     * @param players     concurrent players
+     * @param rounds      sessions per player
+     * @param seed        seeds the roster and every bot
+     * @param thinkMillis bot pause before each answer
+     */
+    public LoadTest(int players, int rounds, long seed, long thinkMillis) {
+        this.players = players;
+        this.rounds = rounds;
+        this.seed = seed;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * runs the load test with settings from system properties
+     *
+     * @param args ignored
+     * @throws IOException if the temporary files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String pacing = System.getProperty("loadtest.pacing", "test");
+        Pacing.setProfile(Pacing.Profile.valueOf(pacing.trim().toUpperCase(Locale.ROOT)));
+        LoadTest test = new LoadTest(Integer.getInteger("loadtest.players", 50),
+                Integer.getInteger("loadtest.rounds", 1), Long.getLong("loadtest.seed", 42),
+                Long.getLong("loadtest.thinkMillis", 0));
+        test.run(System.out);
+    }
+
+    /**
+     * runs every session and prints the report
+     *
+     * @param report where the report is printed
+     * @throws IOException if the temporary files cannot be written
+     */
+    public void run(PrintStream report) throws IOException {
+        String originalFile = ArcadeManager.getArcadeFile();
+        Path dir = Files.createTempDirectory("arcade-loadtest");
+        PaymentService.setSettlementFile(dir.resolve("settlements.txt").toString());
+        writeRoster(dir.resolve("arcade.txt"));
+        ArcadeManager.setArcadeFile(dir.resolve("arcade.txt").toString());
+
+        // every kind of action is reported, even if it never ran
+        List<String> order = new ArrayList<>(List.of(MENU_ACTIONS));
+        for (Game game : new ArcadeManager().getGames()) {
+            order.add(gameAction(game));
+        }
+        for (String action : order) {
+            actions.put(action, new ActionStats());
+        }
+
+        // totals before the run, so only this run's transactions are counted
+        ArcadeStatistics stats = ArcadeStatistics.getDefault();
+        long tokensPurchased = stats.getTokensPurchased();
+        long tokensSpent = stats.getTokensSpent();
+        long ticketsAwarded = stats.getTicketsAwarded();
+        long ticketsSpent = stats.getTicketsSpent();
+
+        long elapsedNanos;
+        ConsoleHook hook = ConsoleHook.discardAll();
+        SessionConsole.install();
+        try {
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < players; i++) {
+                    int index = i;
+                    executor.submit(() -> runPlayer(index));
+                }
+            }
+            elapsedNanos = System.nanoTime() - start;
+            PaymentService.getDefault().flushSettlements();
+            expectedTokens = (long) STARTING_TOKENS_PER_ROUND * rounds * players
+                    + (stats.getTokensPurchased() - tokensPurchased) - (stats.getTokensSpent() - tokensSpent);
+            expectedTickets = (stats.getTicketsAwarded() - ticketsAwarded) - (stats.getTicketsSpent() - ticketsSpent);
+            readSavedTotals();
+        } finally {
+            SessionConsole.uninstall();
+            hook.close();
+            ArcadeManager.setArcadeFile(originalFile);
+            FileTrees.deleteTree(dir);
+        }
+        printReport(report, order, elapsedNanos);
+    }
+
+    /**
+     * runs every session of one player on the calling thread
+     *
+     * @param index the player's index in the roster
+     */
+    private void runPlayer(int index) {
+        BotConsole bot = new BotConsole(seed * 31 + index, thinkMillis);
+        SessionConsole.bind(bot.getInput(), bot.getOutput());
+        try {
+            for (int round = 0; round < rounds; round++) {
+                // with -Darcade.trace.sample set, each session is one trace
+                Span span = Tracer.getDefault().start("loadtest.session").tag("player", username(index));
+                try {
+                    runSession(index, bot);
+                } finally {
+                    span.end();
+                }
+            }
+        } finally {
+            SessionConsole.unbind();
+        }
+    }
+
+    /**
+     * runs one session: log in, buy tokens, play each game, check the
+     * profile, log out
+     *
+     * @param index the player's index in the roster
+     * @param bot   the player's console
+     */
+    private void runSession(int index, BotConsole bot) {
+        ArcadeManager manager = new ArcadeManager();
+        String password = ArcadeRunner.generateSHA256(PASSWORD_PREFIX + index);
+        if (!timed("login", bot,
+                () -> manager.tryLogin(username(index), password) == ArcadeManager.LoginStatus.SUCCESS)) {
+            return;
+        }
+        sessions.increment();
+        Player player = manager.getPlayer();
+        PaymentService payments = PaymentService.getDefault();
+
+        timed("buyTokens", bot,
+                () -> payments.submit(player, TOKEN_PACKAGE, PACKAGE_TOKENS, PACKAGE_PRICE_CENTS) != null);
+        timed("paymentClear", bot, () -> awaitPayments(manager));
+
+        for (Game game : manager.getGames()) {
+            if (!manager.canPlayerAffordGame(game)) {
+                skippedGames.increment();
+                continue;
+            }
+            timed(gameAction(game), bot, () -> {
+                ArcadeRunner.runSelectedGame(manager, game);
+                return true;
+            });
+        }
+
+        timed("profile", bot, () -> {
+            ArcadeRunner.viewProfile(manager);
+            return true;
+        });
+        timed("logout", bot, () -> {
+            boolean cleared = awaitPayments(manager);
+            payments.flushSettlements();
+            return manager.saveToFile() && cleared;
+        });
+    }
+
+    /**
+     * reads the arcade file back and totals every wallet in it
+     */
+    private void readSavedTotals() {
+        ArcadeManager reader = new ArcadeManager();
+        reader.setPlayers(null); // read the file itself rather than a resident store
+        savedTokens = 0;
+        savedTickets = 0;
+        for (Player player : reader.loadFromFile()) {
+            savedTokens += player.getWallet().getTokens();
+            savedTickets += player.getWallet().getTickets();
+        }
+    }
+
+    /**
+     * waits for the player's own payments to clear and collects them, as the
+     * next menu screen would
+     *
+     * @param manager the session's arcade manager
+     * @return true if every payment cleared in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static boolean awaitPayments(ArcadeManager manager) throws InterruptedException {
+        PaymentService payments = PaymentService.getDefault();
+        Player player = manager.getPlayer();
+        if (!payments.awaitSettled(player, PAYMENT_TIMEOUT_MILLIS)) {
+            return false;
+        }
+        for (PaymentRequest payment : payments.takeFinished(player)) {
+            if (payment.getStatus() == PaymentRequest.Status.APPROVED) {
+                manager.awardAchievement(Achievement.bigSpender());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * runs one action and records its latency and outcome
+     *
+     * @param name   the action's name in the report
+     * @param bot    the session's console
+     * @param action the step to run
+     * @return true if the action succeeded
+     */
+    private boolean timed(String name, BotConsole bot, Action action) {
+        ActionStats stats = actions.computeIfAbsent(name, n -> new ActionStats());
+        bot.startAction();
+        boolean ok;
+        Span span = Tracer.getDefault().start("loadtest.action").tag("action", name);
+        long start = System.nanoTime();
+        try {
+            ok = action.run() && !bot.isExhausted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        } catch (Exception e) {
+            ok = false;
+        } finally {
+            span.end();
+        }
+        stats.latencyMillis.add((System.nanoTime() - start) / 1e6);
+        if (!ok) {
+            stats.errors.increment();
+        }
+        return ok;
+    }
+
+    /**
+     * prints throughput and the per-action table
+     *
+     * @param out          where to print
+     * @param order        actions in report order
+     * @param elapsedNanos wall time of the whole run
+     */
+    private void printReport(PrintStream out, List<String> order, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long totalActions = 0;
+        long totalErrors = 0;
+        for (ActionStats stats : actions.values()) {
+            totalActions += stats.latencyMillis.size();
+            totalErrors += stats.errors.sum();
+        }
+
+        out.printf(Locale.ROOT, "load test: %d players x %d rounds, pacing %s, think %d ms%n", players, rounds,
+                Pacing.getProfile(), thinkMillis);
+        out.printf(Locale.ROOT, "sessions: %d in %.2f s (%.1f sessions/s)%n", sessions.sum(), seconds,
+                sessions.sum() / seconds);
+        out.printf(Locale.ROOT, "actions: %d (%.1f actions/s), errors: %d, games skipped for tokens: %d%n",
+                totalActions, totalActions / seconds, totalErrors, skippedGames.sum());
+        boolean conserved = savedTokens == expectedTokens && savedTickets == expectedTickets;
+        out.printf(Locale.ROOT, "saved wallets: %d tokens (expected %d), %d tickets (expected %d): %s%n%n",
+                savedTokens, expectedTokens, savedTickets, expectedTickets, conserved ? "ok" : "LOST UPDATES");
+        out.printf(Locale.ROOT, "%-28s %8s %7s %10s %10s %10s %10s%n", "action", "count", "errors", "p50 ms",
+                "p90 ms", "p99 ms", "max ms");
+        for (String name : order) {
+            ActionStats stats = actions.get(name);
+            long count = stats.latencyMillis.size();
+            if (count == 0) {
+                out.printf(Locale.ROOT, "%-28s %8d %7d %10s %10s %10s %10s%n", name, 0, stats.errors.sum(), "-",
+                        "-", "-", "-");
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-28s %8d %7d %10.2f %10.2f %10.2f %10.2f%n", name, count,
+                    stats.errors.sum(), stats.latencyMillis.quantile(0.5), stats.latencyMillis.quantile(0.9),
+                    stats.latencyMillis.quantile(0.99), stats.latencyMillis.getMax());
+        }
+    }
+
+    /**
+     * writes the roster of scripted players to a new arcade file
+     *
+     * @param file the arcade file to write
+     * @throws IOException if the file cannot be written
+     */
+    private void writeRoster(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            for (int i = 0; i < players; i++) {
+                Player player = new Player("Load Test " + i, username(i),
+                        ArcadeRunner.generateSHA256(PASSWORD_PREFIX + i), 8 + random.nextInt(63));
+                player.getWallet().setTokens(STARTING_TOKENS_PER_ROUND * rounds);
+                ArcadeManager.writePlayer(writer, player);
+            }
+            writer.write("end\n"); // end of file marker
+        }
+    }
+
+    /**
+     * gets the username of a scripted player
+     *
+     * @param index the player's index in the roster
+     * @return the username
+     */
+    private static String username(int index) {
+        return "loadtest" + index;
+    }
+
+    /**
+     * gets the report name of a game
+     *
+     * @param game the game
+     * @return the action name
+     */
+    private static String gameAction(Game game) {
+        return "game: " + game.getTitle();
+    }
+}
@@ -0,0 +1,285 @@
+/**
+ * ArcadeLog.java
+ *
+ * structured, asynchronous diagnostics for the arcade
+ * replaces the System.err prints, which serialise every session on one
+ * stream lock and mix with the game screens
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.log;
+
+import com.arcade.metrics.Counter;
+import com.arcade.metrics.MetricsRegistry;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * a logger for one class, got with ArcadeLog.forClass
+ *
+ * messages are templates with {} for each argument, e.g.
+ * log.warn("Invalid age for user {}: {}", username, ageLine). the template
+ * is only filled in on the writer thread, so a call costs a level check, a
+ * rate-limit check and a copy into the ring buffer, and never blocks.
+ *
+ * configured with system properties:
+ *  arcade.log.level          lowest level written (default INFO)
+ *  arcade.log.file           log file (default arcade.log)
+ *  arcade.log.maxBytes       size at which the file is rotated (default 1 MiB)
+ *  arcade.log.files          rotated files kept (default 3)
+ *  arcade.log.ratePerSecond  events per template per second (default 20);
+ *                            the rest are counted and reported on the next
+ *                            line written for that template
+ */
+public final class ArcadeLog {
+    public static final String LEVEL_PROPERTY = "arcade.log.level";
+    public static final String FILE_PROPERTY = "arcade.log.file";
+    public static final String MAX_BYTES_PROPERTY = "arcade.log.maxBytes";
+    public static final String FILES_PROPERTY = "arcade.log.files";
+    public static final String RATE_PROPERTY = "arcade.log.ratePerSecond";
+
+    private static final int RING_CAPACITY = 8192; // events waiting for the writer
+    private static final long WINDOW_MILLIS = 1000; // rate-limit window
+
+    private static final Level THRESHOLD = levelFromProperty();
+    private static final int RATE_PER_SECOND = intProperty(RATE_PROPERTY, 20);
+    private static final LogRing RING = new LogRing(RING_CAPACITY,
+            Paths.get(System.getProperty(FILE_PROPERTY, "arcade.log")),
+            Math.max(1024, Long.getLong(MAX_BYTES_PROPERTY, 1L << 20)),
+            Math.max(0, intProperty(FILES_PROPERTY, 3)));
+    private static final ConcurrentMap<String, RateLimit> LIMITS = new ConcurrentHashMap<>();
+    private static final Counter SUPPRESSED = MetricsRegistry.getDefault().counter("log.suppressed");
+
+    private final String source; // class name shown on each line
+
+    /**
+     * per-template event count for the current window
+     */
+    private static final class RateLimit {
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong(); // not yet reported
+    }
+
+    /**
+     * creates a logger
+     *
+     * @param source the name shown as the event's source
+     */
+    private ArcadeLog(String source) {
+        this.source = source;
+    }
+
+    /**
+     * gets a logger for a class
+     *
+     * @param type the class doing the logging
+     * @return the logger
+     */
+    public static ArcadeLog forClass(Class<?> type) {
+        return new ArcadeLog(type.getSimpleName());
+    }
+
+    /**
+     * reads the threshold from the arcade.log.level system property
+     *
+     * @return the level, or INFO if unset or unknown
+     */
+    private static Level levelFromProperty() {
+        try {
+            return Level.valueOf(System.getProperty(LEVEL_PROPERTY, "INFO").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    /**
+     * reads an integer system property
+     *
+     * @param name     the property
+     * @param fallback value if unset or invalid
+     * @return the value
+     */
+    private static int intProperty(String name, int fallback) {
+        try {
+            return Integer.parseInt(System.getProperty(name, String.valueOf(fallback)).trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * checks whether events at a level are written
+     * only needed to skip building an expensive argument
+     *
+     * @param level the level
+     * @return true if it is at or above arcade.log.level
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(THRESHOLD) >= 0;
+    }
+
+    /**
+     * logs a debug message
+     *
+     * @param template the message
+     */
+    public void debug(String template) {
+        log(Level.DEBUG, template, 0, null, null);
+    }
+
+    /**
+     * logs a debug message with one argument
+     *
+     * @param template the message, with {} for the argument
+     * @param arg      the argument
+     */
+    public void debug(String template, Object arg) {
+        log(Level.DEBUG, template, 1, arg, null);
+    }
+
+    /**
+     * logs a debug message with two arguments
+     *
+     * @param template the message, with {} for each argument
+     * @param arg0     the first argument
+     * @param arg1     the second argument
+     */
+    public void debug(String template, Object arg0, Object arg1) {
+        log(Level.DEBUG, template, 2, arg0, arg1);
+    }
+
+    /**
+     * logs an info message
+     *
+     * @param template the message
+     */
+    public void info(String template) {
+        log(Level.INFO, template, 0, null, null);
+    }
+
+    /**
+     * logs an info message with one argument
+     *
+     * @param template the message, with {} for the argument
+     * @param arg      the argument
+     */
+    public void info(String template, Object arg) {
+        log(Level.INFO, template, 1, arg, null);
+    }
+
+    /**
+     * logs an info message with two arguments
+     *
+     * @param template the message, with {} for each argument
+     * @param arg0     the first argument
+     * @param arg1     the second argument
+     */
+    public void info(String template, Object arg0, Object arg1) {
+        log(Level.INFO, template, 2, arg0, arg1);
+    }
+
+    /**
+     * logs a warning
+     *
+     * @param template the message
+     */
+    public void warn(String template) {
+        log(Level.WARN, template, 0, null, null);
+    }
+
+    /**
+     * logs a warning with one argument
+     *
+     * @param template the message, with {} for the argument
+     * @param arg      the argument
+     */
+    public void warn(String template, Object arg) {
+        log(Level.WARN, template, 1, arg, null);
+    }
+
+    /**
+     * logs a warning with two arguments
+     *
+     * @param template the message, with {} for each argument
+     * @param arg0     the first argument
+     * @param arg1     the second argument
+     */
+    public void warn(String template, Object arg0, Object arg1) {
+        log(Level.WARN, template, 2, arg0, arg1);
+    }
+
+    /**
+     * logs an error
+     *
+     * @param template the message
+     */
+    public void error(String template) {
+        log(Level.ERROR, template, 0, null, null);
+    }
+
+    /**
+     * logs an error with one argument
+     *
+     * @param template the message, with {} for the argument
+     * @param arg      the argument
+     */
+    public void error(String template, Object arg) {
+        log(Level.ERROR, template, 1, arg, null);
+    }
+
+    /**
+     * logs an error with two arguments
+     *
+     * @param template the message, with {} for each argument
+     * @param arg0     the first argument
+     * @param arg1     the second argument
+     */
+    public void error(String template, Object arg0, Object arg1) {
+        log(Level.ERROR, template, 2, arg0, arg1);
+    }
+
+    /**
+     * writes every event logged so far to the file
+     * the writer does this by itself within a few milliseconds; call it only
+     * before reading the log in the same run
+     */
+    public static void flush() {
+        RING.flush();
+    }
+
+    /**
+     * filters an event by level and rate, then hands it to the ring buffer
+     *
+     * @param level    the severity
+     * @param template the message
+     * @param argCount arguments used
+     * @param arg0     the first argument
+     * @param arg1     the second argument
+     */
+    private void log(Level level, String template, int argCount, Object arg0, Object arg1) {
+        if (level.compareTo(THRESHOLD) < 0) {
+            return;
+        }
+        RateLimit limit = LIMITS.computeIfAbsent(template, key -> new RateLimit());
+        long now = System.currentTimeMillis();
+        long start = limit.windowStart.get();
+        if (now - start >= WINDOW_MILLIS && limit.windowStart.compareAndSet(start, now)) {
+            limit.count.set(0); // a new window; losing a few counts in the race is harmless
+        }
+        if (limit.count.incrementAndGet() > RATE_PER_SECOND) {
+            limit.suppressed.incrementAndGet();
+            SUPPRESSED.increment();
+            return;
+        }
+        long suppressed = limit.suppressed.getAndSet(0);
+        if (!RING.publish(level, source, template, argCount, arg0, arg1, suppressed)) {
+            limit.suppressed.addAndGet(suppressed); // report them with the next event instead
+        }
+    }
+}
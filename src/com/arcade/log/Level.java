@@ -0,0 +1,21 @@
+/**
+ * Level.java
+ *
+ * severity levels for the arcade log
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.log;
+
+/**
+ * how serious a log event is, least to most
+ * events below the configured level (arcade.log.level) are dropped before
+ * they reach the ring buffer
+ */
+public enum Level {
+    DEBUG, // detail for tracking down a problem
+    INFO, // normal but noteworthy events
+    WARN, // something unexpected the arcade recovered from
+    ERROR // an operation failed
+}
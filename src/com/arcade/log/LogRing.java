@@ -0,0 +1,340 @@
+/**
+ * LogRing.java
+ *
+ * the ring buffer and background writer behind ArcadeLog
+ * sessions only copy a few references into a preallocated slot; the
+ * formatting and file i/o happen on the writer thread
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.log;
+
+import com.arcade.metrics.Counter;
+import com.arcade.metrics.MetricsRegistry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * a bounded multi-producer, single-consumer ring of preallocated slots
+ * each slot carries a sequence number: a producer claims the next position
+ * with one compare-and-set, fills the slot, and publishes it by advancing
+ * the slot's sequence; the writer reads slots in order and hands them back
+ * the same way. a producer that finds the ring full drops its event and
+ * counts it in the log.dropped metric instead of waiting, so logging never
+ * blocks a session.
+ *
+ * the writer formats each event as one logfmt line and appends it to the
+ * log file, rotating it to file.1, file.2, ... once it passes maxBytes.
+ * when the ring is empty the writer flushes and sleeps briefly
+ */
+final class LogRing {
+    private static final long IDLE_PARK_NANOS = 10_000_000L; // writer sleep when there is nothing to write
+
+    /**
+     * one preallocated event
+     */
+    private static final class Slot {
+        private volatile long sequence; // position this slot is ready for
+        private long epochMillis;
+        private Level level;
+        private String source;
+        private String threadName;
+        private long threadId;
+        private String template; // message with {} placeholders
+        private int argCount;
+        private Object arg0;
+        private Object arg1;
+        private long suppressed; // similar events dropped by the rate limit before this one
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next position a producer claims
+    private long tail; // next position the writer reads, writer thread only
+    private final Counter dropped = MetricsRegistry.getDefault().counter("log.dropped");
+
+    private final Path file;
+    private final long maxBytes; // size that triggers a rotation
+    private final int keepFiles; // rotated files kept besides the live one
+    private final Object writeLock = new Object(); // orders the writer thread and flush
+    private BufferedWriter writer; // opened on the first event, guarded by writeLock
+    private long written; // bytes in the live file, guarded by writeLock
+    private final StringBuilder line = new StringBuilder(256); // reused per event, guarded by writeLock
+
+    /**
+     * creates the ring and starts its writer thread
+     *
+     * @param capacity  slots in the ring, rounded up to a power of two
+     * @param file      the log file
+     * @param maxBytes  size at which the file is rotated
+     * @param keepFiles rotated files to keep
+     */
+    LogRing(int capacity, Path file, long maxBytes, int keepFiles) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keepFiles = keepFiles;
+
+        Thread thread = new Thread(this::writeLoop, "arcade-log");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "arcade-log-flush"));
+    }
+
+    /**
+     * copies an event into the ring without blocking
+     *
+     * @param level      the severity
+     * @param source     the logging class
+     * @param template   the message, with {} for each argument
+     * @param argCount   arguments used, 0 to 2
+     * @param arg0       the first argument
+     * @param arg1       the second argument
+     * @param suppressed similar events dropped before this one
+     * @return false if the ring was full and the event was dropped
+     */
+    boolean publish(Level level, String source, String template, int argCount, Object arg0, Object arg1,
+            long suppressed) {
+        long position = head.get();
+        Slot slot;
+        while (true) {
+            slot = slots[(int) position & mask];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                dropped.increment(); // the writer has not caught up with this slot yet
+                return false;
+            } else {
+                position = head.get(); // another producer took it
+            }
+        }
+
+        Thread thread = Thread.currentThread();
+        slot.epochMillis = System.currentTimeMillis();
+        slot.level = level;
+        slot.source = source;
+        slot.threadName = thread.getName();
+        slot.threadId = thread.threadId();
+        slot.template = template;
+        slot.argCount = argCount;
+        slot.arg0 = arg0;
+        slot.arg1 = arg1;
+        slot.suppressed = suppressed;
+        slot.sequence = position + 1; // publish to the writer
+        return true;
+    }
+
+    /**
+     * writes every published event now
+     * called at shutdown, and useful before reading the log in the same run
+     */
+    void flush() {
+        synchronized (writeLock) {
+            drain();
+            flushWriter();
+        }
+    }
+
+    /**
+     * writer thread: drains the ring, flushing and sleeping when it is empty
+     */
+    private void writeLoop() {
+        while (true) {
+            synchronized (writeLock) {
+                if (drain() == 0) {
+                    flushWriter();
+                } else {
+                    continue;
+                }
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    /**
+     * writes the published events waiting in the ring
+     *
+     * @return the number of events written
+     */
+    private int drain() {
+        int count = 0;
+        while (true) {
+            Slot slot = slots[(int) tail & mask];
+            if (slot.sequence != tail + 1) {
+                return count; // not published yet
+            }
+            write(slot);
+            // drop the references so the ring does not keep arguments alive
+            slot.arg0 = null;
+            slot.arg1 = null;
+            slot.sequence = tail + slots.length; // hand the slot back to the producers
+            tail++;
+            count++;
+        }
+    }
+
+    /**
+     * formats one event and appends it to the file
+     *
+     * @param slot the event
+     */
+    private void write(Slot slot) {
+        line.setLength(0);
+        line.append("ts=").append(Instant.ofEpochMilli(slot.epochMillis))
+                .append(" level=").append(slot.level)
+                .append(" source=").append(slot.source)
+                .append(" thread=");
+        if (slot.threadName.isEmpty()) {
+            line.append("thread-").append(slot.threadId); // virtual threads have no name
+        } else {
+            appendValue(slot.threadName);
+        }
+        line.append(" msg=");
+        appendValue(format(slot));
+        if (slot.suppressed > 0) {
+            line.append(" suppressed=").append(slot.suppressed);
+        }
+        line.append('\n');
+
+        try {
+            if (writer == null || written >= maxBytes) {
+                openWriter();
+            }
+            writer.append(line);
+            written += line.length();
+        } catch (IOException e) {
+            dropped.increment(); // nowhere left to report it
+        }
+    }
+
+    /**
+     * fills the message template's placeholders with the event's arguments
+     *
+     * @param slot the event
+     * @return the message
+     */
+    private static String format(Slot slot) {
+        String template = slot.template;
+        if (slot.argCount == 0) {
+            return template;
+        }
+        StringBuilder message = new StringBuilder(template.length() + 32);
+        int from = 0;
+        for (int i = 0; i < slot.argCount; i++) {
+            int at = template.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            message.append(template, from, at).append(i == 0 ? slot.arg0 : slot.arg1);
+            from = at + 2;
+        }
+        return message.append(template, from, template.length()).toString();
+    }
+
+    /**
+     * appends a logfmt value, quoting it if it has spaces or quotes
+     *
+     * @param value the value
+     */
+    private void appendValue(String value) {
+        boolean quote = value.isEmpty() || value.indexOf(' ') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('=') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * opens the log file for appending, rotating it first if it is full
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    private void openWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        if (Files.exists(file) && Files.size(file) >= maxBytes) {
+            rotate();
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        written = Files.size(file);
+    }
+
+    /**
+     * shifts file to file.1, file.1 to file.2 and so on, dropping the oldest
+     *
+     * @throws IOException if a file cannot be moved
+     */
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(keepFiles));
+        for (int i = keepFiles - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (keepFiles > 0) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * gets the path of a rotated file
+     *
+     * @param index 1 for the newest
+     * @return the path
+     */
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /**
+     * flushes the open file, if any
+     */
+    private void flushWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            dropped.increment();
+        }
+    }
+}
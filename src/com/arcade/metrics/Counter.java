@@ -0,0 +1,63 @@
+/**
+ * Counter.java
+ *
+ * a monotonically increasing count for the metrics registry
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * counts events from any number of threads
+ * backed by a striped adder, so increments neither allocate nor contend
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * creates a counter; use MetricsRegistry.counter to get a shared one
+     *
+     * @param name the metric name
+     */
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * counts one event
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * counts several events
+     *
+     * @param n events to add
+     */
+    public void add(long n) {
+        count.add(n);
+    }
+
+    /**
+     * gets the count so far
+     *
+     * @return the count
+     */
+    public long get() {
+        return count.sum();
+    }
+
+    /**
+     * gets the metric name
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+}
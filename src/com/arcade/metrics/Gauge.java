@@ -0,0 +1,49 @@
+/**
+ * Gauge.java
+ *
+ * a current value for the metrics registry
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * reports a value that goes up and down, read from its source whenever the
+ * metrics are viewed, so nothing is recorded on the hot path
+ */
+public final class Gauge {
+    private final String name;
+    private final LongSupplier source;
+
+    /**
+     * creates a gauge; use MetricsRegistry.gauge to register one
+     *
+     * @param name   the metric name
+     * @param source supplies the current value
+     */
+    Gauge(String name, LongSupplier source) {
+        this.name = name;
+        this.source = source;
+    }
+
+    /**
+     * reads the current value
+     *
+     * @return the value
+     */
+    public long get() {
+        return source.getAsLong();
+    }
+
+    /**
+     * gets the metric name
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+}
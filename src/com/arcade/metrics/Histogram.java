@@ -0,0 +1,178 @@
+/**
+ * Histogram.java
+ *
+ * a log-linear histogram for latencies and payouts
+ * buckets are laid out like an hdr histogram, so every recorded value is
+ * kept to within about 6% without storing the values themselves
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * records non-negative long values into fixed buckets
+ * values below SUB_BUCKETS get a bucket each; above that, every power of
+ * two is split into SUB_BUCKETS / 2 equal buckets. recording is a bucket
+ * index computation and a few atomic adds, with no allocation and no
+ * locking, so it is safe on hot paths. quantiles report the upper edge of
+ * the bucket they fall in, capped at the largest value seen
+ */
+public final class Histogram {
+    public static final String NANOSECONDS = "ns"; // unit of timers
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // exact buckets below this value
+    private static final int HALF = SUB_BUCKETS / 2; // buckets per power of two above it
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * HALF; // enough for Long.MAX_VALUE
+
+    private final String name;
+    private final String unit; // unit of the recorded values, for display
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * creates a histogram; use MetricsRegistry.histogram or timer to get a
+     * shared one
+     *
+     * @param name the metric name
+     * @param unit the unit of the recorded values
+     */
+    Histogram(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    /**
+     * records one value
+     *
+     * @param value the value; negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * records the time since a System.nanoTime() reading
+     *
+     * @param startNanos the reading taken when the operation started
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * gets the number of values recorded
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * gets the mean of the recorded values
+     *
+     * @return the mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * gets the largest value recorded
+     *
+     * @return the maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * estimates a quantile of the recorded values
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimate, or 0 if nothing was recorded
+     */
+    public long getQuantile(double q) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, q)) * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * gets the metric name
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * gets the unit of the recorded values
+     *
+     * @return the unit, such as NANOSECONDS
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * finds the bucket holding a value
+     *
+     * @param value a non-negative value
+     * @return the bucket index
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // keep the top SUB_BUCKET_BITS bits of the value
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return (shift + 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    /**
+     * gets the largest value that falls in a bucket
+     *
+     * @param bucket the bucket index
+     * @return the upper edge
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        long subBucket = bucket % HALF + HALF;
+        long upper = ((subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * MetricsMBean.java
+ *
+ * jmx view of the metrics registry
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+
+/**
+ * a read-only dynamic mbean with one attribute per counter and gauge, and
+ * one per statistic of each histogram (name.count, name.mean, name.p50,
+ * name.p90, name.p99, name.max). the attribute list is rebuilt whenever a
+ * client asks for it, so metrics created later still show up
+ */
+final class MetricsMBean implements DynamicMBean {
+    private static final String[] HISTOGRAM_STATS = { "count", "mean", "p50", "p90", "p99", "max" };
+
+    private final MetricsRegistry registry;
+
+    /**
+     * creates the view
+     *
+     * @param registry the registry to expose
+     */
+    MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Counter counter = registry.findCounter(attribute);
+        if (counter != null) {
+            return counter.get();
+        }
+        Gauge gauge = registry.findGauge(attribute);
+        if (gauge != null) {
+            return gauge.get();
+        }
+        int dot = attribute.lastIndexOf('.');
+        Histogram histogram = dot < 0 ? null : registry.findHistogram(attribute.substring(0, dot));
+        if (histogram != null) {
+            switch (attribute.substring(dot + 1)) {
+                case "count":
+                    return histogram.getCount();
+                case "mean":
+                    return histogram.getMean();
+                case "p50":
+                    return histogram.getQuantile(0.5);
+                case "p90":
+                    return histogram.getQuantile(0.9);
+                case "p99":
+                    return histogram.getQuantile(0.99);
+                case "max":
+                    return histogram.getMax();
+                default:
+                    break;
+            }
+        }
+        throw new AttributeNotFoundException("No metric " + attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException e) {
+                // unknown attributes are left out, as the interface allows
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList(); // metrics are read-only
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+        throw new MBeanException(new UnsupportedOperationException("No operation " + actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Counter counter : registry.getCounters()) {
+            attributes.add(attribute(counter.getName(), "long", "counter"));
+        }
+        for (Gauge gauge : registry.getGauges()) {
+            attributes.add(attribute(gauge.getName(), "long", "gauge"));
+        }
+        for (Histogram histogram : registry.getHistograms()) {
+            for (String stat : HISTOGRAM_STATS) {
+                String type = stat.equals("mean") ? "double" : "long";
+                attributes.add(attribute(histogram.getName() + "." + stat, type,
+                        "histogram " + stat + " (" + histogram.getUnit() + ")"));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "Arcade metrics",
+                attributes.toArray(new MBeanAttributeInfo[0]), new MBeanConstructorInfo[0],
+                new MBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+    }
+
+    /**
+     * describes one read-only attribute
+     *
+     * @param name        the attribute name
+     * @param type        the java type name
+     * @param description what it holds
+     * @return the description
+     */
+    private static MBeanAttributeInfo attribute(String name, String type, String description) {
+        return new MBeanAttributeInfo(name, type, description, true, false, false);
+    }
+}
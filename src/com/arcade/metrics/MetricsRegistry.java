@@ -0,0 +1,169 @@
+/**
+ * MetricsRegistry.java
+ *
+ * named counters, gauges and histograms for the whole arcade
+ * hot paths look their metrics up once and keep the reference, so
+ * recording never touches the registry
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * holds every metric by name, in name order
+ * asking for a counter or histogram that already exists returns the same
+ * instance, so classes can create their metrics in static fields. names
+ * are dotted, starting with the area they measure (arcade., game., ...).
+ * the registry can also publish itself as a jmx mbean (see registerMBean)
+ */
+public final class MetricsRegistry {
+    public static final String OBJECT_NAME = "com.arcade:type=Metrics"; // jmx name of the default registry
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentSkipListMap<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * gets the arcade's shared registry
+     *
+     * @return the shared instance
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * gets or creates a counter
+     *
+     * @param name the metric name
+     * @return the counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * registers a gauge, replacing any gauge with the same name
+     *
+     * @param name   the metric name
+     * @param source supplies the current value
+     * @return the gauge
+     */
+    public Gauge gauge(String name, LongSupplier source) {
+        Gauge gauge = new Gauge(name, source);
+        gauges.put(name, gauge);
+        return gauge;
+    }
+
+    /**
+     * gets or creates a histogram of plain values
+     *
+     * @param name the metric name
+     * @param unit the unit of the values, for display
+     * @return the histogram
+     */
+    public Histogram histogram(String name, String unit) {
+        return histograms.computeIfAbsent(name, n -> new Histogram(n, unit));
+    }
+
+    /**
+     * gets or creates a histogram of durations in nanoseconds
+     *
+     * @param name the metric name
+     * @return the histogram
+     */
+    public Histogram timer(String name) {
+        return histogram(name, Histogram.NANOSECONDS);
+    }
+
+    /**
+     * gets every counter
+     *
+     * @return the counters, in name order
+     */
+    public List<Counter> getCounters() {
+        return new ArrayList<>(counters.values());
+    }
+
+    /**
+     * gets every gauge
+     *
+     * @return the gauges, in name order
+     */
+    public List<Gauge> getGauges() {
+        return new ArrayList<>(gauges.values());
+    }
+
+    /**
+     * gets every histogram
+     *
+     * @return the histograms, in name order
+     */
+    public List<Histogram> getHistograms() {
+        return new ArrayList<>(histograms.values());
+    }
+
+    /**
+     * gets a counter if it exists
+     *
+     * @param name the metric name
+     * @return the counter, or null
+     */
+    Counter findCounter(String name) {
+        return counters.get(name);
+    }
+
+    /**
+     * gets a gauge if it exists
+     *
+     * @param name the metric name
+     * @return the gauge, or null
+     */
+    Gauge findGauge(String name) {
+        return gauges.get(name);
+    }
+
+    /**
+     * gets a histogram if it exists
+     *
+     * @param name the metric name
+     * @return the histogram, or null
+     */
+    Histogram findHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * publishes the shared registry to the platform mbean server under
+     * OBJECT_NAME, so jconsole and other jmx clients can read it
+     * does nothing if it is already published
+     *
+     * @return true if the registry is published
+     */
+    public static synchronized boolean registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(DEFAULT), name);
+            }
+            return true;
+        } catch (JMException e) {
+            System.err.println("Error registering metrics with JMX: " + e.getMessage());
+            return false;
+        }
+    }
+}
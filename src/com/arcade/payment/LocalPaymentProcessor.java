@@ -0,0 +1,31 @@
+/**
+ * LocalPaymentProcessor.java
+ *
+ * stand-in card processor for cabinets without a payment terminal
+ * approves every payment with a positive price after the paced
+ * processing delay
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.payment;
+
+import com.arcade.util.Pacing;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * local processor that simulates card authorization
+ * the wait is Pacing's scheduled PAYMENT_PROCESSING delay, so no thread is
+ * held while a payment is "at the bank", and the test profile answers at once
+ */
+public class LocalPaymentProcessor implements PaymentProcessor {
+
+    @Override
+    public CompletableFuture<PaymentRequest.Status> authorize(PaymentRequest request) {
+        return Pacing.delay(Pacing.Delay.PAYMENT_PROCESSING)
+                .thenApply(ignored -> request.getPriceCents() > 0 && request.getTokens() > 0
+                        ? PaymentRequest.Status.APPROVED
+                        : PaymentRequest.Status.DECLINED);
+    }
+}
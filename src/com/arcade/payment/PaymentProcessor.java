@@ -0,0 +1,27 @@
+/**
+ * PaymentProcessor.java
+ *
+ * interface for the card processor behind token purchases
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * authorizes payments without blocking the caller
+ * implementations answer through the returned future, so the payment
+ * service can keep many payments in flight on a single dispatcher thread
+ */
+public interface PaymentProcessor {
+
+    /**
+     * starts authorizing a payment
+     *
+     * @param request the payment to authorize
+     * @return a future completing with APPROVED or DECLINED
+     */
+    CompletableFuture<PaymentRequest.Status> authorize(PaymentRequest request);
+}
@@ -0,0 +1,151 @@
+/**
+ * PaymentRequest.java
+ *
+ * a single token purchase moving through the payment service
+ * records who is buying, what they are buying, and where the payment is
+ * in its life cycle
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.payment;
+
+import com.arcade.player.Player;
+
+import java.time.Instant;
+
+/**
+ * one token package purchase
+ * requests are created by PaymentService.submit and start out pending; the
+ * status is updated once by the dispatcher when the processor answers, so it
+ * can be read from any thread
+ */
+public final class PaymentRequest {
+
+    /**
+     * where a payment is in its life cycle
+     */
+    public enum Status {
+        PENDING, // queued or waiting on the processor
+        APPROVED, // processed and credited to the wallet
+        DECLINED // rejected by the processor, nothing credited
+    }
+
+    private final long id; // sequence number, unique per payment service
+    private final Player player; // buyer whose wallet is credited
+    private final String packageName; // token package name shown to the player
+    private final int tokens; // tokens credited on approval
+    private final int priceCents; // amount charged, in cents
+    private final Instant submittedAt; // when the purchase was confirmed
+    private volatile Status status = Status.PENDING; // current state
+    private volatile Instant settledAt; // when the processor answered, null while pending
+
+    /**
+     * creates a pending payment request
+     *
+     * @param id          sequence number of the request
+     * @param player      the buyer
+     * @param packageName name of the token package
+     * @param tokens      tokens to credit on approval
+     * @param priceCents  amount charged, in cents
+     */
+    PaymentRequest(long id, Player player, String packageName, int tokens, int priceCents) {
+        this.id = id;
+        this.player = player;
+        this.packageName = packageName;
+        this.tokens = tokens;
+        this.priceCents = priceCents;
+        this.submittedAt = Instant.now();
+    }
+
+    /**
+     * records the processor's answer
+     *
+     * @param result APPROVED or DECLINED
+     */
+    void settle(Status result) {
+        this.settledAt = Instant.now();
+        this.status = result;
+    }
+
+    /**
+     * gets the request's sequence number
+     *
+     * @return the payment id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * gets the buyer
+     *
+     * @return the player whose wallet is credited
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * gets the name of the token package
+     *
+     * @return the package name
+     */
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * gets the tokens credited on approval
+     *
+     * @return the token count
+     */
+    public int getTokens() {
+        return tokens;
+    }
+
+    /**
+     * gets the amount charged
+     *
+     * @return the price in cents
+     */
+    public int getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * gets when the purchase was confirmed
+     *
+     * @return the submission time
+     */
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * gets where the payment is in its life cycle
+     *
+     * @return the current status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * gets when the processor answered
+     *
+     * @return the settlement time, or null while pending
+     */
+    public Instant getSettledAt() {
+        return settledAt;
+    }
+
+    /**
+     * formats the price as dollars
+     *
+     * @return the price, such as $10.00
+     */
+    public String getPriceText() {
+        return String.format("$%d.%02d", priceCents / 100, priceCents % 100);
+    }
+}
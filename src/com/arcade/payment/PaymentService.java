@@ -0,0 +1,344 @@
+/**
+ * PaymentService.java
+ *
+ * asynchronous payment processing for token purchases
+ * queues purchases, hands them to a payment processor from one dispatcher
+ * thread, credits wallets when payments clear, and writes settlement
+ * records to a file in batches
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.payment;
+
+import com.arcade.log.ArcadeLog;
+import com.arcade.player.Player;
+import com.arcade.stats.ArcadeStatistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * accepts token purchases and settles them in the background
+ * submit() only enqueues the purchase, so the menu returns at once. a single
+ * dispatcher thread feeds the queue to the processor, whose answers arrive
+ * as future callbacks; no thread waits on an individual payment, and a
+ * semaphore caps how many are at the processor at once. approved payments
+ * are credited to the wallet in the callback, and every finished payment is
+ * kept for the player's next menu screen and added to the settlement batch
+ */
+public final class PaymentService {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024; // purchases waiting for the dispatcher
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256; // purchases at the processor at once
+    public static final int DEFAULT_BATCH_SIZE = 25; // settlement records per file write
+    public static final long SETTLEMENT_INTERVAL_MILLIS = 2000; // longest a record waits when idle
+    private static String SETTLEMENT_FILE = "settlements.txt"; // default settlement log
+    private static final ArcadeLog LOG = ArcadeLog.forClass(PaymentService.class);
+
+    private final PaymentProcessor processor; // authorizes each payment
+    private final BlockingQueue<PaymentRequest> queue; // submitted, not yet dispatched
+    private final Semaphore inFlight; // permits for payments at the processor
+    private final Path settlementFile; // where settlement batches are appended
+    private final int batchSize; // records that trigger a settlement write
+    private final AtomicLong nextId = new AtomicLong(1); // payment id sequence, continued from the settlement file
+    private final Map<Long, PaymentRequest> pending = new ConcurrentHashMap<>(); // queued or processing
+    private final Map<Player, Queue<PaymentRequest>> finished = new ConcurrentHashMap<>(); // not yet shown
+    private final List<PaymentRequest> unsettled = new ArrayList<>(); // guarded by settlementLock
+    private final Object settlementLock = new Object(); // orders batch numbers and file writes
+    private final Object idleLock = new Object(); // signalled whenever a pending payment finishes
+    private int batchNumber; // last batch written, continued from the settlement file, guarded by settlementLock
+
+    /**
+     * lazily created shared service for the arcade
+     */
+    private static final class DefaultHolder {
+        static final PaymentService INSTANCE = new PaymentService(new LocalPaymentProcessor(),
+                DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_IN_FLIGHT, Paths.get(SETTLEMENT_FILE), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * creates a payment service and starts its dispatcher thread
+     *
+     * @param processor      the processor that authorizes payments
+     * @param queueCapacity  how many purchases may wait in the queue
+     * @param maxInFlight    how many purchases may be at the processor at once
+     * @param settlementFile file that settlement batches are appended to
+     * @param batchSize      settlement records collected before each write
+     */
+    public PaymentService(PaymentProcessor processor, int queueCapacity, int maxInFlight, Path settlementFile,
+            int batchSize) {
+        this.processor = processor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.settlementFile = settlementFile;
+        this.batchSize = batchSize;
+        resumeNumbering();
+
+        Thread dispatcher = new Thread(this::dispatch, "arcade-payments");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * continues the batch and payment numbering of an existing settlement
+     * file, so batches appended after a restart never reuse a batch number
+     * or payment id
+     */
+    private void resumeNumbering() {
+        if (!Files.exists(settlementFile)) {
+            return;
+        }
+        long lastId = 0;
+        int lastBatch = 0;
+        try (BufferedReader reader = Files.newBufferedReader(settlementFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\\|", 3);
+                if (fields.length < 3) {
+                    continue;
+                }
+                try {
+                    if (fields[0].equals("batch")) {
+                        lastBatch = Math.max(lastBatch, Integer.parseInt(fields[1]));
+                    } else if (fields[0].equals("payment")) {
+                        lastId = Math.max(lastId, Long.parseLong(fields[1]));
+                    }
+                } catch (NumberFormatException e) {
+                    LOG.warn("Skipping malformed settlement line: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Error reading settlements, numbering may repeat: {}", e.getMessage());
+        }
+        nextId.set(lastId + 1);
+        synchronized (settlementLock) {
+            batchNumber = lastBatch;
+        }
+    }
+
+    /**
+     * gets the arcade's shared payment service, using the local processor
+     *
+     * @return the shared service
+     */
+    public static PaymentService getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * sets the settlement file used by the shared service
+     * must be called before getDefault() is first used
+     *
+     * @param settlementFile path of the settlement log
+     */
+    public static void setSettlementFile(String settlementFile) {
+        SETTLEMENT_FILE = settlementFile;
+    }
+
+    /**
+     * queues a token purchase and returns immediately
+     *
+     * @param player      the buyer, credited when the payment is approved
+     * @param packageName name of the token package
+     * @param tokens      tokens to credit
+     * @param priceCents  amount charged, in cents
+     * @return the pending request, or null if the queue is full
+     */
+    public PaymentRequest submit(Player player, String packageName, int tokens, int priceCents) {
+        PaymentRequest request = new PaymentRequest(nextId.getAndIncrement(), player, packageName, tokens,
+                priceCents);
+        pending.put(request.getId(), request);
+        if (!queue.offer(request)) {
+            pending.remove(request.getId());
+            return null; // too many purchases waiting, the caller should try again
+        }
+        return request;
+    }
+
+    /**
+     * gets a player's payments that have not finished yet
+     *
+     * @param player the buyer
+     * @return the pending payments, oldest first
+     */
+    public List<PaymentRequest> getPending(Player player) {
+        List<PaymentRequest> result = new ArrayList<>();
+        for (PaymentRequest request : pending.values()) {
+            if (request.getPlayer() == player) {
+                result.add(request);
+            }
+        }
+        result.sort(Comparator.comparingLong(PaymentRequest::getId));
+        return result;
+    }
+
+    /**
+     * removes and returns a player's finished payments that have not been
+     * shown to them yet
+     *
+     * @param player the buyer
+     * @return the finished payments, in the order they finished
+     */
+    public List<PaymentRequest> takeFinished(Player player) {
+        // removed rather than drained, so a player who logs out is not kept reachable by an empty queue
+        Queue<PaymentRequest> queued = finished.remove(player);
+        return queued != null ? new ArrayList<>(queued) : new ArrayList<>();
+    }
+
+    /**
+     * waits for one player's pending payments to finish, then writes any
+     * unsettled records; used when a player logs out
+     * payments made by other players are not waited for
+     *
+     * @param player        the buyer
+     * @param timeoutMillis longest time to wait
+     * @return true if none of the player's payments were left pending
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitSettled(Player player, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean settled;
+        synchronized (idleLock) {
+            while (!(settled = getPending(player).isEmpty())) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                idleLock.wait(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+            }
+        }
+        flushSettlements();
+        return settled;
+    }
+
+    /**
+     * dispatcher loop: hands queued payments to the processor
+     * the loop only blocks on the queue and on the in-flight limit; when the
+     * queue stays empty it writes whatever settlement records are waiting
+     */
+    private void dispatch() {
+        while (true) {
+            try {
+                PaymentRequest request = queue.poll(SETTLEMENT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (request == null) {
+                    flushSettlements();
+                    continue;
+                }
+                inFlight.acquire();
+                CompletableFuture<PaymentRequest.Status> answer;
+                try {
+                    answer = processor.authorize(request);
+                } catch (RuntimeException e) {
+                    answer = CompletableFuture.failedFuture(e);
+                }
+                answer.whenComplete((status, error) -> {
+                    try {
+                        complete(request, error == null ? status : PaymentRequest.Status.DECLINED);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * completion callback for one payment
+     * the wallet is credited before the status changes, so anyone who sees
+     * APPROVED also sees the new balance
+     *
+     * @param request the payment that finished
+     * @param result  the processor's answer
+     */
+    private void complete(PaymentRequest request, PaymentRequest.Status result) {
+        if (result == PaymentRequest.Status.APPROVED) {
+            request.getPlayer().addTokens(request.getTokens()); // atomic under the wallet's lock
+            ArcadeStatistics.getDefault().recordTokensPurchased(request.getTokens());
+        }
+        request.settle(result);
+        // added inside compute, so it cannot land in a queue takeFinished has already removed
+        finished.compute(request.getPlayer(), (player, queued) -> {
+            Queue<PaymentRequest> notices = queued != null ? queued : new ConcurrentLinkedQueue<>();
+            notices.add(request);
+            return notices;
+        });
+
+        boolean batchFull;
+        synchronized (settlementLock) {
+            unsettled.add(request);
+            batchFull = unsettled.size() >= batchSize;
+        }
+        if (batchFull) {
+            flushSettlements();
+        }
+
+        pending.remove(request.getId());
+        synchronized (idleLock) {
+            idleLock.notifyAll();
+        }
+    }
+
+    /**
+     * appends all unsettled records to the settlement file as one batch
+     * a batch is a header line followed by one line per payment:
+     * batch|number|time|count|approved cents, then
+     * payment|id|username|package|tokens|cents|status|time
+     */
+    public void flushSettlements() {
+        synchronized (settlementLock) {
+            if (unsettled.isEmpty()) {
+                return;
+            }
+            long approvedCents = 0;
+            for (PaymentRequest request : unsettled) {
+                if (request.getStatus() == PaymentRequest.Status.APPROVED) {
+                    approvedCents += request.getPriceCents();
+                }
+            }
+
+            StringBuilder batch = new StringBuilder(64 * (unsettled.size() + 1));
+            batch.append("batch|").append(batchNumber + 1).append('|').append(Instant.now()).append('|')
+                    .append(unsettled.size()).append('|').append(approvedCents).append('\n');
+            for (PaymentRequest request : unsettled) {
+                batch.append("payment|").append(request.getId()).append('|')
+                        .append(request.getPlayer().getUsername()).append('|')
+                        .append(request.getPackageName()).append('|')
+                        .append(request.getTokens()).append('|')
+                        .append(request.getPriceCents()).append('|')
+                        .append(request.getStatus()).append('|')
+                        .append(request.getSettledAt()).append('\n');
+            }
+
+            try {
+                Files.writeString(settlementFile, batch, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                batchNumber++;
+                unsettled.clear();
+            } catch (IOException e) {
+                // keep the records so the next flush retries them
+                LOG.error("Error writing settlements: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,768 @@
+/**
+ * CompactRoster.java
+ *
+ * an off-heap, column-oriented player store for very large rosters
+ * a million resident players cost a few dozen objects on the heap instead
+ * of several million, so collections stay short however many are registered
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.player;
+
+import com.arcade.item.Achievement;
+import com.arcade.item.AchievementCatalog;
+import com.arcade.item.Functional;
+import com.arcade.item.ItemCodec;
+import com.arcade.wallet.Wallet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * players stored as rows of direct (off-heap) buffers, one buffer per field
+ *
+ * ages, tokens and tickets are int columns, achievements with catalog ids
+ * below 64 a long bit mask, and password hashes 32 raw bytes rather than 64
+ * hex characters. usernames and names are length-prefixed utf-8 strings in
+ * one shared arena, and the fields most players never use (items,
+ * achievements with higher ids, and passwords that are not sha-256 hex) are
+ * kept together as one arena string per row that has any. a player takes
+ * about 64 bytes plus its strings, and the only heap structure that grows
+ * with the roster is the username hash index, a single int array.
+ *
+ * find and the iterator build an ordinary Player from a row; scan walks the
+ * rows with one reusable View instead. removed rows are filled with the
+ * last row, and arena space freed by removals and renames is reclaimed once
+ * it makes up half the arena. reads share a read lock and changes take the
+ * write lock
+ */
+public final class CompactRoster implements PlayerStore {
+    private static final int INITIAL_ROWS = 256;
+    private static final int INITIAL_ARENA_BYTES = 16 * 1024;
+    private static final int MAX_BUFFER_BYTES = Integer.MAX_VALUE - 8; // largest direct buffer
+    private static final int MIN_GARBAGE_TO_COMPACT = 64 * 1024; // arena bytes worth reclaiming
+    private static final int HASH_BYTES = 32; // raw sha-256
+    private static final int NO_STRING = -1; // string column value for no string
+    // lines of a row's extras string
+    private static final String PASSWORD_PREFIX = "pw:";
+    private static final String ACHIEVEMENTS_PREFIX = "ach:";
+    private static final String ITEM_PREFIX = "item:";
+
+    // one column per field, row i of an int column at byte 4 * i
+    private ByteBuffer ages;
+    private ByteBuffer tokens;
+    private ByteBuffer tickets;
+    private ByteBuffer earned; // achievements with catalog ids 0 to 63, a long per row
+    private ByteBuffer usernames; // arena offset of each username
+    private ByteBuffer names; // arena offset of each name
+    private ByteBuffer extras; // arena offset of each row's rare fields, or NO_STRING
+    private ByteBuffer hashes; // password hashes, HASH_BYTES per row
+    private ByteBuffer arena = allocate(INITIAL_ARENA_BYTES); // length-prefixed utf-8 strings
+    private int arenaUsed;
+    private int arenaGarbage; // arena bytes no row points at any more
+    private int rows;
+    private int capacity; // rows the columns have room for
+    private int[] index = new int[INITIAL_ROWS * 2]; // linear probing by username: row + 1, or 0 if empty
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * a flyweight over one row, moved along by scan
+     * only valid inside the scan callback that received it
+     */
+    public final class View {
+        private int row;
+
+        /**
+         * creates a view; use scan
+         */
+        private View() {
+        }
+
+        /**
+         * gets the player's username
+         *
+         * @return the username
+         */
+        public String getUsername() {
+            return getString(usernames.getInt(row * Integer.BYTES));
+        }
+
+        /**
+         * gets the player's name
+         *
+         * @return the name
+         */
+        public String getName() {
+            return getString(names.getInt(row * Integer.BYTES));
+        }
+
+        /**
+         * gets the player's age
+         *
+         * @return the age
+         */
+        public int getAge() {
+            return ages.getInt(row * Integer.BYTES);
+        }
+
+        /**
+         * gets the player's token balance
+         *
+         * @return the tokens
+         */
+        public int getTokens() {
+            return tokens.getInt(row * Integer.BYTES);
+        }
+
+        /**
+         * gets the player's ticket balance
+         *
+         * @return the tickets
+         */
+        public int getTickets() {
+            return tickets.getInt(row * Integer.BYTES);
+        }
+
+        /**
+         * gets the number of achievements the player has earned
+         *
+         * @return the achievement count
+         */
+        public int getAchievementCount() {
+            int count = Long.bitCount(earned.getLong(row * Long.BYTES));
+            String more = extraLine(row, ACHIEVEMENTS_PREFIX);
+            return more == null ? count : count + more.substring(ACHIEVEMENTS_PREFIX.length()).split("\\|").length;
+        }
+
+        /**
+         * checks a password hash against the player's without building a
+         * string for the stored one
+         *
+         * @param password the hashed password
+         * @return true if they match
+         */
+        public boolean passwordMatches(String password) {
+            byte[] packed = packHash(password);
+            if (packed == null) {
+                String stored = extraLine(row, PASSWORD_PREFIX);
+                return stored != null && stored.substring(PASSWORD_PREFIX.length()).equals(password);
+            }
+            if (extraLine(row, PASSWORD_PREFIX) != null) {
+                return false;
+            }
+            int at = row * HASH_BYTES;
+            for (int i = 0; i < HASH_BYTES; i++) {
+                if (hashes.get(at + i) != packed[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * creates an empty roster
+     */
+    public CompactRoster() {
+        allocateColumns(INITIAL_ROWS);
+    }
+
+    @Override
+    public Player find(String username) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(key);
+            return slot < 0 ? null : toPlayer(index[slot] - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean add(Player player) {
+        byte[] key = player.getUsername().getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(key);
+            if (slot >= 0) {
+                return false; // username taken
+            }
+            if (rows == capacity) {
+                allocateColumns(capacity * 2);
+            }
+            if ((rows + 1) * 2 > index.length) {
+                rehash(index.length * 2);
+                slot = slotOf(key);
+            }
+            int row = rows++;
+            usernames.putInt(row * Integer.BYTES, putBytes(key));
+            names.putInt(row * Integer.BYTES, NO_STRING);
+            extras.putInt(row * Integer.BYTES, NO_STRING);
+            write(row, player);
+            index[-slot - 1] = row + 1;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String username) {
+        byte[] key = username.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(key);
+            if (slot < 0) {
+                return false;
+            }
+            int row = index[slot] - 1;
+            for (ByteBuffer column : new ByteBuffer[] { usernames, names, extras }) {
+                int at = column.getInt(row * Integer.BYTES);
+                if (at != NO_STRING) {
+                    arenaGarbage += Integer.BYTES + arena.getInt(at);
+                }
+            }
+            deleteSlot(slot);
+
+            // fill the hole with the last row so the rows stay dense
+            int last = --rows;
+            if (row != last) {
+                index[slotOfRow(last)] = row + 1;
+                copyRow(last, row);
+            }
+            compactArenaIfWasteful();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Player player) {
+        byte[] key = player.getUsername().getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(key);
+            if (slot >= 0) {
+                write(index[slot] - 1, player);
+                compactArenaIfWasteful();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Player> iterator() {
+        return new Iterator<Player>() {
+            private int next; // row the next player is built from
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public Player next() {
+                lock.readLock().lock();
+                try {
+                    if (next >= rows) {
+                        throw new NoSuchElementException();
+                    }
+                    return toPlayer(next++);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    /**
+     * visits every row through one reusable view, building no players
+     * the roster cannot change while the scan runs, so keep the visitor quick
+     *
+     * @param visitor called once per row
+     */
+    public void scan(Consumer<? super View> visitor) {
+        View view = new View();
+        lock.readLock().lock();
+        try {
+            for (view.row = 0; view.row < rows; view.row++) {
+                visitor.accept(view);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * gets the memory held outside the heap
+     *
+     * @return the capacity of every column and the arena, in bytes
+     */
+    public long getOffHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) capacity * (6 * Integer.BYTES + Long.BYTES + HASH_BYTES)
+                    + arena.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * stores a player's fields in a row
+     * strings are only rewritten when they have changed
+     *
+     * @param row    the row
+     * @param player the player
+     */
+    private void write(int row, Player player) {
+        Wallet wallet = player.getWallet();
+        ages.putInt(row * Integer.BYTES, player.getAge());
+        tokens.putInt(row * Integer.BYTES, wallet.getTokens());
+        tickets.putInt(row * Integer.BYTES, wallet.getTickets());
+
+        StringBuilder rare = new StringBuilder();
+        byte[] packed = packHash(player.getPassword());
+        if (packed != null) {
+            hashes.put(row * HASH_BYTES, packed);
+        } else {
+            hashes.put(row * HASH_BYTES, new byte[HASH_BYTES]);
+            rare.append(PASSWORD_PREFIX).append(player.getPassword()).append('\n');
+        }
+
+        long mask = 0;
+        StringBuilder overflow = null; // names of achievements with ids 64 and up
+        for (Achievement a : player.getAchievements()) {
+            if (a.getId() < Long.SIZE) {
+                mask |= 1L << a.getId();
+            } else {
+                overflow = overflow == null ? new StringBuilder(ACHIEVEMENTS_PREFIX) : overflow.append('|');
+                overflow.append(a.getName());
+            }
+        }
+        earned.putLong(row * Long.BYTES, mask);
+        if (overflow != null) {
+            rare.append(overflow).append('\n');
+        }
+
+        List<Functional> powerups = wallet.getPowerups();
+        if (powerups != null) {
+            for (Functional item : powerups) {
+                String line = ItemCodec.format(item);
+                if (line != null) {
+                    rare.append(ITEM_PREFIX).append(line).append('\n');
+                }
+            }
+        }
+
+        replaceString(names, row, player.getName());
+        replaceString(extras, row, rare.length() == 0 ? null : rare.toString());
+    }
+
+    /**
+     * builds a player from a row
+     *
+     * @param row the row
+     * @return a new player holding the row's fields
+     */
+    private Player toPlayer(int row) {
+        String password = null;
+        List<Functional> powerups = null;
+        List<Achievement> overflow = null;
+        int at = extras.getInt(row * Integer.BYTES);
+        if (at != NO_STRING) {
+            for (String line : getString(at).split("\n")) {
+                if (line.startsWith(PASSWORD_PREFIX)) {
+                    password = line.substring(PASSWORD_PREFIX.length());
+                } else if (line.startsWith(ACHIEVEMENTS_PREFIX)) {
+                    overflow = new ArrayList<>();
+                    for (String name : line.substring(ACHIEVEMENTS_PREFIX.length()).split("\\|")) {
+                        Achievement a = AchievementCatalog.find(name);
+                        if (a != null) {
+                            overflow.add(a);
+                        }
+                    }
+                } else if (line.startsWith(ITEM_PREFIX)) {
+                    Functional item = ItemCodec.parse(line.substring(ITEM_PREFIX.length()));
+                    if (item != null) {
+                        if (powerups == null) {
+                            powerups = new ArrayList<>();
+                        }
+                        powerups.add(item);
+                    }
+                }
+            }
+        }
+        if (password == null) {
+            password = unpackHash(row);
+        }
+
+        Player player = new Player(getString(names.getInt(row * Integer.BYTES)),
+                getString(usernames.getInt(row * Integer.BYTES)), password, ages.getInt(row * Integer.BYTES));
+        player.getWallet().setTokens(tokens.getInt(row * Integer.BYTES));
+        player.getWallet().setTickets(tickets.getInt(row * Integer.BYTES));
+        player.getWallet().setPowerups(powerups);
+        for (long bits = earned.getLong(row * Long.BYTES); bits != 0; bits &= bits - 1) {
+            player.addAchievement(AchievementCatalog.get(Long.numberOfTrailingZeros(bits)));
+        }
+        if (overflow != null) {
+            for (Achievement a : overflow) {
+                player.addAchievement(a);
+            }
+        }
+        return player;
+    }
+
+    /**
+     * finds one line of a row's extras
+     *
+     * @param row    the row
+     * @param prefix the line's prefix
+     * @return the line, or null if the row has none
+     */
+    private String extraLine(int row, String prefix) {
+        int at = extras.getInt(row * Integer.BYTES);
+        if (at == NO_STRING) {
+            return null;
+        }
+        for (String line : getString(at).split("\n")) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * converts a 64-character lower-case hex hash to raw bytes
+     *
+     * @param password the hashed password
+     * @return the 32 bytes, or null if the password is not in that form
+     */
+    private static byte[] packHash(String password) {
+        if (password == null || password.length() != HASH_BYTES * 2) {
+            return null;
+        }
+        byte[] packed = new byte[HASH_BYTES];
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return null; // upper case would not round-trip
+            }
+            packed[i / 2] |= (byte) (i % 2 == 0 ? digit << 4 : digit);
+        }
+        return packed;
+    }
+
+    /**
+     * converts a row's raw hash back to lower-case hex
+     *
+     * @param row the row
+     * @return the 64-character hash
+     */
+    private String unpackHash(int row) {
+        char[] hex = new char[HASH_BYTES * 2];
+        for (int i = 0; i < HASH_BYTES; i++) {
+            int b = hashes.get(row * HASH_BYTES + i) & 0xff;
+            hex[2 * i] = Character.forDigit(b >>> 4, 16);
+            hex[2 * i + 1] = Character.forDigit(b & 0xf, 16);
+        }
+        return new String(hex);
+    }
+
+    /**
+     * finds the index slot holding a username
+     *
+     * @param key the username's utf-8 bytes
+     * @return the slot, or -(empty slot + 1) where the username would go
+     */
+    private int slotOf(byte[] key) {
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -slot - 1;
+            }
+            if (stringEquals(usernames.getInt((entry - 1) * Integer.BYTES), key)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * finds the index slot pointing at a row
+     *
+     * @param row the row
+     * @return the slot
+     */
+    private int slotOfRow(int row) {
+        int mask = index.length - 1;
+        int slot = rowHash(row) & mask;
+        while (index[slot] != row + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * empties an index slot, moving later entries of the same probe run
+     * back so lookups still find them
+     *
+     * @param slot the slot
+     */
+    private void deleteSlot(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+            int home = rowHash(index[next] - 1) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    /**
+     * rebuilds the index at a new size
+     *
+     * @param length the new slot count, a power of two
+     */
+    private void rehash(int length) {
+        index = new int[length];
+        int mask = length - 1;
+        for (int row = 0; row < rows; row++) {
+            int slot = rowHash(row) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = row + 1;
+        }
+    }
+
+    /**
+     * hashes a row's username straight from the arena
+     *
+     * @param row the row
+     * @return the hash
+     */
+    private int rowHash(int row) {
+        int at = usernames.getInt(row * Integer.BYTES);
+        int length = arena.getInt(at);
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + arena.get(at + Integer.BYTES + i);
+        }
+        return mix(h);
+    }
+
+    /**
+     * hashes a username the same way as rowHash
+     *
+     * @param key the username's utf-8 bytes
+     * @return the hash
+     */
+    private static int hash(byte[] key) {
+        int h = 0;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        return mix(h);
+    }
+
+    /**
+     * spreads a hash's bits so similar usernames land far apart
+     *
+     * @param h the hash
+     * @return the mixed hash
+     */
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * copies every field of one row to another
+     *
+     * @param from the source row
+     * @param to   the destination row
+     */
+    private void copyRow(int from, int to) {
+        for (ByteBuffer column : new ByteBuffer[] { ages, tokens, tickets, usernames, names, extras }) {
+            column.putInt(to * Integer.BYTES, column.getInt(from * Integer.BYTES));
+        }
+        earned.putLong(to * Long.BYTES, earned.getLong(from * Long.BYTES));
+        hashes.put(to * HASH_BYTES, hashes, from * HASH_BYTES, HASH_BYTES);
+    }
+
+    /**
+     * points a row's string column at a new value, leaving it alone if the
+     * value is unchanged
+     *
+     * @param column the column
+     * @param row    the row
+     * @param value  the new value, or null for none
+     */
+    private void replaceString(ByteBuffer column, int row, String value) {
+        int old = column.getInt(row * Integer.BYTES);
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        if (old != NO_STRING) {
+            if (bytes != null && stringEquals(old, bytes)) {
+                return;
+            }
+            arenaGarbage += Integer.BYTES + arena.getInt(old);
+        }
+        column.putInt(row * Integer.BYTES, bytes == null ? NO_STRING : putBytes(bytes));
+    }
+
+    /**
+     * appends a string to the arena
+     *
+     * @param bytes the utf-8 bytes
+     * @return the string's offset
+     */
+    private int putBytes(byte[] bytes) {
+        int needed = arenaUsed + Integer.BYTES + bytes.length;
+        if (needed > arena.capacity()) {
+            if (needed > MAX_BUFFER_BYTES) {
+                throw new IllegalStateException("Roster arena is full");
+            }
+            arena = resize(arena, (int) Math.min(MAX_BUFFER_BYTES, Math.max(needed, 2L * arena.capacity())));
+        }
+        int at = arenaUsed;
+        arena.putInt(at, bytes.length);
+        arena.put(at + Integer.BYTES, bytes);
+        arenaUsed = needed;
+        return at;
+    }
+
+    /**
+     * reads a string from the arena
+     *
+     * @param at the string's offset, or NO_STRING
+     * @return the string, or null for NO_STRING
+     */
+    private String getString(int at) {
+        if (at == NO_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[arena.getInt(at)];
+        arena.get(at + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * compares an arena string with utf-8 bytes without decoding it
+     *
+     * @param at    the string's offset
+     * @param bytes the bytes to compare with
+     * @return true if they are equal
+     */
+    private boolean stringEquals(int at, byte[] bytes) {
+        if (arena.getInt(at) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (arena.get(at + Integer.BYTES + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * copies the live strings into a fresh arena once at least half of the
+     * current one is unused
+     */
+    private void compactArenaIfWasteful() {
+        if (arenaGarbage < MIN_GARBAGE_TO_COMPACT || arenaGarbage * 2 < arenaUsed) {
+            return;
+        }
+        ByteBuffer old = arena;
+        arena = allocate(Math.max(INITIAL_ARENA_BYTES, arenaUsed - arenaGarbage));
+        arenaUsed = 0;
+        arenaGarbage = 0;
+        for (ByteBuffer column : new ByteBuffer[] { usernames, names, extras }) {
+            for (int row = 0; row < rows; row++) {
+                int at = column.getInt(row * Integer.BYTES);
+                if (at != NO_STRING) {
+                    byte[] bytes = new byte[old.getInt(at)];
+                    old.get(at + Integer.BYTES, bytes);
+                    column.putInt(row * Integer.BYTES, putBytes(bytes));
+                }
+            }
+        }
+    }
+
+    /**
+     * creates or grows every column to hold a number of rows
+     *
+     * @param rowCapacity the rows to make room for
+     */
+    private void allocateColumns(int rowCapacity) {
+        if ((long) rowCapacity * HASH_BYTES > MAX_BUFFER_BYTES) {
+            throw new IllegalStateException("Roster is full");
+        }
+        ages = resize(ages, rowCapacity * Integer.BYTES);
+        tokens = resize(tokens, rowCapacity * Integer.BYTES);
+        tickets = resize(tickets, rowCapacity * Integer.BYTES);
+        earned = resize(earned, rowCapacity * Long.BYTES);
+        usernames = resize(usernames, rowCapacity * Integer.BYTES);
+        names = resize(names, rowCapacity * Integer.BYTES);
+        extras = resize(extras, rowCapacity * Integer.BYTES);
+        hashes = resize(hashes, rowCapacity * HASH_BYTES);
+        capacity = rowCapacity;
+    }
+
+    /**
+     * allocates a bigger buffer holding an existing buffer's contents
+     * the old buffer's memory is freed when it is collected
+     *
+     * @param old   the buffer, or null
+     * @param bytes the new capacity
+     * @return the new buffer
+     */
+    private static ByteBuffer resize(ByteBuffer old, int bytes) {
+        ByteBuffer grown = allocate(bytes);
+        if (old != null) {
+            grown.put(0, old, 0, Math.min(old.capacity(), bytes));
+        }
+        return grown;
+    }
+
+    /**
+     * allocates a zeroed off-heap buffer in the platform's byte order
+     *
+     * @param bytes the capacity
+     * @return the buffer
+     */
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+}
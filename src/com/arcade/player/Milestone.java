@@ -0,0 +1,100 @@
+/**
+ * Milestone.java
+ *
+ * a cumulative achievement earned when a progress counter reaches a
+ * threshold, such as winning 100 blackjack hands
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.player;
+
+import com.arcade.item.Achievement;
+import com.arcade.item.AchievementCatalog;
+
+import java.util.List;
+
+/**
+ * awards an achievement once a player's counter for one game (or for all
+ * games) reaches a threshold
+ * milestones are checked only when the counter they watch changes, and each
+ * one is awarded at most once per player
+ */
+public final class Milestone {
+    public static final int BLACKJACK = 1; // arcade game id of blackjack
+
+    /**
+     * the counters a milestone can watch
+     */
+    public enum Counter {
+        PLAYS, // games played
+        WINS, // games won
+        TICKETS // tickets earned
+    }
+
+    /**
+     * the arcade's milestones, in the order they are numbered
+     * at most 64 milestones are supported, one bit each per player
+     */
+    public static final List<Milestone> DEFAULTS = List.of(
+            new Milestone(PlayerProgress.ALL_GAMES, Counter.PLAYS, 100, AchievementCatalog.ARCADE_REGULAR),
+            new Milestone(PlayerProgress.ALL_GAMES, Counter.TICKETS, 1_000, AchievementCatalog.TICKET_COLLECTOR),
+            new Milestone(PlayerProgress.ALL_GAMES, Counter.TICKETS, 10_000, AchievementCatalog.TICKET_TYCOON),
+            new Milestone(BLACKJACK, Counter.WINS, 100, AchievementCatalog.CARD_SHARK));
+
+    private final int gameId; // game whose counter is watched, or ALL_GAMES
+    private final Counter counter; // which counter is watched
+    private final long threshold; // value at which the achievement is earned
+    private final Achievement achievement; // the achievement awarded
+
+    /**
+     * creates a milestone
+     *
+     * @param gameId      arcade game id, or PlayerProgress.ALL_GAMES
+     * @param counter     the counter to watch
+     * @param threshold   the value that earns the achievement
+     * @param achievement the achievement to award
+     */
+    public Milestone(int gameId, Counter counter, long threshold, Achievement achievement) {
+        this.gameId = gameId;
+        this.counter = counter;
+        this.threshold = threshold;
+        this.achievement = achievement;
+    }
+
+    /**
+     * gets the game whose counter is watched
+     *
+     * @return the game id, or PlayerProgress.ALL_GAMES
+     */
+    public int getGameId() {
+        return gameId;
+    }
+
+    /**
+     * gets the counter that is watched
+     *
+     * @return the counter
+     */
+    public Counter getCounter() {
+        return counter;
+    }
+
+    /**
+     * gets the value at which the milestone is reached
+     *
+     * @return the threshold
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * gets the achievement awarded for the milestone
+     *
+     * @return the achievement
+     */
+    public Achievement getAchievement() {
+        return achievement;
+    }
+}
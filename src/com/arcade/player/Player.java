@@ -11,6 +11,7 @@
 package com.arcade.player;
 
 import com.arcade.item.Achievement;
+import com.arcade.item.AchievementCatalog;
 import com.arcade.wallet.Wallet;
 
 import java.io.BufferedReader;
@@ -19,20 +20,26 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * represents a player in the arcade system with personal information,
  * achievements, and wallet management capabilities
  * provides methods for achievement sorting and searching
+ * earned achievements are stored as bits indexed by catalog id: the first 64
+ * in a long, any others in a bitset that is only created when needed
  */
 public class Player {
    private String name; // player's real name
    private String username; // unique identifier for the player
    private String password; // password is hashed using sha-256
    private int age; // player's age used for difficulty adjustment
-   private List<Achievement> achievements = new ArrayList<>(); // earned achievements
+   private long earnedMask; // earned achievements with catalog ids 0 to 63
+   private BitSet earnedOverflow; // earned achievements with ids 64 and up, null until needed
+   private int achievementCount; // number of bits set across both
    private Wallet wallet; // player's tokens, tickets, and items
+   private PlayerProgress progress = new PlayerProgress(); // cumulative per-game counters
 
    /**
     * constructor for creating a player with just a name
@@ -133,29 +140,71 @@ public class Player {
 
    /**
     * adds an achievement to the player's collection
-    * prevents duplicate achievements by checking names
+    * prevents duplicate achievements by checking the achievement's catalog id
     * 
     * @param ach the achievement to add
     * @return true if added successfully, false if already exists
     */
    public boolean addAchievement(Achievement ach) {
-      // check if player already has this achievement
-      for (Achievement a : achievements) {
-         if (a.getName().equalsIgnoreCase(ach.getName())) {
+      int id = ach.getId();
+      if (id < Long.SIZE) {
+         long bit = 1L << id;
+         if ((earnedMask & bit) != 0) {
             return false; // achievement already exists
          }
+         earnedMask |= bit;
+      } else {
+         if (earnedOverflow == null) {
+            earnedOverflow = new BitSet();
+         }
+         if (earnedOverflow.get(id - Long.SIZE)) {
+            return false; // achievement already exists
+         }
+         earnedOverflow.set(id - Long.SIZE);
       }
-      achievements.add(ach);
+      achievementCount++;
       return true;
    }
 
+   /**
+    * checks whether the player has earned an achievement
+    * 
+    * @param ach the achievement to check
+    * @return true if the player has it
+    */
+   public boolean hasAchievement(Achievement ach) {
+      return hasAchievementId(ach.getId());
+   }
+
+   /**
+    * checks whether the player has earned the achievement with a catalog id
+    * 
+    * @param id the achievement id
+    * @return true if the player has it
+    */
+   private boolean hasAchievementId(int id) {
+      if (id < Long.SIZE) {
+         return (earnedMask & (1L << id)) != 0;
+      }
+      return earnedOverflow != null && earnedOverflow.get(id - Long.SIZE);
+   }
+
+   /**
+    * gets the number of achievements the player has earned
+    * 
+    * @return the achievement count
+    */
+   public int getAchievementCount() {
+      return achievementCount;
+   }
+
    /**
     * sorts achievements alphabetically by name using bubble sort algorithm
     * demonstrates sorting algorithm and displays results
     */
    public void sortAchievements() {
       // make a local array copy for sorting
-      Achievement[] arr = achievements.toArray(new Achievement[0]);
+      Achievement[] arr = getAchievements().toArray(new Achievement[0]);
       int n = arr.length;
 
       // bubble sort implementation
@@ -179,18 +228,17 @@ public class Player {
    }
 
    /**
-    * searches for an achievement by name using linear search
+    * searches for an achievement by name
     * performs case-insensitive matching
     * 
     * @param targetName the name of the achievement to find
     * @return the achievement if found, null otherwise
     */
    public Achievement findAchievementByName(String targetName) {
-      // linear search through achievements
-      for (Achievement a : achievements) {
-         if (a.getName().equalsIgnoreCase(targetName)) {
-            return a;
-         }
+      // look the name up in the catalog, then check the player's bit
+      Achievement a = AchievementCatalog.find(targetName);
+      if (a != null && hasAchievementId(a.getId())) {
+         return a;
       }
       return null; // achievement not found
    }
@@ -213,6 +261,7 @@ public class Player {
       reader.close();
 
       // add achievements to the appropriate section
+      List<Achievement> achievements = getAchievements();
       List<String> output = new ArrayList<>();
       boolean seenName = false;
       boolean inserted = false;
@@ -249,13 +298,23 @@ public class Player {
    }
 
    /**
-    * gets a copy of the achievements list
-    * returns a new list to prevent external modification
+    * gets the player's achievements as a new list, in catalog order
+    * builds the list from the earned bits, so prefer hasAchievement and
+    * getAchievementCount when the achievements themselves are not needed
     * 
-    * @return copy of the achievements list
+    * @return list of earned achievements
     */
    public List<Achievement> getAchievements() {
-      return new ArrayList<Achievement>(achievements);
+      List<Achievement> result = new ArrayList<>(achievementCount);
+      for (long bits = earnedMask; bits != 0; bits &= bits - 1) {
+         result.add(AchievementCatalog.get(Long.numberOfTrailingZeros(bits)));
+      }
+      if (earnedOverflow != null) {
+         for (int i = earnedOverflow.nextSetBit(0); i >= 0; i = earnedOverflow.nextSetBit(i + 1)) {
+            result.add(AchievementCatalog.get(i + Long.SIZE));
+         }
+      }
+      return result;
    }
 
    /**
@@ -285,6 +344,26 @@ public class Player {
       this.wallet = wallet;
    }
 
+   /**
+    * gets the player's cumulative progress counters
+    * 
+    * @return the progress
+    */
+   public PlayerProgress getProgress() {
+      return progress;
+   }
+
+   /**
+    * sets the player's progress counters
+    * players loaded from the arcade file share the progress kept in the
+    * progress store, so reloading a player does not reset their counters
+    * 
+    * @param progress the progress to set
+    */
+   public void setProgress(PlayerProgress progress) {
+      this.progress = progress;
+   }
+
    /**
     * checks if the player has enough tokens for a purchase
     * convenience method for token validation
@@ -298,17 +377,14 @@ public class Player {
 
    /**
     * deducts tokens from the player's wallet
-    * validates sufficient balance before spending
+    * validates sufficient balance before spending, atomically with the
+    * deduction
     * 
     * @param amount the number of tokens to spend
     * @return true if transaction successful, false if insufficient tokens
     */
    public boolean spendTokens(int amount) {
-      if (hasEnoughTokens(amount)) {
-         wallet.setTokens(wallet.getTokens() - amount);
-         return true;
-      }
-      return false; // insufficient tokens
+      return wallet.spendTokens(amount); // false if insufficient tokens
    }
 
    /**
@@ -318,7 +394,7 @@ public class Player {
     * @param amount the number of tickets to add
     */
    public void addTickets(int amount) {
-      wallet.setTickets(wallet.getTickets() + amount);
+      wallet.addTickets(amount);
    }
 
    /**
@@ -328,6 +404,6 @@ public class Player {
     * @param amount the number of tokens to add
     */
    public void addTokens(int amount) {
-      wallet.setTokens(wallet.getTokens() + amount);
+      wallet.addTokens(amount);
    }
 }
@@ -0,0 +1,288 @@
+/**
+ * PlayerProgress.java
+ *
+ * cumulative per-game progress for one player
+ * counts plays, wins, and tickets earned in each game and overall, and
+ * awards milestone achievements as the counts cross their thresholds
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.player;
+
+import com.arcade.item.Achievement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * a player's progress counters, one set per game plus one for all games
+ * the counters are striped (LongAdder, LongAccumulator), so several sessions
+ * recording games for the same player never contend on a single value. each
+ * update checks only the milestones watching the counter that changed and
+ * not yet reached; reaching one flips its bit with a compare-and-set, so it
+ * is awarded exactly once even when sessions race past the threshold together
+ */
+public final class PlayerProgress {
+    public static final int ALL_GAMES = 0; // game id of the totals across every game
+
+    // milestone indices watching each (game, counter) pair
+    private static final Map<Integer, int[]> WATCHERS = indexMilestones();
+
+    private final Map<Integer, GameProgress> games = new ConcurrentHashMap<>(); // game id to counters
+    private final AtomicLong reachedMilestones = new AtomicLong(); // bit i set once DEFAULTS[i] is reached
+
+    /**
+     * counters for one game (or for all games)
+     */
+    public static final class GameProgress {
+        private final LongAdder plays = new LongAdder(); // games played
+        private final LongAdder wins = new LongAdder(); // games won
+        private final LongAdder tickets = new LongAdder(); // tickets earned
+        private final LongAccumulator bestTickets = new LongAccumulator(Math::max, 0); // best single payout
+
+        /**
+         * gets the number of games played
+         *
+         * @return the play count
+         */
+        public long getPlays() {
+            return plays.sum();
+        }
+
+        /**
+         * gets the number of games won
+         *
+         * @return the win count
+         */
+        public long getWins() {
+            return wins.sum();
+        }
+
+        /**
+         * gets the total tickets earned
+         *
+         * @return the tickets earned
+         */
+        public long getTicketsEarned() {
+            return tickets.sum();
+        }
+
+        /**
+         * gets the most tickets earned in a single game
+         *
+         * @return the best payout
+         */
+        public long getBestTickets() {
+            return bestTickets.get();
+        }
+
+        /**
+         * gets the current value of one counter
+         *
+         * @param counter the counter to read
+         * @return its value
+         */
+        long get(Milestone.Counter counter) {
+            switch (counter) {
+                case PLAYS:
+                    return getPlays();
+                case WINS:
+                    return getWins();
+                default:
+                    return getTicketsEarned();
+            }
+        }
+    }
+
+    /**
+     * builds the lookup from (game, counter) to the milestones watching it
+     *
+     * @return the milestone index
+     */
+    private static Map<Integer, int[]> indexMilestones() {
+        Map<Integer, List<Integer>> lists = new HashMap<>();
+        for (int i = 0; i < Milestone.DEFAULTS.size(); i++) {
+            Milestone m = Milestone.DEFAULTS.get(i);
+            lists.computeIfAbsent(key(m.getGameId(), m.getCounter()), k -> new ArrayList<>()).add(i);
+        }
+        Map<Integer, int[]> index = new HashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : lists.entrySet()) {
+            index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return index;
+    }
+
+    /**
+     * combines a game id and counter into a lookup key
+     *
+     * @param gameId  the game id
+     * @param counter the counter
+     * @return the key
+     */
+    private static int key(int gameId, Milestone.Counter counter) {
+        return gameId * Milestone.Counter.values().length + counter.ordinal();
+    }
+
+    /**
+     * records one finished game
+     *
+     * @param gameId  arcade id of the game
+     * @param won     true if the player won
+     * @param tickets tickets earned from the game
+     * @return milestone achievements reached by this game, usually empty
+     */
+    public List<Achievement> record(int gameId, boolean won, int tickets) {
+        List<Achievement> earned = update(gameId, won, tickets, null);
+        earned = update(ALL_GAMES, won, tickets, earned);
+        return earned != null ? earned : List.of();
+    }
+
+    /**
+     * updates the counters of one game and checks their milestones
+     *
+     * @param gameId  the game id, or ALL_GAMES
+     * @param won     true if the game was won
+     * @param tickets tickets earned
+     * @param earned  achievements reached so far, or null
+     * @return the achievements reached so far, or null if none
+     */
+    private List<Achievement> update(int gameId, boolean won, int tickets, List<Achievement> earned) {
+        GameProgress game = getOrCreate(gameId);
+        game.plays.increment();
+        earned = checkMilestones(gameId, Milestone.Counter.PLAYS, game, earned);
+        if (won) {
+            game.wins.increment();
+            earned = checkMilestones(gameId, Milestone.Counter.WINS, game, earned);
+        }
+        if (tickets > 0) {
+            game.tickets.add(tickets);
+            game.bestTickets.accumulate(tickets);
+            earned = checkMilestones(gameId, Milestone.Counter.TICKETS, game, earned);
+        }
+        return earned;
+    }
+
+    /**
+     * checks the unreached milestones watching one counter
+     * the counter is only summed when such a milestone exists
+     *
+     * @param gameId  the game id, or ALL_GAMES
+     * @param counter the counter that changed
+     * @param game    the game's counters
+     * @param earned  achievements reached so far, or null
+     * @return the achievements reached so far, or null if none
+     */
+    private List<Achievement> checkMilestones(int gameId, Milestone.Counter counter, GameProgress game,
+            List<Achievement> earned) {
+        int[] watching = WATCHERS.get(key(gameId, counter));
+        if (watching == null) {
+            return earned;
+        }
+        long value = -1; // summed lazily
+        for (int index : watching) {
+            long bit = 1L << index;
+            if ((reachedMilestones.get() & bit) != 0) {
+                continue;
+            }
+            if (value < 0) {
+                value = game.get(counter);
+            }
+            Milestone milestone = Milestone.DEFAULTS.get(index);
+            if (value >= milestone.getThreshold() && markReached(bit)) {
+                if (earned == null) {
+                    earned = new ArrayList<>(2);
+                }
+                earned.add(milestone.getAchievement());
+            }
+        }
+        return earned;
+    }
+
+    /**
+     * sets a milestone bit with compare-and-set
+     *
+     * @param bit the milestone's bit
+     * @return true if this call set it, false if another session got there first
+     */
+    private boolean markReached(long bit) {
+        while (true) {
+            long current = reachedMilestones.get();
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (reachedMilestones.compareAndSet(current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * gets a game's counters, creating them on first use
+     *
+     * @param gameId the game id, or ALL_GAMES
+     * @return the counters
+     */
+    private GameProgress getOrCreate(int gameId) {
+        GameProgress game = games.get(gameId);
+        return game != null ? game : games.computeIfAbsent(gameId, id -> new GameProgress());
+    }
+
+    /**
+     * gets a game's counters
+     *
+     * @param gameId the game id, or ALL_GAMES for totals
+     * @return the counters, or null if the player has not played that game
+     */
+    public GameProgress getGame(int gameId) {
+        return games.get(gameId);
+    }
+
+    /**
+     * gets the ids of every game with counters, including ALL_GAMES
+     *
+     * @return the game ids
+     */
+    public Set<Integer> getGameIds() {
+        return games.keySet();
+    }
+
+    /**
+     * loads saved counters for one game
+     * used by ProgressStore before the player starts a session
+     *
+     * @param gameId      the game id, or ALL_GAMES
+     * @param plays       games played
+     * @param wins        games won
+     * @param tickets     tickets earned
+     * @param bestTickets best single payout
+     */
+    void restore(int gameId, long plays, long wins, long tickets, long bestTickets) {
+        GameProgress game = getOrCreate(gameId);
+        game.plays.add(plays);
+        game.wins.add(wins);
+        game.tickets.add(tickets);
+        game.bestTickets.accumulate(bestTickets);
+    }
+
+    /**
+     * marks the milestones the restored counters have already passed, so
+     * they are not awarded again
+     */
+    void restoreMilestones() {
+        for (int i = 0; i < Milestone.DEFAULTS.size(); i++) {
+            Milestone milestone = Milestone.DEFAULTS.get(i);
+            GameProgress game = games.get(milestone.getGameId());
+            if (game != null && game.get(milestone.getCounter()) >= milestone.getThreshold()) {
+                markReached(1L << i);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * PlayerStore.java
+ *
+ * a roster of players kept resident between arcade file loads
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.player;
+
+import java.util.Iterator;
+
+/**
+ * every registered player, keyed by username, shared by all sessions
+ *
+ * the arcade manager fills a store from the arcade file once, answers
+ * lookups from it, and writes the file back from it on save. how players
+ * are held is up to the implementation, so a player handed out may be a
+ * copy: changes to it are only kept once passed to update. implementations
+ * are safe for use from any number of threads
+ */
+public interface PlayerStore extends Iterable<Player> {
+    /**
+     * looks a player up by username
+     *
+     * @param username the username, as stored
+     * @return the player, or null if there is none
+     */
+    Player find(String username);
+
+    /**
+     * adds a player
+     *
+     * @param player the player
+     * @return false if a player with that username already exists
+     */
+    boolean add(Player player);
+
+    /**
+     * removes a player
+     *
+     * @param username the username
+     * @return true if the player was found and removed
+     */
+    boolean remove(String username);
+
+    /**
+     * stores a player's current fields, for a player got from find
+     * ignored if the player has been removed since
+     *
+     * @param player the player
+     */
+    void update(Player player);
+
+    /**
+     * gets the number of players
+     *
+     * @return the player count
+     */
+    int size();
+
+    /**
+     * iterates over every player, in no particular order
+     * players are built one at a time, and changes made by other threads
+     * during the iteration may or may not be seen
+     *
+     * @return the iterator
+     */
+    @Override
+    Iterator<Player> iterator();
+}
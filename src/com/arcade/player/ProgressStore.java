@@ -0,0 +1,214 @@
+/**
+ * ProgressStore.java
+ *
+ * compact persistent storage for player progress counters
+ * keeps every player's progress in memory, shared by all sessions, and
+ * saves it to a small binary file kept next to the arcade's player file
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.player;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * progress for every player, keyed by lower-case username
+ * the same PlayerProgress is handed out for a username every time, so
+ * players reloaded from the arcade file keep counting where they left off.
+ *
+ * file layout (numbers are unsigned varints unless noted):
+ * magic (4 bytes), version, player count, then per player the username
+ * (modified utf-8), game count, and per game its id, plays, wins, tickets
+ * and best payout. a player with a few games played takes about 30 bytes
+ */
+public final class ProgressStore {
+    private static final int MAGIC = 0x41505247; // "APRG"
+    private static final int VERSION = 1;
+
+    private final Path file; // where progress is saved
+    private final Map<String, PlayerProgress> progress = new ConcurrentHashMap<>(); // username to progress
+
+    /**
+     * creates an empty store saving to a file
+     *
+     * @param file the progress file
+     */
+    private ProgressStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * opens a store, loading the file if it exists
+     *
+     * @param file the progress file
+     * @return the store
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static ProgressStore open(Path file) throws IOException {
+        ProgressStore store = new ProgressStore(file);
+        if (Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                store.read(in);
+            }
+        }
+        return store;
+    }
+
+    /**
+     * creates an empty store, ignoring any existing file
+     * the file is overwritten on the next save
+     *
+     * @param file the progress file
+     * @return the store
+     */
+    public static ProgressStore empty(Path file) {
+        return new ProgressStore(file);
+    }
+
+    /**
+     * gets the file the store saves to
+     *
+     * @return the progress file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * gets a player's progress, creating it for new players
+     *
+     * @param username the player's username
+     * @return the shared progress for that username
+     */
+    public PlayerProgress forPlayer(String username) {
+        return progress.computeIfAbsent(username.toLowerCase(Locale.ROOT), name -> new PlayerProgress());
+    }
+
+    /**
+     * gets a player's progress without creating it
+     *
+     * @param username the player's username
+     * @return the shared progress, or null if the player has none yet
+     */
+    public PlayerProgress find(String username) {
+        return progress.get(username.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * forgets a player's progress, for when the player is removed
+     *
+     * @param username the player's username
+     */
+    public void remove(String username) {
+        progress.remove(username.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * reads every player's progress from a stream
+     *
+     * @param in the stream positioned at the start of the file
+     * @throws IOException if the file is not a progress file or is truncated
+     */
+    private void read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a progress file: " + file);
+        }
+        int version = (int) readVarLong(in);
+        if (version != VERSION) {
+            throw new IOException("Unsupported progress file version " + version);
+        }
+        long players = readVarLong(in);
+        for (long p = 0; p < players; p++) {
+            PlayerProgress playerProgress = forPlayer(in.readUTF());
+            long games = readVarLong(in);
+            for (long g = 0; g < games; g++) {
+                int gameId = (int) readVarLong(in);
+                playerProgress.restore(gameId, readVarLong(in), readVarLong(in), readVarLong(in), readVarLong(in));
+            }
+            playerProgress.restoreMilestones();
+        }
+    }
+
+    /**
+     * saves every player's progress
+     * the file is written beside the old one and moved into place, so a
+     * crash mid-save never leaves a half-written file
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                writeVarLong(out, VERSION);
+                writeVarLong(out, progress.size());
+                for (Map.Entry<String, PlayerProgress> entry : progress.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    PlayerProgress playerProgress = entry.getValue();
+                    Integer[] gameIds = playerProgress.getGameIds().toArray(new Integer[0]);
+                    writeVarLong(out, gameIds.length);
+                    for (int gameId : gameIds) {
+                        PlayerProgress.GameProgress game = playerProgress.getGame(gameId);
+                        writeVarLong(out, gameId);
+                        writeVarLong(out, game.getPlays());
+                        writeVarLong(out, game.getWins());
+                        writeVarLong(out, game.getTicketsEarned());
+                        writeVarLong(out, game.getBestTickets());
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * writes a non-negative number in 7-bit groups, low bits first
+     *
+     * @param out   the output
+     * @param value the number to write
+     * @throws IOException if writing fails
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * reads a number written by writeVarLong
+     *
+     * @param in the input
+     * @return the number
+     * @throws IOException if reading fails or the number is malformed
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in progress file");
+    }
+}
@@ -0,0 +1,724 @@
+/**
+ * TieredPlayerStore.java
+ *
+ * a player store that keeps only recently active players in memory
+ * most registered players are dormant, so the rest wait in a record file
+ * and cost the heap little more than their username
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.player;
+
+import com.arcade.item.Achievement;
+import com.arcade.item.AchievementCatalog;
+import com.arcade.item.Functional;
+import com.arcade.item.ItemCodec;
+import com.arcade.metrics.Counter;
+import com.arcade.metrics.MetricsRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * three tiers: an in-memory index of every username, a bounded cache of
+ * full Player objects, and an append-only record file for everyone else
+ *
+ * the index holds no object per player: usernames are length-prefixed
+ * utf-8 in one heap arena, and each slot is an int arena offset and a long
+ * record offset, so a dormant player costs its username and 30 to 50
+ * bytes, depending on how full the index is. arena space freed by
+ * removals is reclaimed once it makes up half the arena
+ *
+ * find returns the cached Player when there is one, so sessions share the
+ * same object; a miss reads the record from disk and caches it. once the
+ * cache holds more than cacheSize players the least recently used one is
+ * evicted, and if it was added or updated since it was read, its record is
+ * written back first. write-backs append a new record and leave the old
+ * one dead; the file is rewritten without dead records once they outnumber
+ * the live ones.
+ *
+ * the record file is scratch space filled from the arcade file on every
+ * start and deleted by close, so it needs no recovery. iteration walks a
+ * snapshot of the index and reads uncached players without caching them,
+ * so saving the arcade file does not flush out the active players. every
+ * operation holds one lock, which virtual threads can wait on without
+ * pinning their carrier
+ */
+public final class TieredPlayerStore implements PlayerStore, Closeable {
+    private static final long NOT_ON_DISK = -1; // offset of a player that has only been cached
+    private static final int HEADER_BYTES = Integer.BYTES; // record length before each record
+    private static final long MIN_DEAD_TO_COMPACT = 1 << 20; // dead record bytes worth rewriting
+    private static final int INITIAL_NAME_BYTES = 16 * 1024;
+    private static final int MIN_GARBAGE_TO_COMPACT = 64 * 1024; // username arena bytes worth reclaiming
+
+    /**
+     * a cached player and whether the record file is behind it
+     */
+    private static final class Cached {
+        private Player player;
+        private boolean dirty;
+
+        /**
+         * creates a cache entry
+         *
+         * @param player the player
+         * @param dirty  true if the player has not been written to disk
+         */
+        Cached(Player player, boolean dirty) {
+            this.player = player;
+            this.dirty = dirty;
+        }
+    }
+
+    private final Path file; // record file
+    private final int cacheSize; // most players kept as objects
+    private FileChannel channel;
+    private long fileEnd; // where the next record is appended
+    private long deadBytes; // bytes of records superseded or removed
+    // username index, linear probing: arena offset of the username + 1 (0 if the slot is empty),
+    // and the offset of its newest record, or NOT_ON_DISK
+    private int[] keys = new int[1024];
+    private long[] offsets = new long[1024];
+    private int count;
+    private ByteBuffer usernames = ByteBuffer.allocate(INITIAL_NAME_BYTES); // length-prefixed utf-8 strings
+    private int usernamesUsed;
+    private int usernamesGarbage; // arena bytes no slot points at any more
+    // insertion ordered and re-inserted on use, so the first entry is the least recently used
+    private final LinkedHashMap<String, Cached> cache = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter writeBacks;
+
+    /**
+     * creates an empty store, emptying the record file if it exists
+     *
+     * @param file      the record file
+     * @param cacheSize the most players to keep in memory
+     * @throws IOException if the record file cannot be created
+     */
+    public TieredPlayerStore(Path file, int cacheSize) throws IOException {
+        this.file = file;
+        this.cacheSize = Math.max(1, cacheSize);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        hits = metrics.counter("store.cache.hits");
+        misses = metrics.counter("store.cache.misses");
+        writeBacks = metrics.counter("store.cache.writebacks");
+        metrics.gauge("store.cache.players", this::getCachedCount);
+        metrics.gauge("store.file.bytes", () -> fileEnd);
+    }
+
+    @Override
+    public Player find(String username) {
+        lock.lock();
+        try {
+            int slot = slotOf(username);
+            if (slot < 0) {
+                return null;
+            }
+            Cached cached = cache.remove(username);
+            if (cached != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                cached = new Cached(readRecord(offsets[slot]), false);
+            }
+            cache.put(username, cached); // now the most recently used
+            evictIfFull();
+            return cached.player;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(Player player) {
+        String username = player.getUsername();
+        lock.lock();
+        try {
+            int slot = slotOf(username);
+            if (slot >= 0) {
+                return false; // username taken
+            }
+            if ((count + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+                slot = slotOf(username);
+            }
+            keys[-slot - 1] = putUsername(username.getBytes(StandardCharsets.UTF_8)) + 1;
+            offsets[-slot - 1] = NOT_ON_DISK;
+            count++;
+            cache.put(username, new Cached(player, true));
+            evictIfFull();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String username) {
+        lock.lock();
+        try {
+            int slot = slotOf(username);
+            if (slot < 0) {
+                return false;
+            }
+            if (offsets[slot] != NOT_ON_DISK) {
+                deadBytes += recordBytes(offsets[slot]);
+            }
+            usernamesGarbage += Integer.BYTES + usernames.getInt(keys[slot] - 1);
+            deleteSlot(slot);
+            count--;
+            cache.remove(username);
+            compactUsernamesIfWasteful();
+            compactIfWasteful();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Player player) {
+        String username = player.getUsername();
+        lock.lock();
+        try {
+            if (slotOf(username) < 0) {
+                return; // removed since it was found
+            }
+            Cached cached = cache.remove(username);
+            if (cached == null) {
+                cached = new Cached(player, true); // evicted while a session held it
+            }
+            cached.player = player;
+            cached.dirty = true;
+            cache.put(username, cached);
+            evictIfFull();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Player> iterator() {
+        int[] snapshot;
+        ByteBuffer arena; // never changed below the offsets in the snapshot, only replaced
+        lock.lock();
+        try {
+            snapshot = Arrays.copyOf(keys, keys.length);
+            arena = usernames;
+        } finally {
+            lock.unlock();
+        }
+        return new Iterator<Player>() {
+            private int slot = -1; // snapshot slot of the next player
+            private Player next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Player next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Player result = next;
+                next = advance();
+                return result;
+            }
+
+            /**
+             * moves to the next username in the snapshot that is still registered
+             *
+             * @return its player, or null at the end
+             */
+            private Player advance() {
+                while (++slot < snapshot.length) {
+                    if (snapshot[slot] != 0) {
+                        Player player = peek(getUsername(arena, snapshot[slot] - 1));
+                        if (player != null) {
+                            return player;
+                        }
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * gets a player without caching it or changing the eviction order
+     *
+     * @param username the username
+     * @return the player, or null if it has been removed
+     */
+    private Player peek(String username) {
+        lock.lock();
+        try {
+            int slot = slotOf(username);
+            if (slot < 0) {
+                return null;
+            }
+            Cached cached = cache.get(username);
+            return cached != null ? cached.player : readRecord(offsets[slot]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * gets the number of players held as objects
+     *
+     * @return the cached player count
+     */
+    public int getCachedCount() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * closes and deletes the record file
+     * the store cannot be used afterwards
+     *
+     * @throws IOException if the file cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * evicts least recently used players until the cache fits, writing
+     * back any that changed
+     *
+     * @throws IOException if a record cannot be written
+     */
+    private void evictIfFull() throws IOException {
+        while (cache.size() > cacheSize) {
+            Iterator<Map.Entry<String, Cached>> eldest = cache.entrySet().iterator();
+            Map.Entry<String, Cached> entry = eldest.next();
+            if (entry.getValue().dirty) {
+                writeBack(entry.getKey(), entry.getValue().player);
+            }
+            eldest.remove();
+        }
+        compactIfWasteful();
+    }
+
+    /**
+     * appends a player's record and points the index at it
+     *
+     * @param username the username
+     * @param player   the player
+     * @throws IOException if the record cannot be written
+     */
+    private void writeBack(String username, Player player) throws IOException {
+        int slot = slotOf(username);
+        if (offsets[slot] != NOT_ON_DISK) {
+            deadBytes += recordBytes(offsets[slot]);
+        }
+        offsets[slot] = append(encode(player));
+        writeBacks.increment();
+    }
+
+    /**
+     * appends a record to the file
+     *
+     * @param record the encoded record, header included
+     * @return the record's offset
+     * @throws IOException if it cannot be written
+     */
+    private long append(ByteBuffer record) throws IOException {
+        long at = fileEnd;
+        for (long position = at; record.hasRemaining();) {
+            position += channel.write(record, position);
+        }
+        fileEnd = at + record.limit();
+        return at;
+    }
+
+    /**
+     * gets the size of a record on disk
+     *
+     * @param offset the record's offset
+     * @return its length, header included
+     * @throws IOException if it cannot be read
+     */
+    private int recordBytes(long offset) throws IOException {
+        return HEADER_BYTES + readFully(offset, HEADER_BYTES).getInt(0);
+    }
+
+    /**
+     * reads and decodes a record
+     *
+     * @param offset the record's offset
+     * @return the player
+     * @throws IOException if it cannot be read
+     */
+    private Player readRecord(long offset) throws IOException {
+        int length = readFully(offset, HEADER_BYTES).getInt(0);
+        return decode(readFully(offset + HEADER_BYTES, length).array());
+    }
+
+    /**
+     * reads bytes from the file
+     *
+     * @param offset where to start
+     * @param length how many bytes
+     * @return a heap buffer holding them
+     * @throws IOException if the file ends first
+     */
+    private ByteBuffer readFully(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Truncated player record at " + offset + " in " + file);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * rewrites the file with only the live records once dead ones make up
+     * more than half of it
+     *
+     * @throws IOException if the new file cannot be written
+     */
+    private void compactIfWasteful() throws IOException {
+        if (deadBytes < MIN_DEAD_TO_COMPACT || deadBytes * 2 < fileEnd) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long end = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0 && offsets[slot] != NOT_ON_DISK) {
+                    int length = recordBytes(offsets[slot]);
+                    ByteBuffer record = readFully(offsets[slot], length);
+                    record.flip();
+                    offsets[slot] = end;
+                    for (long position = end; record.hasRemaining();) {
+                        position += out.write(record, position);
+                    }
+                    end += length;
+                }
+            }
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        fileEnd = end;
+        deadBytes = 0;
+    }
+
+    /**
+     * encodes a player as a record: its length, then the username,
+     * password, age, name, tokens, tickets, achievement names and item lines
+     *
+     * @param player the player
+     * @return the record, ready to write
+     * @throws IOException if a field is too long to encode
+     */
+    private static ByteBuffer encode(Player player) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // length, filled in below
+        out.writeUTF(player.getUsername());
+        out.writeUTF(player.getPassword());
+        out.writeInt(player.getAge());
+        out.writeUTF(player.getName());
+        out.writeInt(player.getWallet().getTokens());
+        out.writeInt(player.getWallet().getTickets());
+        List<Achievement> achievements = player.getAchievements();
+        out.writeShort(achievements.size());
+        for (Achievement a : achievements) {
+            out.writeUTF(a.getName());
+        }
+        List<String> items = new ArrayList<>();
+        if (player.getWallet().getPowerups() != null) {
+            for (Functional item : player.getWallet().getPowerups()) {
+                String line = ItemCodec.format(item);
+                if (line != null) {
+                    items.add(line);
+                }
+            }
+        }
+        out.writeShort(items.size());
+        for (String line : items) {
+            out.writeUTF(line);
+        }
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        record.putInt(0, record.limit() - HEADER_BYTES);
+        return record;
+    }
+
+    /**
+     * decodes a record written by encode
+     *
+     * @param record the record, without its length
+     * @return the player
+     * @throws IOException if the record is malformed
+     */
+    private static Player decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        String username = in.readUTF();
+        String password = in.readUTF();
+        int age = in.readInt();
+        Player player = new Player(in.readUTF(), username, password, age);
+        player.getWallet().setTokens(in.readInt());
+        player.getWallet().setTickets(in.readInt());
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            Achievement a = AchievementCatalog.find(in.readUTF());
+            if (a != null) {
+                player.addAchievement(a);
+            }
+        }
+        int items = in.readUnsignedShort();
+        if (items > 0) {
+            List<Functional> powerups = new ArrayList<>(items);
+            for (int i = 0; i < items; i++) {
+                Functional item = ItemCodec.parse(in.readUTF());
+                if (item != null) {
+                    powerups.add(item);
+                }
+            }
+            player.getWallet().setPowerups(powerups);
+        }
+        return player;
+    }
+
+    /**
+     * finds the index slot holding a username
+     *
+     * @param username the username
+     * @return the slot, or -(empty slot + 1) where the username would go
+     */
+    private int slotOf(String username) {
+        byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+        int mask = keys.length - 1;
+        for (int slot = mix(hash(bytes)) & mask;; slot = (slot + 1) & mask) {
+            int key = keys[slot];
+            if (key == 0) {
+                return -slot - 1;
+            }
+            if (usernameEquals(key - 1, bytes)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * empties an index slot, moving later entries of the same probe run
+     * back so lookups still find them
+     *
+     * @param slot the slot
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = mix(hashAt(keys[next] - 1)) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                offsets[hole] = offsets[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+    }
+
+    /**
+     * rebuilds the index at a new size
+     *
+     * @param length the new slot count, a power of two
+     */
+    private void rehash(int length) {
+        int[] oldKeys = keys;
+        long[] oldOffsets = offsets;
+        keys = new int[length];
+        offsets = new long[length];
+        int mask = length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(hashAt(oldKeys[i] - 1)) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    /**
+     * appends a username to the arena, growing it if needed
+     *
+     * @param bytes the username's utf-8 bytes
+     * @return its offset
+     */
+    private int putUsername(byte[] bytes) {
+        int needed = usernamesUsed + Integer.BYTES + bytes.length;
+        if (needed > usernames.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(needed, usernames.capacity() * 2));
+            grown.put(0, usernames, 0, usernamesUsed);
+            usernames = grown; // a new buffer, so iterator snapshots keep reading the old one
+        }
+        int at = usernamesUsed;
+        usernames.putInt(at, bytes.length);
+        usernames.put(at + Integer.BYTES, bytes);
+        usernamesUsed = needed;
+        return at;
+    }
+
+    /**
+     * copies the live usernames into a fresh arena once removed ones make
+     * up half of it
+     */
+    private void compactUsernamesIfWasteful() {
+        if (usernamesGarbage < MIN_GARBAGE_TO_COMPACT || usernamesGarbage * 2 < usernamesUsed) {
+            return;
+        }
+        ByteBuffer old = usernames;
+        usernames = ByteBuffer.allocate(Math.max(INITIAL_NAME_BYTES, usernamesUsed - usernamesGarbage));
+        usernamesUsed = 0;
+        usernamesGarbage = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                int at = keys[slot] - 1;
+                byte[] bytes = new byte[old.getInt(at)];
+                old.get(at + Integer.BYTES, bytes);
+                keys[slot] = putUsername(bytes) + 1;
+            }
+        }
+    }
+
+    /**
+     * reads a username from an arena
+     *
+     * @param arena the arena
+     * @param at    the username's offset
+     * @return the username
+     */
+    private static String getUsername(ByteBuffer arena, int at) {
+        byte[] bytes = new byte[arena.getInt(at)];
+        arena.get(at + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * compares an arena username with utf-8 bytes without decoding it
+     *
+     * @param at    the username's offset
+     * @param bytes the bytes to compare with
+     * @return true if they are equal
+     */
+    private boolean usernameEquals(int at, byte[] bytes) {
+        if (usernames.getInt(at) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (usernames.get(at + Integer.BYTES + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * hashes a username's utf-8 bytes
+     *
+     * @param bytes the bytes
+     * @return the hash
+     */
+    private static int hash(byte[] bytes) {
+        int h = 0;
+        for (byte b : bytes) {
+            h = 31 * h + b;
+        }
+        return h;
+    }
+
+    /**
+     * hashes an arena username the same way as hash, without decoding it
+     *
+     * @param at the username's offset
+     * @return the hash
+     */
+    private int hashAt(int at) {
+        int length = usernames.getInt(at);
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + usernames.get(at + Integer.BYTES + i);
+        }
+        return h;
+    }
+
+    /**
+     * spreads a hash's bits so similar usernames land far apart
+     *
+     * @param h the hash
+     * @return the mixed hash
+     */
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,299 @@
+/**
+ * ArcadeStatistics.java
+ *
+ * running totals for the admin statistics screen
+ * every mutation (a player joining, a game played, a purchase) updates the
+ * aggregates as it happens, so reading them never walks the player list
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * aggregate statistics across every player and session
+ * the player population (count, age sum, age histogram, achievements) is
+ * kept only as totals, with nothing stored per player: reading the arcade
+ * file replaces them with a Population tallied while reading, and
+ * registrations, removals and awards adjust them in between. game, token,
+ * and ticket flows are striped counters, and ticket payouts also feed a
+ * t-digest for quantiles. every getter is O(1)
+ */
+public final class ArcadeStatistics {
+    public static final int AGE_BUCKET_YEARS = 10; // width of each age histogram bucket
+    public static final int AGE_BUCKETS = 10; // the last bucket holds every older player
+
+    private static final ArcadeStatistics DEFAULT = new ArcadeStatistics();
+
+    private final AtomicLong playerCount = new AtomicLong();
+    private final AtomicLong ageSum = new AtomicLong();
+    private final AtomicLong achievementSum = new AtomicLong();
+    private final AtomicLongArray ageHistogram = new AtomicLongArray(AGE_BUCKETS);
+
+    private final Map<Integer, LongAdder> gamePlays = new ConcurrentHashMap<>(); // game id to plays
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder tokensPurchased = new LongAdder(); // from token packages
+    private final LongAdder tokensSpent = new LongAdder(); // on games
+    private final LongAdder ticketsAwarded = new LongAdder(); // from games
+    private final LongAdder ticketsSpent = new LongAdder(); // in the shop
+    private final TDigest ticketPayouts = new TDigest(); // tickets won per game
+
+    /**
+     * population totals tallied while reading the roster, then handed to
+     * replacePopulation in one step
+     * not thread-safe: one instance belongs to one read
+     */
+    public static final class Population {
+        private long players;
+        private long ageSum;
+        private long achievements;
+        private final long[] ageHistogram = new long[AGE_BUCKETS];
+
+        /**
+         * counts one player
+         *
+         * @param age          the player's age
+         * @param achievements achievements stored for the player
+         */
+        public void add(int age, int achievements) {
+            players++;
+            ageSum += age;
+            this.achievements += achievements;
+            ageHistogram[ageBucket(age)]++;
+        }
+    }
+
+    /**
+     * gets the arcade's shared statistics
+     *
+     * @return the shared instance
+     */
+    public static ArcadeStatistics getDefault() {
+        return DEFAULT;
+    }
+
+    // ======== updates ========
+
+    /**
+     * replaces the population totals with those of a fresh read of the
+     * roster; awards counted since the roster was last saved are dropped
+     * until it is saved and read again
+     *
+     * @param population the totals tallied while reading
+     */
+    public synchronized void replacePopulation(Population population) {
+        playerCount.set(population.players);
+        ageSum.set(population.ageSum);
+        achievementSum.set(population.achievements);
+        for (int bucket = 0; bucket < AGE_BUCKETS; bucket++) {
+            ageHistogram.set(bucket, population.ageHistogram[bucket]);
+        }
+    }
+
+    /**
+     * counts a newly registered player in the population
+     *
+     * @param age          the player's age
+     * @param achievements achievements the player starts with
+     */
+    public void addPlayer(int age, int achievements) {
+        playerCount.incrementAndGet();
+        ageSum.addAndGet(age);
+        ageHistogram.incrementAndGet(ageBucket(age));
+        achievementSum.addAndGet(achievements);
+    }
+
+    /**
+     * removes a player from the population totals
+     *
+     * @param age          the player's age
+     * @param achievements achievements stored for the player
+     */
+    public void removePlayer(int age, int achievements) {
+        playerCount.decrementAndGet();
+        ageSum.addAndGet(-age);
+        ageHistogram.decrementAndGet(ageBucket(age));
+        achievementSum.addAndGet(-achievements);
+    }
+
+    /**
+     * counts an achievement earned by a player
+     */
+    public void recordAchievement() {
+        achievementSum.incrementAndGet();
+    }
+
+    /**
+     * counts one finished game
+     *
+     * @param gameId     arcade id of the game
+     * @param tokensCost tokens paid to play
+     * @param ticketsWon tickets awarded
+     */
+    public void recordGame(int gameId, int tokensCost, int ticketsWon) {
+        LongAdder plays = gamePlays.get(gameId);
+        if (plays == null) {
+            plays = gamePlays.computeIfAbsent(gameId, id -> new LongAdder());
+        }
+        plays.increment();
+        gamesPlayed.increment();
+        tokensSpent.add(tokensCost);
+        ticketsAwarded.add(ticketsWon);
+        ticketPayouts.add(ticketsWon);
+    }
+
+    /**
+     * counts tokens bought with a token package
+     *
+     * @param tokens tokens credited
+     */
+    public void recordTokensPurchased(int tokens) {
+        tokensPurchased.add(tokens);
+    }
+
+    /**
+     * counts tickets spent in the shop
+     *
+     * @param tickets tickets spent
+     */
+    public void recordTicketsSpent(int tickets) {
+        ticketsSpent.add(tickets);
+    }
+
+    // ======== reads ========
+
+    /**
+     * gets the number of registered players
+     *
+     * @return the player count
+     */
+    public long getPlayerCount() {
+        return playerCount.get();
+    }
+
+    /**
+     * gets the average player age
+     *
+     * @return the average, or 0 with no players
+     */
+    public double getAverageAge() {
+        long players = playerCount.get();
+        return players == 0 ? 0 : (double) ageSum.get() / players;
+    }
+
+    /**
+     * gets the number of players in one age bucket
+     * bucket i holds ages [i * AGE_BUCKET_YEARS, (i + 1) * AGE_BUCKET_YEARS),
+     * and the last bucket every age above that
+     *
+     * @param bucket the bucket index
+     * @return the player count
+     */
+    public long getAgeBucket(int bucket) {
+        return ageHistogram.get(bucket);
+    }
+
+    /**
+     * gets the total achievements earned by registered players
+     *
+     * @return the achievement count
+     */
+    public long getTotalAchievements() {
+        return achievementSum.get();
+    }
+
+    /**
+     * gets the average achievements per player
+     *
+     * @return the average, or 0 with no players
+     */
+    public double getAverageAchievements() {
+        long players = playerCount.get();
+        return players == 0 ? 0 : (double) achievementSum.get() / players;
+    }
+
+    /**
+     * gets the number of games played
+     *
+     * @return the game count
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    /**
+     * gets the number of plays of each game
+     *
+     * @return game id to plays, in id order
+     */
+    public Map<Integer, Long> getGamePlays() {
+        Map<Integer, Long> plays = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : gamePlays.entrySet()) {
+            plays.put(entry.getKey(), entry.getValue().sum());
+        }
+        return plays;
+    }
+
+    /**
+     * gets the tokens bought with token packages
+     *
+     * @return the token count
+     */
+    public long getTokensPurchased() {
+        return tokensPurchased.sum();
+    }
+
+    /**
+     * gets the tokens spent on games
+     *
+     * @return the token count
+     */
+    public long getTokensSpent() {
+        return tokensSpent.sum();
+    }
+
+    /**
+     * gets the tickets awarded by games
+     *
+     * @return the ticket count
+     */
+    public long getTicketsAwarded() {
+        return ticketsAwarded.sum();
+    }
+
+    /**
+     * gets the tickets spent in the shop
+     *
+     * @return the ticket count
+     */
+    public long getTicketsSpent() {
+        return ticketsSpent.sum();
+    }
+
+    /**
+     * estimates a quantile of tickets won per game
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimate, or NaN if no games were played
+     */
+    public double getTicketPayoutQuantile(double q) {
+        return ticketPayouts.quantile(q);
+    }
+
+    /**
+     * finds the histogram bucket for an age
+     *
+     * @param age the age
+     * @return the bucket index
+     */
+    private static int ageBucket(int age) {
+        return Math.min(AGE_BUCKETS - 1, Math.max(0, age / AGE_BUCKET_YEARS));
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * TDigest.java
+ *
+ * streaming quantile estimates in constant memory
+ * a merging t-digest: values are buffered, then sorted and folded into a
+ * small set of weighted centroids that stay tight near the tails
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.stats;
+
+import java.util.Arrays;
+
+/**
+ * approximate quantiles over a stream of values
+ * centroids near the median may hold many values while those near the
+ * extremes hold only a few, so tail quantiles like p99 stay accurate. memory
+ * is bounded by the compression (about 2 * compression centroids) no matter
+ * how many values are added. all methods are synchronized; adding a value is
+ * O(1) amortized and a quantile is O(compression)
+ */
+public final class TDigest {
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression; // larger keeps more centroids and is more accurate
+    private final double[] means; // centroid means, ascending
+    private final double[] weights; // centroid weights
+    private int centroids; // centroids in use
+    private final double[] buffer; // values not yet merged
+    private int buffered; // values in the buffer
+    private long count; // values added
+    private double min = Double.NaN; // smallest value added
+    private double max = Double.NaN; // largest value added
+
+    /**
+     * creates a digest with the default compression
+     */
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * creates a digest
+     *
+     * @param compression accuracy setting, at least 10
+     */
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(2 * compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.buffer = new double[capacity * 4];
+    }
+
+    /**
+     * adds one value
+     *
+     * @param value the value
+     */
+    public synchronized void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot add NaN");
+        }
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+        buffer[buffered++] = value;
+        if (buffered == buffer.length) {
+            merge();
+        }
+    }
+
+    /**
+     * gets the number of values added
+     *
+     * @return the count
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * gets the smallest value added
+     *
+     * @return the minimum, or NaN if nothing was added
+     */
+    public synchronized double getMin() {
+        return min;
+    }
+
+    /**
+     * gets the largest value added
+     *
+     * @return the maximum, or NaN if nothing was added
+     */
+    public synchronized double getMax() {
+        return max;
+    }
+
+    /**
+     * estimates a quantile
+     *
+     * @param q the quantile, between 0 and 1 (0.5 for the median)
+     * @return the estimate, or NaN if nothing was added
+     */
+    public synchronized double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        merge();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+
+        // walk the centroid centres; each centroid's weight is spread evenly around its mean
+        double index = q * count;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * (index / (weights[0] / 2));
+        }
+        double cumulative = weights[0] / 2; // position of the current centre
+        for (int i = 0; i < centroids - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index < cumulative + gap) {
+                double t = (index - cumulative) / gap;
+                return means[i] + (means[i + 1] - means[i]) * t;
+            }
+            cumulative += gap;
+        }
+        double last = weights[centroids - 1] / 2;
+        double t = Math.min(1, (index - cumulative) / last);
+        return means[centroids - 1] + (max - means[centroids - 1]) * t;
+    }
+
+    /**
+     * folds the buffered values into the centroids
+     * the buffer is sorted and merged with the (already sorted) centroids,
+     * then neighbours are combined greedily while the combined centroid stays
+     * within the size the scale function allows at its quantile
+     */
+    private void merge() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+
+        // merge the sorted centroids and buffer into one sorted run
+        int total = centroids + buffered;
+        double[] runMeans = new double[total];
+        double[] runWeights = new double[total];
+        int c = 0;
+        int b = 0;
+        for (int i = 0; i < total; i++) {
+            if (b == buffered || (c < centroids && means[c] <= buffer[b])) {
+                runMeans[i] = means[c];
+                runWeights[i] = weights[c++];
+            } else {
+                runMeans[i] = buffer[b++];
+                runWeights[i] = 1;
+            }
+        }
+        buffered = 0;
+
+        // combine neighbours under the k1 scale function
+        double totalWeight = count;
+        double sofar = 0; // weight of the emitted centroids
+        double limit = quantileLimit(0, totalWeight);
+        int out = 0;
+        double mean = runMeans[0];
+        double weight = runWeights[0];
+        for (int i = 1; i < total; i++) {
+            if ((sofar + weight + runWeights[i]) / totalWeight <= limit) {
+                weight += runWeights[i];
+                mean += (runMeans[i] - mean) * runWeights[i] / weight;
+            } else {
+                means[out] = mean;
+                weights[out++] = weight;
+                sofar += weight;
+                limit = quantileLimit(sofar, totalWeight);
+                mean = runMeans[i];
+                weight = runWeights[i];
+            }
+        }
+        means[out] = mean;
+        weights[out++] = weight;
+        centroids = out;
+    }
+
+    /**
+     * gets the highest quantile a centroid starting after a given weight may
+     * reach, one unit further along the k1 scale
+     *
+     * @param sofar       weight before the centroid
+     * @param totalWeight weight of every value
+     * @return the quantile limit
+     */
+    private double quantileLimit(double sofar, double totalWeight) {
+        double q = sofar / totalWeight;
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+        double next = k + 1;
+        if (next >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(next * 2 * Math.PI / compression) + 1) / 2;
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Span.java
+ *
+ * one timed operation in a trace
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * a named, timed piece of work started with Tracer.start and finished
+ * with end(), always from the same thread and always in a finally block
+ * so nesting stays balanced. spans started while another is open on the
+ * same thread are its children. spans that are not sampled are shared
+ * placeholders that record nothing
+ */
+public final class Span {
+    private final Tracer tracer; // owner, told when the span ends
+    private final Span parent; // enclosing span on the same thread, or null for a root
+    private final String name;
+    private final long traceId; // shared by every span in one trace
+    private final long startNanos;
+    private long endNanos;
+    private final long threadId; // thread the span ran on
+    private final String threadName;
+    private List<Object> tags; // alternating keys and values, created on first tag
+    private final boolean recording; // false for the placeholders
+
+    /**
+     * creates a recording span
+     *
+     * @param tracer  the owner
+     * @param parent  the enclosing span, or null
+     * @param name    the span name
+     * @param traceId the trace it belongs to
+     */
+    Span(Tracer tracer, Span parent, String name, long traceId) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.name = name;
+        this.traceId = traceId;
+        this.recording = true;
+        Thread thread = Thread.currentThread();
+        this.threadId = thread.threadId();
+        this.threadName = thread.getName();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * creates a placeholder that records nothing
+     *
+     * @param tracer the owner
+     */
+    Span(Tracer tracer) {
+        this.tracer = tracer;
+        this.parent = null;
+        this.name = null;
+        this.traceId = 0;
+        this.recording = false;
+        this.threadId = 0;
+        this.threadName = null;
+        this.startNanos = 0;
+    }
+
+    /**
+     * attaches a value shown with the span in the trace viewer
+     * ignored by spans that are not sampled
+     *
+     * @param key   the argument name
+     * @param value the value, written as a number, boolean or string
+     * @return this span, for chaining
+     */
+    public Span tag(String key, Object value) {
+        if (recording) {
+            if (tags == null) {
+                tags = new ArrayList<>(4);
+            }
+            tags.add(key);
+            tags.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * finishes the span and hands it to the exporter
+     */
+    public void end() {
+        if (recording) {
+            endNanos = System.nanoTime();
+        }
+        tracer.finish(this);
+    }
+
+    /**
+     * checks whether the span is being recorded
+     *
+     * @return false for spans that were not sampled
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * gets the enclosing span
+     *
+     * @return the parent, or null for a root
+     */
+    Span getParent() {
+        return parent;
+    }
+
+    /**
+     * gets the span name
+     *
+     * @return the name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * gets the trace the span belongs to
+     *
+     * @return the trace id
+     */
+    long getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * gets when the span started
+     *
+     * @return the System.nanoTime() reading
+     */
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * gets when the span ended
+     *
+     * @return the System.nanoTime() reading
+     */
+    long getEndNanos() {
+        return endNanos;
+    }
+
+    /**
+     * gets the thread the span ran on
+     *
+     * @return the thread id
+     */
+    long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * gets the name of the thread the span ran on
+     *
+     * @return the thread name
+     */
+    String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * gets the tags attached to the span
+     *
+     * @return alternating keys and values, or null
+     */
+    List<Object> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * Tracer.java
+ *
+ * span-based tracing of whole sessions to a local trace file
+ * shows where wall time goes from a menu choice down through storage and
+ * game phases, in a format chrome://tracing and perfetto can open
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.trace;
+
+import com.arcade.log.ArcadeLog;
+import com.arcade.metrics.Counter;
+import com.arcade.metrics.MetricsRegistry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * starts spans and exports the finished ones in batches
+ *
+ * a span started with no other span open on the thread begins a new trace,
+ * which is sampled with probability arcade.trace.sample (0 to 1, default 0,
+ * meaning tracing is off). every span inside a sampled trace is recorded,
+ * and none inside an unsampled one, so traces are always complete.
+ *
+ * finished spans wait in a bounded queue (spans are dropped and counted in
+ * the trace.dropped metric if it fills) and a daemon thread appends them
+ * to arcade.trace.file (default arcade-trace.json) in the chrome trace
+ * event format: one complete ("X") event per span, on the thread it ran
+ * on, with the trace id and any tags as arguments. the file is started
+ * fresh by each run; the array is left open, which the format allows, so
+ * a crashed run still leaves a readable file
+ */
+public final class Tracer {
+    public static final String SAMPLE_PROPERTY = "arcade.trace.sample";
+    public static final String FILE_PROPERTY = "arcade.trace.file";
+
+    private static final int QUEUE_CAPACITY = 65_536; // finished spans waiting for the writer
+    private static final int BATCH_SIZE = 512; // spans per file write
+    private static final long POLL_MILLIS = 1000; // longest a lone span waits to be written
+    private static final ArcadeLog LOG = ArcadeLog.forClass(Tracer.class);
+
+    private static final Tracer DEFAULT = new Tracer(Paths.get(System.getProperty(FILE_PROPERTY, "arcade-trace.json")),
+            sampleRateFromProperty());
+
+    private final Path file;
+    private final double sampleRate; // chance that a new trace is recorded
+    private final Span disabled = new Span(this); // returned when tracing is off
+    private final Span suppressed = new Span(this); // returned inside a trace that was not sampled
+    private final ThreadLocal<Span> current = new ThreadLocal<>(); // innermost open span on each thread
+    private final ThreadLocal<int[]> suppressedDepth = ThreadLocal.withInitial(() -> new int[1]);
+    private final BlockingQueue<Span> finished = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong nextTraceId = new AtomicLong();
+    private final long epochMicros = System.currentTimeMillis() * 1000; // wall clock at startup
+    private final long epochNanos = System.nanoTime(); // matching monotonic reading
+    private final long pid = ProcessHandle.current().pid();
+    private final Counter dropped = MetricsRegistry.getDefault().counter("trace.dropped");
+
+    private final Object writeLock = new Object(); // orders writes from the writer and flush
+    private final Set<Long> namedThreads = new HashSet<>(); // threads given a name in the file, guarded by writeLock
+    private boolean started; // true once the file has been created, guarded by writeLock
+
+    /**
+     * creates a tracer and, if it samples anything, its writer thread
+     *
+     * @param file       the trace file
+     * @param sampleRate chance that a new trace is recorded, 0 to 1
+     */
+    public Tracer(Path file, double sampleRate) {
+        this.file = file;
+        this.sampleRate = sampleRate;
+        if (sampleRate > 0) {
+            Thread writer = new Thread(this::writeLoop, "arcade-trace");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "arcade-trace-flush"));
+        }
+    }
+
+    /**
+     * gets the arcade's shared tracer, configured from system properties
+     *
+     * @return the shared instance
+     */
+    public static Tracer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * reads the sample rate from the arcade.trace.sample system property
+     *
+     * @return the rate, clamped to 0 to 1, or 0 if unset or invalid
+     */
+    private static double sampleRateFromProperty() {
+        try {
+            double rate = Double.parseDouble(System.getProperty(SAMPLE_PROPERTY, "0"));
+            return Double.isNaN(rate) ? 0 : Math.max(0, Math.min(1, rate));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * checks whether any traces can be recorded
+     *
+     * @return true if the sample rate is above 0
+     */
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    /**
+     * starts a span on the calling thread
+     * end it in a finally block on the same thread
+     *
+     * @param name the span name; the part before the first dot is its category
+     * @return the span
+     */
+    public Span start(String name) {
+        if (sampleRate <= 0) {
+            return disabled;
+        }
+        Span parent = current.get();
+        Span span;
+        if (parent != null) {
+            span = new Span(this, parent, name, parent.getTraceId());
+        } else {
+            int[] depth = suppressedDepth.get();
+            if (depth[0] > 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                depth[0]++;
+                return suppressed;
+            }
+            span = new Span(this, null, name, nextTraceId.incrementAndGet());
+        }
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * closes a span, making its parent current again, and queues it for
+     * export
+     *
+     * @param span the span that ended
+     */
+    void finish(Span span) {
+        if (span == disabled) {
+            return;
+        }
+        if (span == suppressed) {
+            suppressedDepth.get()[0]--;
+            return;
+        }
+        if (span.getParent() != null) {
+            current.set(span.getParent());
+        } else {
+            current.remove();
+        }
+        if (!finished.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * writes every finished span to the file now
+     * called at shutdown; useful before reading the file in the same run
+     */
+    public void flush() {
+        List<Span> batch = new ArrayList<>();
+        finished.drainTo(batch);
+        write(batch);
+    }
+
+    /**
+     * writer thread: waits for finished spans and writes them in batches
+     */
+    private void writeLoop() {
+        List<Span> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                Span first = finished.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                finished.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * appends spans to the trace file, creating it on the first write
+     *
+     * @param batch the spans to write
+     */
+    private void write(List<Span> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            StandardOpenOption mode = started ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+                if (!started) {
+                    writer.write("[\n");
+                    started = true;
+                }
+                StringBuilder event = new StringBuilder(256);
+                for (Span span : batch) {
+                    if (namedThreads.add(span.getThreadId())) {
+                        event.setLength(0);
+                        appendThreadName(event, span);
+                        writer.append(event).append(",\n");
+                    }
+                    event.setLength(0);
+                    appendEvent(event, span);
+                    writer.append(event).append(",\n");
+                }
+            } catch (IOException e) {
+                LOG.error("Error writing trace: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * formats the metadata event naming a span's thread
+     *
+     * @param out  where to append
+     * @param span a span from the thread
+     */
+    private void appendThreadName(StringBuilder out, Span span) {
+        String name = span.getThreadName();
+        if (name == null || name.isEmpty()) {
+            name = "thread-" + span.getThreadId(); // virtual threads have no name
+        }
+        out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(pid)
+                .append(",\"tid\":").append(span.getThreadId())
+                .append(",\"args\":{\"name\":");
+        appendString(out, name);
+        out.append("}}");
+    }
+
+    /**
+     * formats a span as a complete event
+     *
+     * @param out  where to append
+     * @param span the span
+     */
+    private void appendEvent(StringBuilder out, Span span) {
+        String name = span.getName();
+        int dot = name.indexOf('.');
+        out.append("{\"name\":");
+        appendString(out, name);
+        out.append(",\"cat\":");
+        appendString(out, dot > 0 ? name.substring(0, dot) : name);
+        out.append(",\"ph\":\"X\",\"ts\":").append(epochMicros + (span.getStartNanos() - epochNanos) / 1000)
+                .append(",\"dur\":").append((span.getEndNanos() - span.getStartNanos()) / 1000)
+                .append(",\"pid\":").append(pid)
+                .append(",\"tid\":").append(span.getThreadId())
+                .append(",\"args\":{\"trace\":").append(span.getTraceId());
+        List<Object> tags = span.getTags();
+        if (tags != null) {
+            for (int i = 0; i + 1 < tags.size(); i += 2) {
+                out.append(',');
+                appendString(out, String.valueOf(tags.get(i)));
+                out.append(':');
+                Object value = tags.get(i + 1);
+                if (value instanceof Number || value instanceof Boolean) {
+                    out.append(value);
+                } else {
+                    appendString(out, String.valueOf(value));
+                }
+            }
+        }
+        out.append("}}");
+    }
+
+    /**
+     * appends a json string literal
+     *
+     * @param out  where to append
+     * @param text the text to quote
+     */
+    private static void appendString(StringBuilder out, String text) {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
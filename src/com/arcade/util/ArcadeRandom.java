@@ -0,0 +1,93 @@
+/**
+ * ArcadeRandom.java
+ *
+ * seeded randomness service for arcade sessions
+ * gives every session its own splittable random stream and hands each
+ * game a recorded seed so any outcome can be replayed exactly
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.util;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * per-session source of game seeds
+ * each session owns one SplittableRandom stream, so sessions never contend
+ * on a shared Random's atomic seed. every game played in the session gets
+ * its own seed drawn from that stream; the seed is all that is needed to
+ * rebuild the game's generator and replay the game bit-for-bit
+ *
+ * not thread-safe: one instance belongs to one session
+ */
+public class ArcadeRandom {
+    private final long sessionSeed; // seed the whole session was started from
+    private final SplittableRandom sessionStream; // source of per-game seeds
+
+    /**
+     * creates a session stream from a fresh, unpredictable seed
+     */
+    public ArcadeRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * creates a session stream from a known seed
+     * the same session seed always produces the same sequence of game seeds
+     *
+     * @param sessionSeed the seed for this session
+     */
+    public ArcadeRandom(long sessionSeed) {
+        this.sessionSeed = sessionSeed;
+        this.sessionStream = new SplittableRandom(sessionSeed);
+    }
+
+    /**
+     * gets the seed this session was started from
+     *
+     * @return the session seed
+     */
+    public long getSessionSeed() {
+        return sessionSeed;
+    }
+
+    /**
+     * draws the seed for the next game played in this session
+     *
+     * @return a seed to pass to forGame
+     */
+    public long nextGameSeed() {
+        return sessionStream.nextLong();
+    }
+
+    /**
+     * creates the random generator a game uses for a single run
+     * calling this again with a recorded seed replays the same stream
+     *
+     * @param gameSeed the seed recorded for the game
+     * @return a generator private to that game run
+     */
+    public static SplittableRandom forGame(long gameSeed) {
+        return new SplittableRandom(gameSeed);
+    }
+
+    /**
+     * shuffles a list in place using the fisher-yates algorithm
+     * used instead of Collections.shuffle so the shuffle draws from the
+     * game's own generator rather than a shared global one
+     *
+     * @param list   the list to shuffle
+     * @param random the generator to draw swaps from
+     */
+    public static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T temp = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, temp);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * ConsoleHook.java
+ *
+ * test hook that discards console output
+ * lets benchmarks and automated runs drive code that prints to the console
+ * without the printing flooding the terminal
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.util;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * swaps System.out (and optionally System.err) for a stream that throws its
+ * output away, restoring the originals on close. the printing code still
+ * builds and encodes its strings, so what is measured is the real work minus
+ * the terminal. close the hook in a finally block (or try-with-resources)
+ * so the console comes back even if the code throws
+ */
+public final class ConsoleHook implements AutoCloseable {
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    private final PrintStream savedOut; // restored on close
+    private final PrintStream savedErr; // restored on close
+
+    /**
+     * saves the current streams and installs the discarding stream
+     *
+     * @param includeErr true to discard System.err as well
+     */
+    private ConsoleHook(boolean includeErr) {
+        this.savedOut = System.out;
+        this.savedErr = System.err;
+        System.setOut(DISCARD);
+        if (includeErr) {
+            System.setErr(DISCARD);
+        }
+    }
+
+    /**
+     * discards everything printed to System.out until closed
+     *
+     * @return the hook, to close when done
+     */
+    public static ConsoleHook discardOutput() {
+        return new ConsoleHook(false);
+    }
+
+    /**
+     * discards everything printed to System.out and System.err until closed
+     *
+     * @return the hook, to close when done
+     */
+    public static ConsoleHook discardAll() {
+        return new ConsoleHook(true);
+    }
+
+    /**
+     * gets the System.out that was installed before this hook
+     * useful for reporting results while output is discarded
+     *
+     * @return the original standard output
+     */
+    public PrintStream getOriginalOut() {
+        return savedOut;
+    }
+
+    /**
+     * restores the streams saved when the hook was created
+     */
+    @Override
+    public void close() {
+        System.setOut(savedOut);
+        System.setErr(savedErr);
+    }
+}
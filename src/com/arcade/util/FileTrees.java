@@ -0,0 +1,38 @@
+/**
+ * FileTrees.java
+ *
+ * helpers for the scratch directories used by benchmarks and load tests
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * operations on whole directory trees
+ */
+public final class FileTrees {
+
+    private FileTrees() {
+    }
+
+    /**
+     * deletes a directory and everything in it
+     *
+     * @param dir the directory
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
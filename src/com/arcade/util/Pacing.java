@@ -0,0 +1,138 @@
+/**
+ * Pacing.java
+ *
+ * central pacing service for the arcade's dramatic and simulated delays
+ * replaces scattered Thread.sleep calls with named delays whose length
+ * depends on the deployment profile, run as scheduled continuations
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * named delays scaled by a per-deployment profile
+ * the profile is read from the arcade.pacing system property (interactive,
+ * kiosk, or test) and can be changed with setProfile. a delay never parks a
+ * thread while it waits: after() schedules its continuation on a shared
+ * timer, so many sessions can wait at once without holding threads, and the
+ * test profile runs every continuation immediately
+ */
+public final class Pacing {
+
+    /**
+     * deployment profiles, each scaling every delay
+     */
+    public enum Profile {
+        INTERACTIVE(1.0), // a player at the console, full dramatic pauses
+        KIOSK(0.5), // shared cabinets, shorter pauses to keep the queue moving
+        TEST(0.0); // automated runs and benchmarks, no delay at all
+
+        private final double scale;
+
+        Profile(double scale) {
+            this.scale = scale;
+        }
+    }
+
+    /**
+     * every delay used in the arcade, with its interactive length
+     */
+    public enum Delay {
+        PAYMENT_PROCESSING(1000), // simulated card processing when buying tokens
+        STORY_SENTENCE(800); // dramatic pause between mad libs sentences
+
+        private final long millis;
+
+        Delay(long millis) {
+            this.millis = millis;
+        }
+    }
+
+    private static volatile Profile profile = profileFromProperty();
+
+    private Pacing() {
+    }
+
+    /**
+     * reads the profile from the arcade.pacing system property
+     *
+     * @return the configured profile, or INTERACTIVE if unset or unknown
+     */
+    private static Profile profileFromProperty() {
+        String value = System.getProperty("arcade.pacing", "interactive");
+        try {
+            return Profile.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Profile.INTERACTIVE;
+        }
+    }
+
+    /**
+     * gets the active profile
+     *
+     * @return the profile every delay is scaled by
+     */
+    public static Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * sets the active profile for the whole process
+     *
+     * @param newProfile the profile to use from now on
+     */
+    public static void setProfile(Profile newProfile) {
+        profile = newProfile;
+    }
+
+    /**
+     * gets the length of a delay under the active profile
+     *
+     * @param delay the named delay
+     * @return the delay in milliseconds
+     */
+    public static long millis(Delay delay) {
+        return Math.round(delay.millis * profile.scale);
+    }
+
+    /**
+     * runs a continuation once a delay has passed
+     * the wait is a scheduled timer, not a parked thread; with no delay the
+     * continuation runs right away on the calling thread, so its output
+     * stays with the caller's session, and an exception it throws fails the
+     * returned future just as it would after a real delay
+     *
+     * @param delay        the named delay
+     * @param continuation what to run afterwards
+     * @return a future completing when the continuation has run
+     */
+    public static CompletableFuture<Void> after(Delay delay, Runnable continuation) {
+        long millis = millis(delay);
+        if (millis <= 0) {
+            try {
+                continuation.run();
+                return CompletableFuture.completedFuture(null);
+            } catch (Throwable t) {
+                return CompletableFuture.failedFuture(t);
+            }
+        }
+        return CompletableFuture.runAsync(continuation,
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * gets a future that completes once a delay has passed
+     * useful for chaining several paced steps with thenCompose
+     *
+     * @param delay the named delay
+     * @return a future completing after the delay
+     */
+    public static CompletableFuture<Void> delay(Delay delay) {
+        return after(delay, () -> {
+        });
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * ScreenRenderer.java
+ *
+ * buffered terminal renderer for menus and game screens
+ * builds a whole screen into one reusable buffer and writes it with a
+ * single write and flush, stripping colors when output is not a terminal
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.util;
+
+import java.io.Console;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.Formatter;
+
+/**
+ * collects the lines of one screen and emits them in a single write
+ * each thread has its own renderer (see current()), so the buffer is reused
+ * from screen to screen without any locking. System.out is looked up when
+ * the screen is flushed, so redirected output is always honoured.
+ *
+ * ansi codes are kept when output goes to a terminal and stripped otherwise;
+ * the arcade.color system property (true/false) overrides the detection
+ */
+public final class ScreenRenderer {
+    private static final int INITIAL_CAPACITY = 2048; // enough for a typical menu screen
+    private static final boolean TERMINAL = detectTerminal();
+    private static final boolean COLOR = detectColor();
+    private static final ThreadLocal<ScreenRenderer> CURRENT = ThreadLocal.withInitial(ScreenRenderer::new);
+
+    private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+    private final Formatter formatter = new Formatter(buffer);
+
+    private ScreenRenderer() {
+    }
+
+    /**
+     * gets this thread's renderer
+     *
+     * @return the renderer, ready for the next screen
+     */
+    public static ScreenRenderer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * decides whether screens keep their ansi color codes
+     *
+     * @return true if colors should be written
+     */
+    private static boolean detectColor() {
+        String setting = System.getProperty("arcade.color");
+        if (setting != null) {
+            return Boolean.parseBoolean(setting);
+        }
+        return TERMINAL;
+    }
+
+    /**
+     * decides whether the process is attached to an interactive terminal
+     * from jdk 22 System.console() also returns a console when output is
+     * redirected, so Console.isTerminal is asked when it exists; before
+     * then a console only exists for a terminal
+     *
+     * @return true if stdin and stdout are a terminal
+     */
+    private static boolean detectTerminal() {
+        Console console = System.console();
+        if (console == null) {
+            return false;
+        }
+        try {
+            Method isTerminal = Console.class.getMethod("isTerminal");
+            return (Boolean) isTerminal.invoke(console);
+        } catch (NoSuchMethodException e) {
+            return true; // jdk 21 or older
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * checks whether output goes to an interactive terminal
+     * unlike isColorEnabled this ignores arcade.color, for output such as
+     * cursor movement that only makes sense on a real terminal
+     *
+     * @return true if stdin and stdout are a terminal
+     */
+    public static boolean isTerminal() {
+        return TERMINAL;
+    }
+
+    /**
+     * checks whether screens are written with colors
+     *
+     * @return true if ansi codes are kept
+     */
+    public static boolean isColorEnabled() {
+        return COLOR;
+    }
+
+    /**
+     * appends text followed by a newline
+     *
+     * @param text the line to add
+     * @return this renderer, for chaining
+     */
+    public ScreenRenderer line(String text) {
+        buffer.append(text).append('\n');
+        return this;
+    }
+
+    /**
+     * appends an empty line
+     *
+     * @return this renderer, for chaining
+     */
+    public ScreenRenderer line() {
+        buffer.append('\n');
+        return this;
+    }
+
+    /**
+     * appends text without a newline, such as a prompt
+     *
+     * @param text the text to add
+     * @return this renderer, for chaining
+     */
+    public ScreenRenderer text(String text) {
+        buffer.append(text);
+        return this;
+    }
+
+    /**
+     * appends formatted text without a newline
+     *
+     * @param format the format string, as for String.format
+     * @param args   the format arguments
+     * @return this renderer, for chaining
+     */
+    public ScreenRenderer format(String format, Object... args) {
+        formatter.format(format, args);
+        return this;
+    }
+
+    /**
+     * writes the buffered screen in one write and one flush, then clears it
+     */
+    public void flush() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        if (!COLOR) {
+            stripAnsi(buffer);
+        }
+        PrintStream out = System.out;
+        out.append(buffer);
+        out.flush();
+        buffer.setLength(0);
+    }
+
+    /**
+     * removes ansi escape sequences from a buffer in place
+     * a sequence is ESC [ followed by parameter bytes and one final byte
+     * in the range @ to ~
+     *
+     * @param text the buffer to clean
+     */
+    public static void stripAnsi(StringBuilder text) {
+        int write = 0;
+        int length = text.length();
+        for (int read = 0; read < length; read++) {
+            char c = text.charAt(read);
+            if (c == '\033' && read + 1 < length && text.charAt(read + 1) == '[') {
+                read += 2;
+                while (read < length && (text.charAt(read) < '@' || text.charAt(read) > '~')) {
+                    read++;
+                }
+                continue; // read now sits on the final byte, which is dropped too
+            }
+            text.setCharAt(write++, c);
+        }
+        text.setLength(write);
+    }
+}
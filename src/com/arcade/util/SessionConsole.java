@@ -0,0 +1,147 @@
+/**
+ * SessionConsole.java
+ *
+ * per-thread console streams for running many sessions in one process
+ * the games read System.in and print to System.out directly, so to drive
+ * several sessions at once each thread needs its own view of both
+ *
+ * date: oct 18, 2026
+ * author: kevin wang
+ */
+package com.arcade.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * replaces System.in and System.out with streams that forward to whatever
+ * the calling thread has bound. a thread with no binding falls back to the
+ * streams that were installed before, so timer threads and anything else
+ * outside a session keep working. text reaches bound outputs as utf-8.
+ *
+ * install once, bind in each session thread before creating the session's
+ * scanners and games, and unbind in a finally block when the session ends.
+ * with a pacing profile other than TEST, paced continuations run on timer
+ * threads and their output goes to the fallback stream
+ */
+public final class SessionConsole {
+    private static final ThreadLocal<Binding> BINDING = new ThreadLocal<>();
+
+    private static InputStream fallbackIn; // System.in before install, or null when not installed
+    private static PrintStream fallbackOut; // System.out before install
+
+    /**
+     * the streams one thread reads and writes
+     */
+    private static final class Binding {
+        private final InputStream in;
+        private final OutputStream out;
+
+        private Binding(InputStream in, OutputStream out) {
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    private SessionConsole() {
+    }
+
+    /**
+     * routes System.in and System.out through the per-thread bindings
+     * does nothing if already installed
+     */
+    public static synchronized void install() {
+        if (fallbackIn != null) {
+            return;
+        }
+        fallbackIn = System.in;
+        fallbackOut = System.out;
+        System.setIn(new RoutingInputStream());
+        System.setOut(new PrintStream(new RoutingOutputStream(), true, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * restores the streams that were installed before install()
+     */
+    public static synchronized void uninstall() {
+        if (fallbackIn == null) {
+            return;
+        }
+        System.out.flush();
+        System.setIn(fallbackIn);
+        System.setOut(fallbackOut);
+        fallbackIn = null;
+        fallbackOut = null;
+    }
+
+    /**
+     * gives the calling thread its own console
+     *
+     * @param in  what the thread reads from System.in
+     * @param out where the thread's System.out text goes
+     */
+    public static void bind(InputStream in, OutputStream out) {
+        BINDING.set(new Binding(in, out));
+    }
+
+    /**
+     * returns the calling thread to the fallback streams
+     */
+    public static void unbind() {
+        System.out.flush();
+        BINDING.remove();
+    }
+
+    /**
+     * reads from the calling thread's input
+     */
+    private static final class RoutingInputStream extends InputStream {
+        private InputStream target() {
+            Binding binding = BINDING.get();
+            return binding != null ? binding.in : fallbackIn;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return target().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return target().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return target().available();
+        }
+    }
+
+    /**
+     * writes to the calling thread's output
+     */
+    private static final class RoutingOutputStream extends OutputStream {
+        private OutputStream target() {
+            Binding binding = BINDING.get();
+            return binding != null ? binding.out : fallbackOut;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target().flush();
+        }
+    }
+}
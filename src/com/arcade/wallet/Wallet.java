@@ -17,6 +17,8 @@ import com.arcade.item.*;
  * represents a player's wallet containing all their currencies and items
  * manages tokens (used to play games), tickets (earned from games),
  * powerups (functional items), and trophies (special achievements)
+ * token and ticket balances are guarded by the wallet's lock, since payments
+ * are credited from a background thread
  */
 public class Wallet {
    private int tokens; // currency used to play games
@@ -30,7 +32,7 @@ public class Wallet {
     * 
     * @return the number of tokens
     */
-   public int getTokens() {
+   public synchronized int getTokens() {
       return tokens;
    }
 
@@ -40,7 +42,7 @@ public class Wallet {
     * 
     * @param tokens the number of tokens to set
     */
-   public void setTokens(int tokens) {
+   public synchronized void setTokens(int tokens) {
       this.tokens = tokens;
    }
 
@@ -50,7 +52,7 @@ public class Wallet {
     * 
     * @return the number of tickets
     */
-   public int getTickets() {
+   public synchronized int getTickets() {
       return tickets;
    }
 
@@ -60,10 +62,44 @@ public class Wallet {
     * 
     * @param tickets the number of tickets to set
     */
-   public void setTickets(int tickets) {
+   public synchronized void setTickets(int tickets) {
       this.tickets = tickets;
    }
 
+   /**
+    * adds tokens to the wallet in one atomic step
+    * safe to call from payment callbacks while the player is using the menu
+    * 
+    * @param amount the number of tokens to add
+    */
+   public synchronized void addTokens(int amount) {
+      this.tokens += amount;
+   }
+
+   /**
+    * removes tokens from the wallet if the balance covers them
+    * the check and the deduction happen under one lock
+    * 
+    * @param amount the number of tokens to remove
+    * @return true if the tokens were removed, false if the balance was too low
+    */
+   public synchronized boolean spendTokens(int amount) {
+      if (tokens < amount) {
+         return false;
+      }
+      this.tokens -= amount;
+      return true;
+   }
+
+   /**
+    * adds tickets to the wallet in one atomic step
+    * 
+    * @param amount the number of tickets to add
+    */
+   public synchronized void addTickets(int amount) {
+      this.tickets += amount;
+   }
+
    /**
     * gets the list of powerups in the wallet
     * powerups are functional items that can be used during games